@@ -37,6 +37,7 @@ import org.mybatis.generator.config.Configuration;
 import org.mybatis.generator.config.xml.ConfigurationParser;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.XMLParserException;
+import org.mybatis.generator.internal.ArchiveOutputSink;
 import org.mybatis.generator.internal.DefaultShellCallback;
 
 /**
@@ -67,6 +68,12 @@ import org.mybatis.generator.internal.DefaultShellCallback;
  * <li>"overwrite" - if true, then existing Java files will be overwritten. if
  * false (default), then existing Java files will be untouched and the generator
  * will write new Java files with a unique name</li>
+ * <li>"merge" - if true, then generated Java files will be merged into existing
+ * Java files. Generated members are replaced, all other members are kept.
+ * Merging requires javaparser in the task classpath. Default is false</li>
+ * <li>"archive" - the name of a zip or srcjar file. If specified, then all
+ * generated files will be written into this archive instead of the target
+ * directories</li>
  * <li>"verbose" - if true, then the generator will log progress messages to the
  * Ant log. Default is false</li>
  * <li>"contextIds" - a comma delimited list of contaxtIds to use for this run</li>
@@ -81,6 +88,8 @@ public class GeneratorAntTask extends Task {
 
     private String configfile;
     private boolean overwrite;
+    private boolean merge;
+    private String archive;
     private PropertySet propertyset;
     private boolean verbose;
     private String contextIds;
@@ -142,13 +151,23 @@ public class GeneratorAntTask extends Task {
             ConfigurationParser cp = new ConfigurationParser(p, warnings);
             Configuration config = cp.parseConfiguration(configurationFile);
 
-            DefaultShellCallback callback = new DefaultShellCallback(overwrite);
+            DefaultShellCallback callback = new DefaultShellCallback(overwrite,
+                    merge);
 
             MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, callback, warnings);
+            if (stringHasValue(archive)) {
+                myBatisGenerator.setOutputSink(new ArchiveOutputSink(new File(
+                        archive)));
+            }
 
             myBatisGenerator.generate(new AntProgressCallback(this, verbose), contexts,
                     fullyqualifiedTables);
 
+            log(getString("Progress.19", //$NON-NLS-1$
+                    Integer.toString(myBatisGenerator.getWrittenFileCount()),
+                    Integer.toString(myBatisGenerator.getUnchangedFileCount()),
+                    Integer.toString(myBatisGenerator.getSkippedFileCount())));
+
         } catch (XMLParserException e) {
             for (String error : e.getErrors()) {
                 log(error, Project.MSG_ERR);
@@ -207,6 +226,36 @@ public class GeneratorAntTask extends Task {
         this.overwrite = overwrite;
     }
 
+    /**
+     * @return Returns the merge.
+     */
+    public boolean isMerge() {
+        return merge;
+    }
+
+    /**
+     * @param merge
+     *            The merge to set.
+     */
+    public void setMerge(boolean merge) {
+        this.merge = merge;
+    }
+
+    /**
+     * @return Returns the archive.
+     */
+    public String getArchive() {
+        return archive;
+    }
+
+    /**
+     * @param archive
+     *            The archive to set.
+     */
+    public void setArchive(String archive) {
+        this.archive = archive;
+    }
+
     public PropertySet createPropertyset() {
         if (propertyset == null) {
             propertyset = new PropertySet();
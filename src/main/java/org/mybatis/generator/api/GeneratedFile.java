@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
 
 /**
  * Abstract class that holds information common to all generated files.
@@ -48,6 +50,21 @@ public abstract class GeneratedFile {
      */
     public abstract String getFormattedContent();
 
+    /**
+     * Writes the entire contents of the generated file to the output. The
+     * default implementation writes the value of getFormattedContent().
+     * Subclasses may override this method to write the content without
+     * building it as a String first.
+     *
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Appendable out) throws IOException {
+        out.append(getFormattedContent());
+    }
+
     /**
      * Get the file name (without any path). Clients should use this method to
      * determine how to save the results.
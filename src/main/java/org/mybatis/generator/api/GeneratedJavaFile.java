@@ -15,6 +15,9 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
+import org.mybatis.generator.api.dom.DefaultJavaFormatter;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 
 /**
@@ -79,6 +82,19 @@ public class GeneratedJavaFile extends GeneratedFile {
         return javaFormatter.getFormattedContent(compilationUnit);
     }
 
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.GeneratedFile#appendFormattedContent(java.lang.Appendable)
+     */
+    @Override
+    public void appendFormattedContent(Appendable out) throws IOException {
+        if (javaFormatter instanceof DefaultJavaFormatter) {
+            ((DefaultJavaFormatter) javaFormatter).appendFormattedContent(
+                    compilationUnit, out);
+        } else {
+            out.append(javaFormatter.getFormattedContent(compilationUnit));
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.mybatis.generator.api.GeneratedFile#getFileName()
      */
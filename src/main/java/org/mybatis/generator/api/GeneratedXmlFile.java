@@ -15,6 +15,9 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
+import org.mybatis.generator.api.dom.DefaultXmlFormatter;
 import org.mybatis.generator.api.dom.xml.Document;
 
 /**
@@ -74,6 +77,19 @@ public class GeneratedXmlFile extends GeneratedFile {
         return xmlFormatter.getFormattedContent(document);
     }
 
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.GeneratedFile#appendFormattedContent(java.lang.Appendable)
+     */
+    @Override
+    public void appendFormattedContent(Appendable out) throws IOException {
+        if (xmlFormatter instanceof DefaultXmlFormatter) {
+            ((DefaultXmlFormatter) xmlFormatter).appendFormattedContent(
+                    document, out);
+        } else {
+            out.append(xmlFormatter.getFormattedContent(document));
+        }
+    }
+
     /**
      * Gets the file name.
      *
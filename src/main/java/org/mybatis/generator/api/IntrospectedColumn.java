@@ -150,6 +150,7 @@ public class IntrospectedColumn {
         this.actualColumnName = actualColumnName;
         isColumnNameDelimited = StringUtility
                 .stringContainsSpace(actualColumnName);
+        columnChanged();
     }
 
     /**
@@ -165,6 +166,7 @@ public class IntrospectedColumn {
      */
     public void setIdentity(boolean identity) {
         this.identity = identity;
+        columnChanged();
     }
 
     public boolean isBLOBColumn() {
@@ -339,5 +341,16 @@ public class IntrospectedColumn {
 
     public void setGeneratedAlways(boolean isGeneratedAlways) {
         this.isGeneratedAlways = isGeneratedAlways;
+        columnChanged();
+    }
+
+    /**
+     * Tells the table that the column views it derives from its columns may
+     * be out of date.
+     */
+    private void columnChanged() {
+        if (introspectedTable != null) {
+            introspectedTable.columnChanged();
+        }
     }
 }
@@ -19,6 +19,7 @@ import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -38,6 +39,7 @@ import org.mybatis.generator.internal.rules.ConditionalModelRules;
 import org.mybatis.generator.internal.rules.FlatModelRules;
 import org.mybatis.generator.internal.rules.HierarchicalModelRules;
 import org.mybatis.generator.internal.rules.Rules;
+import org.mybatis.generator.internal.util.ColumnNameIndex;
 
 /**
  * Base class for all code generator implementations. This class provides many
@@ -119,12 +121,18 @@ public abstract class IntrospectedTable {
         /** The attr delete by primary key statement id. */
         ATTR_DELETE_BY_PRIMARY_KEY_STATEMENT_ID,
         
+        /** The attr delete by primary keys statement id. */
+        ATTR_DELETE_BY_PRIMARY_KEYS_STATEMENT_ID,
+        
         /** The attr insert statement id. */
         ATTR_INSERT_STATEMENT_ID,
         
         /** The attr insert selective statement id. */
         ATTR_INSERT_SELECTIVE_STATEMENT_ID,
         
+        /** The attr insert batch statement id. */
+        ATTR_INSERT_BATCH_STATEMENT_ID,
+        
         /** The attr select all statement id. */
         ATTR_SELECT_ALL_STATEMENT_ID,
         
@@ -137,6 +145,9 @@ public abstract class IntrospectedTable {
         /** The attr select by primary key statement id. */
         ATTR_SELECT_BY_PRIMARY_KEY_STATEMENT_ID,
         
+        /** The attr select by primary keys statement id. */
+        ATTR_SELECT_BY_PRIMARY_KEYS_STATEMENT_ID,
+        
         /** The attr update by example statement id. */
         ATTR_UPDATE_BY_EXAMPLE_STATEMENT_ID,
         
@@ -155,6 +166,9 @@ public abstract class IntrospectedTable {
         /** The attr update by primary key with blobs statement id. */
         ATTR_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_STATEMENT_ID,
         
+        /** The attr update batch by primary key statement id. */
+        ATTR_UPDATE_BATCH_BY_PRIMARY_KEY_STATEMENT_ID,
+        
         /** The attr base result map id. */
         ATTR_BASE_RESULT_MAP_ID,
         
@@ -199,6 +213,46 @@ public abstract class IntrospectedTable {
     
     /** The blob columns. */
     protected List<IntrospectedColumn> blobColumns;
+
+    /**
+     * The number of changes to the columns of this table - columns count
+     * their changes here, and the column lists count their own.
+     */
+    private int columnModificationCount;
+
+    /**
+     * The modification count when the derived column views were calculated.
+     * The views below are calculated when first needed, and cleared when the
+     * columns change.
+     */
+    private int viewedModificationCount;
+
+    /** The columns by name. */
+    private ColumnNameIndex<IntrospectedColumn> columnIndex;
+
+    /** Primary key, base, and BLOB columns. */
+    private List<IntrospectedColumn> allColumns;
+
+    /** Primary key and base columns. */
+    private List<IntrospectedColumn> nonBLOBColumns;
+
+    /** Base and BLOB columns. */
+    private List<IntrospectedColumn> nonPrimaryKeyColumns;
+
+    /** All columns that are not GENERATED ALWAYS. */
+    private List<IntrospectedColumn> nonGeneratedAlwaysColumns;
+
+    /** Primary key and base columns that are not GENERATED ALWAYS. */
+    private List<IntrospectedColumn> nonGeneratedAlwaysNonBLOBColumns;
+
+    /** Base and BLOB columns that are not GENERATED ALWAYS. */
+    private List<IntrospectedColumn> nonGeneratedAlwaysNonPrimaryKeyColumns;
+
+    /** Base columns that are not GENERATED ALWAYS. */
+    private List<IntrospectedColumn> nonGeneratedAlwaysBaseColumns;
+
+    /** All columns that are neither identity nor GENERATED ALWAYS. */
+    private List<IntrospectedColumn> nonIdentityNonGeneratedAlwaysColumns;
     
     /** The target runtime. */
     protected TargetRuntime targetRuntime;
@@ -231,9 +285,9 @@ public abstract class IntrospectedTable {
     public IntrospectedTable(TargetRuntime targetRuntime) {
         super();
         this.targetRuntime = targetRuntime;
-        primaryKeyColumns = new ArrayList<IntrospectedColumn>();
-        baseColumns = new ArrayList<IntrospectedColumn>();
-        blobColumns = new ArrayList<IntrospectedColumn>();
+        primaryKeyColumns = new ColumnList();
+        baseColumns = new ColumnList();
+        blobColumns = new ColumnList();
         attributes = new HashMap<String, Object>();
         internalAttributes = new HashMap<IntrospectedTable.InternalAttribute, String>();
     }
@@ -284,53 +338,57 @@ public abstract class IntrospectedTable {
     public IntrospectedColumn getColumn(String columnName) {
         if (columnName == null) {
             return null;
-        } else {
-            // search primary key columns
-            for (IntrospectedColumn introspectedColumn : primaryKeyColumns) {
-                if (introspectedColumn.isColumnNameDelimited()) {
-                    if (introspectedColumn.getActualColumnName().equals(
-                            columnName)) {
-                        return introspectedColumn;
-                    }
-                } else {
-                    if (introspectedColumn.getActualColumnName()
-                            .equalsIgnoreCase(columnName)) {
-                        return introspectedColumn;
-                    }
-                }
-            }
+        }
 
-            // search base columns
-            for (IntrospectedColumn introspectedColumn : baseColumns) {
-                if (introspectedColumn.isColumnNameDelimited()) {
-                    if (introspectedColumn.getActualColumnName().equals(
-                            columnName)) {
-                        return introspectedColumn;
-                    }
-                } else {
-                    if (introspectedColumn.getActualColumnName()
-                            .equalsIgnoreCase(columnName)) {
-                        return introspectedColumn;
-                    }
-                }
-            }
+        checkColumnViews();
+        if (columnIndex == null) {
+            columnIndex = calculateColumnIndex();
+        }
 
-            // search blob columns
-            for (IntrospectedColumn introspectedColumn : blobColumns) {
-                if (introspectedColumn.isColumnNameDelimited()) {
-                    if (introspectedColumn.getActualColumnName().equals(
-                            columnName)) {
-                        return introspectedColumn;
-                    }
-                } else {
-                    if (introspectedColumn.getActualColumnName()
-                            .equalsIgnoreCase(columnName)) {
-                        return introspectedColumn;
-                    }
-                }
-            }
+        IntrospectedColumn introspectedColumn = columnIndex.get(columnName);
+        if (introspectedColumn != null && !matchesColumnName(introspectedColumn, columnName)) {
+            // a column was renamed or moved after the index was built
+            columnIndex = calculateColumnIndex();
+            introspectedColumn = columnIndex.get(columnName);
+        }
 
-            return null;
+        return introspectedColumn;
+    }
+
+    /**
+     * Indexes the columns by name. Primary key columns are indexed first,
+     * then base columns, then BLOB columns - so a lookup finds the same
+     * column as a search of the lists in that order.
+     *
+     * @return the column index
+     */
+    private ColumnNameIndex<IntrospectedColumn> calculateColumnIndex() {
+        ColumnNameIndex<IntrospectedColumn> answer = new ColumnNameIndex<IntrospectedColumn>();
+        for (IntrospectedColumn introspectedColumn : primaryKeyColumns) {
+            answer.add(introspectedColumn.getActualColumnName(),
+                    introspectedColumn.isColumnNameDelimited(), introspectedColumn);
+        }
+
+        for (IntrospectedColumn introspectedColumn : baseColumns) {
+            answer.add(introspectedColumn.getActualColumnName(),
+                    introspectedColumn.isColumnNameDelimited(), introspectedColumn);
+        }
+
+        for (IntrospectedColumn introspectedColumn : blobColumns) {
+            answer.add(introspectedColumn.getActualColumnName(),
+                    introspectedColumn.isColumnNameDelimited(), introspectedColumn);
+        }
+
+        return answer;
+    }
+
+    private boolean matchesColumnName(IntrospectedColumn introspectedColumn,
+            String columnName) {
+        if (introspectedColumn.isColumnNameDelimited()) {
+            return introspectedColumn.getActualColumnName().equals(columnName);
+        } else {
+            return introspectedColumn.getActualColumnName().equalsIgnoreCase(
+                    columnName);
         }
     }
 
@@ -421,29 +479,33 @@ public abstract class IntrospectedTable {
 
     /**
      * Returns all columns in the table (for use by the select by primary key and select by example with BLOBs methods).
+     * The list is calculated once and may not be modified.
      *
      * @return a List of ColumnDefinition objects for all columns in the table
      */
     public List<IntrospectedColumn> getAllColumns() {
-        List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
-        answer.addAll(primaryKeyColumns);
-        answer.addAll(baseColumns);
-        answer.addAll(blobColumns);
+        checkColumnViews();
+        if (allColumns == null) {
+            allColumns = combineColumns(primaryKeyColumns, baseColumns, blobColumns);
+        }
 
-        return answer;
+        return allColumns;
     }
 
     /**
      * Returns all columns except BLOBs (for use by the select by example without BLOBs method).
+     * The list is calculated once and may not be modified.
      *
      * @return a List of ColumnDefinition objects for columns in the table that are non BLOBs
      */
     public List<IntrospectedColumn> getNonBLOBColumns() {
-        List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
-        answer.addAll(primaryKeyColumns);
-        answer.addAll(baseColumns);
+        checkColumnViews();
+        if (nonBLOBColumns == null) {
+            nonBLOBColumns = combineColumns(primaryKeyColumns, baseColumns,
+                    Collections.<IntrospectedColumn> emptyList());
+        }
 
-        return answer;
+        return nonBLOBColumns;
     }
 
     /**
@@ -456,16 +518,166 @@ public abstract class IntrospectedTable {
     }
 
     /**
-     * Gets the non primary key columns.
+     * Gets the non primary key columns. The list is calculated once and may
+     * not be modified.
      *
      * @return the non primary key columns
      */
     public List<IntrospectedColumn> getNonPrimaryKeyColumns() {
-        List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
-        answer.addAll(baseColumns);
-        answer.addAll(blobColumns);
+        checkColumnViews();
+        if (nonPrimaryKeyColumns == null) {
+            nonPrimaryKeyColumns = combineColumns(Collections.<IntrospectedColumn> emptyList(),
+                    baseColumns, blobColumns);
+        }
 
-        return answer;
+        return nonPrimaryKeyColumns;
+    }
+
+    /**
+     * Returns all columns that are not GENERATED ALWAYS (for use by update
+     * methods). The list is calculated once and may not be modified.
+     *
+     * @return the columns that are not GENERATED ALWAYS
+     */
+    public List<IntrospectedColumn> getNonGeneratedAlwaysColumns() {
+        checkColumnViews();
+        if (nonGeneratedAlwaysColumns == null) {
+            nonGeneratedAlwaysColumns = filterColumns(getAllColumns(), false);
+        }
+
+        return nonGeneratedAlwaysColumns;
+    }
+
+    /**
+     * Returns the non BLOB columns that are not GENERATED ALWAYS. The list is
+     * calculated once and may not be modified.
+     *
+     * @return the non BLOB columns that are not GENERATED ALWAYS
+     */
+    public List<IntrospectedColumn> getNonGeneratedAlwaysNonBLOBColumns() {
+        checkColumnViews();
+        if (nonGeneratedAlwaysNonBLOBColumns == null) {
+            nonGeneratedAlwaysNonBLOBColumns = filterColumns(getNonBLOBColumns(), false);
+        }
+
+        return nonGeneratedAlwaysNonBLOBColumns;
+    }
+
+    /**
+     * Returns the non primary key columns that are not GENERATED ALWAYS. The
+     * list is calculated once and may not be modified.
+     *
+     * @return the non primary key columns that are not GENERATED ALWAYS
+     */
+    public List<IntrospectedColumn> getNonGeneratedAlwaysNonPrimaryKeyColumns() {
+        checkColumnViews();
+        if (nonGeneratedAlwaysNonPrimaryKeyColumns == null) {
+            nonGeneratedAlwaysNonPrimaryKeyColumns = filterColumns(getNonPrimaryKeyColumns(), false);
+        }
+
+        return nonGeneratedAlwaysNonPrimaryKeyColumns;
+    }
+
+    /**
+     * Returns the base columns that are not GENERATED ALWAYS. The list is
+     * calculated once and may not be modified.
+     *
+     * @return the base columns that are not GENERATED ALWAYS
+     */
+    public List<IntrospectedColumn> getNonGeneratedAlwaysBaseColumns() {
+        checkColumnViews();
+        if (nonGeneratedAlwaysBaseColumns == null) {
+            nonGeneratedAlwaysBaseColumns = filterColumns(baseColumns, false);
+        }
+
+        return nonGeneratedAlwaysBaseColumns;
+    }
+
+    /**
+     * Returns all columns that are neither identity columns nor GENERATED
+     * ALWAYS (for use by insert methods). The list is calculated once and may
+     * not be modified.
+     *
+     * @return the columns that are neither identity nor GENERATED ALWAYS
+     */
+    public List<IntrospectedColumn> getNonIdentityNonGeneratedAlwaysColumns() {
+        checkColumnViews();
+        if (nonIdentityNonGeneratedAlwaysColumns == null) {
+            nonIdentityNonGeneratedAlwaysColumns = filterColumns(getAllColumns(), true);
+        }
+
+        return nonIdentityNonGeneratedAlwaysColumns;
+    }
+
+    /**
+     * Clears the derived column views if the columns changed since the views
+     * were calculated. The column lists are available to subclasses and
+     * through the getters, so they count their own changes. Columns report
+     * changes to the properties the views depend on through columnChanged().
+     */
+    private void checkColumnViews() {
+        int modificationCount = columnModificationCount
+                + getModificationCount(primaryKeyColumns)
+                + getModificationCount(baseColumns)
+                + getModificationCount(blobColumns);
+        if (modificationCount != viewedModificationCount) {
+            clearColumnViews();
+            viewedModificationCount = modificationCount;
+        }
+    }
+
+    private static int getModificationCount(List<IntrospectedColumn> columns) {
+        if (columns instanceof ColumnList) {
+            return ((ColumnList) columns).getModificationCount();
+        } else {
+            // a subclass replaced the list - only a changed size is noticed
+            return columns.size();
+        }
+    }
+
+    /**
+     * Called by the columns of this table when a property changes that the
+     * derived column views depend on.
+     */
+    void columnChanged() {
+        columnModificationCount++;
+    }
+
+    private void clearColumnViews() {
+        columnIndex = null;
+        allColumns = null;
+        nonBLOBColumns = null;
+        nonPrimaryKeyColumns = null;
+        nonGeneratedAlwaysColumns = null;
+        nonGeneratedAlwaysNonBLOBColumns = null;
+        nonGeneratedAlwaysNonPrimaryKeyColumns = null;
+        nonGeneratedAlwaysBaseColumns = null;
+        nonIdentityNonGeneratedAlwaysColumns = null;
+    }
+
+    private static List<IntrospectedColumn> combineColumns(
+            List<IntrospectedColumn> first, List<IntrospectedColumn> second,
+            List<IntrospectedColumn> third) {
+        List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>(
+                first.size() + second.size() + third.size());
+        answer.addAll(first);
+        answer.addAll(second);
+        answer.addAll(third);
+
+        return Collections.unmodifiableList(answer);
+    }
+
+    private static List<IntrospectedColumn> filterColumns(
+            List<IntrospectedColumn> columns, boolean removeIdentityColumns) {
+        List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>(columns.size());
+        for (IntrospectedColumn introspectedColumn : columns) {
+            if (!introspectedColumn.isGeneratedAlways()
+                    && !(removeIdentityColumns && introspectedColumn.isIdentity())) {
+                answer.add(introspectedColumn);
+            }
+        }
+
+        return Collections.unmodifiableList(answer);
     }
 
     /**
@@ -683,6 +895,7 @@ public abstract class IntrospectedTable {
             baseColumns.add(introspectedColumn);
         }
 
+        clearColumnViews();
         introspectedColumn.setIntrospectedTable(this);
     }
 
@@ -719,6 +932,10 @@ public abstract class IntrospectedTable {
                 }
             }
         }
+
+        if (found) {
+            clearColumnViews();
+        }
     }
 
     /**
@@ -791,18 +1008,22 @@ public abstract class IntrospectedTable {
         setCountByExampleStatementId("countByExample"); //$NON-NLS-1$
         setDeleteByExampleStatementId("deleteByExample"); //$NON-NLS-1$
         setDeleteByPrimaryKeyStatementId("deleteByPrimaryKey"); //$NON-NLS-1$
+        setDeleteByPrimaryKeysStatementId("deleteByPrimaryKeys"); //$NON-NLS-1$
         setInsertStatementId("insert"); //$NON-NLS-1$
         setInsertSelectiveStatementId("insertSelective"); //$NON-NLS-1$
+        setInsertBatchStatementId("insertBatch"); //$NON-NLS-1$
         setSelectAllStatementId("selectAll"); //$NON-NLS-1$
         setSelectByExampleStatementId("selectByExample"); //$NON-NLS-1$
         setSelectByExampleWithBLOBsStatementId("selectByExampleWithBLOBs"); //$NON-NLS-1$
         setSelectByPrimaryKeyStatementId("selectByPrimaryKey"); //$NON-NLS-1$
+        setSelectByPrimaryKeysStatementId("selectByPrimaryKeys"); //$NON-NLS-1$
         setUpdateByExampleStatementId("updateByExample"); //$NON-NLS-1$
         setUpdateByExampleSelectiveStatementId("updateByExampleSelective"); //$NON-NLS-1$
         setUpdateByExampleWithBLOBsStatementId("updateByExampleWithBLOBs"); //$NON-NLS-1$
         setUpdateByPrimaryKeyStatementId("updateByPrimaryKey"); //$NON-NLS-1$
         setUpdateByPrimaryKeySelectiveStatementId("updateByPrimaryKeySelective"); //$NON-NLS-1$
         setUpdateByPrimaryKeyWithBLOBsStatementId("updateByPrimaryKeyWithBLOBs"); //$NON-NLS-1$
+        setUpdateBatchByPrimaryKeyStatementId("updateBatchByPrimaryKey"); //$NON-NLS-1$
         setBaseResultMapId("BaseResultMap"); //$NON-NLS-1$
         setResultMapWithBLOBsId("ResultMapWithBLOBs"); //$NON-NLS-1$
         setExampleWhereClauseId("Example_Where_Clause"); //$NON-NLS-1$
@@ -890,6 +1111,17 @@ public abstract class IntrospectedTable {
                         s);
     }
 
+    /**
+     * Sets the update batch by primary key statement id.
+     *
+     * @param s
+     *            the new update batch by primary key statement id
+     */
+    public void setUpdateBatchByPrimaryKeyStatementId(String s) {
+        internalAttributes.put(
+                InternalAttribute.ATTR_UPDATE_BATCH_BY_PRIMARY_KEY_STATEMENT_ID, s);
+    }
+
     /**
      * Sets the update by primary key selective statement id.
      *
@@ -962,6 +1194,17 @@ public abstract class IntrospectedTable {
                 InternalAttribute.ATTR_SELECT_BY_PRIMARY_KEY_STATEMENT_ID, s);
     }
 
+    /**
+     * Sets the select by primary keys statement id.
+     *
+     * @param s
+     *            the new select by primary keys statement id
+     */
+    public void setSelectByPrimaryKeysStatementId(String s) {
+        internalAttributes.put(
+                InternalAttribute.ATTR_SELECT_BY_PRIMARY_KEYS_STATEMENT_ID, s);
+    }
+
     /**
      * Sets the select by example with blo bs statement id.
      *
@@ -1008,6 +1251,17 @@ public abstract class IntrospectedTable {
                 InternalAttribute.ATTR_INSERT_SELECTIVE_STATEMENT_ID, s);
     }
 
+    /**
+     * Sets the insert batch statement id.
+     *
+     * @param s
+     *            the new insert batch statement id
+     */
+    public void setInsertBatchStatementId(String s) {
+        internalAttributes.put(
+                InternalAttribute.ATTR_INSERT_BATCH_STATEMENT_ID, s);
+    }
+
     /**
      * Sets the insert statement id.
      *
@@ -1029,6 +1283,17 @@ public abstract class IntrospectedTable {
                 InternalAttribute.ATTR_DELETE_BY_PRIMARY_KEY_STATEMENT_ID, s);
     }
 
+    /**
+     * Sets the delete by primary keys statement id.
+     *
+     * @param s
+     *            the new delete by primary keys statement id
+     */
+    public void setDeleteByPrimaryKeysStatementId(String s) {
+        internalAttributes.put(
+                InternalAttribute.ATTR_DELETE_BY_PRIMARY_KEYS_STATEMENT_ID, s);
+    }
+
     /**
      * Sets the delete by example statement id.
      *
@@ -1121,6 +1386,16 @@ public abstract class IntrospectedTable {
                 .get(InternalAttribute.ATTR_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_STATEMENT_ID);
     }
 
+    /**
+     * Gets the update batch by primary key statement id.
+     *
+     * @return the update batch by primary key statement id
+     */
+    public String getUpdateBatchByPrimaryKeyStatementId() {
+        return internalAttributes
+                .get(InternalAttribute.ATTR_UPDATE_BATCH_BY_PRIMARY_KEY_STATEMENT_ID);
+    }
+
     /**
      * Gets the update by primary key selective statement id.
      *
@@ -1181,6 +1456,16 @@ public abstract class IntrospectedTable {
                 .get(InternalAttribute.ATTR_SELECT_BY_PRIMARY_KEY_STATEMENT_ID);
     }
 
+    /**
+     * Gets the select by primary keys statement id.
+     *
+     * @return the select by primary keys statement id
+     */
+    public String getSelectByPrimaryKeysStatementId() {
+        return internalAttributes
+                .get(InternalAttribute.ATTR_SELECT_BY_PRIMARY_KEYS_STATEMENT_ID);
+    }
+
     /**
      * Gets the select by example with blo bs statement id.
      *
@@ -1221,6 +1506,16 @@ public abstract class IntrospectedTable {
                 .get(InternalAttribute.ATTR_INSERT_SELECTIVE_STATEMENT_ID);
     }
 
+    /**
+     * Gets the insert batch statement id.
+     *
+     * @return the insert batch statement id
+     */
+    public String getInsertBatchStatementId() {
+        return internalAttributes
+                .get(InternalAttribute.ATTR_INSERT_BATCH_STATEMENT_ID);
+    }
+
     /**
      * Gets the insert statement id.
      *
@@ -1241,6 +1536,16 @@ public abstract class IntrospectedTable {
                 .get(InternalAttribute.ATTR_DELETE_BY_PRIMARY_KEY_STATEMENT_ID);
     }
 
+    /**
+     * Gets the delete by primary keys statement id.
+     *
+     * @return the delete by primary keys statement id
+     */
+    public String getDeleteByPrimaryKeysStatementId() {
+        return internalAttributes
+                .get(InternalAttribute.ATTR_DELETE_BY_PRIMARY_KEYS_STATEMENT_ID);
+    }
+
     /**
      * Gets the delete by example statement id.
      *
@@ -1925,4 +2230,24 @@ public abstract class IntrospectedTable {
 	public void setTableType(String tableType) {
 		this.tableType = tableType;
 	}
+
+    /**
+     * A column list that counts its changes. ArrayList counts structural
+     * changes (for fail fast iterators), but not replaced elements.
+     */
+    private static class ColumnList extends ArrayList<IntrospectedColumn> {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public IntrospectedColumn set(int index, IntrospectedColumn element) {
+            modCount++;
+            return super.set(index, element);
+        }
+
+        int getModificationCount() {
+            return modCount;
+        }
+    }
 }
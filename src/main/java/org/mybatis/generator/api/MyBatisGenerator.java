@@ -20,25 +20,38 @@ import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.mybatis.generator.codegen.RootClassInfo;
 import org.mybatis.generator.config.Configuration;
 import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.MergeConstants;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.ShellException;
 import org.mybatis.generator.internal.DefaultShellCallback;
+import org.mybatis.generator.internal.GenerationSession;
 import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.NullProgressCallback;
-import org.mybatis.generator.internal.XmlFileMergerJaxp;
+import org.mybatis.generator.internal.XmlFileMergerStax;
 
 /**
  * This class is the main interface to MyBatis generator. A typical execution of the tool involves these steps:
@@ -73,6 +86,24 @@ public class MyBatisGenerator {
     /** The projects. */
     private Set<String> projects;
 
+    /** The number of files written by the last run. */
+    private int writtenFileCount;
+
+    /** The number of files that already had the generated content. */
+    private int unchangedFileCount;
+
+    /** The number of files that could not be saved. */
+    private int skippedFileCount;
+
+    /** The number of threads that write files. */
+    private int writerThreads;
+
+    /** The target directories, by target project and package. */
+    private Map<String, File> directories = new HashMap<String, File>();
+
+    /** The output sink, or null if files are written through the shell callback. */
+    private OutputSink outputSink;
+
     /**
      * Constructs a MyBatisGenerator object.
      * 
@@ -224,8 +255,38 @@ public class MyBatisGenerator {
 
         generatedJavaFiles.clear();
         generatedXmlFiles.clear();
-        ObjectFactory.reset();
-        RootClassInfo.reset();
+        writtenFileCount = 0;
+        unchangedFileCount = 0;
+        skippedFileCount = 0;
+        directories.clear();
+
+        // each run gets its own class loaders and caches
+        GenerationSession previousSession = GenerationSession
+                .setCurrent(new GenerationSession());
+        boolean complete = false;
+        try {
+            runContexts(callback, contextIds, fullyQualifiedTableNames,
+                    writeFiles);
+            complete = true;
+        } finally {
+            if (!complete && writeFiles && outputSink != null) {
+                discardOutput();
+            }
+            GenerationSession.setCurrent(previousSession);
+        }
+    }
+
+    private void discardOutput() {
+        try {
+            outputSink.close(false);
+        } catch (IOException e) {
+            // ignore - the exception that ended the run is more important
+        }
+    }
+
+    private void runContexts(ProgressCallback callback, Set<String> contextIds,
+            Set<String> fullyQualifiedTableNames, boolean writeFiles)
+            throws SQLException, IOException, InterruptedException {
 
         // calculate the contexts to run
         List<Context> contextsToRun;
@@ -246,6 +307,11 @@ public class MyBatisGenerator {
             ObjectFactory.addExternalClassLoader(classLoader);
         }
 
+        writerThreads = 1;
+        for (Context context : contextsToRun) {
+            writerThreads = Math.max(writerThreads, context.getWriterThreads());
+        }
+
         // now run the introspections...
         int totalSteps = 0;
         for (Context context : contextsToRun) {
@@ -265,24 +331,29 @@ public class MyBatisGenerator {
         }
         callback.generationStarted(totalSteps);
 
+        boolean pipelinedOnly = true;
         for (Context context : contextsToRun) {
-            context.generateFiles(callback, generatedJavaFiles,
-                    generatedXmlFiles, warnings);
+            if (writeFiles && context.getPipelineWindowSize() > 0) {
+                generateAndWriteFilesInWindows(context, callback);
+            } else {
+                pipelinedOnly = false;
+                context.generateFiles(callback, generatedJavaFiles,
+                        generatedXmlFiles, warnings);
+            }
         }
 
         // now save the files
         if (writeFiles) {
-            callback.saveStarted(generatedXmlFiles.size()
-                + generatedJavaFiles.size());
+            // pipelined contexts have already saved their files
+            if (!pipelinedOnly) {
+                callback.saveStarted(generatedXmlFiles.size()
+                    + generatedJavaFiles.size());
 
-            for (GeneratedXmlFile gxf : generatedXmlFiles) {
-                projects.add(gxf.getTargetProject());
-                writeGeneratedXmlFile(gxf, callback);
+                writeGeneratedFiles(generatedJavaFiles, generatedXmlFiles, callback);
             }
 
-            for (GeneratedJavaFile gjf : generatedJavaFiles) {
-                projects.add(gjf.getTargetProject());
-                writeGeneratedJavaFile(gjf, callback);
+            if (outputSink != null) {
+                outputSink.close(true);
             }
 
             for (String project : projects) {
@@ -293,83 +364,312 @@ public class MyBatisGenerator {
         callback.done();
     }
 
-    private void writeGeneratedJavaFile(GeneratedJavaFile gjf, ProgressCallback callback)
+    /**
+     * Generates and writes the files of a context a few tables at a time, as
+     * specified by the "pipelineWindowSize" property. The files of each window
+     * are written, and then released, before the next window is generated - so
+     * the memory needed for the generated files depends on the window size
+     * rather than on the number of tables. Files written this way are not
+     * added to the lists returned by getGeneratedJavaFiles() and
+     * getGeneratedXmlFiles(). The save phase is reported to the progress
+     * callback once per window, before the files of the window are written,
+     * and once more for the files that plugins add for the whole context (if
+     * there are any).
+     *
+     * @param context
+     *            the context, which has already been introspected
+     * @param callback
+     *            the progress callback
+     * @throws InterruptedException
+     *             if the method is canceled through the ProgressCallback
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void generateAndWriteFilesInWindows(Context context,
+            ProgressCallback callback) throws InterruptedException,
+            IOException {
+        int windowSize = context.getPipelineWindowSize();
+        List<IntrospectedTable> tables = context.getIntrospectedTables();
+        List<GeneratedJavaFile> windowJavaFiles = new ArrayList<GeneratedJavaFile>();
+        List<GeneratedXmlFile> windowXmlFiles = new ArrayList<GeneratedXmlFile>();
+
+        context.createPlugins(warnings);
+
+        for (int i = 0; i < tables.size(); i += windowSize) {
+            context.generateFiles(callback,
+                    tables.subList(i, Math.min(i + windowSize, tables.size())),
+                    windowJavaFiles, windowXmlFiles, warnings);
+            callback.saveStarted(windowXmlFiles.size()
+                    + windowJavaFiles.size());
+            writeGeneratedFiles(windowJavaFiles, windowXmlFiles, callback);
+            windowJavaFiles.clear();
+            windowXmlFiles.clear();
+        }
+
+        // plugins may generate files that summarize every table, so these
+        // are generated last
+        context.generateAdditionalFiles(windowJavaFiles, windowXmlFiles);
+        if (!windowJavaFiles.isEmpty() || !windowXmlFiles.isEmpty()) {
+            callback.saveStarted(windowXmlFiles.size() + windowJavaFiles.size());
+            writeGeneratedFiles(windowJavaFiles, windowXmlFiles, callback);
+        }
+    }
+
+    /**
+     * Writes generated files. The target directories are resolved through the
+     * shell callback on the calling thread, and remembered for the rest of the
+     * run. If the "writerThreads" property is specified, files are then
+     * rendered, merged and written on a pool of worker threads. Otherwise only
+     * Java files merged by the DefaultShellCallback are merged on worker
+     * threads. Warnings, progress messages and file counts are reported on the
+     * calling thread in the order of the files, so they do not depend on the
+     * number of threads.
+     *
+     * <p>If an output sink is set, files are passed to the sink instead. A
+     * sink that is not thread safe is called on the calling thread in the
+     * order of the files.
+     *
+     * @param javaFiles
+     *            the java files
+     * @param xmlFiles
+     *            the xml files
+     * @param callback
+     *            the progress callback
+     * @throws InterruptedException
+     *             if the method is canceled through the ProgressCallback
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void writeGeneratedFiles(List<GeneratedJavaFile> javaFiles,
+            List<GeneratedXmlFile> xmlFiles, ProgressCallback callback)
             throws InterruptedException, IOException {
-        File targetFile;
-        String source;
+        // other shell callbacks may not expect concurrent merges
+        boolean parallelMerges = outputSink == null
+                && shellCallback instanceof DefaultShellCallback
+                && shellCallback.isMergeSupported();
+        int threads;
+        if (writerThreads > 1) {
+            threads = writerThreads;
+        } else if (parallelMerges) {
+            threads = Runtime.getRuntime().availableProcessors();
+        } else {
+            threads = 1;
+        }
+
+        List<GeneratedFile> files = new ArrayList<GeneratedFile>(
+                xmlFiles.size() + javaFiles.size());
+        files.addAll(xmlFiles);
+        files.addAll(javaFiles);
+
+        List<FileWriteTask> tasks = new ArrayList<FileWriteTask>(files.size());
+        Map<File, FileWriteTask> tasksByTarget = new HashMap<File, FileWriteTask>();
+        ExecutorService executorService = null;
+        int reportedTasks = 0;
         try {
-            File directory = shellCallback.getDirectory(gjf
-                    .getTargetProject(), gjf.getTargetPackage());
-            targetFile = new File(directory, gjf.getFileName());
-            if (targetFile.exists()) {
-                if (shellCallback.isMergeSupported()) {
-                    source = shellCallback.mergeJavaFile(gjf
-                            .getFormattedContent(), targetFile
-                            .getAbsolutePath(),
-                            MergeConstants.OLD_ELEMENT_TAGS,
-                            gjf.getFileEncoding());
-                } else if (shellCallback.isOverwriteEnabled()) {
-                    source = gjf.getFormattedContent();
-                    warnings.add(getString("Warning.11", //$NON-NLS-1$
-                            targetFile.getAbsolutePath()));
+            for (GeneratedFile generatedFile : files) {
+                callback.checkCancel();
+
+                FileWriteTask task = new FileWriteTask(generatedFile);
+                tasks.add(task);
+                boolean parallel;
+                if (outputSink == null) {
+                    projects.add(generatedFile.getTargetProject());
+                    try {
+                        task.directory = getDirectory(generatedFile);
+                    } catch (ShellException e) {
+                        task.skip(e.getMessage());
+                    }
+
+                    if (task.directory == null) {
+                        parallel = false;
+                    } else {
+                        File targetFile = new File(task.directory,
+                                generatedFile.getFileName());
+                        // files with the same name are written one after the
+                        // other
+                        task.predecessor = tasksByTarget.put(targetFile, task);
+                        parallel = task.isParallel(targetFile, parallelMerges);
+                    }
                 } else {
-                    source = gjf.getFormattedContent();
-                    targetFile = getUniqueFileName(directory, gjf
-                            .getFileName());
-                    warnings.add(getString(
-                            "Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
+                    parallel = outputSink.isThreadSafe();
+                }
+
+                if (threads > 1 && parallel) {
+                    if (executorService == null) {
+                        executorService = Executors
+                                .newFixedThreadPool(threads);
+                    }
+                    task.future = executorService.submit(task);
+                }
+
+                // limits the number of files held by unfinished tasks
+                while (tasks.size() - reportedTasks > threads * 4) {
+                    reportWriteTask(tasks.get(reportedTasks++), callback);
                 }
-            } else {
-                source = gjf.getFormattedContent();
             }
 
+            while (reportedTasks < tasks.size()) {
+                reportWriteTask(tasks.get(reportedTasks++), callback);
+            }
+        } finally {
+            if (executorService != null) {
+                stopWriteTasks(executorService, tasks);
+            }
+        }
+    }
+
+    /**
+     * Writes generated files outside of a generation run, with the specified
+     * number of writer threads. This method is used by tests.
+     *
+     * @param javaFiles
+     *            the java files
+     * @param xmlFiles
+     *            the xml files
+     * @param writerThreads
+     *            the number of writer threads, as the "writerThreads" property
+     *            would specify (1 if the property is not specified)
+     * @param callback
+     *            the progress callback
+     * @throws InterruptedException
+     *             if the method is canceled through the ProgressCallback
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    void writeGeneratedFiles(List<GeneratedJavaFile> javaFiles,
+            List<GeneratedXmlFile> xmlFiles, int writerThreads,
+            ProgressCallback callback) throws InterruptedException,
+            IOException {
+        this.writerThreads = writerThreads;
+        directories.clear();
+        writeGeneratedFiles(javaFiles, xmlFiles, callback);
+    }
+
+    /**
+     * Returns the target directory of a file. Directories are calculated by
+     * the shell callback once per target project and package.
+     *
+     * @param generatedFile
+     *            the generated file
+     * @return the directory
+     * @throws ShellException
+     *             if the directory cannot be created
+     */
+    private File getDirectory(GeneratedFile generatedFile)
+            throws ShellException {
+        String key = generatedFile.getTargetProject() + '\u0000'
+                + generatedFile.getTargetPackage();
+        File directory = directories.get(key);
+        if (directory == null) {
+            directory = shellCallback.getDirectory(
+                    generatedFile.getTargetProject(),
+                    generatedFile.getTargetPackage());
+            directories.put(key, directory);
+        }
+
+        return directory;
+    }
+
+    /**
+     * Waits for a task if it runs on a worker thread (or runs it on the calling
+     * thread otherwise), and reports its warnings and progress.
+     *
+     * @param task
+     *            the task
+     * @param callback
+     *            the progress callback
+     * @throws InterruptedException
+     *             if the method is canceled through the ProgressCallback
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void reportWriteTask(FileWriteTask task, ProgressCallback callback)
+            throws InterruptedException, IOException {
+        if (task.future != null) {
+            getWriteTaskResult(task.future);
+        } else if (task.result == null) {
             callback.checkCancel();
+            task.call();
+        }
+
+        callback.checkCancel();
+        warnings.addAll(task.warnings);
+        switch (task.result) {
+        case WRITTEN:
             callback.startTask(getString(
-                    "Progress.15", targetFile.getName())); //$NON-NLS-1$
-            writeFile(targetFile, source, gjf.getFileEncoding());
-        } catch (ShellException e) {
-            warnings.add(e.getMessage());
+                    "Progress.15", task.targetFileName)); //$NON-NLS-1$
+            writtenFileCount++;
+            break;
+        case UNCHANGED:
+            callback.startTask(getString(
+                    "Progress.15", task.targetFileName)); //$NON-NLS-1$
+            unchangedFileCount++;
+            break;
+        default:
+            skippedFileCount++;
+            break;
         }
     }
 
-    private void writeGeneratedXmlFile(GeneratedXmlFile gxf, ProgressCallback callback)
+    private void getWriteTaskResult(Future<?> future)
             throws InterruptedException, IOException {
-        File targetFile;
-        String source;
         try {
-            File directory = shellCallback.getDirectory(gxf
-                    .getTargetProject(), gxf.getTargetPackage());
-            targetFile = new File(directory, gxf.getFileName());
-            if (targetFile.exists()) {
-                if (gxf.isMergeable()) {
-                    source = XmlFileMergerJaxp.getMergedSource(gxf,
-                            targetFile);
-                } else if (shellCallback.isOverwriteEnabled()) {
-                    source = gxf.getFormattedContent();
-                    warnings.add(getString("Warning.11", //$NON-NLS-1$
-                            targetFile.getAbsolutePath()));
-                } else {
-                    source = gxf.getFormattedContent();
-                    targetFile = getUniqueFileName(directory, gxf
-                            .getFileName());
-                    warnings.add(getString(
-                            "Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
-                }
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             } else {
-                source = gxf.getFormattedContent();
+                throw new RuntimeException(cause);
             }
+        }
+    }
 
-            callback.checkCancel();
-            callback.startTask(getString(
-                    "Progress.15", targetFile.getName())); //$NON-NLS-1$
-            writeFile(targetFile, source, "UTF-8"); //$NON-NLS-1$
-        } catch (ShellException e) {
-            warnings.add(e.getMessage());
+    /**
+     * Cancels the tasks that have not started, and waits for the running
+     * tasks so that no file is left half written when the run is canceled.
+     *
+     * @param executorService
+     *            the executor service
+     * @param tasks
+     *            the tasks
+     */
+    private void stopWriteTasks(ExecutorService executorService,
+            List<FileWriteTask> tasks) {
+        for (FileWriteTask task : tasks) {
+            if (task.future != null) {
+                task.future.cancel(false);
+            }
+            // a running task may wait for a task that will never run now
+            task.cancel();
+        }
+        executorService.shutdown();
+
+        boolean interrupted = false;
+        while (!executorService.isTerminated()) {
+            try {
+                executorService.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
     }
-    
+
     /**
-     * Writes, or overwrites, the contents of the specified file.
+     * Writes, or overwrites, the contents of the specified file. If the file
+     * already has exactly this content it is left alone, so that its
+     * modification time does not change and incremental builds do not
+     * recompile it.
      *
      * @param file
      *            the file
@@ -377,10 +677,49 @@ public class MyBatisGenerator {
      *            the content
      * @param fileEncoding
      *            the file encoding
+     * @return true if the file was written, false if it was unchanged
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private void writeFile(File file, String content, String fileEncoding) throws IOException {
+    private boolean writeFile(File file, String content, String fileEncoding) throws IOException {
+        byte[] bytes = getBytes(content, fileEncoding);
+        if (hasContent(file, bytes)) {
+            return false;
+        }
+
+        FileOutputStream fos = new FileOutputStream(file, false);
+        try {
+            fos.write(bytes);
+        } finally {
+            fos.close();
+        }
+        return true;
+    }
+
+    private byte[] getBytes(String content, String fileEncoding)
+            throws IOException {
+        if (fileEncoding == null) {
+            return content.getBytes();
+        } else {
+            return content.getBytes(fileEncoding);
+        }
+    }
+
+    /**
+     * Writes a new file by streaming the generated content into it.
+     *
+     * @param file
+     *            the file
+     * @param generatedFile
+     *            the generated file
+     * @param fileEncoding
+     *            the file encoding
+     * @return always true
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private boolean writeFile(File file, GeneratedFile generatedFile,
+            String fileEncoding) throws IOException {
         FileOutputStream fos = new FileOutputStream(file, false);
         OutputStreamWriter osw;
         if (fileEncoding == null) {
@@ -388,10 +727,56 @@ public class MyBatisGenerator {
         } else {
             osw = new OutputStreamWriter(fos, fileEncoding);
         }
-        
-        BufferedWriter bw = new BufferedWriter(osw);
-        bw.write(content);
-        bw.close();
+
+        Writer writer = new BufferedWriter(osw);
+        try {
+            generatedFile.appendFormattedContent(writer);
+        } finally {
+            writer.close();
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the file exists and contains exactly the specified
+     * bytes. The file size is checked first, so files that have changed size
+     * are not read at all.
+     *
+     * @param file
+     *            the file
+     * @param bytes
+     *            the expected content
+     * @return true if the file content is equal to the bytes
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private boolean hasContent(File file, byte[] bytes) throws IOException {
+        if (!file.isFile() || file.length() != bytes.length) {
+            return false;
+        }
+
+        InputStream is = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[8192];
+            int offset = 0;
+            int count;
+            while ((count = is.read(buffer)) != -1) {
+                if (offset + count > bytes.length) {
+                    return false;
+                }
+
+                for (int i = 0; i < count; i++) {
+                    if (buffer[i] != bytes[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += count;
+            }
+
+            return offset == bytes.length;
+        } finally {
+            is.close();
+        }
     }
 
     /**
@@ -432,7 +817,8 @@ public class MyBatisGenerator {
     /**
      * Returns the list of generated Java files after a call to one of the generate methods.
      * This is useful if you prefer to process the generated files yourself and do not want
-     * the generator to write them to disk.
+     * the generator to write them to disk. Files of contexts that use the "pipelineWindowSize"
+     * property are written as they are generated and are not included in this list.
      *  
      * @return the list of generated Java files
      */
@@ -443,11 +829,231 @@ public class MyBatisGenerator {
     /**
      * Returns the list of generated XML files after a call to one of the generate methods.
      * This is useful if you prefer to process the generated files yourself and do not want
-     * the generator to write them to disk.
+     * the generator to write them to disk. Files of contexts that use the "pipelineWindowSize"
+     * property are written as they are generated and are not included in this list.
      *  
      * @return the list of generated XML files
      */
     public List<GeneratedXmlFile> getGeneratedXmlFiles() {
         return generatedXmlFiles;
     }
+
+    /**
+     * Returns the number of files that were written by the last call to one of the generate methods.
+     *
+     * @return the number of files written
+     */
+    public int getWrittenFileCount() {
+        return writtenFileCount;
+    }
+
+    /**
+     * Returns the number of files that were not written by the last call to one of the generate methods
+     * because the existing file already had the generated content.
+     *
+     * @return the number of unchanged files
+     */
+    public int getUnchangedFileCount() {
+        return unchangedFileCount;
+    }
+
+    /**
+     * Returns the number of files that could not be saved by the last call to one of the generate methods.
+     * The reason for each skipped file is reported as a warning.
+     *
+     * @return the number of skipped files
+     */
+    public int getSkippedFileCount() {
+        return skippedFileCount;
+    }
+
+    /**
+     * Returns the output sink.
+     *
+     * @return the output sink, or null if files are written to the
+     *         directories of the shell callback
+     */
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    /**
+     * Sets an output sink that receives the generated files instead of the
+     * directories of the shell callback - for example an
+     * {@link org.mybatis.generator.internal.ArchiveOutputSink}. Existing files
+     * are not merged when an output sink is used. The sink is closed at the
+     * end of every run that writes files.
+     *
+     * @param outputSink
+     *            the output sink, or null to write files to the directories
+     *            of the shell callback
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    private enum WriteResult {
+        WRITTEN, UNCHANGED, SKIPPED
+    }
+
+    /**
+     * Renders, merges if needed, and writes a single generated file. Warnings
+     * are collected by the task and reported by the calling thread.
+     */
+    private class FileWriteTask implements Callable<Void> {
+        private GeneratedFile generatedFile;
+        private File directory;
+        /** The formatted content, if it was formatted on the calling thread. */
+        private String newFileSource;
+        /** An earlier task that writes the same file, or null. */
+        private FileWriteTask predecessor;
+        private CountDownLatch done = new CountDownLatch(1);
+        /** Set by the thread that runs the task, or by a cancellation. */
+        private AtomicBoolean started = new AtomicBoolean();
+        private Future<Void> future;
+        private List<String> warnings = new ArrayList<String>();
+        private String targetFileName;
+        private volatile WriteResult result;
+
+        FileWriteTask(GeneratedFile generatedFile) {
+            this.generatedFile = generatedFile;
+        }
+
+        void skip(String warning) {
+            warnings.add(warning);
+            result = WriteResult.SKIPPED;
+            done.countDown();
+        }
+
+        /**
+         * Returns true if the task can run on a worker thread. Formatters and
+         * shell callbacks other than the DefaultShellCallback are only called
+         * from other threads if the "writerThreads" property is specified.
+         */
+        boolean isParallel(File targetFile, boolean parallelMerges) {
+            if (generatedFile instanceof GeneratedJavaFile
+                    && shellCallback.isMergeSupported()) {
+                if (!parallelMerges) {
+                    return false;
+                } else if (writerThreads > 1) {
+                    return true;
+                } else if (targetFile.exists()) {
+                    // only the merge runs on the worker thread
+                    newFileSource = generatedFile.getFormattedContent();
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+
+            return writerThreads > 1;
+        }
+
+        /**
+         * Prevents the task from running, if it has not started yet, and
+         * releases any task that waits for it.
+         */
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                done.countDown();
+            }
+        }
+
+        @Override
+        public Void call() throws InterruptedException, IOException {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+
+            try {
+                if (predecessor != null) {
+                    predecessor.done.await();
+                }
+                write();
+            } finally {
+                done.countDown();
+            }
+
+            return null;
+        }
+
+        private void write() throws IOException {
+            String fileEncoding;
+            if (generatedFile instanceof GeneratedJavaFile) {
+                fileEncoding = ((GeneratedJavaFile) generatedFile)
+                        .getFileEncoding();
+            } else {
+                fileEncoding = "UTF-8"; //$NON-NLS-1$
+            }
+
+            if (outputSink != null) {
+                try {
+                    targetFileName = generatedFile.getFileName();
+                    boolean written = outputSink.writeFile(generatedFile,
+                            fileEncoding);
+                    result = written ? WriteResult.WRITTEN
+                            : WriteResult.UNCHANGED;
+                } catch (ShellException e) {
+                    warnings.add(e.getMessage());
+                    result = WriteResult.SKIPPED;
+                }
+                return;
+            }
+
+            try {
+                File targetFile = new File(directory,
+                        generatedFile.getFileName());
+                String source;
+                if (targetFile.exists()) {
+                    if (generatedFile instanceof GeneratedXmlFile
+                            && generatedFile.isMergeable()) {
+                        source = XmlFileMergerStax.getMergedSource(
+                                (GeneratedXmlFile) generatedFile, targetFile);
+                    } else if (generatedFile instanceof GeneratedJavaFile
+                            && shellCallback.isMergeSupported()) {
+                        source = shellCallback.mergeJavaFile(
+                                newFileSource == null ? generatedFile
+                                        .getFormattedContent()
+                                        : newFileSource, targetFile
+                                        .getAbsolutePath(),
+                                MergeConstants.OLD_ELEMENT_TAGS, fileEncoding);
+                    } else {
+                        source = generatedFile.getFormattedContent();
+                        if (hasContent(targetFile,
+                                getBytes(source, fileEncoding))) {
+                            // nothing to overwrite, and no copy is needed
+                            targetFileName = targetFile.getName();
+                            result = WriteResult.UNCHANGED;
+                            return;
+                        }
+
+                        if (shellCallback.isOverwriteEnabled()) {
+                            warnings.add(getString("Warning.11", //$NON-NLS-1$
+                                    targetFile.getAbsolutePath()));
+                        } else {
+                            targetFile = getUniqueFileName(directory,
+                                    generatedFile.getFileName());
+                            warnings.add(getString(
+                                    "Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
+                        }
+                    }
+                } else {
+                    // a new file - render the content directly into the file
+                    source = null;
+                }
+
+                targetFileName = targetFile.getName();
+                boolean written;
+                if (source == null) {
+                    written = writeFile(targetFile, generatedFile, fileEncoding);
+                } else {
+                    written = writeFile(targetFile, source, fileEncoding);
+                }
+                result = written ? WriteResult.WRITTEN : WriteResult.UNCHANGED;
+            } catch (ShellException e) {
+                warnings.add(e.getMessage());
+                result = WriteResult.SKIPPED;
+            }
+        }
+    }
 }
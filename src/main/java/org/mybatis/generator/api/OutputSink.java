@@ -0,0 +1,74 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import java.io.IOException;
+
+import org.mybatis.generator.exception.ShellException;
+
+/**
+ * This interface can be implemented to store generated files somewhere other
+ * than in the directories of the shell callback - for example in an archive.
+ * If an output sink is set on MyBatisGenerator, every generated file is
+ * passed to the sink. Directories are not resolved through the shell
+ * callback, and existing files are not merged or overwritten.
+ *
+ * @see MyBatisGenerator#setOutputSink(OutputSink)
+ */
+public interface OutputSink {
+
+    /**
+     * Returns true if the sink can write different files from several
+     * threads at once. If false, files are written by the thread that runs
+     * MyBatisGenerator, one at a time and in the order in which they were
+     * generated (XML files first, then Java files, each in table order).
+     *
+     * @return true if the sink is thread safe
+     */
+    boolean isThreadSafe();
+
+    /**
+     * Writes a generated file. The sink renders the file with
+     * {@link GeneratedFile#appendFormattedContent(Appendable)} or
+     * {@link GeneratedFile#getFormattedContent()}.
+     *
+     * @param generatedFile
+     *            the generated file
+     * @param fileEncoding
+     *            the encoding of the file, or null for the platform default
+     *            encoding
+     * @return true if the file was written, false if the sink already held
+     *         exactly this file
+     * @throws ShellException
+     *             if the file cannot be written. The generator will skip the
+     *             file and add the exception message to the list of warnings.
+     * @throws IOException
+     *             if an I/O error occurs. This ends the run.
+     */
+    boolean writeFile(GeneratedFile generatedFile, String fileEncoding)
+            throws ShellException, IOException;
+
+    /**
+     * Called once after the last file of a run.
+     *
+     * @param complete
+     *            true if the run completed, false if it failed or was
+     *            canceled. Sinks should not publish partial output if false.
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    void close(boolean complete) throws IOException;
+}
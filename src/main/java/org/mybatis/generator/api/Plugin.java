@@ -556,6 +556,27 @@ public interface Plugin {
     boolean clientDeleteByPrimaryKeyMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the deleteByPrimaryKeys method has been generated
+     * in the client interface.
+     * 
+     * @param method
+     *            the generated deleteByPrimaryKeys method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientDeleteByPrimaryKeysMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the insert method has been generated in the
      * client interface.
@@ -598,6 +619,50 @@ public interface Plugin {
     boolean clientInsertSelectiveMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the insertBatch method has been generated in
+     * the client interface.
+     * 
+     * @param method
+     *            the generated insertBatch method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientInsertBatchMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
+    /**
+     * This method is called when the insertInBatches default method has been
+     * generated in the client interface. The method is only generated if the
+     * table has a maximum number of rows per batch, and if the insertBatch
+     * method was generated.
+     * 
+     * @param method
+     *            the generated insertInBatches method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientInsertInBatchesMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the selectAll method has been
      * generated in the client interface.  This method is only generated by
@@ -704,6 +769,27 @@ public interface Plugin {
     boolean clientSelectByPrimaryKeyMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the selectByPrimaryKeys method has been generated
+     * in the client interface.
+     * 
+     * @param method
+     *            the generated selectByPrimaryKeys method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientSelectByPrimaryKeysMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the updateByExampleSelective method has been
      * generated in the client interface.
@@ -830,6 +916,27 @@ public interface Plugin {
     boolean clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the updateBatchByPrimaryKey method has been
+     * generated in the client interface.
+     * 
+     * @param method
+     *            the generated updateBatchByPrimaryKey method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientUpdateBatchByPrimaryKeyMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called after the field is generated for a specific column
      * in a table.
@@ -1099,6 +1206,22 @@ public interface Plugin {
     boolean sqlMapDeleteByPrimaryKeyElementGenerated(XmlElement element,
             IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the delete by primary keys element is generated.
+     * 
+     * @param element
+     *            the generated &lt;delete&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapDeleteByPrimaryKeysElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the exampleWhereClause element is generated.
      * 
@@ -1179,6 +1302,22 @@ public interface Plugin {
     boolean sqlMapInsertSelectiveElementGenerated(XmlElement element,
             IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the insert batch element is generated.
+     * 
+     * @param element
+     *            the generated &lt;insert&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapInsertBatchElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the resultMap with BLOBs element is generated
      * - this resultMap will extend the base resultMap.
@@ -1228,6 +1367,22 @@ public interface Plugin {
     boolean sqlMapSelectByPrimaryKeyElementGenerated(XmlElement element,
             IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the select by primary keys element is generated.
+     * 
+     * @param element
+     *            the generated &lt;select&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapSelectByPrimaryKeysElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the selectByExample element is generated.
      * 
@@ -1363,6 +1518,23 @@ public interface Plugin {
     boolean sqlMapUpdateByPrimaryKeyWithoutBLOBsElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the update batch by primary key element is
+     * generated.
+     * 
+     * @param element
+     *            the generated &lt;update&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the SQL provider has been generated.
      * Implement this method to add additional methods or fields to a generated
@@ -1465,6 +1637,27 @@ public interface Plugin {
     boolean providerInsertSelectiveMethodGenerated(Method method,
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the insertBatch method has
+     * been generated in the SQL provider.
+     * 
+     * @param method
+     *            the generated insertBatch method
+     * @param topLevelClass
+     *            the partially generated provider class
+     *            You can add additional imported classes to the class
+     *            if necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean providerInsertBatchMethodGenerated(Method method,
+            TopLevelClass topLevelClass, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the selectByExampleWithBLOBs method has
      * been generated in the SQL provider.
@@ -1590,4 +1783,25 @@ public interface Plugin {
      */
     boolean providerUpdateByPrimaryKeySelectiveMethodGenerated(Method method,
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable);
+
+    /**
+     * This method is called when the updateBatchByPrimaryKey method has
+     * been generated in the SQL provider.
+     * 
+     * @param method
+     *            the generated updateBatchByPrimaryKey method
+     * @param topLevelClass
+     *            the partially generated provider class
+     *            You can add additional imported classes to the class
+     *            if necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean providerUpdateBatchByPrimaryKeyMethodGenerated(Method method,
+            TopLevelClass topLevelClass, IntrospectedTable introspectedTable);
 }
@@ -109,6 +109,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean clientDeleteByPrimaryKeysMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean clientInsertMethodGenerated(Method method, Interface interfaze,
             IntrospectedTable introspectedTable) {
         return true;
@@ -155,6 +160,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean clientSelectByPrimaryKeysMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean clientUpdateByExampleSelectiveMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable) {
         return true;
@@ -217,6 +227,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean clientUpdateBatchByPrimaryKeyMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean modelBaseRecordClassGenerated(TopLevelClass topLevelClass,
             IntrospectedTable introspectedTable) {
         return true;
@@ -278,6 +293,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean sqlMapDeleteByPrimaryKeysElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean sqlMapDocumentGenerated(Document document,
             IntrospectedTable introspectedTable) {
         return true;
@@ -318,6 +338,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean sqlMapSelectByPrimaryKeysElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean sqlMapUpdateByExampleSelectiveElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable) {
         return true;
@@ -348,6 +373,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean sqlMapInsertSelectiveElementGenerated(XmlElement element,
             IntrospectedTable introspectedTable) {
         return true;
@@ -363,6 +393,21 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean clientInsertBatchMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean clientInsertInBatchesMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean sqlMapInsertBatchElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public void initialized(IntrospectedTable introspectedTable) {
     }
 
@@ -401,6 +446,11 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean providerInsertBatchMethodGenerated(Method method,
+            TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean providerSelectByExampleWithBLOBsMethodGenerated(
             Method method, TopLevelClass topLevelClass,
             IntrospectedTable introspectedTable) {
@@ -437,6 +487,12 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean providerUpdateBatchByPrimaryKeyMethodGenerated(
+            Method method, TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean clientSelectAllMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable) {
         return true;
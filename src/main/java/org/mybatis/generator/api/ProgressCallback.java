@@ -68,6 +68,11 @@ public interface ProgressCallback {
      * maximum number of startTask messages that will be sent for the file
      * saving phase phase.
      * 
+     * <p>If a context sets the "pipelineWindowSize" property, files are
+     * generated and saved a few tables at a time. This method is then also
+     * called before the files of each window are saved, and the generation
+     * phase continues after them.
+     * 
      * @param totalTasks
      *            the maximum number of times startTask will be called for the
      *            file saving phase.
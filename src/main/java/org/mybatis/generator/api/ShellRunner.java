@@ -32,6 +32,7 @@ import org.mybatis.generator.config.Configuration;
 import org.mybatis.generator.config.xml.ConfigurationParser;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.XMLParserException;
+import org.mybatis.generator.internal.ArchiveOutputSink;
 import org.mybatis.generator.internal.DefaultShellCallback;
 import org.mybatis.generator.logging.LogFactory;
 
@@ -43,6 +44,8 @@ import org.mybatis.generator.logging.LogFactory;
 public class ShellRunner {
     private static final String CONFIG_FILE = "-configfile"; //$NON-NLS-1$
     private static final String OVERWRITE = "-overwrite"; //$NON-NLS-1$
+    private static final String MERGE = "-merge"; //$NON-NLS-1$
+    private static final String ARCHIVE = "-archive"; //$NON-NLS-1$
     private static final String CONTEXT_IDS = "-contextids"; //$NON-NLS-1$
     private static final String TABLES = "-tables"; //$NON-NLS-1$
     private static final String VERBOSE = "-verbose"; //$NON-NLS-1$
@@ -107,15 +110,25 @@ public class ShellRunner {
             Configuration config = cp.parseConfiguration(configurationFile);
 
             DefaultShellCallback shellCallback = new DefaultShellCallback(
-                    arguments.containsKey(OVERWRITE));
+                    arguments.containsKey(OVERWRITE),
+                    arguments.containsKey(MERGE));
 
             MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, shellCallback, warnings);
+            if (arguments.containsKey(ARCHIVE)) {
+                myBatisGenerator.setOutputSink(new ArchiveOutputSink(new File(
+                        arguments.get(ARCHIVE))));
+            }
 
             ProgressCallback progressCallback = arguments.containsKey(VERBOSE) ? new VerboseProgressCallback()
                     : null;
 
             myBatisGenerator.generate(progressCallback, contexts, fullyqualifiedTables);
 
+            writeLine(getString("Progress.19", //$NON-NLS-1$
+                    Integer.toString(myBatisGenerator.getWrittenFileCount()),
+                    Integer.toString(myBatisGenerator.getUnchangedFileCount()),
+                    Integer.toString(myBatisGenerator.getSkippedFileCount())));
+
         } catch (XMLParserException e) {
             writeLine(getString("Progress.3")); //$NON-NLS-1$
             writeLine();
@@ -184,6 +197,15 @@ public class ShellRunner {
                 i++;
             } else if (OVERWRITE.equalsIgnoreCase(args[i])) {
                 arguments.put(OVERWRITE, "Y"); //$NON-NLS-1$
+            } else if (MERGE.equalsIgnoreCase(args[i])) {
+                arguments.put(MERGE, "Y"); //$NON-NLS-1$
+            } else if (ARCHIVE.equalsIgnoreCase(args[i])) {
+                if ((i + 1) < args.length) {
+                    arguments.put(ARCHIVE, args[i + 1]);
+                } else {
+                    errors.add(getString("RuntimeError.19", ARCHIVE)); //$NON-NLS-1$
+                }
+                i++;
             } else if (VERBOSE.equalsIgnoreCase(args[i])) {
                 arguments.put(VERBOSE, "Y"); //$NON-NLS-1$
             } else if (HELP_1.equalsIgnoreCase(args[i])) {
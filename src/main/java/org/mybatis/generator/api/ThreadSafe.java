@@ -0,0 +1,58 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks plugins and comment generators that may be called by several threads
+ * at once.
+ *
+ * <p>When the "generationThreads" context property is greater than 1, the
+ * tables of a context are generated in parallel only if the comment generator
+ * and every plugin of the context are annotated. Otherwise the
+ * tables are generated one at a time, exactly as if the property was not
+ * set.
+ *
+ * <p>By using this annotation, a class promises that:
+ * <ul>
+ * <li>Any state it changes after configuration (in
+ * <tt>setProperties()</tt>, <tt>addConfigurationProperties()</tt> or
+ * <tt>validate()</tt>) is safe to access from several threads.</li>
+ * <li>Calls for one table may be interleaved with calls for other tables.
+ * All calls for a single table are still made by one thread, in the usual
+ * order.</li>
+ * <li>The result does not depend on the order in which tables are
+ * processed.</li>
+ * </ul>
+ *
+ * <p>The <tt>contextGenerateAdditionalJavaFiles()</tt> and
+ * <tt>contextGenerateAdditionalXmlFiles()</tt> methods without parameters
+ * are always called by a single thread, after every table has been
+ * generated.
+ *
+ * <p>The annotation is not inherited. A subclass of an annotated class must be
+ * annotated itself, because it may add state of its own.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ThreadSafe {
+}
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.JavaFormatter;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.config.Context;
@@ -33,6 +35,23 @@ public class DefaultJavaFormatter implements JavaFormatter {
         return compilationUnit.getFormattedContent();
     }
 
+    /**
+     * Writes the formatted compilation unit to the output without building
+     * the content as a String first. Subclasses that override
+     * getFormattedContent(CompilationUnit) should also override this method.
+     *
+     * @param compilationUnit
+     *            the compilation unit
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(CompilationUnit compilationUnit,
+            Appendable out) throws IOException {
+        compilationUnit.appendFormattedContent(out);
+    }
+
     public void setContext(Context context) {
         this.context = context;
     }
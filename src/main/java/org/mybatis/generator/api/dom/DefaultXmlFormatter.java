@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.XmlFormatter;
 import org.mybatis.generator.api.dom.xml.Document;
 import org.mybatis.generator.config.Context;
@@ -33,6 +35,23 @@ public class DefaultXmlFormatter implements XmlFormatter {
         return document.getFormattedContent();
     }
 
+    /**
+     * Writes the formatted document to the output without building the
+     * content as a String first. Subclasses that override
+     * getFormattedContent(Document) should also override this method.
+     *
+     * @param document
+     *            the document
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Document document, Appendable out)
+            throws IOException {
+        document.appendFormattedContent(out);
+    }
+
     public void setContext(Context context) {
         this.context = context;
     }
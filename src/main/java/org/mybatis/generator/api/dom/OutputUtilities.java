@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom;
 
+import java.io.IOException;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -38,6 +39,26 @@ public class OutputUtilities {
         lineSeparator = ls;
     }
 
+    /** The number of indent levels that are cached. */
+    private static final int CACHED_INDENT_LEVELS = 32;
+
+    /** Cached Java indents, indexed by indent level. */
+    private static final String[] javaIndents = createIndents("    "); //$NON-NLS-1$
+
+    /** Cached XML indents, indexed by indent level. */
+    private static final String[] xmlIndents = createIndents("  "); //$NON-NLS-1$
+
+    private static String[] createIndents(String indent) {
+        String[] answer = new String[CACHED_INDENT_LEVELS];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < CACHED_INDENT_LEVELS; i++) {
+            answer[i] = sb.toString();
+            sb.append(indent);
+        }
+
+        return answer;
+    }
+
     /**
      * Utility class - no instances allowed.
      */
@@ -60,6 +81,28 @@ public class OutputUtilities {
         }
     }
 
+    /**
+     * Utility method that indents the output by the default amount for Java
+     * (four spaces per indent level).
+     *
+     * @param out
+     *            the output to append to
+     * @param indentLevel
+     *            the required indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public static void javaIndent(Appendable out, int indentLevel)
+            throws IOException {
+        if (indentLevel < CACHED_INDENT_LEVELS) {
+            out.append(javaIndents[indentLevel]);
+        } else {
+            for (int i = 0; i < indentLevel; i++) {
+                out.append("    "); //$NON-NLS-1$
+            }
+        }
+    }
+
     /**
      * Utility method that indents the buffer by the default amount for XML (two
      * spaces per indent level).
@@ -75,6 +118,40 @@ public class OutputUtilities {
         }
     }
 
+    /**
+     * Utility method that indents the output by the default amount for XML
+     * (two spaces per indent level).
+     *
+     * @param out
+     *            the output to append to
+     * @param indentLevel
+     *            the required indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public static void xmlIndent(Appendable out, int indentLevel)
+            throws IOException {
+        if (indentLevel < CACHED_INDENT_LEVELS) {
+            out.append(xmlIndents[indentLevel]);
+        } else {
+            for (int i = 0; i < indentLevel; i++) {
+                out.append("  "); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Utility method. Adds a newline character to the output.
+     *
+     * @param out
+     *            the output to be appended to
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public static void newLine(Appendable out) throws IOException {
+        out.append(lineSeparator);
+    }
+
     /**
      * Utility method. Adds a newline character to a StringBuilder.
      * 
@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 
@@ -33,6 +34,17 @@ public interface CompilationUnit {
      */
     String getFormattedContent();
 
+    /**
+     * Writes the formatted content of the whole compilation unit to the
+     * output in a single pass.
+     *
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    void appendFormattedContent(Appendable out) throws IOException;
+
     /**
      * Gets the imported types.
      *
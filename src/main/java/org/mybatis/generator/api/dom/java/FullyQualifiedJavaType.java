@@ -21,6 +21,10 @@ import static org.mybatis.generator.internal.util.messages.Messages.getString;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.mybatis.generator.internal.GenerationSession;
 
 /**
  * The Class FullyQualifiedJavaType.
@@ -54,6 +58,23 @@ public class FullyQualifiedJavaType implements
     /** The generated criteria instance. */
     private static FullyQualifiedJavaType generatedCriteriaInstance = null;
 
+    /**
+     * The name of the generation session attribute that holds the parsed
+     * types, keyed by type specification. These instances are never handed
+     * out - new instances copy the parsed values, so that a type
+     * specification is only parsed once per session, but every instance can
+     * still be changed with addTypeArgument().
+     */
+    private static final String SESSION_ATTRIBUTE = FullyQualifiedJavaType.class
+            .getName() + ".parsedTypes"; //$NON-NLS-1$
+
+    /**
+     * The maximum number of parsed types held by a session. The default
+     * session lives as long as the JVM, so its cache must not grow without
+     * limit.
+     */
+    private static final int MAX_PARSED_TYPES = 10000;
+
     /** The short name without any generic arguments. */
     private String baseShortName;
 
@@ -88,6 +109,15 @@ public class FullyQualifiedJavaType implements
     /** The extends bounded wildcard. */
     private boolean extendsBoundedWildcard;
 
+    /** The fully qualified name, including any wildcard, without type arguments. */
+    private String qualifiedNamePrefix;
+
+    /** The short name, including any wildcard, without type arguments. */
+    private String shortNamePrefix;
+
+    /** The import required for this type (not including type arguments), or null. */
+    private String importName;
+
     /**
      * Use this constructor to construct a generic type with the specified type parameters.
      *
@@ -97,7 +127,121 @@ public class FullyQualifiedJavaType implements
     public FullyQualifiedJavaType(String fullTypeSpecification) {
         super();
         typeArguments = new ArrayList<FullyQualifiedJavaType>();
-        parse(fullTypeSpecification);
+
+        ConcurrentMap<String, FullyQualifiedJavaType> parsedTypes = getParsedTypes();
+        FullyQualifiedJavaType parsedType = parsedTypes.get(fullTypeSpecification);
+        if (parsedType == null) {
+            parsedType = new FullyQualifiedJavaType();
+            parsedType.parse(fullTypeSpecification);
+            parsedType.calculateNames();
+            if (parsedTypes.size() < MAX_PARSED_TYPES) {
+                FullyQualifiedJavaType existingType = parsedTypes.putIfAbsent(
+                        fullTypeSpecification, parsedType);
+                if (existingType != null) {
+                    parsedType = existingType;
+                }
+            }
+        }
+
+        copyParsedValues(parsedType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, FullyQualifiedJavaType> getParsedTypes() {
+        GenerationSession session = GenerationSession.getCurrent();
+        ConcurrentMap<String, FullyQualifiedJavaType> parsedTypes = (ConcurrentMap<String, FullyQualifiedJavaType>) session
+                .getAttribute(SESSION_ATTRIBUTE);
+        if (parsedTypes == null) {
+            parsedTypes = (ConcurrentMap<String, FullyQualifiedJavaType>) session
+                    .putAttributeIfAbsent(SESSION_ATTRIBUTE,
+                            new ConcurrentHashMap<String, FullyQualifiedJavaType>());
+        }
+
+        return parsedTypes;
+    }
+
+    /**
+     * Constructs an empty type for parsing.
+     */
+    private FullyQualifiedJavaType() {
+        super();
+        typeArguments = new ArrayList<FullyQualifiedJavaType>();
+    }
+
+    /**
+     * Constructs a deep copy of a parsed type.
+     *
+     * @param parsedType
+     *            the parsed type
+     */
+    private FullyQualifiedJavaType(FullyQualifiedJavaType parsedType) {
+        this();
+        copyParsedValues(parsedType);
+    }
+
+    private void copyParsedValues(FullyQualifiedJavaType parsedType) {
+        baseShortName = parsedType.baseShortName;
+        baseQualifiedName = parsedType.baseQualifiedName;
+        explicitlyImported = parsedType.explicitlyImported;
+        packageName = parsedType.packageName;
+        primitive = parsedType.primitive;
+        isArray = parsedType.isArray;
+        primitiveTypeWrapper = parsedType.primitiveTypeWrapper;
+        wildcardType = parsedType.wildcardType;
+        boundedWildcard = parsedType.boundedWildcard;
+        extendsBoundedWildcard = parsedType.extendsBoundedWildcard;
+        qualifiedNamePrefix = parsedType.qualifiedNamePrefix;
+        shortNamePrefix = parsedType.shortNamePrefix;
+        importName = parsedType.importName;
+
+        for (FullyQualifiedJavaType typeArgument : parsedType.typeArguments) {
+            typeArguments.add(new FullyQualifiedJavaType(typeArgument));
+        }
+    }
+
+    /**
+     * Calculates the names that do not depend on type arguments. Type
+     * arguments may be added after construction, so names that include them
+     * are calculated when they are needed.
+     */
+    private void calculateNames() {
+        qualifiedNamePrefix = calculateNamePrefix(baseQualifiedName);
+        shortNamePrefix = calculateNamePrefix(baseShortName);
+
+        if (explicitlyImported) {
+            int index = baseShortName.indexOf('.');
+            if (index == -1) {
+                importName = baseQualifiedName;
+            } else {
+                // an inner class is specified, only import the top
+                // level class
+                StringBuilder sb = new StringBuilder();
+                sb.append(packageName);
+                sb.append('.');
+                sb.append(baseShortName.substring(0, index));
+                importName = sb.toString();
+            }
+        }
+    }
+
+    private String calculateNamePrefix(String baseName) {
+        if (!wildcardType) {
+            return baseName;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append('?');
+        if (boundedWildcard) {
+            if (extendsBoundedWildcard) {
+                sb.append(" extends "); //$NON-NLS-1$
+            } else {
+                sb.append(" super "); //$NON-NLS-1$
+            }
+
+            sb.append(baseName);
+        }
+
+        return sb.toString();
     }
 
     /**
@@ -115,36 +259,25 @@ public class FullyQualifiedJavaType implements
      * @return Returns the fullyQualifiedName.
      */
     public String getFullyQualifiedName() {
-        StringBuilder sb = new StringBuilder();
-        if (wildcardType) {
-            sb.append('?');
-            if (boundedWildcard) {
-                if (extendsBoundedWildcard) {
-                    sb.append(" extends "); //$NON-NLS-1$
-                } else {
-                    sb.append(" super "); //$NON-NLS-1$
-                }
-
-                sb.append(baseQualifiedName);
-            }
-        } else {
-            sb.append(baseQualifiedName);
+        if (typeArguments.isEmpty()) {
+            return qualifiedNamePrefix;
         }
 
-        if (typeArguments.size() > 0) {
-            boolean first = true;
-            sb.append('<');
-            for (FullyQualifiedJavaType fqjt : typeArguments) {
-                if (first) {
-                    first = false;
-                } else {
-                    sb.append(", "); //$NON-NLS-1$
-                }
-                sb.append(fqjt.getFullyQualifiedName());
+        StringBuilder sb = new StringBuilder();
+        sb.append(qualifiedNamePrefix);
 
+        boolean first = true;
+        sb.append('<');
+        for (FullyQualifiedJavaType fqjt : typeArguments) {
+            if (first) {
+                first = false;
+            } else {
+                sb.append(", "); //$NON-NLS-1$
             }
-            sb.append('>');
+            sb.append(fqjt.getFullyQualifiedName());
+
         }
+        sb.append('>');
 
         return sb.toString();
     }
@@ -161,19 +294,8 @@ public class FullyQualifiedJavaType implements
      */
     public List<String> getImportList() {
         List<String> answer = new ArrayList<String>();
-        if (isExplicitlyImported()) {
-            int index = baseShortName.indexOf('.');
-            if (index == -1) {
-                answer.add(baseQualifiedName);
-            } else {
-                // an inner class is specified, only import the top
-                // level class
-                StringBuilder sb = new StringBuilder();
-                sb.append(packageName);
-                sb.append('.');
-                sb.append(baseShortName.substring(0, index));
-                answer.add(sb.toString());
-            }
+        if (importName != null) {
+            answer.add(importName);
         }
 
         for (FullyQualifiedJavaType fqjt : typeArguments) {
@@ -198,36 +320,25 @@ public class FullyQualifiedJavaType implements
      * @return Returns the shortName - including any type arguments.
      */
     public String getShortName() {
-        StringBuilder sb = new StringBuilder();
-        if (wildcardType) {
-            sb.append('?');
-            if (boundedWildcard) {
-                if (extendsBoundedWildcard) {
-                    sb.append(" extends "); //$NON-NLS-1$
-                } else {
-                    sb.append(" super "); //$NON-NLS-1$
-                }
-
-                sb.append(baseShortName);
-            }
-        } else {
-            sb.append(baseShortName);
+        if (typeArguments.isEmpty()) {
+            return shortNamePrefix;
         }
 
-        if (typeArguments.size() > 0) {
-            boolean first = true;
-            sb.append('<');
-            for (FullyQualifiedJavaType fqjt : typeArguments) {
-                if (first) {
-                    first = false;
-                } else {
-                    sb.append(", "); //$NON-NLS-1$
-                }
-                sb.append(fqjt.getShortName());
+        StringBuilder sb = new StringBuilder();
+        sb.append(shortNamePrefix);
 
+        boolean first = true;
+        sb.append('<');
+        for (FullyQualifiedJavaType fqjt : typeArguments) {
+            if (first) {
+                first = false;
+            } else {
+                sb.append(", "); //$NON-NLS-1$
             }
-            sb.append('>');
+            sb.append(fqjt.getShortName());
+
         }
+        sb.append('>');
 
         return sb.toString();
     }
@@ -299,7 +410,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the int instance
      */
-    public static final FullyQualifiedJavaType getIntInstance() {
+    public static final synchronized FullyQualifiedJavaType getIntInstance() {
         if (intInstance == null) {
             intInstance = new FullyQualifiedJavaType("int"); //$NON-NLS-1$
         }
@@ -362,7 +473,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the string instance
      */
-    public static final FullyQualifiedJavaType getStringInstance() {
+    public static final synchronized FullyQualifiedJavaType getStringInstance() {
         if (stringInstance == null) {
             stringInstance = new FullyQualifiedJavaType("java.lang.String"); //$NON-NLS-1$
         }
@@ -375,7 +486,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the boolean primitive instance
      */
-    public static final FullyQualifiedJavaType getBooleanPrimitiveInstance() {
+    public static final synchronized FullyQualifiedJavaType getBooleanPrimitiveInstance() {
         if (booleanPrimitiveInstance == null) {
             booleanPrimitiveInstance = new FullyQualifiedJavaType("boolean"); //$NON-NLS-1$
         }
@@ -388,7 +499,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the object instance
      */
-    public static final FullyQualifiedJavaType getObjectInstance() {
+    public static final synchronized FullyQualifiedJavaType getObjectInstance() {
         if (objectInstance == null) {
             objectInstance = new FullyQualifiedJavaType("java.lang.Object"); //$NON-NLS-1$
         }
@@ -401,7 +512,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the date instance
      */
-    public static final FullyQualifiedJavaType getDateInstance() {
+    public static final synchronized FullyQualifiedJavaType getDateInstance() {
         if (dateInstance == null) {
             dateInstance = new FullyQualifiedJavaType("java.util.Date"); //$NON-NLS-1$
         }
@@ -414,7 +525,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the criteria instance
      */
-    public static final FullyQualifiedJavaType getCriteriaInstance() {
+    public static final synchronized FullyQualifiedJavaType getCriteriaInstance() {
         if (criteriaInstance == null) {
             criteriaInstance = new FullyQualifiedJavaType("Criteria"); //$NON-NLS-1$
         }
@@ -427,7 +538,7 @@ public class FullyQualifiedJavaType implements
      *
      * @return the generated criteria instance
      */
-    public static final FullyQualifiedJavaType getGeneratedCriteriaInstance() {
+    public static final synchronized FullyQualifiedJavaType getGeneratedCriteriaInstance() {
         if (generatedCriteriaInstance == null) {
             generatedCriteriaInstance = new FullyQualifiedJavaType(
                     "GeneratedCriteria"); //$NON-NLS-1$
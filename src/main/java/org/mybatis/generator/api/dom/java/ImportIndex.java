@@ -0,0 +1,33 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.api.dom.java;
+
+/**
+ * Implemented by the compilation units in this package. While a compilation
+ * unit is rendered, JavaDomUtils checks imports against this index instead of
+ * creating a new FullyQualifiedJavaType for every type name it writes.
+ */
+interface ImportIndex {
+
+    /**
+     * Returns true if the type has been imported into the compilation unit.
+     *
+     * @param fullyQualifiedName
+     *            the fully qualified name of the type, without type arguments
+     * @return true if the type has been imported
+     */
+    boolean isImportedType(String fullyQualifiedName);
+}
@@ -20,6 +20,7 @@ import static org.mybatis.generator.api.dom.OutputUtilities.javaIndent;
 import static org.mybatis.generator.api.dom.OutputUtilities.newLine;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -33,10 +34,14 @@ import java.util.TreeSet;
  *
  * @author Jeff Butler
  */
-public class Interface extends JavaElement implements CompilationUnit {
+public class Interface extends JavaElement implements CompilationUnit,
+        ImportIndex {
     
     /** The imported types. */
     private Set<FullyQualifiedJavaType> importedTypes;
+
+    /** The names of the imported types, calculated when first needed. */
+    private Set<String> importedTypeNames;
     
     /** The static imports. */
     private Set<String> staticImports;
@@ -93,6 +98,7 @@ public class Interface extends JavaElement implements CompilationUnit {
         if (importedType.isExplicitlyImported()
                 && !importedType.getPackageName().equals(type.getPackageName())) {
             importedTypes.add(importedType);
+            importedTypeNames = null;
         }
     }
 
@@ -101,93 +107,104 @@ public class Interface extends JavaElement implements CompilationUnit {
      */
     public String getFormattedContent() {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendFormattedContent(sb);
+        } catch (IOException e) {
+            // cannot happen with a StringBuilder
+            throw new RuntimeException(e);
+        }
+
+        return sb.toString();
+    }
 
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.java.CompilationUnit#appendFormattedContent(java.lang.Appendable)
+     */
+    public void appendFormattedContent(Appendable out) throws IOException {
         for (String commentLine : fileCommentLines) {
-            sb.append(commentLine);
-            newLine(sb);
+            out.append(commentLine);
+            newLine(out);
         }
 
         if (stringHasValue(getType().getPackageName())) {
-            sb.append("package "); //$NON-NLS-1$
-            sb.append(getType().getPackageName());
-            sb.append(';');
-            newLine(sb);
-            newLine(sb);
+            out.append("package "); //$NON-NLS-1$
+            out.append(getType().getPackageName());
+            out.append(';');
+            newLine(out);
+            newLine(out);
         }
 
         for (String staticImport : staticImports) {
-            sb.append("import static "); //$NON-NLS-1$
-            sb.append(staticImport);
-            sb.append(';');
-            newLine(sb);
+            out.append("import static "); //$NON-NLS-1$
+            out.append(staticImport);
+            out.append(';');
+            newLine(out);
         }
         
         if (staticImports.size() > 0) {
-            newLine(sb);
+            newLine(out);
         }
         
         Set<String> importStrings = calculateImports(importedTypes);
         for (String importString : importStrings) {
-            sb.append(importString);
-            newLine(sb);
+            out.append(importString);
+            newLine(out);
         }
 
         if (importStrings.size() > 0) {
-            newLine(sb);
+            newLine(out);
         }
 
         int indentLevel = 0;
 
-        addFormattedJavadoc(sb, indentLevel);
-        addFormattedAnnotations(sb, indentLevel);
+        addFormattedJavadoc(out, indentLevel);
+        addFormattedAnnotations(out, indentLevel);
 
-        sb.append(getVisibility().getValue());
+        out.append(getVisibility().getValue());
 
         if (isStatic()) {
-            sb.append("static "); //$NON-NLS-1$
+            out.append("static "); //$NON-NLS-1$
         }
 
         if (isFinal()) {
-            sb.append("final "); //$NON-NLS-1$
+            out.append("final "); //$NON-NLS-1$
         }
 
-        sb.append("interface "); //$NON-NLS-1$
-        sb.append(getType().getShortName());
+        out.append("interface "); //$NON-NLS-1$
+        out.append(getType().getShortName());
 
         if (getSuperInterfaceTypes().size() > 0) {
-            sb.append(" extends "); //$NON-NLS-1$
+            out.append(" extends "); //$NON-NLS-1$
 
             boolean comma = false;
             for (FullyQualifiedJavaType fqjt : getSuperInterfaceTypes()) {
                 if (comma) {
-                    sb.append(", "); //$NON-NLS-1$
+                    out.append(", "); //$NON-NLS-1$
                 } else {
                     comma = true;
                 }
 
-                sb.append(JavaDomUtils.calculateTypeName(this, fqjt));
+                out.append(JavaDomUtils.calculateTypeName(this, fqjt));
             }
         }
 
-        sb.append(" {"); //$NON-NLS-1$
+        out.append(" {"); //$NON-NLS-1$
         indentLevel++;
 
         Iterator<Method> mtdIter = getMethods().iterator();
         while (mtdIter.hasNext()) {
-            newLine(sb);
+            newLine(out);
             Method method = mtdIter.next();
-            sb.append(method.getFormattedContent(indentLevel, true, this));
+            method.appendFormattedContent(out, indentLevel, true, this);
             if (mtdIter.hasNext()) {
-                newLine(sb);
+                newLine(out);
             }
         }
 
         indentLevel--;
-        newLine(sb);
-        javaIndent(sb, indentLevel);
-        sb.append('}');
-
-        return sb.toString();
+        newLine(out);
+        javaIndent(out, indentLevel);
+        out.append('}');
     }
 
     /**
@@ -276,6 +293,18 @@ public class Interface extends JavaElement implements CompilationUnit {
      */
     public void addImportedTypes(Set<FullyQualifiedJavaType> importedTypes) {
         this.importedTypes.addAll(importedTypes);
+        importedTypeNames = null;
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.java.ImportIndex#isImportedType(java.lang.String)
+     */
+    public boolean isImportedType(String fullyQualifiedName) {
+        if (importedTypeNames == null) {
+            importedTypeNames = JavaDomUtils.calculateImportedTypeNames(importedTypes);
+        }
+
+        return importedTypeNames.contains(fullyQualifiedName);
     }
 
     /* (non-Javadoc)
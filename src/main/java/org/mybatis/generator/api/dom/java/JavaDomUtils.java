@@ -15,6 +15,9 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class JavaDomUtils {
     /**
      * Calculates type names for writing into generated Java.  We try to
@@ -70,7 +73,29 @@ public class JavaDomUtils {
     }
     
     private static boolean typeIsAlreadyImported(CompilationUnit compilationUnit, FullyQualifiedJavaType fullyQualifiedJavaType) {
+        if (compilationUnit instanceof ImportIndex) {
+            return ((ImportIndex) compilationUnit).isImportedType(
+                    fullyQualifiedJavaType.getFullyQualifiedNameWithoutTypeParameters());
+        }
+
         FullyQualifiedJavaType nonGenericType = new FullyQualifiedJavaType(fullyQualifiedJavaType.getFullyQualifiedNameWithoutTypeParameters());
         return compilationUnit.getImportedTypes().contains(nonGenericType);
     }
+
+    /**
+     * Calculates the names used by an ImportIndex. Imported types are compared
+     * by their full name, so a type imported with type arguments does not
+     * match the plain type name.
+     *
+     * @param importedTypes the imported types of a compilation unit
+     * @return the fully qualified names of the imported types
+     */
+    static Set<String> calculateImportedTypeNames(Set<FullyQualifiedJavaType> importedTypes) {
+        Set<String> answer = new HashSet<String>();
+        for (FullyQualifiedJavaType importedType : importedTypes) {
+            answer.add(importedType.getFullyQualifiedName());
+        }
+
+        return answer;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -53,6 +54,9 @@ public class Method extends JavaElement {
     /** The is native. */
     private boolean isNative;
 
+    /** The is default. */
+    private boolean isDefault;
+
     /**
      * Instantiates a new method.
      */
@@ -94,6 +98,7 @@ public class Method extends JavaElement {
         this.returnType = original.returnType;
         this.isNative = original.isNative;
         this.isSynchronized = original.isSynchronized;
+        this.isDefault = original.isDefault;
     }
 
     /**
@@ -161,78 +166,108 @@ public class Method extends JavaElement {
      */
     public String getFormattedContent(int indentLevel, boolean interfaceMethod, CompilationUnit compilationUnit) {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendFormattedContent(sb, indentLevel, interfaceMethod, compilationUnit);
+        } catch (IOException e) {
+            // cannot happen with a StringBuilder
+            throw new RuntimeException(e);
+        }
 
-        addFormattedJavadoc(sb, indentLevel);
-        addFormattedAnnotations(sb, indentLevel);
+        return sb.toString();
+    }
 
-        OutputUtilities.javaIndent(sb, indentLevel);
+    /**
+     * Writes the formatted content to the output.
+     *
+     * @param out
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @param interfaceMethod
+     *            true if the method is declared in an interface
+     * @param compilationUnit
+     *            the compilation unit
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Appendable out, int indentLevel,
+            boolean interfaceMethod, CompilationUnit compilationUnit)
+            throws IOException {
+        addFormattedJavadoc(out, indentLevel);
+        addFormattedAnnotations(out, indentLevel);
+
+        OutputUtilities.javaIndent(out, indentLevel);
+
+        if (interfaceMethod && isDefault()) {
+            out.append("default "); //$NON-NLS-1$
+        }
 
         if (!interfaceMethod) {
-            sb.append(getVisibility().getValue());
+            out.append(getVisibility().getValue());
 
             if (isStatic()) {
-                sb.append("static "); //$NON-NLS-1$
+                out.append("static "); //$NON-NLS-1$
             }
 
             if (isFinal()) {
-                sb.append("final "); //$NON-NLS-1$
+                out.append("final "); //$NON-NLS-1$
             }
             
             if (isSynchronized()) {
-                sb.append("synchronized "); //$NON-NLS-1$
+                out.append("synchronized "); //$NON-NLS-1$
             }
             
             if (isNative()) {
-                sb.append("native "); //$NON-NLS-1$
+                out.append("native "); //$NON-NLS-1$
             } else if (bodyLines.size() == 0) {
-                sb.append("abstract "); //$NON-NLS-1$
+                out.append("abstract "); //$NON-NLS-1$
             }
         }
 
         if (!constructor) {
             if (getReturnType() == null) {
-                sb.append("void"); //$NON-NLS-1$
+                out.append("void"); //$NON-NLS-1$
             } else {
-                sb.append(JavaDomUtils.calculateTypeName(compilationUnit, getReturnType()));
+                out.append(JavaDomUtils.calculateTypeName(compilationUnit, getReturnType()));
             }
-            sb.append(' ');
+            out.append(' ');
         }
 
-        sb.append(getName());
-        sb.append('(');
+        out.append(getName());
+        out.append('(');
 
         boolean comma = false;
         for (Parameter parameter : getParameters()) {
             if (comma) {
-                sb.append(", "); //$NON-NLS-1$
+                out.append(", "); //$NON-NLS-1$
             } else {
                 comma = true;
             }
 
-            sb.append(parameter.getFormattedContent(compilationUnit));
+            parameter.appendFormattedContent(out, compilationUnit);
         }
 
-        sb.append(')');
+        out.append(')');
 
         if (getExceptions().size() > 0) {
-            sb.append(" throws "); //$NON-NLS-1$
+            out.append(" throws "); //$NON-NLS-1$
             comma = false;
             for (FullyQualifiedJavaType fqjt : getExceptions()) {
                 if (comma) {
-                    sb.append(", "); //$NON-NLS-1$
+                    out.append(", "); //$NON-NLS-1$
                 } else {
                     comma = true;
                 }
 
-                sb.append(JavaDomUtils.calculateTypeName(compilationUnit, fqjt));
+                out.append(JavaDomUtils.calculateTypeName(compilationUnit, fqjt));
             }
         }
 
         // if no body lines, then this is an abstract method
         if (bodyLines.size() == 0 || isNative()) {
-            sb.append(';');
+            out.append(';');
         } else {
-            sb.append(" {"); //$NON-NLS-1$
+            out.append(" {"); //$NON-NLS-1$
             indentLevel++;
 
             ListIterator<String> listIter = bodyLines.listIterator();
@@ -242,9 +277,9 @@ public class Method extends JavaElement {
                     indentLevel--;
                 }
 
-                OutputUtilities.newLine(sb);
-                OutputUtilities.javaIndent(sb, indentLevel);
-                sb.append(line);
+                OutputUtilities.newLine(out);
+                OutputUtilities.javaIndent(out, indentLevel);
+                out.append(line);
 
                 if ((line.endsWith("{") && !line.startsWith("switch")) //$NON-NLS-1$ //$NON-NLS-2$
                         || line.endsWith(":")) { //$NON-NLS-1$
@@ -267,12 +302,10 @@ public class Method extends JavaElement {
             }
 
             indentLevel--;
-            OutputUtilities.newLine(sb);
-            OutputUtilities.javaIndent(sb, indentLevel);
-            sb.append('}');
+            OutputUtilities.newLine(out);
+            OutputUtilities.javaIndent(out, indentLevel);
+            out.append('}');
         }
-
-        return sb.toString();
     }
 
     /**
@@ -419,4 +452,24 @@ public class Method extends JavaElement {
     public void setNative(boolean isNative) {
         this.isNative = isNative;
     }
+
+    /**
+     * Checks if is default. Default methods are interface methods with a body,
+     * and require Java 8 in the generated code.
+     *
+     * @return true, if is default
+     */
+    public boolean isDefault() {
+        return isDefault;
+    }
+
+    /**
+     * Sets the default.
+     *
+     * @param isDefault
+     *            the new default
+     */
+    public void setDefault(boolean isDefault) {
+        this.isDefault = isDefault;
+    }
 }
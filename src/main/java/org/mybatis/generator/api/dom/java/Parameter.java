@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -74,21 +75,40 @@ public class Parameter {
 
     public String getFormattedContent(CompilationUnit compilationUnit) {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendFormattedContent(sb, compilationUnit);
+        } catch (IOException e) {
+            // cannot happen with a StringBuilder
+            throw new RuntimeException(e);
+        }
+
+        return sb.toString();
+    }
 
+    /**
+     * Writes the formatted content to the output.
+     *
+     * @param out
+     *            the output
+     * @param compilationUnit
+     *            the compilation unit
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Appendable out,
+            CompilationUnit compilationUnit) throws IOException {
         for (String annotation : annotations) {
-            sb.append(annotation);
-            sb.append(' ');
+            out.append(annotation);
+            out.append(' ');
         }
 
-        sb.append(JavaDomUtils.calculateTypeName(compilationUnit, type));
+        out.append(JavaDomUtils.calculateTypeName(compilationUnit, type));
         
-        sb.append(' ');
+        out.append(' ');
         if (isVarargs) {
-            sb.append("... "); //$NON-NLS-1$
+            out.append("... "); //$NON-NLS-1$
         }
-        sb.append(name);
-
-        return sb.toString();
+        out.append(name);
     }
 
     @Override
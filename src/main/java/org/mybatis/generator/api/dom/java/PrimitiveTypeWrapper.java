@@ -50,7 +50,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return toPrimitiveMethod;
     }
 
-    public static PrimitiveTypeWrapper getBooleanInstance() {
+    public static synchronized PrimitiveTypeWrapper getBooleanInstance() {
         if (booleanInstance == null) {
             booleanInstance = new PrimitiveTypeWrapper("java.lang.Boolean", //$NON-NLS-1$
                     "booleanValue()"); //$NON-NLS-1$
@@ -59,7 +59,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return booleanInstance;
     }
 
-    public static PrimitiveTypeWrapper getByteInstance() {
+    public static synchronized PrimitiveTypeWrapper getByteInstance() {
         if (byteInstance == null) {
             byteInstance = new PrimitiveTypeWrapper("java.lang.Byte", //$NON-NLS-1$
                     "byteValue()"); //$NON-NLS-1$
@@ -68,7 +68,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return byteInstance;
     }
 
-    public static PrimitiveTypeWrapper getCharacterInstance() {
+    public static synchronized PrimitiveTypeWrapper getCharacterInstance() {
         if (characterInstance == null) {
             characterInstance = new PrimitiveTypeWrapper("java.lang.Character", //$NON-NLS-1$
                     "charValue()"); //$NON-NLS-1$
@@ -77,7 +77,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return characterInstance;
     }
 
-    public static PrimitiveTypeWrapper getDoubleInstance() {
+    public static synchronized PrimitiveTypeWrapper getDoubleInstance() {
         if (doubleInstance == null) {
             doubleInstance = new PrimitiveTypeWrapper("java.lang.Double", //$NON-NLS-1$
                     "doubleValue()"); //$NON-NLS-1$
@@ -86,7 +86,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return doubleInstance;
     }
 
-    public static PrimitiveTypeWrapper getFloatInstance() {
+    public static synchronized PrimitiveTypeWrapper getFloatInstance() {
         if (floatInstance == null) {
             floatInstance = new PrimitiveTypeWrapper("java.lang.Float", //$NON-NLS-1$
                     "floatValue()"); //$NON-NLS-1$
@@ -95,7 +95,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return floatInstance;
     }
 
-    public static PrimitiveTypeWrapper getIntegerInstance() {
+    public static synchronized PrimitiveTypeWrapper getIntegerInstance() {
         if (integerInstance == null) {
             integerInstance = new PrimitiveTypeWrapper("java.lang.Integer", //$NON-NLS-1$
                     "intValue()"); //$NON-NLS-1$
@@ -104,7 +104,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return integerInstance;
     }
 
-    public static PrimitiveTypeWrapper getLongInstance() {
+    public static synchronized PrimitiveTypeWrapper getLongInstance() {
         if (longInstance == null) {
             longInstance = new PrimitiveTypeWrapper("java.lang.Long", //$NON-NLS-1$
                     "longValue()"); //$NON-NLS-1$
@@ -113,7 +113,7 @@ public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
         return longInstance;
     }
 
-    public static PrimitiveTypeWrapper getShortInstance() {
+    public static synchronized PrimitiveTypeWrapper getShortInstance() {
         if (shortInstance == null) {
             shortInstance = new PrimitiveTypeWrapper("java.lang.Short", //$NON-NLS-1$
                     "shortValue()"); //$NON-NLS-1$
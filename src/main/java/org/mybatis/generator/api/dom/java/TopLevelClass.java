@@ -19,6 +19,7 @@ import static org.mybatis.generator.api.dom.OutputUtilities.calculateImports;
 import static org.mybatis.generator.api.dom.OutputUtilities.newLine;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -30,11 +31,15 @@ import java.util.TreeSet;
  *
  * @author Jeff Butler
  */
-public class TopLevelClass extends InnerClass implements CompilationUnit {
+public class TopLevelClass extends InnerClass implements CompilationUnit,
+        ImportIndex {
     
     /** The imported types. */
     private Set<FullyQualifiedJavaType> importedTypes;
 
+    /** The names of the imported types, calculated when first needed. */
+    private Set<String> importedTypeNames;
+
     /** The static imports. */
     private Set<String> staticImports;
     
@@ -93,6 +98,7 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
                         getType().getPackageName())
                 && !importedType.getShortName().equals(getType().getShortName())) {
             importedTypes.add(importedType);
+            importedTypeNames = null;
         }
     }
 
@@ -101,44 +107,55 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
      */
     public String getFormattedContent() {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendFormattedContent(sb);
+        } catch (IOException e) {
+            // cannot happen with a StringBuilder
+            throw new RuntimeException(e);
+        }
+
+        return sb.toString();
+    }
 
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.java.CompilationUnit#appendFormattedContent(java.lang.Appendable)
+     */
+    public void appendFormattedContent(Appendable out) throws IOException {
         for (String fileCommentLine : fileCommentLines) {
-            sb.append(fileCommentLine);
-            newLine(sb);
+            out.append(fileCommentLine);
+            newLine(out);
         }
 
         if (stringHasValue(getType().getPackageName())) {
-            sb.append("package "); //$NON-NLS-1$
-            sb.append(getType().getPackageName());
-            sb.append(';');
-            newLine(sb);
-            newLine(sb);
+            out.append("package "); //$NON-NLS-1$
+            out.append(getType().getPackageName());
+            out.append(';');
+            newLine(out);
+            newLine(out);
         }
 
         for (String staticImport : staticImports) {
-            sb.append("import static "); //$NON-NLS-1$
-            sb.append(staticImport);
-            sb.append(';');
-            newLine(sb);
+            out.append("import static "); //$NON-NLS-1$
+            out.append(staticImport);
+            out.append(';');
+            newLine(out);
         }
         
         if (staticImports.size() > 0) {
-            newLine(sb);
+            newLine(out);
         }
         
         Set<String> importStrings = calculateImports(importedTypes);
         for (String importString : importStrings) {
-            sb.append(importString);
-            newLine(sb);
+            out.append(importString);
+            newLine(out);
         }
 
         if (importStrings.size() > 0) {
-            newLine(sb);
+            newLine(out);
         }
 
-        sb.append(super.getFormattedContent(0, this));
-
-        return sb.toString();
+        super.appendFormattedContent(out, 0, this);
     }
 
     /* (non-Javadoc)
@@ -174,6 +191,18 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
      */
     public void addImportedTypes(Set<FullyQualifiedJavaType> importedTypes) {
         this.importedTypes.addAll(importedTypes);
+        importedTypeNames = null;
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.java.ImportIndex#isImportedType(java.lang.String)
+     */
+    public boolean isImportedType(String fullyQualifiedName) {
+        if (importedTypeNames == null) {
+            importedTypeNames = JavaDomUtils.calculateImportedTypeNames(importedTypes);
+        }
+
+        return importedTypeNames.contains(fullyQualifiedName);
     }
 
     /* (non-Javadoc)
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 /**
  * The Class Attribute.
  *
@@ -75,6 +77,21 @@ public class Attribute implements Comparable<Attribute>{
         return sb.toString();
     }
 
+    /**
+     * Writes the formatted content to the output.
+     *
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Appendable out) throws IOException {
+        out.append(name);
+        out.append("=\""); //$NON-NLS-1$
+        out.append(value);
+        out.append('\"');
+    }
+
     @Override
     public int compareTo(Attribute o) {
         if (this.name == null) {
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.OutputUtilities;
 
 /**
@@ -98,23 +100,40 @@ public class Document {
      */
     public String getFormattedContent() {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendFormattedContent(sb);
+        } catch (IOException e) {
+            // cannot happen with a StringBuilder
+            throw new RuntimeException(e);
+        }
+
+        return sb.toString();
+    }
 
-        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
+    /**
+     * Writes the formatted content of the whole document to the output in a
+     * single pass.
+     *
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Appendable out) throws IOException {
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
 
         if (publicId != null && systemId != null) {
-            OutputUtilities.newLine(sb);
-            sb.append("<!DOCTYPE "); //$NON-NLS-1$
-            sb.append(rootElement.getName());
-            sb.append(" PUBLIC \""); //$NON-NLS-1$
-            sb.append(publicId);
-            sb.append("\" \""); //$NON-NLS-1$
-            sb.append(systemId);
-            sb.append("\">"); //$NON-NLS-1$
+            OutputUtilities.newLine(out);
+            out.append("<!DOCTYPE "); //$NON-NLS-1$
+            out.append(rootElement.getName());
+            out.append(" PUBLIC \""); //$NON-NLS-1$
+            out.append(publicId);
+            out.append("\" \""); //$NON-NLS-1$
+            out.append(systemId);
+            out.append("\">"); //$NON-NLS-1$
         }
 
-        OutputUtilities.newLine(sb);
-        sb.append(rootElement.getFormattedContent(0));
-
-        return sb.toString();
+        OutputUtilities.newLine(out);
+        rootElement.appendFormattedContent(out, 0);
     }
 }
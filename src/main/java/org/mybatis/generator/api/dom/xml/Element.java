@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 /**
  * @author Jeff Butler
  */
@@ -28,4 +30,22 @@ public abstract class Element {
     }
 
     public abstract String getFormattedContent(int indentLevel);
+
+    /**
+     * Writes the formatted content of this element to the output. The built
+     * in elements write their content directly, so a whole document can be
+     * rendered into one buffer or stream. Subclasses that override
+     * getFormattedContent(int) should also override this method.
+     *
+     * @param out
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void appendFormattedContent(Appendable out, int indentLevel)
+            throws IOException {
+        out.append(getFormattedContent(indentLevel));
+    }
 }
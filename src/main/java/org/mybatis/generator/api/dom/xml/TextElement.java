@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.OutputUtilities;
 
 /**
@@ -49,6 +51,13 @@ public class TextElement extends Element {
         return sb.toString();
     }
 
+    @Override
+    public void appendFormattedContent(Appendable out, int indentLevel)
+            throws IOException {
+        OutputUtilities.xmlIndent(out, indentLevel);
+        out.append(content);
+    }
+
     /**
      * Gets the content.
      *
@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -81,7 +82,13 @@ public class XmlElement extends Element {
      *            the attribute
      */
     public void addAttribute(Attribute attribute) {
-        attributes.add(attribute);
+        // keep the attributes in rendering order - equal names stay in the
+        // order they were added, as with a stable sort
+        int index = attributes.size();
+        while (index > 0 && attributes.get(index - 1).compareTo(attribute) > 0) {
+            index--;
+        }
+        attributes.add(index, attribute);
     }
 
     /**
@@ -130,34 +137,61 @@ public class XmlElement extends Element {
     @Override
     public String getFormattedContent(int indentLevel) {
         StringBuilder sb = new StringBuilder();
+        try {
+            appendFormattedContent(sb, indentLevel);
+        } catch (IOException e) {
+            // cannot happen with a StringBuilder
+            throw new RuntimeException(e);
+        }
 
-        OutputUtilities.xmlIndent(sb, indentLevel);
-        sb.append('<');
-        sb.append(name);
+        return sb.toString();
+    }
 
-        Collections.sort(attributes);
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.xml.Element#appendFormattedContent(java.lang.Appendable, int)
+     */
+    @Override
+    public void appendFormattedContent(Appendable out, int indentLevel)
+            throws IOException {
+        OutputUtilities.xmlIndent(out, indentLevel);
+        out.append('<');
+        out.append(name);
+
+        // attributes are sorted when added, but the list may also be
+        // changed directly through getAttributes()
+        if (!isSorted(attributes)) {
+            Collections.sort(attributes);
+        }
         for (Attribute att : attributes) {
-            sb.append(' ');
-            sb.append(att.getFormattedContent());
+            out.append(' ');
+            att.appendFormattedContent(out);
         }
 
         if (elements.size() > 0) {
-            sb.append(">"); //$NON-NLS-1$
+            out.append('>');
             for (Element element : elements) {
-                OutputUtilities.newLine(sb);
-                sb.append(element.getFormattedContent(indentLevel + 1));
+                OutputUtilities.newLine(out);
+                element.appendFormattedContent(out, indentLevel + 1);
             }
-            OutputUtilities.newLine(sb);
-            OutputUtilities.xmlIndent(sb, indentLevel);
-            sb.append("</"); //$NON-NLS-1$
-            sb.append(name);
-            sb.append('>');
+            OutputUtilities.newLine(out);
+            OutputUtilities.xmlIndent(out, indentLevel);
+            out.append("</"); //$NON-NLS-1$
+            out.append(name);
+            out.append('>');
 
         } else {
-            sb.append(" />"); //$NON-NLS-1$
+            out.append(" />"); //$NON-NLS-1$
         }
+    }
 
-        return sb.toString();
+    private static boolean isSorted(List<Attribute> attributes) {
+        for (int i = 1; i < attributes.size(); i++) {
+            if (attributes.get(i - 1).compareTo(attributes.get(i)) > 0) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -20,13 +20,13 @@ import static org.mybatis.generator.internal.util.messages.Messages.getString;
 import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.internal.GenerationSession;
 import org.mybatis.generator.internal.ObjectFactory;
 
 /**
@@ -36,33 +36,64 @@ import org.mybatis.generator.internal.ObjectFactory;
  */
 public class RootClassInfo {
 
-    private static Map<String, RootClassInfo> rootClassInfoMap;
-
-    static {
-        rootClassInfoMap = Collections
-                .synchronizedMap(new HashMap<String, RootClassInfo>());
-    }
+    /** The name of the session attribute that holds the root class info map. */
+    private static final String SESSION_ATTRIBUTE = RootClassInfo.class.getName();
 
+    /**
+     * Returns the root class info for a class. Root class info is cached in
+     * the current generation session, so each class is only introspected once
+     * per generation run.
+     *
+     * @param className
+     *            the class name
+     * @param warnings
+     *            the warnings
+     * @return the root class info
+     */
     public static RootClassInfo getInstance(String className,
             List<String> warnings) {
-        RootClassInfo classInfo = rootClassInfoMap.get(className);
+        ConcurrentMap<String, RootClassInfo> rootClassInfoMap = getRootClassInfoMap();
+        // the class name is null if there is no root class, but the map
+        // does not allow null keys
+        String key = className == null ? "" : className; //$NON-NLS-1$
+        RootClassInfo classInfo = rootClassInfoMap.get(key);
         if (classInfo == null) {
-            classInfo = new RootClassInfo(className, warnings);
-            rootClassInfoMap.put(className, classInfo);
+            // introspect each class only once, even if several threads
+            // need it at the same time
+            synchronized (rootClassInfoMap) {
+                classInfo = rootClassInfoMap.get(key);
+                if (classInfo == null) {
+                    classInfo = new RootClassInfo(className, warnings);
+                    rootClassInfoMap.put(key, classInfo);
+                }
+            }
         }
 
         return classInfo;
     }
 
     /**
-     * Clears the internal map containing root class info.  This method should be called at the beginning of
-     * a generation run to clear the cached root class info in case there has been a change.
-     * For example, when using the eclipse launcher, the cache would be kept until eclipse
-     * was restarted.
+     * Clears the root class info cached in the current session. MyBatisGenerator
+     * starts every generation run with a new session, so this method only needs
+     * to be called by clients that use this class outside of a generation run.
      * 
      */
     public static void reset() {
-        rootClassInfoMap.clear();
+        getRootClassInfoMap().clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, RootClassInfo> getRootClassInfoMap() {
+        GenerationSession session = GenerationSession.getCurrent();
+        ConcurrentMap<String, RootClassInfo> rootClassInfoMap = (ConcurrentMap<String, RootClassInfo>) session
+                .getAttribute(SESSION_ATTRIBUTE);
+        if (rootClassInfoMap == null) {
+            rootClassInfoMap = (ConcurrentMap<String, RootClassInfo>) session
+                    .putAttributeIfAbsent(SESSION_ATTRIBUTE,
+                            new ConcurrentHashMap<String, RootClassInfo>());
+        }
+
+        return rootClassInfoMap;
     }
 
     private PropertyDescriptor[] propertyDescriptors;
@@ -96,6 +127,23 @@ public class RootClassInfo {
     }
 
     public boolean containsProperty(IntrospectedColumn introspectedColumn) {
+        return containsProperty(introspectedColumn, warnings);
+    }
+
+    /**
+     * Returns true if the root class contains a property that matches the
+     * column. Problems with the property are added to the specified warnings
+     * rather than to the warnings of the caller that created this instance,
+     * which may belong to a different table.
+     *
+     * @param introspectedColumn
+     *            the introspected column
+     * @param warnings
+     *            the warnings
+     * @return true if the root class contains a matching property
+     */
+    public boolean containsProperty(IntrospectedColumn introspectedColumn,
+            List<String> warnings) {
         if (propertyDescriptors == null) {
             return false;
         }
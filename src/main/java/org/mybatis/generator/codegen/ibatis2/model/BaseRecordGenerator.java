@@ -85,7 +85,7 @@ public class BaseRecordGenerator extends AbstractJavaGenerator {
         String rootClass = getRootClass();
         for (IntrospectedColumn introspectedColumn : introspectedColumns) {
             if (RootClassInfo.getInstance(rootClass, warnings)
-                    .containsProperty(introspectedColumn)) {
+                    .containsProperty(introspectedColumn, warnings)) {
                 continue;
             }
 
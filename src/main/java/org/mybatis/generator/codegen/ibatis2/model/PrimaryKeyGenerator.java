@@ -69,7 +69,7 @@ public class PrimaryKeyGenerator extends AbstractJavaGenerator {
         for (IntrospectedColumn introspectedColumn : introspectedTable
                 .getPrimaryKeyColumns()) {
             if (RootClassInfo.getInstance(rootClass, warnings)
-                    .containsProperty(introspectedColumn)) {
+                    .containsProperty(introspectedColumn, warnings)) {
                 continue;
             }
 
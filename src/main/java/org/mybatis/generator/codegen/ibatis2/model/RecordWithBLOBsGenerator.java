@@ -69,7 +69,7 @@ public class RecordWithBLOBsGenerator extends AbstractJavaGenerator {
         for (IntrospectedColumn introspectedColumn : introspectedTable
                 .getBLOBColumns()) {
             if (RootClassInfo.getInstance(rootClass, warnings)
-                    .containsProperty(introspectedColumn)) {
+                    .containsProperty(introspectedColumn, warnings)) {
                 continue;
             }
 
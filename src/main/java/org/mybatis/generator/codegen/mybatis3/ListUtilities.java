@@ -27,6 +27,9 @@ import org.mybatis.generator.api.IntrospectedColumn;
  * 
  * If a column is identity, it should not be referenced on an insert method.
  *  
+ * IntrospectedTable provides cached versions of the common filtered column
+ * lists, such as getNonGeneratedAlwaysColumns().
+ *
  * TODO - Replace this with Lambdas when we get to Java 8
  * @author Jeff Butler
  *
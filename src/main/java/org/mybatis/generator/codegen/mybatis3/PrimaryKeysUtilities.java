@@ -0,0 +1,219 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3;
+
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getAliasedEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * Utility methods for the selectByPrimaryKeys and deleteByPrimaryKeys
+ * statements, which have a collection of primary keys as parameter.
+ * 
+ * <p>If the table has a single primary key column and no primary key class,
+ * the collection holds the key values and the where clause is an IN list.
+ * The IN list is split into several IN lists joined with OR when the
+ * collection is larger than the maxInListSize table property - some databases
+ * limit the number of expressions in a list (Oracle allows 1000).
+ * 
+ * <p>Otherwise the collection holds primary key objects (or records, if there
+ * is no primary key class) and the where clause is one condition per key
+ * joined with OR. Row value constructors - (A, B) IN ((?, ?), ...) - would be
+ * shorter, but are not supported by every database.
+ * 
+ * <p>An empty collection matches no rows - the where clause is then
+ * "where 1 = 0", because an empty IN list is not valid SQL.
+ */
+public class PrimaryKeysUtilities {
+
+    /**
+     * Utility class - no instances.
+     */
+    private PrimaryKeysUtilities() {
+        super();
+    }
+
+    /**
+     * Returns the type of the elements of the collection parameter.
+     *
+     * @param introspectedTable
+     *            the introspected table
+     * @return the type of a primary key
+     */
+    public static FullyQualifiedJavaType getPrimaryKeyType(
+            IntrospectedTable introspectedTable) {
+        if (introspectedTable.getRules().generatePrimaryKeyClass()) {
+            return new FullyQualifiedJavaType(
+                    introspectedTable.getPrimaryKeyType());
+        } else if (isSingleValue(introspectedTable)) {
+            return introspectedTable.getPrimaryKeyColumns().get(0)
+                    .getFullyQualifiedJavaType();
+        } else {
+            // the key fields are in the record classes
+            return introspectedTable.getRules().calculateAllFieldsClass();
+        }
+    }
+
+    /**
+     * Returns the where clause that matches the primary keys in the
+     * collection parameter, or no rows if the collection is empty.
+     *
+     * @param introspectedTable
+     *            the introspected table
+     * @param aliased
+     *            true if the column names should be prefixed with the table
+     *            alias
+     * @return the elements of the where clause
+     */
+    public static List<Element> getWhereClauseElements(
+            IntrospectedTable introspectedTable, boolean aliased) {
+        XmlElement whenElement = new XmlElement("when"); //$NON-NLS-1$
+        whenElement.addAttribute(new Attribute("test", "!collection.isEmpty()")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        XmlElement foreachElement = new XmlElement("foreach"); //$NON-NLS-1$
+        foreachElement.addAttribute(new Attribute("collection", "collection")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreachElement.addAttribute(new Attribute("item", "item")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        if (isSingleValue(introspectedTable)) {
+            IntrospectedColumn introspectedColumn = introspectedTable
+                    .getPrimaryKeyColumns().get(0);
+            String columnName = aliased ? getAliasedEscapedColumnName(introspectedColumn)
+                    : getEscapedColumnName(introspectedColumn);
+            int maxInListSize = introspectedTable.getTableConfiguration()
+                    .getMaxInListSize();
+
+            whenElement.addElement(new TextElement("where " + columnName + " in")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            foreachElement.addAttribute(new Attribute("index", "index")); //$NON-NLS-1$ //$NON-NLS-2$
+            foreachElement.addAttribute(new Attribute("open", "(")); //$NON-NLS-1$ //$NON-NLS-2$
+            foreachElement.addAttribute(new Attribute("close", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            // start a new IN list after every maxInListSize keys
+            XmlElement ifElement = new XmlElement("if"); //$NON-NLS-1$
+            ifElement.addAttribute(new Attribute("test", //$NON-NLS-1$
+                    "index != 0 and index % " + maxInListSize + " == 0")); //$NON-NLS-1$ //$NON-NLS-2$
+            ifElement.addElement(new TextElement(") or " + columnName + " in (")); //$NON-NLS-1$ //$NON-NLS-2$
+            foreachElement.addElement(ifElement);
+
+            ifElement = new XmlElement("if"); //$NON-NLS-1$
+            ifElement.addAttribute(new Attribute("test", //$NON-NLS-1$
+                    "index % " + maxInListSize + " != 0")); //$NON-NLS-1$ //$NON-NLS-2$
+            ifElement.addElement(new TextElement(",")); //$NON-NLS-1$
+            foreachElement.addElement(ifElement);
+
+            foreachElement.addElement(new TextElement(
+                    getItemParameterClause(introspectedColumn)));
+        } else {
+            whenElement.addElement(new TextElement("where")); //$NON-NLS-1$
+
+            foreachElement.addAttribute(new Attribute("separator", " or ")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            StringBuilder sb = new StringBuilder();
+            sb.append('(');
+            boolean and = false;
+            for (IntrospectedColumn introspectedColumn : introspectedTable
+                    .getPrimaryKeyColumns()) {
+                if (and) {
+                    sb.append(" and "); //$NON-NLS-1$
+                } else {
+                    and = true;
+                }
+
+                sb.append(aliased ? getAliasedEscapedColumnName(introspectedColumn)
+                        : getEscapedColumnName(introspectedColumn));
+                sb.append(" = "); //$NON-NLS-1$
+                sb.append(getParameterClause(introspectedColumn, "item.")); //$NON-NLS-1$
+            }
+            sb.append(')');
+            foreachElement.addElement(new TextElement(sb.toString()));
+        }
+
+        whenElement.addElement(foreachElement);
+
+        XmlElement otherwiseElement = new XmlElement("otherwise"); //$NON-NLS-1$
+        otherwiseElement.addElement(new TextElement("where 1 = 0")); //$NON-NLS-1$
+
+        XmlElement chooseElement = new XmlElement("choose"); //$NON-NLS-1$
+        chooseElement.addElement(whenElement);
+        chooseElement.addElement(otherwiseElement);
+
+        List<Element> answer = new ArrayList<Element>();
+        answer.add(chooseElement);
+        return answer;
+    }
+
+    /**
+     * Returns the lines of the where clause, for a &lt;script&gt; in a mapper
+     * annotation.
+     *
+     * @param introspectedTable
+     *            the introspected table
+     * @param aliased
+     *            true if the column names should be prefixed with the table
+     *            alias
+     * @return the lines of the where clause, without indentation
+     */
+    public static List<String> getWhereClauseLines(
+            IntrospectedTable introspectedTable, boolean aliased) {
+        List<String> answer = new ArrayList<String>();
+        for (Element element : getWhereClauseElements(introspectedTable,
+                aliased)) {
+            for (String line : element.getFormattedContent(0).split("\\r?\\n")) { //$NON-NLS-1$
+                answer.add(line.trim());
+            }
+        }
+
+        return answer;
+    }
+
+    private static boolean isSingleValue(IntrospectedTable introspectedTable) {
+        return !introspectedTable.getRules().generatePrimaryKeyClass()
+                && introspectedTable.getPrimaryKeyColumns().size() == 1;
+    }
+
+    /**
+     * Returns the parameter clause of a key value - the collection item
+     * itself rather than a property of the item.
+     */
+    private static String getItemParameterClause(
+            IntrospectedColumn introspectedColumn) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("#{item,jdbcType="); //$NON-NLS-1$
+        sb.append(introspectedColumn.getJdbcTypeName());
+
+        if (stringHasValue(introspectedColumn.getTypeHandler())) {
+            sb.append(",typeHandler="); //$NON-NLS-1$
+            sb.append(introspectedColumn.getTypeHandler());
+        }
+
+        sb.append('}');
+
+        return sb.toString();
+    }
+}
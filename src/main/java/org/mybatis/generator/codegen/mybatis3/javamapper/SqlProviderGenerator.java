@@ -30,9 +30,11 @@ import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.Ab
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderApplyWhereMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderCountByExampleMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderDeleteByExampleMethodGenerator;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderInsertBatchMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderInsertSelectiveMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderSelectByExampleWithBLOBsMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderSelectByExampleWithoutBLOBsMethodGenerator;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderUpdateBatchByPrimaryKeyMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderUpdateByExampleSelectiveMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderUpdateByExampleWithBLOBsMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider.ProviderUpdateByExampleWithoutBLOBsMethodGenerator;
@@ -68,12 +70,14 @@ public class SqlProviderGenerator extends AbstractJavaGenerator {
         addApplyWhereMethod |= addCountByExampleMethod(topLevelClass);
         addApplyWhereMethod |= addDeleteByExampleMethod(topLevelClass);
         addInsertSelectiveMethod(topLevelClass);
+        addInsertBatchMethod(topLevelClass);
         addApplyWhereMethod |= addSelectByExampleWithBLOBsMethod(topLevelClass);
         addApplyWhereMethod |= addSelectByExampleWithoutBLOBsMethod(topLevelClass);
         addApplyWhereMethod |= addUpdateByExampleSelectiveMethod(topLevelClass);
         addApplyWhereMethod |= addUpdateByExampleWithBLOBsMethod(topLevelClass);
         addApplyWhereMethod |= addUpdateByExampleWithoutBLOBsMethod(topLevelClass);
         addUpdateByPrimaryKeySelectiveMethod(topLevelClass);
+        addUpdateBatchByPrimaryKeyMethod(topLevelClass);
 
         if (addApplyWhereMethod) {
             addApplyWhereMethod(topLevelClass);
@@ -118,6 +122,13 @@ public class SqlProviderGenerator extends AbstractJavaGenerator {
         }
     }
 
+    protected void addInsertBatchMethod(TopLevelClass topLevelClass) {
+        if (introspectedTable.getRules().generateInsertBatch()) {
+            AbstractJavaProviderMethodGenerator methodGenerator = new ProviderInsertBatchMethodGenerator(useLegacyBuilder);
+            initializeAndExecuteGenerator(methodGenerator, topLevelClass);
+        }
+    }
+
     protected boolean addSelectByExampleWithBLOBsMethod(
             TopLevelClass topLevelClass) {
         boolean rc = false;
@@ -186,6 +197,14 @@ public class SqlProviderGenerator extends AbstractJavaGenerator {
         }
     }
 
+    protected void addUpdateBatchByPrimaryKeyMethod(
+            TopLevelClass topLevelClass) {
+        if (introspectedTable.getRules().generateUpdateBatchByPrimaryKey()) {
+            AbstractJavaProviderMethodGenerator methodGenerator = new ProviderUpdateBatchByPrimaryKeyMethodGenerator(useLegacyBuilder);
+            initializeAndExecuteGenerator(methodGenerator, topLevelClass);
+        }
+    }
+
     protected void addApplyWhereMethod(TopLevelClass topLevelClass) {
         AbstractJavaProviderMethodGenerator methodGenerator = new ProviderApplyWhereMethodGenerator(useLegacyBuilder);
         initializeAndExecuteGenerator(methodGenerator, topLevelClass);
@@ -0,0 +1,109 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+
+/**
+ * Generates the insertBatch method, which inserts a list of records with one
+ * statement.
+ * 
+ * <p>If the table has an insertBatchMaxRows property, an insertInBatches
+ * default method is also generated. It splits the list into chunks of at
+ * most that many rows and calls insertBatch for each chunk, so that the
+ * statements stay under the parameter limit of the driver. It returns 0 for
+ * an empty list without calling insertBatch, which needs at least one
+ * record. Default methods require Java 8 in the generated code.
+ */
+public class InsertBatchMethodGenerator extends AbstractJavaMapperMethodGenerator {
+
+    public InsertBatchMethodGenerator() {
+        super();
+    }
+
+    @Override
+    public void addInterfaceElements(Interface interfaze) {
+        Set<FullyQualifiedJavaType> importedTypes = new TreeSet<FullyQualifiedJavaType>();
+        Method method = new Method();
+
+        method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+        method.setVisibility(JavaVisibility.PUBLIC);
+        method.setName(introspectedTable.getInsertBatchStatementId());
+
+        FullyQualifiedJavaType recordType = introspectedTable.getRules()
+                .calculateAllFieldsClass();
+        FullyQualifiedJavaType parameterType = FullyQualifiedJavaType
+                .getNewListInstance();
+        parameterType.addTypeArgument(recordType);
+
+        importedTypes.add(FullyQualifiedJavaType.getNewListInstance());
+        importedTypes.add(recordType);
+        method.addParameter(new Parameter(parameterType, "records")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+
+        addMapperAnnotations(interfaze, method);
+
+        if (context.getPlugins().clientInsertBatchMethodGenerated(method,
+                interfaze, introspectedTable)) {
+            interfaze.addImportedTypes(importedTypes);
+            interfaze.addMethod(method);
+
+            int maxRows = introspectedTable.getTableConfiguration()
+                    .getInsertBatchMaxRows();
+            if (maxRows > 0) {
+                addInsertInBatchesMethod(interfaze, parameterType, maxRows);
+            }
+        }
+    }
+
+    protected void addInsertInBatchesMethod(Interface interfaze,
+            FullyQualifiedJavaType parameterType, int maxRows) {
+        Method method = new Method("insertInBatches"); //$NON-NLS-1$
+        method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+        method.setVisibility(JavaVisibility.PUBLIC);
+        method.setDefault(true);
+        method.addParameter(new Parameter(parameterType, "records")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+
+        method.addBodyLine("int rows = 0;"); //$NON-NLS-1$
+        method.addBodyLine(String.format(
+                "for (int i = 0; i < records.size(); i += %d) {", maxRows)); //$NON-NLS-1$
+        method.addBodyLine(String.format(
+                "rows += %s(records.subList(i, Math.min(i + %d, records.size())));", //$NON-NLS-1$
+                introspectedTable.getInsertBatchStatementId(), maxRows));
+        method.addBodyLine("}"); //$NON-NLS-1$
+        method.addBodyLine("return rows;"); //$NON-NLS-1$
+
+        if (context.getPlugins().clientInsertInBatchesMethodGenerated(method,
+                interfaze, introspectedTable)) {
+            interfaze.addMethod(method);
+        }
+    }
+
+    public void addMapperAnnotations(Interface interfaze, Method method) {
+    }
+}
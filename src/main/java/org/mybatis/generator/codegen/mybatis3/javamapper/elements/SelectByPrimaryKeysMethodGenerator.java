@@ -0,0 +1,79 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.codegen.mybatis3.PrimaryKeysUtilities;
+
+/**
+ * Generates the selectByPrimaryKeys method, which selects the records with
+ * the primary keys in a collection with one statement.
+ */
+public class SelectByPrimaryKeysMethodGenerator extends
+        AbstractJavaMapperMethodGenerator {
+
+    public SelectByPrimaryKeysMethodGenerator() {
+        super();
+    }
+
+    @Override
+    public void addInterfaceElements(Interface interfaze) {
+        Set<FullyQualifiedJavaType> importedTypes = new TreeSet<FullyQualifiedJavaType>();
+        Method method = new Method();
+        method.setVisibility(JavaVisibility.PUBLIC);
+
+        FullyQualifiedJavaType recordType = introspectedTable.getRules()
+                .calculateAllFieldsClass();
+        FullyQualifiedJavaType returnType = FullyQualifiedJavaType
+                .getNewListInstance();
+        returnType.addTypeArgument(recordType);
+        method.setReturnType(returnType);
+        importedTypes.add(FullyQualifiedJavaType.getNewListInstance());
+        importedTypes.add(recordType);
+
+        method.setName(introspectedTable.getSelectByPrimaryKeysStatementId());
+
+        FullyQualifiedJavaType keyType = PrimaryKeysUtilities
+                .getPrimaryKeyType(introspectedTable);
+        FullyQualifiedJavaType parameterType = new FullyQualifiedJavaType(
+                "java.util.Collection"); //$NON-NLS-1$
+        parameterType.addTypeArgument(keyType);
+        importedTypes.add(new FullyQualifiedJavaType("java.util.Collection")); //$NON-NLS-1$
+        importedTypes.add(keyType);
+        method.addParameter(new Parameter(parameterType, "keys")); //$NON-NLS-1$
+
+        addMapperAnnotations(interfaze, method);
+
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+
+        if (context.getPlugins().clientSelectByPrimaryKeysMethodGenerated(
+                method, interfaze, introspectedTable)) {
+            interfaze.addImportedTypes(importedTypes);
+            interfaze.addMethod(method);
+        }
+    }
+
+    public void addMapperAnnotations(Interface interfaze, Method method) {
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements.annotated;
+
+import static org.mybatis.generator.api.dom.OutputUtilities.javaIndent;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.codegen.mybatis3.PrimaryKeysUtilities;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.DeleteByPrimaryKeysMethodGenerator;
+
+/**
+ * Annotates the deleteByPrimaryKeys method with a script, because the
+ * statement needs a foreach element over the collection of keys.
+ */
+public class AnnotatedDeleteByPrimaryKeysMethodGenerator extends
+        DeleteByPrimaryKeysMethodGenerator {
+
+    public AnnotatedDeleteByPrimaryKeysMethodGenerator() {
+        super();
+    }
+
+    @Override
+    public void addMapperAnnotations(Interface interfaze, Method method) {
+        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Delete")); //$NON-NLS-1$
+
+        StringBuilder sb = new StringBuilder();
+        method.addAnnotation("@Delete({"); //$NON-NLS-1$
+        javaIndent(sb, 1);
+        sb.append("\"<script>\","); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append("\"delete from "); //$NON-NLS-1$
+        sb.append(escapeStringForJava(introspectedTable
+                .getFullyQualifiedTableNameAtRuntime()));
+        sb.append("\","); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+
+        for (String line : PrimaryKeysUtilities.getWhereClauseLines(
+                introspectedTable, false)) {
+            sb.setLength(0);
+            javaIndent(sb, 1);
+            sb.append('"');
+            sb.append(escapeStringForJava(line));
+            sb.append("\","); //$NON-NLS-1$
+            method.addAnnotation(sb.toString());
+        }
+
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append("\"</script>\""); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+        method.addAnnotation("})"); //$NON-NLS-1$
+    }
+}
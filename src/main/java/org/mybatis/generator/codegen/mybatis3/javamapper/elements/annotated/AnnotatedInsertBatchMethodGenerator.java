@@ -0,0 +1,54 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements.annotated;
+
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.InsertBatchMethodGenerator;
+import org.mybatis.generator.config.GeneratedKey;
+
+/**
+ * Generates the insertBatch method of an annotated mapper. The statement is
+ * built by the SQL provider.
+ */
+public class AnnotatedInsertBatchMethodGenerator extends
+        InsertBatchMethodGenerator {
+
+    public AnnotatedInsertBatchMethodGenerator() {
+        super();
+    }
+
+    @Override
+    public void addMapperAnnotations(Interface interfaze, Method method) {
+        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(introspectedTable.getMyBatis3SqlProviderType());
+        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.InsertProvider")); //$NON-NLS-1$
+        StringBuilder sb = new StringBuilder();
+        sb.append("@InsertProvider(type="); //$NON-NLS-1$
+        sb.append(fqjt.getShortName());
+        sb.append(".class, method=\""); //$NON-NLS-1$
+        sb.append(introspectedTable.getInsertBatchStatementId());
+        sb.append("\")"); //$NON-NLS-1$
+
+        method.addAnnotation(sb.toString());
+
+        // a selectKey cannot return the keys of several rows
+        GeneratedKey gk = introspectedTable.getGeneratedKey();
+        if (gk != null && gk.isJdbcStandard()) {
+            addGeneratedKeyAnnotation(interfaze, method, gk);
+        }
+    }
+}
@@ -28,7 +28,6 @@ import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
 import org.mybatis.generator.api.dom.java.Method;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.InsertMethodGenerator;
 import org.mybatis.generator.config.GeneratedKey;
 
@@ -64,7 +63,7 @@ public class AnnotatedInsertMethodGenerator extends
         valuesClause.append("\"values ("); //$NON-NLS-1$
 
         List<String> valuesClauses = new ArrayList<String>();
-        Iterator<IntrospectedColumn> iter = ListUtilities.removeIdentityAndGeneratedAlwaysColumns(introspectedTable.getAllColumns())
+        Iterator<IntrospectedColumn> iter = introspectedTable.getNonIdentityNonGeneratedAlwaysColumns()
                 .iterator();
         boolean hasFields = false;
         while (iter.hasNext()) {
@@ -0,0 +1,161 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements.annotated;
+
+import static org.mybatis.generator.api.dom.OutputUtilities.javaIndent;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getSelectListPhrase;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+import java.util.Iterator;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.codegen.mybatis3.PrimaryKeysUtilities;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.SelectByPrimaryKeysMethodGenerator;
+
+/**
+ * Annotates the selectByPrimaryKeys method with a script, because the
+ * statement needs a foreach element over the collection of keys.
+ */
+public class AnnotatedSelectByPrimaryKeysMethodGenerator extends
+        SelectByPrimaryKeysMethodGenerator {
+
+    public AnnotatedSelectByPrimaryKeysMethodGenerator() {
+        super();
+    }
+
+    @Override
+    public void addMapperAnnotations(Interface interfaze, Method method) {
+        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Select")); //$NON-NLS-1$
+
+        StringBuilder sb = new StringBuilder();
+        method.addAnnotation("@Select({"); //$NON-NLS-1$
+        javaIndent(sb, 1);
+        sb.append("\"<script>\","); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append("\"select\","); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+
+        Iterator<IntrospectedColumn> iter = introspectedTable
+            .getAllColumns().iterator();
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append('"');
+        boolean hasColumns = false;
+        while (iter.hasNext()) {
+            sb.append(escapeStringForJava(getSelectListPhrase(iter.next())));
+            hasColumns = true;
+
+            if (iter.hasNext()) {
+                sb.append(", "); //$NON-NLS-1$
+            }
+
+            if (sb.length() > 80) {
+                sb.append("\","); //$NON-NLS-1$
+                method.addAnnotation(sb.toString());
+
+                sb.setLength(0);
+                javaIndent(sb, 1);
+                sb.append('"');
+                hasColumns = false;
+            }
+        }
+
+        if (hasColumns) {
+            sb.append("\","); //$NON-NLS-1$
+            method.addAnnotation(sb.toString());
+        }
+
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append("\"from "); //$NON-NLS-1$
+        sb.append(escapeStringForJava(introspectedTable
+                .getAliasedFullyQualifiedTableNameAtRuntime()));
+        sb.append("\","); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+
+        for (String line : PrimaryKeysUtilities.getWhereClauseLines(
+                introspectedTable, true)) {
+            sb.setLength(0);
+            javaIndent(sb, 1);
+            sb.append('"');
+            sb.append(escapeStringForJava(line));
+            sb.append("\","); //$NON-NLS-1$
+            method.addAnnotation(sb.toString());
+        }
+
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append("\"</script>\""); //$NON-NLS-1$
+        method.addAnnotation(sb.toString());
+        method.addAnnotation("})"); //$NON-NLS-1$
+
+        addAnnotatedResults(interfaze, method);
+    }
+
+    private void addAnnotatedResults(Interface interfaze, Method method) {
+        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.type.JdbcType")); //$NON-NLS-1$
+
+        if (introspectedTable.isConstructorBased()) {
+            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Arg")); //$NON-NLS-1$
+            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.ConstructorArgs")); //$NON-NLS-1$
+            method.addAnnotation("@ConstructorArgs({"); //$NON-NLS-1$
+        } else {
+            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Result")); //$NON-NLS-1$
+            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Results")); //$NON-NLS-1$
+            method.addAnnotation("@Results({"); //$NON-NLS-1$
+        }
+
+        StringBuilder sb = new StringBuilder();
+
+        Iterator<IntrospectedColumn> iterPk = introspectedTable.getPrimaryKeyColumns().iterator();
+        Iterator<IntrospectedColumn> iterNonPk = introspectedTable.getNonPrimaryKeyColumns().iterator();
+        while (iterPk.hasNext()) {
+            IntrospectedColumn introspectedColumn = iterPk.next();
+            sb.setLength(0);
+            javaIndent(sb, 1);
+            sb.append(getResultAnnotation(interfaze, introspectedColumn, true,
+                    introspectedTable.isConstructorBased()));
+
+            if (iterPk.hasNext() || iterNonPk.hasNext()) {
+                sb.append(',');
+            }
+
+            method.addAnnotation(sb.toString());
+        }
+
+        while (iterNonPk.hasNext()) {
+            IntrospectedColumn introspectedColumn = iterNonPk.next();
+            sb.setLength(0);
+            javaIndent(sb, 1);
+            sb.append(getResultAnnotation(interfaze, introspectedColumn, false,
+                    introspectedTable.isConstructorBased()));
+
+            if (iterNonPk.hasNext()) {
+                sb.append(',');
+            }
+
+            method.addAnnotation(sb.toString());
+        }
+
+        method.addAnnotation("})"); //$NON-NLS-1$
+    }
+}
@@ -26,7 +26,6 @@ import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
 import org.mybatis.generator.api.dom.java.Method;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.UpdateByPrimaryKeyWithBLOBsMethodGenerator;
 
 /**
@@ -59,7 +58,7 @@ public class AnnotatedUpdateByPrimaryKeyWithBLOBsMethodGenerator extends
         sb.append("\"set "); //$NON-NLS-1$
 
         Iterator<IntrospectedColumn> iter =
-                ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getNonPrimaryKeyColumns())
+                introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns()
                 .iterator();
         while (iter.hasNext()) {
             IntrospectedColumn introspectedColumn = iter.next();
@@ -26,7 +26,6 @@ import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
 import org.mybatis.generator.api.dom.java.Method;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.UpdateByPrimaryKeyWithoutBLOBsMethodGenerator;
 
 /**
@@ -63,10 +62,10 @@ public class AnnotatedUpdateByPrimaryKeyWithoutBLOBsMethodGenerator extends
 
         Iterator<IntrospectedColumn> iter;
         if (isSimple) {
-            iter = ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getNonPrimaryKeyColumns())
+            iter = introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns()
                    .iterator();
         } else {
-            iter = ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getBaseColumns())
+            iter = introspectedTable.getNonGeneratedAlwaysBaseColumns()
                    .iterator();
         }
         
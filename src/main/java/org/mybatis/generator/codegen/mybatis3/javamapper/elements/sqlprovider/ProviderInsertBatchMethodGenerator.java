@@ -0,0 +1,110 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider;
+
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+
+/**
+ * Generates the insertBatch method of the SQL provider. The SQL builders
+ * cannot build a multi-row values clause, so the statement is built with a
+ * StringBuilder - one row of parameters for every record in the list. The
+ * list must not be empty, as for the XML statement.
+ */
+public class ProviderInsertBatchMethodGenerator extends
+        AbstractJavaProviderMethodGenerator {
+
+    public ProviderInsertBatchMethodGenerator(boolean useLegacyBuilder) {
+        super(useLegacyBuilder);
+    }
+
+    @Override
+    public void addClassElements(TopLevelClass topLevelClass) {
+        Set<FullyQualifiedJavaType> importedTypes = new TreeSet<FullyQualifiedJavaType>();
+        importedTypes.add(new FullyQualifiedJavaType("java.util.List")); //$NON-NLS-1$
+        importedTypes.add(new FullyQualifiedJavaType("java.util.Map")); //$NON-NLS-1$
+
+        Method method = new Method(
+                introspectedTable.getInsertBatchStatementId());
+        method.setVisibility(JavaVisibility.PUBLIC);
+        method.setReturnType(FullyQualifiedJavaType.getStringInstance());
+        method.addParameter(new Parameter(new FullyQualifiedJavaType("java.util.Map<java.lang.String, java.lang.Object>"), //$NON-NLS-1$
+                "parameter")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+
+        method.addBodyLine("List<?> records = (List<?>) parameter.get(\"list\");"); //$NON-NLS-1$
+        method.addBodyLine("StringBuilder sb = new StringBuilder();"); //$NON-NLS-1$
+
+        StringBuilder insertClause = new StringBuilder();
+        insertClause.append("insert into "); //$NON-NLS-1$
+        insertClause.append(escapeStringForJava(introspectedTable
+                .getFullyQualifiedTableNameAtRuntime()));
+        insertClause.append(" ("); //$NON-NLS-1$
+
+        Iterator<IntrospectedColumn> iter = introspectedTable
+                .getNonIdentityNonGeneratedAlwaysColumns().iterator();
+        while (iter.hasNext()) {
+            insertClause.append(escapeStringForJava(getEscapedColumnName(iter
+                    .next())));
+            if (iter.hasNext()) {
+                insertClause.append(", "); //$NON-NLS-1$
+                if (insertClause.length() > 60) {
+                    method.addBodyLine(String.format("sb.append(\"%s\");", //$NON-NLS-1$
+                            insertClause.toString()));
+                    insertClause.setLength(0);
+                }
+            }
+        }
+        insertClause.append(") values "); //$NON-NLS-1$
+        method.addBodyLine(String.format("sb.append(\"%s\");", //$NON-NLS-1$
+                insertClause.toString()));
+
+        method.addBodyLine("for (int i = 0; i < records.size(); i++) {"); //$NON-NLS-1$
+        method.addBodyLine("sb.append(i == 0 ? \"(\" : \", (\");"); //$NON-NLS-1$
+        iter = introspectedTable.getNonIdentityNonGeneratedAlwaysColumns()
+                .iterator();
+        while (iter.hasNext()) {
+            // #{list[i].property,jdbcType=...}
+            String parameterClause = getParameterClause(iter.next(), "list[\").append(i).append(\"]."); //$NON-NLS-1$
+            method.addBodyLine(String.format("sb.append(\"%s%s\");", //$NON-NLS-1$
+                    parameterClause, iter.hasNext() ? ", " : ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        method.addBodyLine("}"); //$NON-NLS-1$
+
+        method.addBodyLine(""); //$NON-NLS-1$
+        method.addBodyLine("return sb.toString();"); //$NON-NLS-1$
+
+        if (context.getPlugins().providerInsertBatchMethodGenerated(method,
+                topLevelClass, introspectedTable)) {
+            topLevelClass.addImportedTypes(importedTypes);
+            topLevelClass.addMethod(method);
+        }
+    }
+}
@@ -29,7 +29,6 @@ import org.mybatis.generator.api.dom.java.JavaVisibility;
 import org.mybatis.generator.api.dom.java.Method;
 import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 
 /**
  * 
@@ -80,7 +79,7 @@ public class ProviderInsertSelectiveMethodGenerator extends
                 builderPrefix,
     			escapeStringForJava(introspectedTable.getFullyQualifiedTableNameAtRuntime())));
     	
-        for (IntrospectedColumn introspectedColumn : ListUtilities.removeIdentityAndGeneratedAlwaysColumns(introspectedTable.getAllColumns())) {
+        for (IntrospectedColumn introspectedColumn : introspectedTable.getNonIdentityNonGeneratedAlwaysColumns()) {
             
             method.addBodyLine(""); //$NON-NLS-1$
             if (!introspectedColumn.getFullyQualifiedJavaType().isPrimitive()
@@ -0,0 +1,143 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.javamapper.elements.sqlprovider;
+
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+
+/**
+ * Generates the updateBatchByPrimaryKey method of the SQL provider. Like the
+ * insertBatch method, the statement is built with a StringBuilder - one WHEN
+ * clause per record in the CASE expression of every column, and one primary
+ * key per record in the where clause. The list must not be empty, as for the
+ * XML statement.
+ */
+public class ProviderUpdateBatchByPrimaryKeyMethodGenerator extends
+        AbstractJavaProviderMethodGenerator {
+
+    // #{list[i].property,jdbcType=...}
+    private static final String PREFIX = "list[\").append(i).append(\"]."; //$NON-NLS-1$
+
+    public ProviderUpdateBatchByPrimaryKeyMethodGenerator(boolean useLegacyBuilder) {
+        super(useLegacyBuilder);
+    }
+
+    @Override
+    public void addClassElements(TopLevelClass topLevelClass) {
+        Set<FullyQualifiedJavaType> importedTypes = new TreeSet<FullyQualifiedJavaType>();
+        importedTypes.add(new FullyQualifiedJavaType("java.util.List")); //$NON-NLS-1$
+        importedTypes.add(new FullyQualifiedJavaType("java.util.Map")); //$NON-NLS-1$
+
+        Method method = new Method(
+                introspectedTable.getUpdateBatchByPrimaryKeyStatementId());
+        method.setVisibility(JavaVisibility.PUBLIC);
+        method.setReturnType(FullyQualifiedJavaType.getStringInstance());
+        method.addParameter(new Parameter(new FullyQualifiedJavaType("java.util.Map<java.lang.String, java.lang.Object>"), //$NON-NLS-1$
+                "parameter")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+
+        method.addBodyLine("List<?> records = (List<?>) parameter.get(\"list\");"); //$NON-NLS-1$
+        method.addBodyLine("StringBuilder sb = new StringBuilder();"); //$NON-NLS-1$
+        method.addBodyLine(String.format("sb.append(\"update %s set \");", //$NON-NLS-1$
+                escapeStringForJava(introspectedTable
+                        .getFullyQualifiedTableNameAtRuntime())));
+
+        List<IntrospectedColumn> primaryKeyColumns = introspectedTable
+                .getPrimaryKeyColumns();
+        String primaryKeyCondition = getPrimaryKeyCondition(primaryKeyColumns);
+
+        Iterator<IntrospectedColumn> iter = introspectedTable
+                .getNonGeneratedAlwaysNonPrimaryKeyColumns().iterator();
+        while (iter.hasNext()) {
+            IntrospectedColumn introspectedColumn = iter.next();
+            method.addBodyLine(String.format("sb.append(\"%s = case\");", //$NON-NLS-1$
+                    escapeStringForJava(getEscapedColumnName(introspectedColumn))));
+            method.addBodyLine("for (int i = 0; i < records.size(); i++) {"); //$NON-NLS-1$
+            method.addBodyLine(String.format("sb.append(\" when %s then %s\");", //$NON-NLS-1$
+                    primaryKeyCondition,
+                    getParameterClause(introspectedColumn, PREFIX)));
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine(String.format("sb.append(\" end%s\");", //$NON-NLS-1$
+                    iter.hasNext() ? ", " : "")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        if (primaryKeyColumns.size() == 1) {
+            IntrospectedColumn introspectedColumn = primaryKeyColumns.get(0);
+            method.addBodyLine(String.format("sb.append(\" where %s in (\");", //$NON-NLS-1$
+                    escapeStringForJava(getEscapedColumnName(introspectedColumn))));
+            method.addBodyLine("for (int i = 0; i < records.size(); i++) {"); //$NON-NLS-1$
+            method.addBodyLine("if (i > 0) {"); //$NON-NLS-1$
+            method.addBodyLine("sb.append(\", \");"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine(String.format("sb.append(\"%s\");", //$NON-NLS-1$
+                    getParameterClause(introspectedColumn, PREFIX)));
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine("sb.append(\")\");"); //$NON-NLS-1$
+        } else {
+            method.addBodyLine("sb.append(\" where \");"); //$NON-NLS-1$
+            method.addBodyLine("for (int i = 0; i < records.size(); i++) {"); //$NON-NLS-1$
+            method.addBodyLine("if (i > 0) {"); //$NON-NLS-1$
+            method.addBodyLine("sb.append(\" or \");"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine(String.format("sb.append(\"(%s)\");", //$NON-NLS-1$
+                    primaryKeyCondition));
+            method.addBodyLine("}"); //$NON-NLS-1$
+        }
+
+        method.addBodyLine(""); //$NON-NLS-1$
+        method.addBodyLine("return sb.toString();"); //$NON-NLS-1$
+
+        if (context.getPlugins().providerUpdateBatchByPrimaryKeyMethodGenerated(
+                method, topLevelClass, introspectedTable)) {
+            topLevelClass.addImportedTypes(importedTypes);
+            topLevelClass.addMethod(method);
+        }
+    }
+
+    private String getPrimaryKeyCondition(
+            List<IntrospectedColumn> primaryKeyColumns) {
+        StringBuilder sb = new StringBuilder();
+        boolean and = false;
+        for (IntrospectedColumn introspectedColumn : primaryKeyColumns) {
+            if (and) {
+                sb.append(" and "); //$NON-NLS-1$
+            } else {
+                and = true;
+            }
+
+            sb.append(escapeStringForJava(getEscapedColumnName(introspectedColumn)));
+            sb.append(" = "); //$NON-NLS-1$
+            sb.append(getParameterClause(introspectedColumn, PREFIX));
+        }
+
+        return sb.toString();
+    }
+}
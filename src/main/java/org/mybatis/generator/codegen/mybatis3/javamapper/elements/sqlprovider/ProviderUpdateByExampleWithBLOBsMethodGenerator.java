@@ -40,7 +40,7 @@ public class ProviderUpdateByExampleWithBLOBsMethodGenerator extends
 
     @Override
     public List<IntrospectedColumn> getColumns() {
-        return introspectedTable.getAllColumns();
+        return introspectedTable.getNonGeneratedAlwaysColumns();
     }
 
     @Override
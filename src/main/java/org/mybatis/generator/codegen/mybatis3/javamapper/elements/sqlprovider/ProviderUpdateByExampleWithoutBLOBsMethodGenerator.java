@@ -29,7 +29,6 @@ import org.mybatis.generator.api.dom.java.JavaVisibility;
 import org.mybatis.generator.api.dom.java.Method;
 import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 
 /**
  * 
@@ -79,7 +78,7 @@ public class ProviderUpdateByExampleWithoutBLOBsMethodGenerator extends
         		escapeStringForJava(introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime())));
         method.addBodyLine(""); //$NON-NLS-1$
         
-        for (IntrospectedColumn introspectedColumn : ListUtilities.removeGeneratedAlwaysColumns(getColumns())) {
+        for (IntrospectedColumn introspectedColumn : getColumns()) {
             StringBuilder sb = new StringBuilder();
             sb.append(getParameterClause(introspectedColumn));
             sb.insert(2, "record."); //$NON-NLS-1$
@@ -118,7 +117,7 @@ public class ProviderUpdateByExampleWithoutBLOBsMethodGenerator extends
     }
     
     public List<IntrospectedColumn> getColumns() {
-        return introspectedTable.getNonBLOBColumns();
+        return introspectedTable.getNonGeneratedAlwaysNonBLOBColumns();
     }
     
     public boolean callPlugins(Method method, TopLevelClass topLevelClass) {
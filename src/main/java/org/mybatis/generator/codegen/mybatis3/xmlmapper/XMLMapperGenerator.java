@@ -56,10 +56,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
         addSelectByExampleWithBLOBsElement(answer);
         addSelectByExampleWithoutBLOBsElement(answer);
         addSelectByPrimaryKeyElement(answer);
+        addSelectByPrimaryKeysElement(answer);
         addDeleteByPrimaryKeyElement(answer);
+        addDeleteByPrimaryKeysElement(answer);
         addDeleteByExampleElement(answer);
         addInsertElement(answer);
         addInsertSelectiveElement(answer);
+        addInsertBatchElement(answer);
         addCountByExampleElement(answer);
         addUpdateByExampleSelectiveElement(answer);
         addUpdateByExampleWithBLOBsElement(answer);
@@ -67,6 +70,7 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
         addUpdateByPrimaryKeySelectiveElement(answer);
         addUpdateByPrimaryKeyWithBLOBsElement(answer);
         addUpdateByPrimaryKeyWithoutBLOBsElement(answer);
+        addUpdateBatchByPrimaryKeyElement(answer);
         //自定义selectAll方法
         addSelectAllElement(answer);
         addQueryWhereClauseListElementGenerator(answer);
@@ -142,6 +146,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
         }
     }
 
+    protected void addSelectByPrimaryKeysElement(XmlElement parentElement) {
+        if (introspectedTable.getRules().generateSelectByPrimaryKeys()) {
+            AbstractXmlElementGenerator elementGenerator = new SelectByPrimaryKeysElementGenerator();
+            initializeAndExecuteGenerator(elementGenerator, parentElement);
+        }
+    }
+
     protected void addDeleteByExampleElement(XmlElement parentElement) {
         if (introspectedTable.getRules().generateDeleteByExample()) {
             AbstractXmlElementGenerator elementGenerator = new DeleteByExampleElementGenerator();
@@ -156,6 +167,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
         }
     }
 
+    protected void addDeleteByPrimaryKeysElement(XmlElement parentElement) {
+        if (introspectedTable.getRules().generateDeleteByPrimaryKeys()) {
+            AbstractXmlElementGenerator elementGenerator = new DeleteByPrimaryKeysElementGenerator();
+            initializeAndExecuteGenerator(elementGenerator, parentElement);
+        }
+    }
+
     protected void addInsertElement(XmlElement parentElement) {
         if (introspectedTable.getRules().generateInsert()) {
             AbstractXmlElementGenerator elementGenerator = new InsertElementGenerator(false);
@@ -170,6 +188,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
         }
     }
 
+    protected void addInsertBatchElement(XmlElement parentElement) {
+        if (introspectedTable.getRules().generateInsertBatch()) {
+            AbstractXmlElementGenerator elementGenerator = new InsertBatchElementGenerator();
+            initializeAndExecuteGenerator(elementGenerator, parentElement);
+        }
+    }
+
     protected void addCountByExampleElement(XmlElement parentElement) {
         if (introspectedTable.getRules().generateCountByExample()) {
             AbstractXmlElementGenerator elementGenerator = new CountByExampleElementGenerator();
@@ -224,6 +249,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
         }
     }
 
+    protected void addUpdateBatchByPrimaryKeyElement(XmlElement parentElement) {
+        if (introspectedTable.getRules().generateUpdateBatchByPrimaryKey()) {
+            AbstractXmlElementGenerator elementGenerator = new UpdateBatchByPrimaryKeyElementGenerator();
+            initializeAndExecuteGenerator(elementGenerator, parentElement);
+        }
+    }
+
     protected void addSelectAllElement(XmlElement parentElement) {
             AbstractXmlElementGenerator elementGenerator = new SimpleSelectAllElementGenerator();
             initializeAndExecuteGenerator(elementGenerator, parentElement);
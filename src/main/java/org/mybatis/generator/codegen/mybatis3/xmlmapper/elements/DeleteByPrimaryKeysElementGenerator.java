@@ -0,0 +1,61 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.PrimaryKeysUtilities;
+
+/**
+ * Generates a delete statement that deletes the records with the primary
+ * keys in a collection.
+ */
+public class DeleteByPrimaryKeysElementGenerator extends
+        DeleteByPrimaryKeyElementGenerator {
+
+    public DeleteByPrimaryKeysElementGenerator() {
+        super(false);
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        XmlElement answer = new XmlElement("delete"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute(
+                "id", introspectedTable.getDeleteByPrimaryKeysStatementId())); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("parameterType", //$NON-NLS-1$
+                "java.util.Collection")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addComment(answer);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("delete from "); //$NON-NLS-1$
+        sb.append(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+        answer.addElement(new TextElement(sb.toString()));
+
+        for (Element element : PrimaryKeysUtilities.getWhereClauseElements(
+                introspectedTable, false)) {
+            answer.addElement(element);
+        }
+
+        if (context.getPlugins().sqlMapDeleteByPrimaryKeysElementGenerated(
+                answer, introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * Generates an insert statement that inserts a list of records with one
+ * multi-row values clause. The column list and the generated key handling
+ * are the same as in the insert statement, except that a generated key can
+ * only be returned with JDBC generated keys.
+ * 
+ * <p>The list of records must not be empty - a values clause without rows is
+ * not valid SQL.
+ */
+public class InsertBatchElementGenerator extends InsertElementGenerator {
+
+    public InsertBatchElementGenerator() {
+        super(false);
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        XmlElement answer = new XmlElement("insert"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute(
+                "id", introspectedTable.getInsertBatchStatementId())); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("parameterType", //$NON-NLS-1$
+                "java.util.List")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addComment(answer);
+
+        addGeneratedKey(answer, false);
+
+        XmlElement foreachElement = new XmlElement("foreach"); //$NON-NLS-1$
+        foreachElement.addAttribute(new Attribute("collection", "list")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreachElement.addAttribute(new Attribute("item", "item")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreachElement.addAttribute(new Attribute("separator", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        addInsertClauses(answer, foreachElement, "(", "item."); //$NON-NLS-1$ //$NON-NLS-2$
+        answer.addElement(new TextElement("values")); //$NON-NLS-1$
+        answer.addElement(foreachElement);
+
+        if (context.getPlugins().sqlMapInsertBatchElementGenerated(answer,
+                introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+}
@@ -24,7 +24,6 @@ import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.TextElement;
 import org.mybatis.generator.api.dom.xml.XmlElement;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
 import org.mybatis.generator.config.GeneratedKey;
 
@@ -63,6 +62,27 @@ public class InsertElementGenerator extends AbstractXmlElementGenerator {
 
         context.getCommentGenerator().addComment(answer);
 
+        addGeneratedKey(answer, true);
+        addInsertClauses(answer, answer, "values (", null); //$NON-NLS-1$
+
+        if (context.getPlugins().sqlMapInsertElementGenerated(answer,
+                introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+
+    /**
+     * Adds the generated key handling to an insert element - either the JDBC
+     * generated key attributes, or a selectKey element.
+     *
+     * @param answer
+     *            the insert element
+     * @param allowSelectKey
+     *            false if the generated key can only be retrieved with JDBC
+     *            generated keys. Statements that insert several rows cannot
+     *            use a selectKey element.
+     */
+    protected void addGeneratedKey(XmlElement answer, boolean allowSelectKey) {
         GeneratedKey gk = introspectedTable.getGeneratedKey();
         if (gk != null) {
             IntrospectedColumn introspectedColumn = introspectedTable
@@ -77,12 +97,28 @@ public class InsertElementGenerator extends AbstractXmlElementGenerator {
                             "keyProperty", introspectedColumn.getJavaProperty())); //$NON-NLS-1$
                     answer.addAttribute(new Attribute(
                             "keyColumn", introspectedColumn.getActualColumnName())); //$NON-NLS-1$
-                } else {
+                } else if (allowSelectKey) {
                     answer.addElement(getSelectKey(introspectedColumn, gk));
                 }
             }
         }
+    }
 
+    /**
+     * Adds the insert clause and the values clause of an insert statement.
+     *
+     * @param insertElement
+     *            the element that receives the insert clause
+     * @param valuesElement
+     *            the element that receives the values clause
+     * @param valuesClauseStart
+     *            the start of the values clause, up to the first parameter
+     * @param parameterPrefix
+     *            the prefix of the parameter properties, or null
+     */
+    protected void addInsertClauses(XmlElement insertElement,
+            XmlElement valuesElement, String valuesClauseStart,
+            String parameterPrefix) {
         StringBuilder insertClause = new StringBuilder();
         StringBuilder valuesClause = new StringBuilder();
 
@@ -91,24 +127,24 @@ public class InsertElementGenerator extends AbstractXmlElementGenerator {
                 .getFullyQualifiedTableNameAtRuntime());
         insertClause.append(" ("); //$NON-NLS-1$
 
-        valuesClause.append("values ("); //$NON-NLS-1$
+        valuesClause.append(valuesClauseStart);
 
         List<String> valuesClauses = new ArrayList<String>();
-        List<IntrospectedColumn> columns = ListUtilities.removeIdentityAndGeneratedAlwaysColumns(introspectedTable.getAllColumns());
+        List<IntrospectedColumn> columns = introspectedTable.getNonIdentityNonGeneratedAlwaysColumns();
         for (int i = 0; i < columns.size(); i++) {
             IntrospectedColumn introspectedColumn = columns.get(i);
 
             insertClause.append(MyBatis3FormattingUtilities
                     .getEscapedColumnName(introspectedColumn));
             valuesClause.append(MyBatis3FormattingUtilities
-                    .getParameterClause(introspectedColumn));
+                    .getParameterClause(introspectedColumn, parameterPrefix));
             if (i + 1 < columns.size()) {
                 insertClause.append(", "); //$NON-NLS-1$
                 valuesClause.append(", "); //$NON-NLS-1$
             }
 
             if (valuesClause.length() > 80) {
-                answer.addElement(new TextElement(insertClause.toString()));
+                insertElement.addElement(new TextElement(insertClause.toString()));
                 insertClause.setLength(0);
                 OutputUtilities.xmlIndent(insertClause, 1);
 
@@ -119,18 +155,13 @@ public class InsertElementGenerator extends AbstractXmlElementGenerator {
         }
 
         insertClause.append(')');
-        answer.addElement(new TextElement(insertClause.toString()));
+        insertElement.addElement(new TextElement(insertClause.toString()));
 
         valuesClause.append(')');
         valuesClauses.add(valuesClause.toString());
 
         for (String clause : valuesClauses) {
-            answer.addElement(new TextElement(clause));
-        }
-
-        if (context.getPlugins().sqlMapInsertElementGenerated(answer,
-                introspectedTable)) {
-            parentElement.addElement(answer);
+            valuesElement.addElement(new TextElement(clause));
         }
     }
 }
@@ -19,7 +19,6 @@ import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.TextElement;
 import org.mybatis.generator.api.dom.xml.XmlElement;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
 
 import java.util.Iterator;
@@ -43,8 +42,7 @@ public class QueryWhereClauseListElementGenerator extends AbstractXmlElementGene
                 introspectedTable.getMyBatis3QueryWhereClause()));
         XmlElement whereElement = new XmlElement("where"); //$NON-NLS-1$
         StringBuilder sb = new StringBuilder();
-        for (IntrospectedColumn introspectedColumn : ListUtilities.removeGeneratedAlwaysColumns(introspectedTable
-                .getNonPrimaryKeyColumns())) {
+        for (IntrospectedColumn introspectedColumn : introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns()) {
             XmlElement isNotNullElement = new XmlElement("if"); //$NON-NLS-1$
             sb.setLength(0);
             sb.append(introspectedColumn.getJavaProperty());
@@ -0,0 +1,171 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.OutputUtilities;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+
+/**
+ * Generates an update statement that updates a list of records with one
+ * statement. Every column is set with a CASE expression that selects the
+ * value of the record with the matching primary key, and the where clause
+ * matches the primary keys of all records in the list.
+ * 
+ * <p>The list of records must not be empty - a CASE expression without WHEN
+ * clauses, and an empty IN list, are not valid SQL.
+ */
+public class UpdateBatchByPrimaryKeyElementGenerator extends
+        AbstractXmlElementGenerator {
+
+    public UpdateBatchByPrimaryKeyElementGenerator() {
+        super();
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        XmlElement answer = new XmlElement("update"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute(
+                "id", introspectedTable.getUpdateBatchByPrimaryKeyStatementId())); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("parameterType", //$NON-NLS-1$
+                "java.util.List")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addComment(answer);
+
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("update "); //$NON-NLS-1$
+        sb.append(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+        answer.addElement(new TextElement(sb.toString()));
+
+        List<IntrospectedColumn> primaryKeyColumns = introspectedTable
+                .getPrimaryKeyColumns();
+
+        // set up for first column
+        sb.setLength(0);
+        sb.append("set "); //$NON-NLS-1$
+
+        Iterator<IntrospectedColumn> iter = introspectedTable
+                .getNonGeneratedAlwaysNonPrimaryKeyColumns().iterator();
+        while (iter.hasNext()) {
+            IntrospectedColumn introspectedColumn = iter.next();
+
+            sb.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn));
+            sb.append(" = case"); //$NON-NLS-1$
+            answer.addElement(new TextElement(sb.toString()));
+
+            XmlElement foreachElement = getForeachElement(null);
+            sb.setLength(0);
+            sb.append("when "); //$NON-NLS-1$
+            sb.append(getPrimaryKeyCondition(primaryKeyColumns));
+            sb.append(" then "); //$NON-NLS-1$
+            sb.append(MyBatis3FormattingUtilities.getParameterClause(
+                    introspectedColumn, "item.")); //$NON-NLS-1$
+            foreachElement.addElement(new TextElement(sb.toString()));
+            answer.addElement(foreachElement);
+
+            sb.setLength(0);
+            OutputUtilities.xmlIndent(sb, 1);
+            sb.append("end"); //$NON-NLS-1$
+            if (iter.hasNext()) {
+                sb.append(',');
+            }
+            answer.addElement(new TextElement(sb.toString()));
+
+            // set up for the next column
+            sb.setLength(0);
+            OutputUtilities.xmlIndent(sb, 1);
+        }
+
+        XmlElement foreachElement;
+        if (primaryKeyColumns.size() == 1) {
+            IntrospectedColumn introspectedColumn = primaryKeyColumns.get(0);
+            sb.setLength(0);
+            sb.append("where "); //$NON-NLS-1$
+            sb.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn));
+            sb.append(" in"); //$NON-NLS-1$
+            answer.addElement(new TextElement(sb.toString()));
+
+            foreachElement = getForeachElement(","); //$NON-NLS-1$
+            foreachElement.addElement(new TextElement(
+                    MyBatis3FormattingUtilities.getParameterClause(
+                            introspectedColumn, "item."))); //$NON-NLS-1$
+        } else {
+            answer.addElement(new TextElement("where")); //$NON-NLS-1$
+
+            foreachElement = getForeachElement(" or "); //$NON-NLS-1$
+            foreachElement.addElement(new TextElement(
+                    getPrimaryKeyCondition(primaryKeyColumns)));
+        }
+        foreachElement.addAttribute(new Attribute("open", "(")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreachElement.addAttribute(new Attribute("close", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        answer.addElement(foreachElement);
+
+        if (context.getPlugins().sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+                answer, introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+
+    private XmlElement getForeachElement(String separator) {
+        XmlElement foreachElement = new XmlElement("foreach"); //$NON-NLS-1$
+        foreachElement.addAttribute(new Attribute("collection", "list")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreachElement.addAttribute(new Attribute("item", "item")); //$NON-NLS-1$ //$NON-NLS-2$
+        if (separator != null) {
+            foreachElement.addAttribute(new Attribute("separator", separator)); //$NON-NLS-1$
+        }
+
+        return foreachElement;
+    }
+
+    private String getPrimaryKeyCondition(
+            List<IntrospectedColumn> primaryKeyColumns) {
+        StringBuilder sb = new StringBuilder();
+        if (primaryKeyColumns.size() > 1) {
+            sb.append('(');
+        }
+
+        boolean and = false;
+        for (IntrospectedColumn introspectedColumn : primaryKeyColumns) {
+            if (and) {
+                sb.append(" and "); //$NON-NLS-1$
+            } else {
+                and = true;
+            }
+
+            sb.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn));
+            sb.append(" = "); //$NON-NLS-1$
+            sb.append(MyBatis3FormattingUtilities.getParameterClause(
+                    introspectedColumn, "item.")); //$NON-NLS-1$
+        }
+
+        if (primaryKeyColumns.size() > 1) {
+            sb.append(')');
+        }
+
+        return sb.toString();
+    }
+}
@@ -22,7 +22,6 @@ import org.mybatis.generator.api.dom.OutputUtilities;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.TextElement;
 import org.mybatis.generator.api.dom.xml.XmlElement;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
 
 /**
@@ -62,9 +61,9 @@ public class UpdateByPrimaryKeyWithoutBLOBsElementGenerator extends
 
         Iterator<IntrospectedColumn> iter;
         if (isSimple) {
-            iter = ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getNonPrimaryKeyColumns()).iterator();
+            iter = introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns().iterator();
         } else {
-            iter = ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getBaseColumns()).iterator();
+            iter = introspectedTable.getNonGeneratedAlwaysBaseColumns().iterator();
         }
         while (iter.hasNext()) {
             IntrospectedColumn introspectedColumn = iter.next();
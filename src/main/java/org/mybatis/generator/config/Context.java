@@ -20,28 +20,49 @@ import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.mybatis.generator.api.CommentGenerator;
 import org.mybatis.generator.api.ConnectionFactory;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.JavaFormatter;
 import org.mybatis.generator.api.Plugin;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.JavaTypeResolver;
 import org.mybatis.generator.api.ProgressCallback;
+import org.mybatis.generator.api.ThreadSafe;
 import org.mybatis.generator.api.XmlFormatter;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.ConnectionPool;
+import org.mybatis.generator.internal.InstanceFactory;
 import org.mybatis.generator.internal.JDBCConnectionFactory;
 import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.PluginAggregator;
+import org.mybatis.generator.internal.SynchronizedProgressCallback;
 import org.mybatis.generator.internal.db.DatabaseIntrospector;
+import org.mybatis.generator.internal.db.IntrospectionSnapshot;
+import org.mybatis.generator.internal.db.SchemaMetaDataCache;
+import org.mybatis.generator.logging.LogFactory;
 
 /**
  * The Class Context.
@@ -100,6 +121,15 @@ public class Context extends PropertyHolder {
     /** The introspected column impl. */
     private String introspectedColumnImpl;
 
+    /** The introspected table factory, resolved on first use. */
+    private volatile InstanceFactory<IntrospectedTable> introspectedTableFactory;
+
+    /** The introspected column factory, resolved on first use. */
+    private volatile InstanceFactory<IntrospectedColumn> introspectedColumnFactory;
+
+    /** The plugin factories of the plugin configurations, resolved on first use. */
+    private Map<PluginConfiguration, InstanceFactory<Plugin>> pluginFactories;
+
     /** The auto delimit keywords. */
     private Boolean autoDelimitKeywords;
     
@@ -126,6 +156,7 @@ public class Context extends PropertyHolder {
 
         tableConfigurations = new ArrayList<TableConfiguration>();
         pluginConfigurations = new ArrayList<PluginConfiguration>();
+        pluginFactories = new IdentityHashMap<PluginConfiguration, InstanceFactory<Plugin>>();
     }
 
     /**
@@ -256,6 +287,26 @@ public class Context extends PropertyHolder {
         for (PluginConfiguration pluginConfiguration : pluginConfigurations) {
             pluginConfiguration.validate(errors, id);
         }
+
+        validatePositiveInteger(errors, PropertyRegistry.CONTEXT_INTROSPECTION_THREADS);
+        validatePositiveInteger(errors, PropertyRegistry.CONTEXT_GENERATION_THREADS);
+        validatePositiveInteger(errors, PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_TIME_TO_LIVE);
+        validatePositiveInteger(errors, PropertyRegistry.CONTEXT_PIPELINE_WINDOW_SIZE);
+    }
+
+    private void validatePositiveInteger(List<String> errors, String propertyName) {
+        String value = getProperty(propertyName);
+        if (stringHasValue(value)) {
+            try {
+                if (Integer.parseInt(value) < 1) {
+                    errors.add(getString("ValidationError.28", //$NON-NLS-1$
+                            propertyName, id));
+                }
+            } catch (NumberFormatException e) {
+                errors.add(getString("ValidationError.28", //$NON-NLS-1$
+                        propertyName, id));
+            }
+        }
     }
 
     /**
@@ -459,7 +510,7 @@ public class Context extends PropertyHolder {
      *
      * @return the comment generator
      */
-    public CommentGenerator getCommentGenerator() {
+    public synchronized CommentGenerator getCommentGenerator() {
         if (commentGenerator == null) {
             commentGenerator = ObjectFactory.createCommentGenerator(this);
         }
@@ -472,7 +523,7 @@ public class Context extends PropertyHolder {
      *
      * @return the java formatter
      */
-    public JavaFormatter getJavaFormatter() {
+    public synchronized JavaFormatter getJavaFormatter() {
         if (javaFormatter == null) {
             javaFormatter = ObjectFactory.createJavaFormatter(this);
         }
@@ -485,7 +536,7 @@ public class Context extends PropertyHolder {
      *
      * @return the xml formatter
      */
-    public XmlFormatter getXmlFormatter() {
+    public synchronized XmlFormatter getXmlFormatter() {
         if (xmlFormatter == null) {
             xmlFormatter = ObjectFactory.createXmlFormatter(this);
         }
@@ -539,6 +590,24 @@ public class Context extends PropertyHolder {
      */
     public void setTargetRuntime(String targetRuntime) {
         this.targetRuntime = targetRuntime;
+        introspectedTableFactory = null;
+    }
+
+    /**
+     * Returns the factory for the introspected tables of the target runtime.
+     * The factory is resolved only once.
+     *
+     * @return the introspected table factory
+     */
+    public InstanceFactory<IntrospectedTable> getIntrospectedTableFactory() {
+        InstanceFactory<IntrospectedTable> factory = introspectedTableFactory;
+        if (factory == null) {
+            // factories have no state, so a concurrent resolution is harmless
+            factory = ObjectFactory.createIntrospectedTableFactory(this);
+            introspectedTableFactory = factory;
+        }
+
+        return factory;
     }
 
     /**
@@ -558,6 +627,45 @@ public class Context extends PropertyHolder {
      */
     public void setIntrospectedColumnImpl(String introspectedColumnImpl) {
         this.introspectedColumnImpl = introspectedColumnImpl;
+        introspectedColumnFactory = null;
+    }
+
+    /**
+     * Returns the factory for introspected columns. The factory is resolved
+     * only once, because a column is created for every column of every table.
+     *
+     * @return the introspected column factory
+     */
+    public InstanceFactory<IntrospectedColumn> getIntrospectedColumnFactory() {
+        InstanceFactory<IntrospectedColumn> factory = introspectedColumnFactory;
+        if (factory == null) {
+            // factories have no state, so a concurrent resolution is harmless
+            factory = ObjectFactory.createIntrospectedColumnFactory(this);
+            introspectedColumnFactory = factory;
+        }
+
+        return factory;
+    }
+
+    /**
+     * Returns the factory for the plugin of a plugin configuration. The
+     * factory is resolved only once, even if the plugins are created again
+     * for every generation run.
+     *
+     * @param pluginConfiguration
+     *            the plugin configuration
+     * @return the plugin factory
+     */
+    public synchronized InstanceFactory<Plugin> getPluginFactory(
+            PluginConfiguration pluginConfiguration) {
+        InstanceFactory<Plugin> factory = pluginFactories
+                .get(pluginConfiguration);
+        if (factory == null) {
+            factory = ObjectFactory.createPluginFactory(pluginConfiguration);
+            pluginFactories.put(pluginConfiguration, factory);
+        }
+
+        return factory;
     }
 
     // methods related to code generation.
@@ -621,17 +729,30 @@ public class Context extends PropertyHolder {
             throws SQLException, InterruptedException {
 
         introspectedTables = new ArrayList<IntrospectedTable>();
-        JavaTypeResolver javaTypeResolver = ObjectFactory
-                .createJavaTypeResolver(this, warnings);
+
+        IntrospectionSnapshot introspectionSnapshot = readIntrospectionSnapshot(warnings);
+
+        int introspectionThreads = getIntrospectionThreads();
+        if (introspectionThreads > 1) {
+            introspectTablesInParallel(callback, warnings,
+                    fullyQualifiedTableNames, introspectionThreads,
+                    introspectionSnapshot);
+            writeIntrospectionSnapshot(introspectionSnapshot, warnings);
+            return;
+        }
 
         Connection connection = null;
 
         try {
             callback.startTask(getString("Progress.0")); //$NON-NLS-1$
-            connection = getConnection();
+            if (isConnectionRequired(introspectionSnapshot,
+                    fullyQualifiedTableNames)) {
+                connection = getConnection();
+            }
 
-            DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(
-                    this, connection.getMetaData(), javaTypeResolver, warnings);
+            DatabaseIntrospector databaseIntrospector = createDatabaseIntrospector(
+                    connection, warnings, createSchemaMetaDataCache(),
+                    introspectionSnapshot);
 
             for (TableConfiguration tc : tableConfigurations) {
                 String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc
@@ -661,6 +782,415 @@ public class Context extends PropertyHolder {
         } finally {
             closeConnection(connection);
         }
+
+        writeIntrospectionSnapshot(introspectionSnapshot, warnings);
+    }
+
+    /**
+     * Introspects tables with several worker threads. Each worker uses its own
+     * connection from a bounded pool, and its own warnings list. Results and
+     * warnings are merged back in configuration order so that the outcome is
+     * the same as a sequential run.
+     *
+     * @param callback
+     *            the progress callback
+     * @param warnings
+     *            the warnings
+     * @param fullyQualifiedTableNames
+     *            the table names to generate, or null/empty for all tables
+     * @param introspectionThreads
+     *            the number of worker threads (and maximum connections)
+     * @throws SQLException
+     *             if some error arises while introspecting the specified
+     *             database tables.
+     * @throws InterruptedException
+     *             if the progress callback reports a cancel
+     */
+    private void introspectTablesInParallel(ProgressCallback callback,
+            List<String> warnings, Set<String> fullyQualifiedTableNames,
+            int introspectionThreads, IntrospectionSnapshot introspectionSnapshot)
+            throws SQLException, InterruptedException {
+
+        ConnectionPool connectionPool = new ConnectionPool(
+                getConnectionFactory(), introspectionThreads);
+        SchemaMetaDataCache schemaMetaDataCache = createSchemaMetaDataCache();
+        Map<Connection, IntrospectionWorker> introspectionWorkers = new IdentityHashMap<Connection, IntrospectionWorker>();
+        ExecutorService executorService = Executors
+                .newFixedThreadPool(introspectionThreads);
+
+        try {
+            callback.startTask(getString("Progress.0")); //$NON-NLS-1$
+            if (isConnectionRequired(introspectionSnapshot,
+                    fullyQualifiedTableNames)) {
+                // open the first connection up front so that connection
+                // problems are reported before any work is scheduled
+                connectionPool.release(connectionPool.borrow());
+            }
+
+            List<TableIntrospectionTask> tasks = new ArrayList<TableIntrospectionTask>();
+            for (TableConfiguration tc : tableConfigurations) {
+                String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc
+                                .getSchema(), tc.getTableName(), '.');
+
+                if (fullyQualifiedTableNames != null
+                        && fullyQualifiedTableNames.size() > 0
+                        && !fullyQualifiedTableNames.contains(tableName)) {
+                    continue;
+                }
+
+                TableIntrospectionTask task = new TableIntrospectionTask(tc,
+                        tableName, connectionPool, introspectionWorkers,
+                        schemaMetaDataCache, introspectionSnapshot);
+                if (tc.areAnyStatementsEnabled()) {
+                    task.future = executorService.submit(task);
+                } else {
+                    task.warnings.add(getString("Warning.0", tableName)); //$NON-NLS-1$
+                }
+                tasks.add(task);
+            }
+
+            for (TableIntrospectionTask task : tasks) {
+                if (task.future != null) {
+                    callback.startTask(getString("Progress.1", task.tableName)); //$NON-NLS-1$
+                    List<IntrospectedTable> tables = getTaskResult(task.future);
+                    if (tables != null) {
+                        introspectedTables.addAll(tables);
+                    }
+                }
+
+                warnings.addAll(task.warnings);
+
+                if (task.future != null) {
+                    callback.checkCancel();
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+            connectionPool.close();
+        }
+    }
+
+    private List<IntrospectedTable> getTaskResult(
+            Future<List<IntrospectedTable>> future) throws SQLException,
+            InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of threads to use for table introspection.
+     *
+     * @return the number of introspection threads, 1 if not configured
+     */
+    public int getIntrospectionThreads() {
+        return getThreadCount(PropertyRegistry.CONTEXT_INTROSPECTION_THREADS);
+    }
+
+    private int getThreadCount(String propertyName) {
+        String threads = getProperty(propertyName);
+        if (!stringHasValue(threads)) {
+            return 1;
+        }
+
+        try {
+            return Math.max(1, Integer.parseInt(threads));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Creates a database introspector for a connection.
+     *
+     * @param connection
+     *            the connection, or null if every table configuration will be
+     *            served from the introspection snapshot
+     * @param warnings
+     *            the warnings
+     * @param schemaMetaDataCache
+     *            the schema metadata cache, may be null
+     * @param introspectionSnapshot
+     *            the introspection snapshot, may be null
+     * @return the database introspector
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private DatabaseIntrospector createDatabaseIntrospector(
+            Connection connection, List<String> warnings,
+            SchemaMetaDataCache schemaMetaDataCache,
+            IntrospectionSnapshot introspectionSnapshot) throws SQLException {
+        JavaTypeResolver javaTypeResolver = ObjectFactory
+                .createJavaTypeResolver(this, warnings);
+        DatabaseMetaData databaseMetaData = connection == null ? null
+                : connection.getMetaData();
+
+        DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(
+                this, databaseMetaData, javaTypeResolver, warnings);
+        databaseIntrospector.setSchemaMetaDataCache(schemaMetaDataCache);
+        databaseIntrospector.setIntrospectionSnapshot(introspectionSnapshot);
+        if (databaseMetaData != null) {
+            databaseIntrospector.setDataDictionaryIntrospector(ObjectFactory
+                    .createDataDictionaryIntrospector(this, databaseMetaData));
+        }
+
+        return databaseIntrospector;
+    }
+
+    /**
+     * Returns true if any of the table configurations to be introspected is
+     * not in the introspection snapshot.
+     *
+     * @param introspectionSnapshot
+     *            the introspection snapshot, may be null
+     * @param fullyQualifiedTableNames
+     *            the table names to introspect, or null/empty for all
+     * @return true if a database connection is required
+     */
+    private boolean isConnectionRequired(
+            IntrospectionSnapshot introspectionSnapshot,
+            Set<String> fullyQualifiedTableNames) {
+        if (introspectionSnapshot == null) {
+            return true;
+        }
+
+        for (TableConfiguration tc : tableConfigurations) {
+            String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc
+                            .getSchema(), tc.getTableName(), '.');
+
+            if (fullyQualifiedTableNames != null
+                    && fullyQualifiedTableNames.size() > 0
+                    && !fullyQualifiedTableNames.contains(tableName)) {
+                continue;
+            }
+
+            if (tc.areAnyStatementsEnabled()
+                    && !introspectionSnapshot.containsTables(tc.getCatalog(),
+                            tc.getSchema(), tc.getTableName())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the introspection snapshot, if one is configured, and removes
+     * entries that are no longer fresh. Entries are stale if a refresh is
+     * forced, if they are older than the time to live, or if the result of
+     * the change detection query has changed since they were recorded.
+     *
+     * @param warnings
+     *            the warnings
+     * @return the introspection snapshot, or null if it is not enabled
+     * @throws SQLException
+     *             if the change detection query fails
+     */
+    private IntrospectionSnapshot readIntrospectionSnapshot(List<String> warnings)
+            throws SQLException {
+        String fileName = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT);
+        if (!stringHasValue(fileName)) {
+            return null;
+        }
+
+        String connectionURL = getConnectionURL();
+        IntrospectionSnapshot introspectionSnapshot;
+        try {
+            introspectionSnapshot = IntrospectionSnapshot.read(
+                    new File(fileName), connectionURL);
+        } catch (IOException e) {
+            warnings.add(getString("Warning.30", fileName, e.getMessage())); //$NON-NLS-1$
+            introspectionSnapshot = new IntrospectionSnapshot(connectionURL);
+        }
+
+        if (isTrue(getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_REFRESH))) {
+            introspectionSnapshot.removeEntries();
+        }
+
+        String timeToLive = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_TIME_TO_LIVE);
+        if (stringHasValue(timeToLive)) {
+            introspectionSnapshot.removeEntriesOlderThan(System
+                    .currentTimeMillis() - Long.parseLong(timeToLive) * 1000L);
+        }
+
+        String changeQuery = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT_CHANGE_QUERY);
+        if (stringHasValue(changeQuery)) {
+            String changeToken = executeChangeQuery(changeQuery);
+            String previousChangeToken = introspectionSnapshot.getChangeToken();
+            if (changeToken == null ? previousChangeToken != null
+                    : !changeToken.equals(previousChangeToken)) {
+                introspectionSnapshot.removeEntries();
+            }
+            introspectionSnapshot.setChangeToken(changeToken);
+        }
+
+        return introspectionSnapshot;
+    }
+
+    /**
+     * Runs the change detection query and returns the first column of the
+     * first row.
+     *
+     * @param changeQuery
+     *            the query
+     * @return the result, or null if the query returns no rows
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private String executeChangeQuery(String changeQuery) throws SQLException {
+        Connection connection = getConnection();
+        try {
+            Statement statement = connection.createStatement();
+            try {
+                ResultSet rs = statement.executeQuery(changeQuery);
+                return rs.next() ? rs.getString(1) : null;
+            } finally {
+                statement.close();
+            }
+        } finally {
+            closeConnection(connection);
+        }
+    }
+
+    private void writeIntrospectionSnapshot(
+            IntrospectionSnapshot introspectionSnapshot, List<String> warnings) {
+        if (introspectionSnapshot == null || !introspectionSnapshot.isModified()) {
+            return;
+        }
+
+        String fileName = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_SNAPSHOT);
+        try {
+            introspectionSnapshot.write(new File(fileName));
+        } catch (IOException e) {
+            warnings.add(getString("Warning.31", fileName, e.getMessage())); //$NON-NLS-1$
+        }
+    }
+
+    private String getConnectionURL() {
+        if (jdbcConnectionConfiguration != null) {
+            return jdbcConnectionConfiguration.getConnectionURL();
+        } else if (connectionFactoryConfiguration != null) {
+            return connectionFactoryConfiguration.getProperty("connectionURL"); //$NON-NLS-1$
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the cache used for schema wide (bulk) introspection.
+     *
+     * @return a new cache, or null if neither bulk introspection nor a data
+     *         dictionary introspector is enabled
+     */
+    private SchemaMetaDataCache createSchemaMetaDataCache() {
+        if (isTrue(getProperty(PropertyRegistry.CONTEXT_BULK_INTROSPECTION))
+                || stringHasValue(getProperty(PropertyRegistry.CONTEXT_DATA_DICTIONARY_INTROSPECTOR))) {
+            return new SchemaMetaDataCache();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * The database introspector for one pooled connection. It is created the
+     * first time the connection is borrowed and reused by every later table
+     * introspected on that connection. A connection is used by one task at a
+     * time, so the warnings list is cleared before each table and its
+     * contents handed to the task afterwards.
+     */
+    private static class IntrospectionWorker {
+        private List<String> warnings = new ArrayList<String>();
+        private DatabaseIntrospector databaseIntrospector;
+    }
+
+    /**
+     * Introspects a single table configuration on a pooled connection. Warnings
+     * are collected locally and merged by the calling thread.
+     */
+    private class TableIntrospectionTask implements
+            Callable<List<IntrospectedTable>> {
+        private TableConfiguration tableConfiguration;
+        private String tableName;
+        private ConnectionPool connectionPool;
+        private Map<Connection, IntrospectionWorker> introspectionWorkers;
+        private SchemaMetaDataCache schemaMetaDataCache;
+        private IntrospectionSnapshot introspectionSnapshot;
+        private List<String> warnings = new ArrayList<String>();
+        private Future<List<IntrospectedTable>> future;
+
+        TableIntrospectionTask(TableConfiguration tableConfiguration,
+                String tableName, ConnectionPool connectionPool,
+                Map<Connection, IntrospectionWorker> introspectionWorkers,
+                SchemaMetaDataCache schemaMetaDataCache,
+                IntrospectionSnapshot introspectionSnapshot) {
+            this.tableConfiguration = tableConfiguration;
+            this.tableName = tableName;
+            this.connectionPool = connectionPool;
+            this.introspectionWorkers = introspectionWorkers;
+            this.schemaMetaDataCache = schemaMetaDataCache;
+            this.introspectionSnapshot = introspectionSnapshot;
+        }
+
+        @Override
+        public List<IntrospectedTable> call() throws Exception {
+            if (introspectionSnapshot != null
+                    && introspectionSnapshot.containsTables(
+                            tableConfiguration.getCatalog(),
+                            tableConfiguration.getSchema(),
+                            tableConfiguration.getTableName())) {
+                // served from the snapshot - no connection is needed
+                return createDatabaseIntrospector(null, warnings,
+                        schemaMetaDataCache, introspectionSnapshot)
+                        .introspectTables(tableConfiguration);
+            }
+
+            Connection connection = connectionPool.borrow();
+            try {
+                IntrospectionWorker worker = getIntrospectionWorker(connection);
+                worker.warnings.clear();
+                try {
+                    return worker.databaseIntrospector
+                            .introspectTables(tableConfiguration);
+                } finally {
+                    warnings.addAll(worker.warnings);
+                }
+            } finally {
+                connectionPool.release(connection);
+            }
+        }
+
+        private IntrospectionWorker getIntrospectionWorker(
+                Connection connection) throws SQLException {
+            IntrospectionWorker worker;
+            synchronized (introspectionWorkers) {
+                worker = introspectionWorkers.get(connection);
+            }
+
+            if (worker == null) {
+                worker = new IntrospectionWorker();
+                worker.databaseIntrospector = createDatabaseIntrospector(
+                        connection, worker.warnings, schemaMetaDataCache,
+                        introspectionSnapshot);
+                synchronized (introspectionWorkers) {
+                    introspectionWorkers.put(connection, worker);
+                }
+            }
+
+            return worker;
+        }
     }
 
     /**
@@ -699,6 +1229,35 @@ public class Context extends PropertyHolder {
             List<GeneratedXmlFile> generatedXmlFiles, List<String> warnings)
             throws InterruptedException {
 
+        createPlugins(warnings);
+
+        if (introspectedTables != null) {
+            generateFiles(callback, introspectedTables, generatedJavaFiles,
+                    generatedXmlFiles, warnings);
+        }
+
+        generateAdditionalFiles(generatedJavaFiles, generatedXmlFiles);
+    }
+
+    // methods related to pipelined code generation.
+    //
+    // Instead of generateFiles(ProgressCallback, List, List, List), callers
+    // that write each window of tables before generating the next should call:
+    //
+    // 1. createPlugins()
+    // 2. (Repeatedly, for each window of getIntrospectedTables())
+    //    generateFiles(ProgressCallback, List<IntrospectedTable>, List, List, List)
+    // 3. generateAdditionalFiles()
+    //
+
+    /**
+     * Creates the plugins for this context. Any plugins created by an earlier
+     * run are discarded.
+     *
+     * @param warnings
+     *            plugins that fail validation are reported here
+     */
+    public void createPlugins(List<String> warnings) {
         pluginAggregator = new PluginAggregator();
         for (PluginConfiguration pluginConfiguration : pluginConfigurations) {
             Plugin plugin = ObjectFactory.createPlugin(this,
@@ -711,8 +1270,55 @@ public class Context extends PropertyHolder {
             }
         }
 
-        if (introspectedTables != null) {
-            for (IntrospectedTable introspectedTable : introspectedTables) {
+        if (getGenerationThreads() > 1 && !isParallelGenerationSupported()) {
+            LogFactory.getLog(getClass()).warn(getString("Warning.39", id)); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Returns true if the tables of this context may be generated by several
+     * threads - that is, if the comment generator and every plugin are
+     * annotated {@link ThreadSafe}. The plugins must have been created with
+     * createPlugins() first.
+     *
+     * @return true if parallel generation is supported
+     */
+    public boolean isParallelGenerationSupported() {
+        return pluginAggregator.isThreadSafe()
+                && getCommentGenerator().getClass().isAnnotationPresent(
+                        ThreadSafe.class);
+    }
+
+    /**
+     * Generates the files of some of the introspected tables. The plugins must
+     * have been created with createPlugins() first.
+     *
+     * @param callback
+     *            the callback
+     * @param tables
+     *            the tables to generate, taken from getIntrospectedTables()
+     * @param generatedJavaFiles
+     *            the generated java files
+     * @param generatedXmlFiles
+     *            the generated xml files
+     * @param warnings
+     *            the warnings
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    public void generateFiles(ProgressCallback callback,
+            List<IntrospectedTable> tables,
+            List<GeneratedJavaFile> generatedJavaFiles,
+            List<GeneratedXmlFile> generatedXmlFiles, List<String> warnings)
+            throws InterruptedException {
+
+        int generationThreads = getGenerationThreads();
+        if (generationThreads > 1 && tables.size() > 1
+                && isParallelGenerationSupported()) {
+            generateFilesInParallel(callback, tables, generatedJavaFiles,
+                    generatedXmlFiles, warnings, generationThreads);
+        } else {
+            for (IntrospectedTable introspectedTable : tables) {
                 callback.checkCancel();
 
                 introspectedTable.initialize();
@@ -728,13 +1334,150 @@ public class Context extends PropertyHolder {
                         .contextGenerateAdditionalXmlFiles(introspectedTable));
             }
         }
+    }
 
+    /**
+     * Generates the files that plugins add once per context, after the files
+     * of every table have been generated.
+     *
+     * @param generatedJavaFiles
+     *            the generated java files
+     * @param generatedXmlFiles
+     *            the generated xml files
+     */
+    public void generateAdditionalFiles(
+            List<GeneratedJavaFile> generatedJavaFiles,
+            List<GeneratedXmlFile> generatedXmlFiles) {
         generatedJavaFiles.addAll(pluginAggregator
                 .contextGenerateAdditionalJavaFiles());
         generatedXmlFiles.addAll(pluginAggregator
                 .contextGenerateAdditionalXmlFiles());
     }
 
+    /**
+     * Returns the tables found by the last call to introspectTables().
+     *
+     * @return the introspected tables
+     */
+    public List<IntrospectedTable> getIntrospectedTables() {
+        if (introspectedTables == null) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(introspectedTables);
+    }
+
+    /**
+     * Returns the number of tables that are generated and written before the
+     * next tables are generated, as specified by the "pipelineWindowSize"
+     * property.
+     *
+     * @return the window size, or 0 if the files of every table should be
+     *         generated before any file is written
+     */
+    public int getPipelineWindowSize() {
+        String windowSize = getProperty(PropertyRegistry.CONTEXT_PIPELINE_WINDOW_SIZE);
+        if (!stringHasValue(windowSize)) {
+            return 0;
+        }
+
+        try {
+            return Math.max(0, Integer.parseInt(windowSize));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Generates the files of each introspected table on a pool of worker
+     * threads. Files and warnings are collected per table and merged in table
+     * order, so the results are the same as for sequential generation.
+     *
+     * @param callback
+     *            the progress callback
+     * @param tables
+     *            the tables to generate
+     * @param generatedJavaFiles
+     *            the generated java files
+     * @param generatedXmlFiles
+     *            the generated xml files
+     * @param warnings
+     *            the warnings
+     * @param generationThreads
+     *            the number of worker threads
+     * @throws InterruptedException
+     *             if the generation is canceled
+     */
+    private void generateFilesInParallel(ProgressCallback callback,
+            List<IntrospectedTable> tables,
+            List<GeneratedJavaFile> generatedJavaFiles,
+            List<GeneratedXmlFile> generatedXmlFiles, List<String> warnings,
+            int generationThreads) throws InterruptedException {
+        ProgressCallback synchronizedCallback = new SynchronizedProgressCallback(
+                callback);
+        ExecutorService executorService = Executors
+                .newFixedThreadPool(generationThreads);
+
+        try {
+            List<TableGenerationTask> tasks = new ArrayList<TableGenerationTask>();
+            for (IntrospectedTable introspectedTable : tables) {
+                TableGenerationTask task = new TableGenerationTask(
+                        introspectedTable, synchronizedCallback);
+                task.future = executorService.submit(task);
+                tasks.add(task);
+            }
+
+            for (TableGenerationTask task : tasks) {
+                getGenerationTaskResult(task.future);
+                generatedJavaFiles.addAll(task.generatedJavaFiles);
+                generatedXmlFiles.addAll(task.generatedXmlFiles);
+                warnings.addAll(task.warnings);
+                synchronizedCallback.checkCancel();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void getGenerationTaskResult(Future<?> future)
+            throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of threads used to generate code, as specified by
+     * the "generationThreads" property.
+     *
+     * @return the number of generation threads (1 if not specified)
+     */
+    public int getGenerationThreads() {
+        return getThreadCount(PropertyRegistry.CONTEXT_GENERATION_THREADS);
+    }
+
+    /**
+     * Returns the number of threads used to write generated files, as
+     * specified by the "writerThreads" property. When several contexts are
+     * run, the files of all contexts are written with the largest number.
+     *
+     * @return the number of writer threads (1 if not specified)
+     */
+    public int getWriterThreads() {
+        return getThreadCount(PropertyRegistry.CONTEXT_WRITER_THREADS);
+    }
+
     /**
      * Gets the connection.
      *
@@ -743,14 +1486,20 @@ public class Context extends PropertyHolder {
      *             the SQL exception
      */
     private Connection getConnection() throws SQLException {
-        ConnectionFactory connectionFactory;
+        return getConnectionFactory().getConnection();
+    }
+
+    /**
+     * Gets the connection factory for this context.
+     *
+     * @return the connection factory
+     */
+    private ConnectionFactory getConnectionFactory() {
         if (jdbcConnectionConfiguration != null) {
-            connectionFactory = new JDBCConnectionFactory(jdbcConnectionConfiguration);
+            return new JDBCConnectionFactory(jdbcConnectionConfiguration);
         } else {
-            connectionFactory = ObjectFactory.createConnectionFactory(this);
+            return ObjectFactory.createConnectionFactory(this);
         }
-        
-        return connectionFactory.getConnection();
     }
 
     /**
@@ -786,4 +1535,42 @@ public class Context extends PropertyHolder {
     public void setConnectionFactoryConfiguration(ConnectionFactoryConfiguration connectionFactoryConfiguration) {
         this.connectionFactoryConfiguration = connectionFactoryConfiguration;
     }
+
+    /**
+     * Generates the files of a single introspected table. Warnings and files
+     * are collected locally and merged by the calling thread.
+     */
+    private class TableGenerationTask implements Callable<Void> {
+        private IntrospectedTable introspectedTable;
+        private ProgressCallback callback;
+        private List<String> warnings = new ArrayList<String>();
+        private List<GeneratedJavaFile> generatedJavaFiles = new ArrayList<GeneratedJavaFile>();
+        private List<GeneratedXmlFile> generatedXmlFiles = new ArrayList<GeneratedXmlFile>();
+        private Future<Void> future;
+
+        TableGenerationTask(IntrospectedTable introspectedTable,
+                ProgressCallback callback) {
+            this.introspectedTable = introspectedTable;
+            this.callback = callback;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            callback.checkCancel();
+
+            introspectedTable.initialize();
+            introspectedTable.calculateGenerators(warnings, callback);
+            generatedJavaFiles.addAll(introspectedTable
+                    .getGeneratedJavaFiles());
+            generatedXmlFiles.addAll(introspectedTable
+                    .getGeneratedXmlFiles());
+
+            generatedJavaFiles.addAll(pluginAggregator
+                    .contextGenerateAdditionalJavaFiles(introspectedTable));
+            generatedXmlFiles.addAll(pluginAggregator
+                    .contextGenerateAdditionalXmlFiles(introspectedTable));
+
+            return null;
+        }
+    }
 }
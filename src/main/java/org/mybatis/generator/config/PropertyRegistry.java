@@ -47,6 +47,12 @@ public class PropertyRegistry {
     public static final String TABLE_RUNTIME_TABLE_NAME = "runtimeTableName"; //$NON-NLS-1$
     public static final String TABLE_MODEL_ONLY = "modelOnly"; //$NON-NLS-1$
     public static final String TABLE_SELECT_ALL_ORDER_BY_CLAUSE = "selectAllOrderByClause"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_INSERT_BATCH = "enableInsertBatch"; //$NON-NLS-1$
+    public static final String TABLE_INSERT_BATCH_MAX_ROWS = "insertBatchMaxRows"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_UPDATE_BATCH_BY_PRIMARY_KEY = "enableUpdateBatchByPrimaryKey"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_SELECT_BY_PRIMARY_KEYS = "enableSelectByPrimaryKeys"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_DELETE_BY_PRIMARY_KEYS = "enableDeleteByPrimaryKeys"; //$NON-NLS-1$
+    public static final String TABLE_MAX_IN_LIST_SIZE = "maxInListSize"; //$NON-NLS-1$
 
     public static final String CONTEXT_BEGINNING_DELIMITER = "beginningDelimiter"; //$NON-NLS-1$
     public static final String CONTEXT_ENDING_DELIMITER = "endingDelimiter"; //$NON-NLS-1$
@@ -54,6 +60,16 @@ public class PropertyRegistry {
     public static final String CONTEXT_JAVA_FILE_ENCODING = "javaFileEncoding"; //$NON-NLS-1$
     public static final String CONTEXT_JAVA_FORMATTER = "javaFormatter"; //$NON-NLS-1$
     public static final String CONTEXT_XML_FORMATTER = "xmlFormatter"; //$NON-NLS-1$
+    public static final String CONTEXT_GENERATION_THREADS = "generationThreads"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_THREADS = "introspectionThreads"; //$NON-NLS-1$
+    public static final String CONTEXT_PIPELINE_WINDOW_SIZE = "pipelineWindowSize"; //$NON-NLS-1$
+    public static final String CONTEXT_WRITER_THREADS = "writerThreads"; //$NON-NLS-1$
+    public static final String CONTEXT_BULK_INTROSPECTION = "bulkIntrospection"; //$NON-NLS-1$
+    public static final String CONTEXT_DATA_DICTIONARY_INTROSPECTOR = "dataDictionaryIntrospector"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_SNAPSHOT = "introspectionSnapshot"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_SNAPSHOT_TIME_TO_LIVE = "introspectionSnapshotTimeToLive"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_SNAPSHOT_REFRESH = "introspectionSnapshotRefresh"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_SNAPSHOT_CHANGE_QUERY = "introspectionSnapshotChangeQuery"; //$NON-NLS-1$
 
     public static final String CLIENT_USE_LEGACY_BUILDER = "useLegacyBuilder"; //$NON-NLS-1$
     
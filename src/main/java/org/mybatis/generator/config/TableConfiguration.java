@@ -30,6 +30,7 @@ import java.util.Map;
 
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.ColumnNameIndex;
 
 /**
  * The Class TableConfiguration.
@@ -68,6 +69,12 @@ public class TableConfiguration extends PropertyHolder {
     /** The ignored columns. */
     private Map<IgnoredColumn, Boolean> ignoredColumns;
 
+    /** Column overrides by name, built when first needed. */
+    private ColumnNameIndex<ColumnOverride> columnOverrideIndex;
+
+    /** Ignored columns by name, built when first needed. */
+    private ColumnNameIndex<IgnoredColumn> ignoredColumnIndex;
+
     /** The generated key. */
     private GeneratedKey generatedKey;
 
@@ -178,6 +185,44 @@ public class TableConfiguration extends PropertyHolder {
         this.insertStatementEnabled = insertStatementEnabled;
     }
 
+    /**
+     * Returns the maximum number of rows in one insert batch statement, from
+     * the insertBatchMaxRows property.
+     *
+     * @return the maximum number of rows, or 0 if there is no maximum
+     */
+    public int getInsertBatchMaxRows() {
+        return getPositiveIntegerProperty(
+                PropertyRegistry.TABLE_INSERT_BATCH_MAX_ROWS, 0);
+    }
+
+    /**
+     * Returns the maximum number of primary keys in one IN list of the
+     * selectByPrimaryKeys and deleteByPrimaryKeys statements, from the
+     * maxInListSize property. Larger collections are split into several IN
+     * lists.
+     *
+     * @return the maximum number of keys in an IN list - 1000 by default
+     */
+    public int getMaxInListSize() {
+        return getPositiveIntegerProperty(
+                PropertyRegistry.TABLE_MAX_IN_LIST_SIZE, 1000);
+    }
+
+    private int getPositiveIntegerProperty(String property, int defaultValue) {
+        String value = getProperty(property);
+        if (!stringHasValue(value)) {
+            return defaultValue;
+        }
+
+        try {
+            int answer = Integer.parseInt(value);
+            return answer > 0 ? answer : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Checks if is select by primary key statement enabled.
      *
@@ -226,13 +271,20 @@ public class TableConfiguration extends PropertyHolder {
      * @return true, if is column ignored
      */
     public boolean isColumnIgnored(String columnName) {
-        for (Map.Entry<IgnoredColumn, Boolean> entry : ignoredColumns
-                .entrySet()) {
-            if (entry.getKey().matches(columnName)) {
-                entry.setValue(Boolean.TRUE);
-                return true;
+        if (ignoredColumnIndex == null
+                || ignoredColumnIndex.size() != ignoredColumns.size()) {
+            ignoredColumnIndex = new ColumnNameIndex<IgnoredColumn>();
+            for (IgnoredColumn ignoredColumn : ignoredColumns.keySet()) {
+                ignoredColumnIndex.add(ignoredColumn.getColumnName(),
+                        ignoredColumn.isColumnNameDelimited(), ignoredColumn);
             }
         }
+
+        IgnoredColumn ignoredColumn = ignoredColumnIndex.get(columnName);
+        if (ignoredColumn != null) {
+            ignoredColumns.put(ignoredColumn, Boolean.TRUE);
+            return true;
+        }
         
         for (IgnoredColumnPattern ignoredColumnPattern : ignoredColumnPatterns) {
             if (ignoredColumnPattern.matches(columnName)) {
@@ -251,6 +303,7 @@ public class TableConfiguration extends PropertyHolder {
      */
     public void addIgnoredColumn(IgnoredColumn ignoredColumn) {
         ignoredColumns.put(ignoredColumn, Boolean.FALSE);
+        ignoredColumnIndex = null;
     }
 
     public void addIgnoredColumnPattern(IgnoredColumnPattern ignoredColumnPattern) {
@@ -265,6 +318,7 @@ public class TableConfiguration extends PropertyHolder {
      */
     public void addColumnOverride(ColumnOverride columnOverride) {
         columnOverrides.add(columnOverride);
+        columnOverrideIndex = null;
     }
 
     /* (non-Javadoc)
@@ -328,19 +382,18 @@ public class TableConfiguration extends PropertyHolder {
      * @return the column override (if any) related to this column
      */
     public ColumnOverride getColumnOverride(String columnName) {
-        for (ColumnOverride co : columnOverrides) {
-            if (co.isColumnNameDelimited()) {
-                if (columnName.equals(co.getColumnName())) {
-                    return co;
-                }
-            } else {
-                if (columnName.equalsIgnoreCase(co.getColumnName())) {
-                    return co;
-                }
+        // the list is also available through getColumnOverrides(), so the
+        // index is rebuilt if the number of overrides has changed
+        if (columnOverrideIndex == null
+                || columnOverrideIndex.size() != columnOverrides.size()) {
+            columnOverrideIndex = new ColumnNameIndex<ColumnOverride>();
+            for (ColumnOverride co : columnOverrides) {
+                columnOverrideIndex.add(co.getColumnName(),
+                        co.isColumnNameDelimited(), co);
             }
         }
 
-        return null;
+        return columnOverrideIndex.get(columnName);
     }
 
     /**
@@ -849,6 +902,31 @@ public class TableConfiguration extends PropertyHolder {
         for (IgnoredColumnPattern ignoredColumnPattern : ignoredColumnPatterns) {
             ignoredColumnPattern.validate(errors, fqTableName);
         }
+
+        validatePositiveIntegerProperty(errors,
+                PropertyRegistry.TABLE_INSERT_BATCH_MAX_ROWS, fqTableName);
+        validatePositiveIntegerProperty(errors,
+                PropertyRegistry.TABLE_MAX_IN_LIST_SIZE, fqTableName);
+    }
+
+    private void validatePositiveIntegerProperty(List<String> errors,
+            String property, String fqTableName) {
+        String value = getProperty(property);
+        if (!stringHasValue(value)) {
+            return;
+        }
+
+        boolean valid;
+        try {
+            valid = Integer.parseInt(value) > 0;
+        } catch (NumberFormatException e) {
+            valid = false;
+        }
+
+        if (!valid) {
+            errors.add(getString("ValidationError.29", //$NON-NLS-1$
+                    property, fqTableName));
+        }
     }
 
     /**
@@ -0,0 +1,269 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.OutputSink;
+import org.mybatis.generator.exception.ShellException;
+
+/**
+ * An output sink that streams generated files into a zip archive, such as a
+ * source jar. Entries are named after the target package and file name (the
+ * target project is ignored), and are written in the order in which the files
+ * were generated. Every entry gets the same fixed time stamp, so generating
+ * the same files twice produces the same archive.
+ *
+ * <p>The archive is written to a temporary file in the same directory, which
+ * replaces the archive when the run completes. If the new archive is equal to
+ * the existing archive, the existing archive is left alone so that its
+ * modification time does not change. A canceled or failed run does not change
+ * the archive.
+ */
+public class ArchiveOutputSink implements OutputSink {
+
+    private File archiveFile;
+
+    private File temporaryFile;
+
+    private ZipOutputStream zipOutputStream;
+
+    private Set<String> entryNames = new HashSet<String>();
+
+    /**
+     * Instantiates a new archive output sink.
+     *
+     * @param archiveFile
+     *            the archive file. Missing parent directories are created.
+     */
+    public ArchiveOutputSink(File archiveFile) {
+        super();
+        this.archiveFile = archiveFile.getAbsoluteFile();
+    }
+
+    public File getArchiveFile() {
+        return archiveFile;
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.OutputSink#isThreadSafe()
+     */
+    public boolean isThreadSafe() {
+        // entries are written in file order
+        return false;
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.OutputSink#writeFile(org.mybatis.generator.api.GeneratedFile, java.lang.String)
+     */
+    public boolean writeFile(GeneratedFile generatedFile, String fileEncoding)
+            throws ShellException, IOException {
+        String entryName = getEntryName(generatedFile);
+        if (!entryNames.add(entryName)) {
+            throw new ShellException(getString("Warning.37", //$NON-NLS-1$
+                    entryName, archiveFile.getPath()));
+        }
+
+        if (zipOutputStream == null) {
+            open();
+        }
+
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setTime(getEntryTime());
+        zipOutputStream.putNextEntry(entry);
+
+        OutputStreamWriter osw;
+        if (fileEncoding == null) {
+            osw = new OutputStreamWriter(zipOutputStream);
+        } else {
+            osw = new OutputStreamWriter(zipOutputStream, fileEncoding);
+        }
+
+        // flush, but don't close - that would close the archive
+        Writer writer = new BufferedWriter(osw);
+        generatedFile.appendFormattedContent(writer);
+        writer.flush();
+        zipOutputStream.closeEntry();
+
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.OutputSink#close(boolean)
+     */
+    public void close(boolean complete) throws IOException {
+        entryNames.clear();
+        if (zipOutputStream == null) {
+            // no files - the archive is not changed
+            return;
+        }
+
+        boolean closed = false;
+        try {
+            zipOutputStream.close();
+            closed = true;
+        } finally {
+            zipOutputStream = null;
+            if (!closed || !complete) {
+                temporaryFile.delete();
+            }
+        }
+
+        if (!complete) {
+            return;
+        }
+
+        if (hasSameContent(archiveFile, temporaryFile)) {
+            temporaryFile.delete();
+        } else if (!replaceArchive()) {
+            temporaryFile.delete();
+            throw new IOException(getString("Warning.38", //$NON-NLS-1$
+                    archiveFile.getPath()));
+        }
+    }
+
+    /**
+     * Replaces the archive with the temporary file. On most platforms the
+     * rename replaces an existing archive at once. Where it does not, the
+     * existing archive is moved aside first, and is only deleted after the
+     * new archive is in place - so a failed rename never loses the old
+     * archive.
+     *
+     * @return true if the archive was replaced
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    private boolean replaceArchive() throws IOException {
+        if (temporaryFile.renameTo(archiveFile)) {
+            return true;
+        }
+
+        if (!archiveFile.exists()) {
+            return false;
+        }
+
+        File backupFile = File.createTempFile(archiveFile.getName() + '.',
+                ".bak", archiveFile.getParentFile()); //$NON-NLS-1$
+        backupFile.delete();
+        if (!archiveFile.renameTo(backupFile)) {
+            return false;
+        }
+
+        if (temporaryFile.renameTo(archiveFile)) {
+            backupFile.delete();
+            return true;
+        }
+
+        backupFile.renameTo(archiveFile);
+        return false;
+    }
+
+    private void open() throws IOException {
+        File directory = archiveFile.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(getString("Warning.10", //$NON-NLS-1$
+                    directory.getAbsolutePath()));
+        }
+
+        temporaryFile = File.createTempFile(archiveFile.getName() + '.',
+                ".tmp", directory); //$NON-NLS-1$
+        zipOutputStream = new ZipOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temporaryFile), 65536));
+    }
+
+    /**
+     * Calculates the name of the entry of a file - the target package as a
+     * path, followed by the file name.
+     *
+     * @param generatedFile
+     *            the generated file
+     * @return the entry name
+     */
+    protected String getEntryName(GeneratedFile generatedFile) {
+        StringBuilder sb = new StringBuilder();
+        if (generatedFile.getTargetPackage() != null) {
+            StringTokenizer st = new StringTokenizer(
+                    generatedFile.getTargetPackage(), "."); //$NON-NLS-1$
+            while (st.hasMoreTokens()) {
+                sb.append(st.nextToken());
+                sb.append('/');
+            }
+        }
+        sb.append(generatedFile.getFileName());
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the time stamp of every entry: 1980-02-01 00:00 in the default
+     * time zone. Zip entries store the local time, so the archive does not
+     * depend on the time zone. This is the time used by other tools that
+     * build reproducible archives; it is late enough to avoid problems with
+     * the earliest time that zip entries can hold.
+     *
+     * @return the entry time
+     */
+    private long getEntryTime() {
+        return new GregorianCalendar(1980, Calendar.FEBRUARY, 1)
+                .getTimeInMillis();
+    }
+
+    private boolean hasSameContent(File file1, File file2) throws IOException {
+        if (!file1.isFile() || file1.length() != file2.length()) {
+            return false;
+        }
+
+        InputStream is1 = new BufferedInputStream(new FileInputStream(file1));
+        try {
+            InputStream is2 = new BufferedInputStream(new FileInputStream(
+                    file2));
+            try {
+                int b;
+                do {
+                    b = is1.read();
+                    if (b != is2.read()) {
+                        return false;
+                    }
+                } while (b != -1);
+
+                return true;
+            } finally {
+                is2.close();
+            }
+        } finally {
+            is1.close();
+        }
+    }
+}
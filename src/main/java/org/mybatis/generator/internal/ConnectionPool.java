@@ -0,0 +1,149 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import org.mybatis.generator.api.ConnectionFactory;
+
+/**
+ * A very small, bounded pool of JDBC connections used when tables are
+ * introspected by several worker threads at once. Connections are created
+ * lazily through the configured ConnectionFactory, so the pool never opens
+ * more connections than there are workers actually asking for one.
+ *
+ * <p>This is not a general purpose connection pool - there is no validation
+ * or eviction. It lives only for the duration of a single introspection run.
+ * Threads waiting for a connection wake up periodically, so that they fail
+ * with an SQLException instead of waiting forever once the pool is closed.
+ */
+public class ConnectionPool {
+
+    /** How long a waiting thread sleeps before it checks the closed flag again. */
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private ConnectionFactory connectionFactory;
+    private int maxConnections;
+    private BlockingQueue<Connection> idleConnections;
+    private List<Connection> allConnections;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a pool that will open at most maxConnections connections.
+     *
+     * @param connectionFactory
+     *            the factory used to open new connections
+     * @param maxConnections
+     *            the maximum number of connections this pool will open
+     */
+    public ConnectionPool(ConnectionFactory connectionFactory,
+            int maxConnections) {
+        super();
+        this.connectionFactory = connectionFactory;
+        this.maxConnections = maxConnections;
+        idleConnections = new LinkedBlockingQueue<Connection>();
+        allConnections = new ArrayList<Connection>();
+    }
+
+    /**
+     * Returns an idle connection, opens a new connection if the pool has not
+     * reached its limit, or waits for another thread to release one.
+     *
+     * @return a connection that must be returned with release()
+     * @throws SQLException
+     *             if a new connection cannot be opened, or if the pool is
+     *             closed before a connection becomes available
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting for a connection
+     */
+    public Connection borrow() throws SQLException, InterruptedException {
+        Connection connection = idleConnections.poll();
+        if (connection == null) {
+            synchronized (this) {
+                if (!closed && allConnections.size() < maxConnections) {
+                    connection = connectionFactory.getConnection();
+                    allConnections.add(connection);
+                    return connection;
+                }
+            }
+        }
+
+        while (connection == null && !closed) {
+            connection = idleConnections.poll(POLL_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        if (closed) {
+            if (connection != null) {
+                closeConnection(connection);
+            }
+            throw new SQLException(getString("RuntimeError.23")); //$NON-NLS-1$
+        }
+
+        return connection;
+    }
+
+    /**
+     * Returns a connection to the pool. If the pool has already been closed,
+     * the connection is closed instead.
+     *
+     * @param connection
+     *            the connection
+     */
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        // offer under the lock, so a concurrent close() cannot drain the
+        // queue between the check and the offer
+        synchronized (this) {
+            if (closed) {
+                closeConnection(connection);
+            } else {
+                idleConnections.offer(connection);
+            }
+        }
+    }
+
+    /**
+     * Closes every connection opened by this pool. Connections that are still
+     * borrowed are closed when they are released.
+     */
+    public synchronized void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            closeConnection(connection);
+        }
+    }
+
+    private void closeConnection(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+}
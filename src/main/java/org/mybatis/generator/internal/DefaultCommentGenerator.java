@@ -24,6 +24,7 @@ import java.util.Properties;
 import org.mybatis.generator.api.CommentGenerator;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.ThreadSafe;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.Field;
 import org.mybatis.generator.api.dom.java.InnerClass;
@@ -43,6 +44,7 @@ import org.mybatis.generator.internal.util.StringUtility;
  *
  * @author Jeff Butler
  */
+@ThreadSafe
 public class DefaultCommentGenerator implements CommentGenerator {
 
     /** The properties. */
@@ -176,7 +178,10 @@ public class DefaultCommentGenerator implements CommentGenerator {
         if (suppressDate) {
             return null;
         } else if (dateFormat != null) {
-            return dateFormat.format(new Date());
+            // SimpleDateFormat is not thread safe
+            synchronized (dateFormat) {
+                return dateFormat.format(new Date());
+            }
         } else {
             return new Date().toString();
         }
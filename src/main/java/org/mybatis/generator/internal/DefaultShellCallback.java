@@ -33,6 +33,9 @@ public class DefaultShellCallback implements ShellCallback {
     /** The overwrite. */
     private boolean overwrite;
 
+    /** The merge java files. */
+    private boolean mergeJavaFiles;
+
     /**
      * Instantiates a new default shell callback.
      *
@@ -40,8 +43,24 @@ public class DefaultShellCallback implements ShellCallback {
      *            the overwrite
      */
     public DefaultShellCallback(boolean overwrite) {
+        this(overwrite, false);
+    }
+
+    /**
+     * Instantiates a new default shell callback.
+     *
+     * @param overwrite
+     *            the overwrite
+     * @param mergeJavaFiles
+     *            if true, then generated Java files are merged into existing
+     *            files with the {@link JavaFileMerger}. Merging requires
+     *            javaparser in the runtime classpath. Files that cannot be
+     *            merged are left unchanged.
+     */
+    public DefaultShellCallback(boolean overwrite, boolean mergeJavaFiles) {
         super();
         this.overwrite = overwrite;
+        this.mergeJavaFiles = mergeJavaFiles;
     }
 
     /* (non-Javadoc)
@@ -92,7 +111,7 @@ public class DefaultShellCallback implements ShellCallback {
      * @see org.mybatis.generator.api.ShellCallback#isMergeSupported()
      */
     public boolean isMergeSupported() {
-        return false;
+        return mergeJavaFiles;
     }
 
     /* (non-Javadoc)
@@ -108,6 +127,11 @@ public class DefaultShellCallback implements ShellCallback {
     public String mergeJavaFile(String newFileSource,
             String existingFileFullPath, String[] javadocTags, String fileEncoding)
             throws ShellException {
-        throw new UnsupportedOperationException();
+        if (!mergeJavaFiles) {
+            throw new UnsupportedOperationException();
+        }
+
+        return JavaFileMerger.getMergedSource(newFileSource, new File(
+                existingFileFullPath), javadocTags, fileEncoding);
     }
 }
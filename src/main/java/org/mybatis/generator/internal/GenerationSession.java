@@ -0,0 +1,202 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class holds the state that is shared by all the objects taking part in
+ * a single generation run - custom class loaders, and caches of loaded classes
+ * and other reflective information.
+ *
+ * <p>Each call to MyBatisGenerator.generate() runs in its own session, so
+ * several generators can run in the same JVM at the same time without
+ * interfering with each other. The session is associated with the thread that
+ * runs the generator, and is inherited by any threads that thread creates
+ * (for example, the worker threads used for parallel introspection and
+ * generation). Code that runs outside of a generation run (for example,
+ * configuration parsing) uses a default, JVM wide, session.
+ */
+public class GenerationSession {
+
+    private static final GenerationSession defaultSession = new GenerationSession();
+
+    private static final InheritableThreadLocal<GenerationSession> currentSession = new InheritableThreadLocal<GenerationSession>();
+
+    private List<ClassLoader> externalClassLoaders;
+
+    private List<ClassLoader> resourceClassLoaders;
+
+    private ConcurrentMap<String, Class<?>> externalClasses;
+
+    private ConcurrentMap<String, Class<?>> internalClasses;
+
+    private ConcurrentMap<Class<?>, Constructor<?>> constructors;
+
+    private ConcurrentMap<String, Object> attributes;
+
+    public GenerationSession() {
+        super();
+        externalClassLoaders = new CopyOnWriteArrayList<ClassLoader>();
+        resourceClassLoaders = new CopyOnWriteArrayList<ClassLoader>();
+        externalClasses = new ConcurrentHashMap<String, Class<?>>();
+        internalClasses = new ConcurrentHashMap<String, Class<?>>();
+        constructors = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+        attributes = new ConcurrentHashMap<String, Object>();
+    }
+
+    /**
+     * Returns the session of the current thread.
+     *
+     * @return the current session, or the default session if the thread is
+     *         not running a generation
+     */
+    public static GenerationSession getCurrent() {
+        GenerationSession session = currentSession.get();
+        return session == null ? defaultSession : session;
+    }
+
+    /**
+     * Makes a session the current session of the calling thread.
+     *
+     * @param session
+     *            the session, or null to return to the default session
+     * @return the previous session of the thread (may be null). This should be
+     *         restored when the generation run is finished.
+     */
+    public static GenerationSession setCurrent(GenerationSession session) {
+        GenerationSession previousSession = currentSession.get();
+        if (session == null) {
+            currentSession.remove();
+        } else {
+            currentSession.set(session);
+        }
+
+        return previousSession;
+    }
+
+    /**
+     * Removes all class loaders and cached information from this session.
+     */
+    public void reset() {
+        externalClassLoaders.clear();
+        resourceClassLoaders.clear();
+        externalClasses.clear();
+        internalClasses.clear();
+        constructors.clear();
+        attributes.clear();
+    }
+
+    public List<ClassLoader> getExternalClassLoaders() {
+        return externalClassLoaders;
+    }
+
+    public List<ClassLoader> getResourceClassLoaders() {
+        return resourceClassLoaders;
+    }
+
+    public void addExternalClassLoader(ClassLoader classLoader) {
+        externalClassLoaders.add(classLoader);
+        // classes may resolve differently now
+        externalClasses.clear();
+    }
+
+    public void addResourceClassLoader(ClassLoader classLoader) {
+        resourceClassLoaders.add(classLoader);
+    }
+
+    /**
+     * Returns a previously loaded external class.
+     *
+     * @param type
+     *            the class name
+     * @return the class, or null if it has not been loaded in this session
+     */
+    public Class<?> getExternalClass(String type) {
+        return externalClasses.get(type);
+    }
+
+    public void putExternalClass(String type, Class<?> clazz) {
+        externalClasses.put(type, clazz);
+    }
+
+    /**
+     * Returns a previously loaded internal class.
+     *
+     * @param type
+     *            the class name
+     * @return the class, or null if it has not been loaded in this session
+     */
+    public Class<?> getInternalClass(String type) {
+        return internalClasses.get(type);
+    }
+
+    public void putInternalClass(String type, Class<?> clazz) {
+        internalClasses.put(type, clazz);
+    }
+
+    /**
+     * Returns the public no argument constructor of a class, looking it up
+     * only once per session.
+     *
+     * @param clazz
+     *            the class
+     * @return the constructor
+     * @throws NoSuchMethodException
+     *             if the class has no public no argument constructor
+     */
+    public Constructor<?> getConstructor(Class<?> clazz)
+            throws NoSuchMethodException {
+        Constructor<?> constructor = constructors.get(clazz);
+        if (constructor == null) {
+            constructor = clazz.getConstructor();
+            constructors.put(clazz, constructor);
+        }
+
+        return constructor;
+    }
+
+    /**
+     * Returns a session scoped object, such as a cache. Attributes allow other
+     * classes to keep per session state without adding fields to this class.
+     *
+     * @param name
+     *            the attribute name
+     * @return the attribute value, or null if it has not been set
+     */
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * Sets a session scoped object if no value is set yet.
+     *
+     * @param name
+     *            the attribute name
+     * @param value
+     *            the value to set
+     * @return the value of the attribute - either the new value, or the value
+     *         that was already set by another thread
+     */
+    public Object putAttributeIfAbsent(String name, Object value) {
+        Object existingValue = attributes.putIfAbsent(name, value);
+        return existingValue == null ? value : existingValue;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Creates instances of one class. Factories are resolved once per context for
+ * objects that are created very often (like introspected columns), so that
+ * the class name is not looked up again for every instance. Supplied classes
+ * are created with a constructor call, and only user supplied classes are
+ * created reflectively.
+ *
+ * @param <T>
+ *            the type of the created objects
+ */
+public abstract class InstanceFactory<T> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @return the new instance
+     */
+    public abstract T newInstance();
+
+    /**
+     * Returns a factory that creates instances of a class with its public no
+     * argument constructor. The constructor is resolved immediately.
+     *
+     * @param <T>
+     *            the type of the created objects
+     * @param clazz
+     *            the class
+     * @return the factory
+     */
+    public static <T> InstanceFactory<T> forClass(Class<? extends T> clazz) {
+        try {
+            return new ConstructorInstanceFactory<T>(clazz.getConstructor());
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(getString(
+                    "RuntimeError.6", clazz.getName()), e); //$NON-NLS-1$
+        }
+    }
+
+    private static class ConstructorInstanceFactory<T> extends
+            InstanceFactory<T> {
+        private Constructor<? extends T> constructor;
+
+        ConstructorInstanceFactory(Constructor<? extends T> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public T newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(getString(
+                        "RuntimeError.6", constructor.getDeclaringClass().getName()), e); //$NON-NLS-1$
+            }
+        }
+    }
+}
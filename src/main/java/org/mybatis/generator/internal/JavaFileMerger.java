@@ -0,0 +1,596 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.mybatis.generator.exception.ShellException;
+import org.mybatis.generator.internal.JavaSourceModel.Kind;
+import org.mybatis.generator.internal.JavaSourceModel.MemberModel;
+import org.mybatis.generator.internal.JavaSourceModel.TypeModel;
+
+/**
+ * This class handles the task of merging a newly generated Java file into an
+ * existing Java file.
+ *
+ * <p>Members of the existing top level types whose comment contains one of
+ * the javadoc tags (and not "do_not_delete_during_merge") are replaced by the
+ * members of the new file. All other members, comments, imports and the
+ * formatting of the existing file are kept - the merge works on the lines of
+ * the existing file and only touches the lines of generated members, the
+ * imports, and the type declaration if the new file adds super types. New
+ * members are not added if a kept member has the same name (and parameter
+ * types for methods and constructors).
+ *
+ * <p>Files are parsed with javaparser, which must be available at runtime.
+ * The outline of every parsed file, and the last merge result, are cached for
+ * the life of the JVM, so they are reused by later generation runs. Entries
+ * are keyed by path, and are only used if the time stamp, the size and a
+ * digest of the content of the file all match - the file is always read,
+ * because the time stamp and size do not show every change. An unchanged file
+ * is not parsed again, and a file that already holds the result of merging
+ * the same generated source is not merged again. The merger is thread safe.
+ */
+public class JavaFileMerger {
+
+    private static final String PARSER_CLASS = "com.github.javaparser.JavaParser"; //$NON-NLS-1$
+
+    private static final String DO_NOT_DELETE = "do_not_delete_during_merge"; //$NON-NLS-1$
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+    /** Cached files of all generation runs. */
+    private static final CacheMap cache = new CacheMap();
+
+    private static final boolean parserAvailable;
+
+    static {
+        boolean available;
+        try {
+            Class.forName(PARSER_CLASS, false,
+                    JavaFileMerger.class.getClassLoader());
+            available = true;
+        } catch (Exception e) {
+            available = false;
+        }
+        parserAvailable = available;
+    }
+
+    /**
+     * Utility class - no instances.
+     */
+    private JavaFileMerger() {
+    }
+
+    /**
+     * Returns true if the Java parser needed for merging is available at
+     * runtime.
+     *
+     * @return true if Java files can be merged
+     */
+    public static boolean isAvailable() {
+        return parserAvailable;
+    }
+
+    /**
+     * Merges a newly generated Java file into an existing file.
+     *
+     * @param newFileSource
+     *            the source of the newly generated Java file
+     * @param existingFile
+     *            the existing Java file
+     * @param javadocTags
+     *            the javadoc tags that denote which members should be replaced
+     * @param fileEncoding
+     *            the encoding of the existing file, or null for the platform
+     *            default
+     * @return the merged source, ready to be written to the file
+     * @throws ShellException
+     *             if the files cannot be merged. The existing file should not
+     *             be changed in that case.
+     */
+    public static String getMergedSource(String newFileSource,
+            File existingFile, String[] javadocTags, String fileEncoding)
+            throws ShellException {
+        if (!parserAvailable) {
+            throw new ShellException(getString("Warning.36", //$NON-NLS-1$
+                    existingFile.getAbsolutePath()));
+        }
+
+        String key = existingFile.getAbsolutePath();
+        long lastModified = existingFile.lastModified();
+        long length = existingFile.length();
+        // the file is always read - its time stamp and size do not show
+        // every change
+        String existingSource = readFile(existingFile, fileEncoding);
+        byte[] existingDigest = digest(existingSource);
+        byte[] newDigest = digest(newFileSource);
+
+        CacheEntry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+
+        JavaSourceModel existingModel = null;
+        if (entry != null) {
+            boolean unchanged = entry.isContentOf(lastModified, length,
+                    existingDigest);
+            if (entry.isMergeOf(newDigest, javadocTags)) {
+                if (unchanged) {
+                    return entry.mergedSource;
+                }
+
+                if (Arrays.equals(existingDigest, entry.mergedDigest)) {
+                    // the file holds the result of the last merge - for
+                    // example it was written after the last merge
+                    putCacheEntry(key, new CacheEntry(lastModified, length,
+                            existingDigest, null, newDigest, javadocTags,
+                            existingSource, existingDigest));
+                    return existingSource;
+                }
+            }
+
+            if (unchanged) {
+                existingModel = entry.existingModel;
+            }
+        }
+
+        if (existingModel == null) {
+            existingModel = JavaSourceParser.parse(existingSource, key);
+        }
+
+        String mergedSource = merge(
+                JavaSourceParser.parse(newFileSource, key), existingModel,
+                javadocTags, key);
+
+        putCacheEntry(key, new CacheEntry(lastModified, length,
+                existingDigest, existingModel, newDigest, javadocTags,
+                mergedSource, digest(mergedSource)));
+        return mergedSource;
+    }
+
+    /**
+     * Removes all cached files. Entries are only used while the file they
+     * describe is unchanged, so this method is only needed to free memory.
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static void putCacheEntry(String key, CacheEntry entry) {
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    private static byte[] digest(String source) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(
+                    source.getBytes("UTF-8")); //$NON-NLS-1$
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            // every Java platform supports UTF-8
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readFile(File file, String fileEncoding)
+            throws ShellException {
+        try {
+            InputStream is = new FileInputStream(file);
+            try {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream(
+                        (int) Math.min(file.length(), Integer.MAX_VALUE - 8));
+                byte[] buffer = new byte[8192];
+                int count;
+                while ((count = is.read(buffer)) != -1) {
+                    baos.write(buffer, 0, count);
+                }
+
+                return fileEncoding == null ? baos.toString() : baos
+                        .toString(fileEncoding);
+            } finally {
+                is.close();
+            }
+        } catch (IOException e) {
+            throw new ShellException(getString("Warning.32", //$NON-NLS-1$
+                    file.getAbsolutePath(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Merges the outline of a new file into the outline of an existing file.
+     *
+     * @param newSource
+     *            the new file
+     * @param existing
+     *            the existing file
+     * @param javadocTags
+     *            the javadoc tags that denote generated members
+     * @param fileName
+     *            the name of the existing file, used in error messages
+     * @return the merged source
+     * @throws ShellException
+     *             if the files cannot be merged
+     */
+    static String merge(JavaSourceModel newSource, JavaSourceModel existing,
+            String[] javadocTags, String fileName) throws ShellException {
+        Splice splice = new Splice(existing);
+        String separator = existing.getLineSeparator();
+
+        StringBuilder sb = new StringBuilder();
+        for (String name : newSource.getImports()) {
+            if (!existing.getImports().contains(name)) {
+                sb.append("import "); //$NON-NLS-1$
+                sb.append(name);
+                sb.append(';');
+                sb.append(separator);
+            }
+        }
+
+        if (sb.length() > 0) {
+            if (existing.getLastImportLine() > 0) {
+                splice.insertBefore(existing.getLastImportLine() + 1, sb);
+            } else if (existing.getPackageLine() > 0) {
+                sb.insert(0, separator);
+                splice.insertBefore(existing.getPackageLine() + 1, sb);
+            } else {
+                sb.append(separator);
+                splice.insertBefore(1, sb);
+            }
+        }
+
+        for (TypeModel newType : newSource.getTypes()) {
+            TypeModel type = existing.getType(newType.name);
+            if (type == null) {
+                throw new ShellException(getString("Warning.33", //$NON-NLS-1$
+                        fileName, newType.name));
+            }
+
+            if (type.kind != newType.kind) {
+                throw new ShellException(getString("Warning.34", //$NON-NLS-1$
+                        fileName, newType.name));
+            }
+
+            mergeHeader(newType, type, splice, fileName);
+            mergeMembers(newSource, newType, type, splice, javadocTags,
+                    fileName);
+        }
+
+        return splice.toString();
+    }
+
+    private static void mergeHeader(TypeModel newType, TypeModel type,
+            Splice splice, String fileName) throws ShellException {
+        List<String> extendedTypes;
+        if (type.kind == Kind.CLASS) {
+            // the generated super class wins, but a class the user added
+            // is kept if the generated class has none
+            extendedTypes = newType.extendedTypes.isEmpty() ? type.extendedTypes
+                    : newType.extendedTypes;
+        } else {
+            extendedTypes = union(type.extendedTypes, newType.extendedTypes);
+        }
+        List<String> implementedTypes = union(type.implementedTypes,
+                newType.implementedTypes);
+
+        if (extendedTypes.equals(type.extendedTypes)
+                && implementedTypes.equals(type.implementedTypes)) {
+            return;
+        }
+
+        JavaSourceModel existing = splice.model;
+        if (type.headerOffset == -1 || type.braceOffset == -1) {
+            throw new ShellException(getString("Warning.35", //$NON-NLS-1$
+                    fileName, Integer.toString(type.beginLine)));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int headerLine = existing.getLineOf(type.headerOffset);
+        int braceLine = existing.getLineOf(type.braceOffset);
+        String source = existing.getSource();
+        sb.append(source, existing.getLineStart(headerLine), type.headerOffset);
+        sb.append(type.kind == Kind.ENUM ? "enum " //$NON-NLS-1$
+                : type.kind == Kind.INTERFACE ? "interface " : "class "); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append(type.name);
+        if (!type.typeParameters.isEmpty()) {
+            sb.append('<');
+            appendTypes(sb, type.typeParameters);
+            sb.append('>');
+        }
+        if (!extendedTypes.isEmpty()) {
+            sb.append(" extends "); //$NON-NLS-1$
+            appendTypes(sb, extendedTypes);
+        }
+        if (!implementedTypes.isEmpty()) {
+            sb.append(" implements "); //$NON-NLS-1$
+            appendTypes(sb, implementedTypes);
+        }
+        sb.append(' ');
+        sb.append(source, type.braceOffset, existing.getLineEnd(braceLine));
+
+        splice.replace(headerLine, sb.toString());
+        splice.remove(headerLine + 1, braceLine);
+    }
+
+    private static void mergeMembers(JavaSourceModel newSource,
+            TypeModel newType, TypeModel type, Splice splice,
+            String[] javadocTags, String fileName) throws ShellException {
+        JavaSourceModel existing = splice.model;
+        Set<String> keptKeys = new HashSet<String>();
+        int insertLine = -1;
+        int previousLine = type.bodyStartLine;
+        for (MemberModel member : type.members) {
+            if (member.firstLine <= previousLine) {
+                // members that share lines cannot be replaced separately
+                throw new ShellException(getString("Warning.35", //$NON-NLS-1$
+                        fileName, Integer.toString(member.firstLine)));
+            }
+            previousLine = member.endLine;
+
+            if (isGenerated(member, javadocTags)) {
+                int firstLine = existing.getUnitStart(member.firstLine,
+                        type.bodyStartLine);
+                splice.remove(firstLine, member.endLine);
+                if (insertLine == -1) {
+                    insertLine = firstLine;
+                }
+            } else {
+                keptKeys.addAll(member.keys);
+            }
+        }
+
+        if (insertLine == -1) {
+            // add new members before the closing brace
+            insertLine = type.endLine;
+            if (previousLine >= type.endLine
+                    || !existing.getLineContent(type.endLine).trim()
+                            .startsWith("}")) { //$NON-NLS-1$
+                throw new ShellException(getString("Warning.35", //$NON-NLS-1$
+                        fileName, Integer.toString(type.endLine)));
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        boolean startsWithBlankLine = false;
+        previousLine = newType.bodyStartLine;
+        for (MemberModel member : newType.members) {
+            if (member.firstLine <= previousLine) {
+                throw new ShellException(getString("Warning.35", //$NON-NLS-1$
+                        fileName, Integer.toString(member.firstLine)));
+            }
+            previousLine = member.endLine;
+
+            if (!containsAny(keptKeys, member.keys)) {
+                int firstLine = newSource.getUnitStart(member.firstLine,
+                        newType.bodyStartLine);
+                if (sb.length() == 0) {
+                    startsWithBlankLine = firstLine < member.firstLine;
+                }
+                newSource.appendLines(sb, firstLine, member.endLine,
+                        existing.getLineSeparator());
+            }
+        }
+
+        if (sb.length() == 0) {
+            return;
+        }
+
+        // keep a blank line between the new members and a member above them
+        if (!startsWithBlankLine && insertLine - 1 > type.bodyStartLine
+                && !existing.isBlank(insertLine - 1)) {
+            sb.insert(0, existing.getLineSeparator());
+        }
+
+        splice.insertBefore(insertLine, sb);
+    }
+
+    private static boolean isGenerated(MemberModel member, String[] javadocTags) {
+        if (member.comment == null || member.comment.contains(DO_NOT_DELETE)) {
+            return false;
+        }
+
+        for (String tag : javadocTags) {
+            if (member.comment.contains(tag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean containsAny(Set<String> set, Collection<String> keys) {
+        for (String key : keys) {
+            if (set.contains(key)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static List<String> union(List<String> first, List<String> second) {
+        List<String> answer = new ArrayList<String>(first);
+        for (String s : second) {
+            if (!answer.contains(s)) {
+                answer.add(s);
+            }
+        }
+
+        return answer;
+    }
+
+    private static void appendTypes(StringBuilder sb, List<String> types) {
+        boolean comma = false;
+        for (String type : types) {
+            if (comma) {
+                sb.append(", "); //$NON-NLS-1$
+            } else {
+                comma = true;
+            }
+            sb.append(type);
+        }
+    }
+
+    /**
+     * Collects the changes to the lines of the existing file, and applies
+     * them all at once.
+     */
+    private static class Splice {
+        private JavaSourceModel model;
+
+        private boolean[] removedLines;
+
+        private Map<Integer, String> replacedLines = new HashMap<Integer, String>();
+
+        private Map<Integer, StringBuilder> insertions = new HashMap<Integer, StringBuilder>();
+
+        Splice(JavaSourceModel model) {
+            this.model = model;
+            removedLines = new boolean[model.getLineCount() + 2];
+        }
+
+        void remove(int fromLine, int toLine) {
+            for (int line = fromLine; line <= toLine; line++) {
+                removedLines[line] = true;
+            }
+        }
+
+        void replace(int line, String text) {
+            replacedLines.put(line, text);
+        }
+
+        void insertBefore(int line, CharSequence text) {
+            StringBuilder sb = insertions.get(line);
+            if (sb == null) {
+                sb = new StringBuilder();
+                insertions.put(line, sb);
+            }
+            sb.append(text);
+        }
+
+        @Override
+        public String toString() {
+            String source = model.getSource();
+            StringBuilder sb = new StringBuilder(source.length() + 1024);
+            for (int line = 1; line <= model.getLineCount() + 1; line++) {
+                StringBuilder insertion = insertions.get(line);
+                if (insertion != null) {
+                    sb.append(insertion);
+                }
+
+                if (line > model.getLineCount()) {
+                    break;
+                }
+
+                String replacement = replacedLines.get(line);
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else if (!removedLines[line]) {
+                    sb.append(source, model.getLineStart(line),
+                            model.getLineEnd(line));
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Cached files, least recently used first. Access is synchronized on the
+     * map.
+     */
+    private static class CacheMap extends LinkedHashMap<String, CacheEntry> {
+        private static final long serialVersionUID = 1L;
+
+        CacheMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+    private static class CacheEntry {
+        private long lastModified;
+
+        private long length;
+
+        private byte[] existingDigest;
+
+        /** The outline of the existing source, or null if not parsed. */
+        private JavaSourceModel existingModel;
+
+        private byte[] newDigest;
+
+        private List<String> javadocTags;
+
+        private String mergedSource;
+
+        private byte[] mergedDigest;
+
+        CacheEntry(long lastModified, long length, byte[] existingDigest,
+                JavaSourceModel existingModel, byte[] newDigest,
+                String[] javadocTags, String mergedSource, byte[] mergedDigest) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.existingDigest = existingDigest;
+            this.existingModel = existingModel;
+            this.newDigest = newDigest;
+            this.javadocTags = new ArrayList<String>(Arrays.asList(javadocTags));
+            this.mergedSource = mergedSource;
+            this.mergedDigest = mergedDigest;
+        }
+
+        boolean isContentOf(long lastModified, long length,
+                byte[] existingDigest) {
+            return this.lastModified == lastModified
+                    && this.length == length
+                    && Arrays.equals(this.existingDigest, existingDigest);
+        }
+
+        boolean isMergeOf(byte[] newDigest, String[] javadocTags) {
+            return Arrays.equals(this.newDigest, newDigest)
+                    && this.javadocTags.equals(Arrays.asList(javadocTags));
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The outline of a Java source file, as needed by the {@link JavaFileMerger}:
+ * the lines of the source, the imports, and the line ranges of the top level
+ * types and their members. The outline does not depend on the Java parser
+ * that produced it, so it can be cached and merged without the parser
+ * classes.
+ *
+ * <p>Lines are numbered from 1, like the lines reported by the parser.
+ */
+class JavaSourceModel {
+
+    enum Kind {
+        CLASS, INTERFACE, ENUM, ANNOTATION
+    }
+
+    private String source;
+
+    /** The offset of the first character of every line. */
+    private int[] lineStarts;
+
+    private int lineCount;
+
+    private String lineSeparator;
+
+    private int packageLine;
+
+    private int lastImportLine;
+
+    private List<String> imports = new ArrayList<String>();
+
+    private List<TypeModel> types = new ArrayList<TypeModel>();
+
+    JavaSourceModel(String source) {
+        this.source = source;
+
+        lineStarts = new int[64];
+        lineStarts[0] = 0;
+        lineCount = 1;
+        int length = source.length();
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '\r' && i + 1 < length && source.charAt(i + 1) == '\n') {
+                if (lineSeparator == null) {
+                    lineSeparator = "\r\n"; //$NON-NLS-1$
+                }
+                i++;
+            } else if (c == '\r' || c == '\n') {
+                if (lineSeparator == null) {
+                    lineSeparator = String.valueOf(c);
+                }
+            } else {
+                continue;
+            }
+
+            if (i + 1 < length) {
+                if (lineCount == lineStarts.length) {
+                    int[] newLineStarts = new int[lineCount * 2];
+                    System.arraycopy(lineStarts, 0, newLineStarts, 0, lineCount);
+                    lineStarts = newLineStarts;
+                }
+                lineStarts[lineCount++] = i + 1;
+            }
+        }
+
+        if (lineSeparator == null) {
+            lineSeparator = System.getProperty("line.separator"); //$NON-NLS-1$
+        }
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the line separator used by the source - the first separator
+     * found, or the system line separator if the source is a single line.
+     *
+     * @return the line separator
+     */
+    String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    int getLineStart(int line) {
+        return lineStarts[line - 1];
+    }
+
+    /**
+     * Returns the offset after the end of a line, including the line
+     * separator.
+     *
+     * @param line
+     *            the line number
+     * @return the end offset
+     */
+    int getLineEnd(int line) {
+        return line < lineCount ? lineStarts[line] : source.length();
+    }
+
+    /**
+     * Returns a line without its line separator.
+     *
+     * @param line
+     *            the line number
+     * @return the content of the line
+     */
+    String getLineContent(int line) {
+        int end = getLineEnd(line);
+        while (end > getLineStart(line)) {
+            char c = source.charAt(end - 1);
+            if (c != '\r' && c != '\n') {
+                break;
+            }
+            end--;
+        }
+
+        return source.substring(getLineStart(line), end);
+    }
+
+    boolean isBlank(int line) {
+        int end = getLineEnd(line);
+        for (int i = getLineStart(line); i < end; i++) {
+            if (!Character.isWhitespace(source.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    int getLineOf(int offset) {
+        int low = 0;
+        int high = lineCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (lineStarts[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return low + 1;
+    }
+
+    /**
+     * Calculates the first line of a member together with the blank lines
+     * that separate it from the previous member.
+     *
+     * @param firstLine
+     *            the first line of the member, including its comment
+     * @param lowerBound
+     *            the blank lines will not extend to or above this line
+     * @return the first line of the member and its leading blank lines
+     */
+    int getUnitStart(int firstLine, int lowerBound) {
+        int line = firstLine;
+        while (line - 1 > lowerBound && isBlank(line - 1)) {
+            line--;
+        }
+
+        return line;
+    }
+
+    /**
+     * Appends a range of lines, replacing the line separators of this source
+     * with the specified separator.
+     *
+     * @param sb
+     *            the builder to append to
+     * @param fromLine
+     *            the first line
+     * @param toLine
+     *            the last line (inclusive)
+     * @param separator
+     *            the line separator
+     */
+    void appendLines(StringBuilder sb, int fromLine, int toLine,
+            String separator) {
+        for (int line = fromLine; line <= toLine; line++) {
+            sb.append(getLineContent(line));
+            sb.append(separator);
+        }
+    }
+
+    int getPackageLine() {
+        return packageLine;
+    }
+
+    void setPackageLine(int packageLine) {
+        this.packageLine = packageLine;
+    }
+
+    int getLastImportLine() {
+        return lastImportLine;
+    }
+
+    /**
+     * Adds an import.
+     *
+     * @param name
+     *            the imported name as written after the import keyword, for
+     *            example "static java.util.Arrays.asList" or "java.util.*"
+     * @param endLine
+     *            the last line of the import
+     */
+    void addImport(String name, int endLine) {
+        imports.add(name);
+        lastImportLine = Math.max(lastImportLine, endLine);
+    }
+
+    List<String> getImports() {
+        return imports;
+    }
+
+    /**
+     * Adds a top level type, and locates the type keyword and the opening
+     * brace of the type body in the source.
+     *
+     * @param type
+     *            the type
+     */
+    void addType(TypeModel type) {
+        String keyword;
+        switch (type.kind) {
+        case CLASS:
+            keyword = "class"; //$NON-NLS-1$
+            break;
+        case INTERFACE:
+            keyword = "interface"; //$NON-NLS-1$
+            break;
+        case ENUM:
+            keyword = "enum"; //$NON-NLS-1$
+            break;
+        default:
+            keyword = "@\\s*interface"; //$NON-NLS-1$
+            break;
+        }
+
+        Pattern pattern = Pattern.compile("\\b" + keyword + "\\s+" //$NON-NLS-1$ //$NON-NLS-2$
+                + Pattern.quote(type.name) + "(?![\\w$])"); //$NON-NLS-1$
+        Matcher matcher = pattern.matcher(source);
+        int end = getLineEnd(type.endLine);
+        if (matcher.find(getLineStart(type.beginLine))
+                && matcher.end() <= end) {
+            type.headerOffset = matcher.start();
+            int brace = source.indexOf('{', matcher.end());
+            if (brace != -1 && brace < end) {
+                type.braceOffset = brace;
+                type.bodyStartLine = Math.max(getLineOf(brace),
+                        type.bodyStartLine);
+            }
+        }
+
+        types.add(type);
+    }
+
+    List<TypeModel> getTypes() {
+        return types;
+    }
+
+    TypeModel getType(String name) {
+        for (TypeModel type : types) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * A top level type.
+     */
+    static class TypeModel {
+        String name;
+
+        Kind kind;
+
+        int beginLine;
+
+        int endLine;
+
+        /**
+         * The last line before the members of the type - the line of the
+         * opening brace, or the last line of the constants of an enum.
+         */
+        int bodyStartLine;
+
+        /** The offset of the type keyword, or -1 if it was not found. */
+        int headerOffset = -1;
+
+        /** The offset of the opening brace, or -1 if it was not found. */
+        int braceOffset = -1;
+
+        List<String> typeParameters = new ArrayList<String>();
+
+        /**
+         * The super class of a class, or the super interfaces of an
+         * interface.
+         */
+        List<String> extendedTypes = new ArrayList<String>();
+
+        List<String> implementedTypes = new ArrayList<String>();
+
+        List<MemberModel> members = new ArrayList<MemberModel>();
+
+        TypeModel(String name, Kind kind, int beginLine, int endLine) {
+            this.name = name;
+            this.kind = kind;
+            this.beginLine = beginLine;
+            this.endLine = endLine;
+        }
+    }
+
+    /**
+     * A direct member of a top level type - a field, method, constructor,
+     * initializer or nested type.
+     */
+    static class MemberModel {
+        /**
+         * The keys that identify the member, for example "field:name" or
+         * "method:setName(String)". Initializers have no keys.
+         */
+        List<String> keys = new ArrayList<String>();
+
+        /** The content of the comment of the member, or null. */
+        String comment;
+
+        /** The first line of the member, including its comment. */
+        int firstLine;
+
+        int endLine;
+
+        MemberModel(String comment, int firstLine, int endLine) {
+            this.comment = comment;
+            this.firstLine = firstLine;
+            this.endLine = endLine;
+        }
+    }
+}
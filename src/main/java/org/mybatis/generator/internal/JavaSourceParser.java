@@ -0,0 +1,220 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.mybatis.generator.exception.ShellException;
+import org.mybatis.generator.internal.JavaSourceModel.Kind;
+import org.mybatis.generator.internal.JavaSourceModel.MemberModel;
+import org.mybatis.generator.internal.JavaSourceModel.TypeModel;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.TokenMgrError;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.TypeParameter;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+/**
+ * Builds the {@link JavaSourceModel} of a Java source file with javaparser.
+ * This is the only class of the Java merger that uses the parser, so the
+ * parser is only needed at runtime when Java files are actually merged.
+ */
+class JavaSourceParser {
+
+    /**
+     * Utility class - no instances.
+     */
+    private JavaSourceParser() {
+    }
+
+    /**
+     * Parses a Java source file.
+     *
+     * @param source
+     *            the source
+     * @param fileName
+     *            the name of the file, used in error messages
+     * @return the outline of the source
+     * @throws ShellException
+     *             if the source cannot be parsed
+     */
+    static JavaSourceModel parse(String source, String fileName)
+            throws ShellException {
+        CompilationUnit compilationUnit;
+        try {
+            compilationUnit = JavaParser.parse(new StringReader(source), true);
+        } catch (ParseException e) {
+            throw new ShellException(getString("Warning.32", //$NON-NLS-1$
+                    fileName, e.getMessage()), e);
+        } catch (TokenMgrError e) {
+            throw new ShellException(getString("Warning.32", //$NON-NLS-1$
+                    fileName, e.getMessage()), e);
+        }
+
+        JavaSourceModel model = new JavaSourceModel(source);
+        if (compilationUnit.getPackage() != null) {
+            model.setPackageLine(compilationUnit.getPackage().getEndLine());
+        }
+
+        if (compilationUnit.getImports() != null) {
+            for (ImportDeclaration importDeclaration : compilationUnit
+                    .getImports()) {
+                StringBuilder sb = new StringBuilder();
+                if (importDeclaration.isStatic()) {
+                    sb.append("static "); //$NON-NLS-1$
+                }
+                sb.append(importDeclaration.getName().toString());
+                if (importDeclaration.isAsterisk()) {
+                    sb.append(".*"); //$NON-NLS-1$
+                }
+                model.addImport(sb.toString(), importDeclaration.getEndLine());
+            }
+        }
+
+        if (compilationUnit.getTypes() != null) {
+            for (TypeDeclaration typeDeclaration : compilationUnit.getTypes()) {
+                model.addType(getTypeModel(typeDeclaration));
+            }
+        }
+
+        return model;
+    }
+
+    private static TypeModel getTypeModel(TypeDeclaration typeDeclaration) {
+        Kind kind;
+        if (typeDeclaration instanceof ClassOrInterfaceDeclaration) {
+            kind = ((ClassOrInterfaceDeclaration) typeDeclaration)
+                    .isInterface() ? Kind.INTERFACE : Kind.CLASS;
+        } else if (typeDeclaration instanceof EnumDeclaration) {
+            kind = Kind.ENUM;
+        } else {
+            kind = Kind.ANNOTATION;
+        }
+
+        TypeModel type = new TypeModel(typeDeclaration.getName(), kind,
+                typeDeclaration.getBeginLine(), typeDeclaration.getEndLine());
+
+        if (typeDeclaration instanceof ClassOrInterfaceDeclaration) {
+            ClassOrInterfaceDeclaration declaration = (ClassOrInterfaceDeclaration) typeDeclaration;
+            if (declaration.getTypeParameters() != null) {
+                for (TypeParameter typeParameter : declaration
+                        .getTypeParameters()) {
+                    type.typeParameters.add(typeParameter.toString());
+                }
+            }
+            addTypes(type.extendedTypes, declaration.getExtends());
+            addTypes(type.implementedTypes, declaration.getImplements());
+        } else if (typeDeclaration instanceof EnumDeclaration) {
+            EnumDeclaration declaration = (EnumDeclaration) typeDeclaration;
+            addTypes(type.implementedTypes, declaration.getImplements());
+            if (declaration.getEntries() != null) {
+                for (EnumConstantDeclaration entry : declaration.getEntries()) {
+                    type.bodyStartLine = Math.max(type.bodyStartLine,
+                            entry.getEndLine());
+                }
+            }
+        }
+
+        if (typeDeclaration.getMembers() != null) {
+            for (BodyDeclaration member : typeDeclaration.getMembers()) {
+                type.members.add(getMemberModel(member));
+            }
+        }
+
+        return type;
+    }
+
+    private static void addTypes(List<String> names,
+            List<ClassOrInterfaceType> types) {
+        if (types != null) {
+            for (ClassOrInterfaceType type : types) {
+                names.add(type.toString());
+            }
+        }
+    }
+
+    private static MemberModel getMemberModel(BodyDeclaration member) {
+        Comment comment = member.getComment();
+        int firstLine = member.getBeginLine();
+        if (comment != null) {
+            firstLine = Math.min(firstLine, comment.getBeginLine());
+        }
+
+        MemberModel model = new MemberModel(comment == null ? null : comment
+                .getContent(), firstLine, member.getEndLine());
+
+        if (member instanceof FieldDeclaration) {
+            for (VariableDeclarator variable : ((FieldDeclaration) member)
+                    .getVariables()) {
+                model.keys.add("field:" + variable.getId().getName()); //$NON-NLS-1$
+            }
+        } else if (member instanceof MethodDeclaration) {
+            MethodDeclaration method = (MethodDeclaration) member;
+            model.keys.add(getSignature("method:" + method.getName(), //$NON-NLS-1$
+                    method.getParameters()));
+        } else if (member instanceof ConstructorDeclaration) {
+            model.keys.add(getSignature("constructor:", //$NON-NLS-1$
+                    ((ConstructorDeclaration) member).getParameters()));
+        } else if (member instanceof TypeDeclaration) {
+            model.keys.add("type:" + ((TypeDeclaration) member).getName()); //$NON-NLS-1$
+        }
+
+        return model;
+    }
+
+    private static String getSignature(String name, List<Parameter> parameters) {
+        StringBuilder sb = new StringBuilder(name);
+        sb.append('(');
+        if (parameters != null) {
+            boolean comma = false;
+            for (Parameter parameter : parameters) {
+                if (comma) {
+                    sb.append(',');
+                } else {
+                    comma = true;
+                }
+
+                sb.append(parameter.getType().toString());
+                for (int i = 0; i < parameter.getId().getArrayCount(); i++) {
+                    sb.append("[]"); //$NON-NLS-1$
+                }
+                if (parameter.isVarArgs()) {
+                    sb.append("..."); //$NON-NLS-1$
+                }
+            }
+        }
+        sb.append(')');
+
+        return sb.toString();
+    }
+}
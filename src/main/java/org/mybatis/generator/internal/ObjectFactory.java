@@ -19,6 +19,8 @@ import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.net.URL;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -44,26 +46,23 @@ import org.mybatis.generator.config.PluginConfiguration;
 import org.mybatis.generator.config.JavaTypeResolverConfiguration;
 import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.db.DataDictionaryIntrospector;
+import org.mybatis.generator.internal.db.HsqldbDataDictionaryIntrospector;
+import org.mybatis.generator.internal.db.MySqlDataDictionaryIntrospector;
+import org.mybatis.generator.internal.db.OracleDataDictionaryIntrospector;
 import org.mybatis.generator.internal.types.JavaTypeResolverDefaultImpl;
 
 /**
  * This class creates the different objects needed by the generator.
+ * 
+ * <p>Class loaders and loaded classes are kept in the current
+ * {@link GenerationSession}, so generators running at the same time in the
+ * same JVM do not interfere with each other.
  *
  * @author Jeff Butler
  */
 public class ObjectFactory {
     
-    /** The external class loaders. */
-    private static List<ClassLoader> externalClassLoaders;
-    
-    /** The resource class loaders. */
-    private static List<ClassLoader> resourceClassLoaders;
-    
-    static {
-    	externalClassLoaders = new ArrayList<ClassLoader>();
-        resourceClassLoaders = new ArrayList<ClassLoader>();
-    }
-    
     /**
      * Utility class. No instances allowed
      */
@@ -72,15 +71,14 @@ public class ObjectFactory {
     }
 
     /**
-     * Clears the class loaders.  This method should be called at the beginning of
-     * a generation run so that and change to the classloading configuration
-     * will be reflected.  For example, if the eclipse launcher changes configuration
-     * it might not be updated if eclipse hasn't been restarted.
+     * Clears the class loaders and loaded classes of the current session.
+     * MyBatisGenerator starts every generation run with a new session, so this
+     * method only needs to be called by clients that use the object factory
+     * outside of a generation run.
      * 
      */
     public static void reset() {
-        externalClassLoaders.clear();
-        resourceClassLoaders.clear();
+        GenerationSession.getCurrent().reset();
     }
 
     /**
@@ -90,9 +88,9 @@ public class ObjectFactory {
      * @param classLoader
      *            the class loader
      */
-    public static synchronized void addResourceClassLoader(
+    public static void addResourceClassLoader(
             ClassLoader classLoader) {
-        ObjectFactory.resourceClassLoaders.add(classLoader);
+        GenerationSession.getCurrent().addResourceClassLoader(classLoader);
     }
 
     /**
@@ -103,9 +101,9 @@ public class ObjectFactory {
      * @param classLoader
      *            the class loader
      */
-    public static synchronized void addExternalClassLoader(
+    public static void addExternalClassLoader(
             ClassLoader classLoader) {
-        ObjectFactory.externalClassLoaders.add(classLoader);
+        GenerationSession.getCurrent().addExternalClassLoader(classLoader);
     }
     
     /**
@@ -122,18 +120,27 @@ public class ObjectFactory {
     public static Class<?> externalClassForName(String type)
             throws ClassNotFoundException {
 
-        Class<?> clazz;
+        GenerationSession session = GenerationSession.getCurrent();
+        Class<?> clazz = session.getExternalClass(type);
+        if (clazz != null) {
+            return clazz;
+        }
 
-        for (ClassLoader classLoader : externalClassLoaders) {
+        for (ClassLoader classLoader : session.getExternalClassLoaders()) {
             try {
                 clazz = Class.forName(type, true, classLoader);
-                return clazz;
+                break;
             } catch (Throwable e) {
                 // ignore - fail safe below
             }
         }
-        
-        return internalClassForName(type);
+
+        if (clazz == null) {
+            clazz = internalClassForName(type);
+        }
+
+        session.putExternalClass(type, clazz);
+        return clazz;
     }
 
     /**
@@ -148,7 +155,7 @@ public class ObjectFactory {
 
         try {
             Class<?> clazz = externalClassForName(type);
-            answer = clazz.newInstance();
+            answer = newInstance(clazz);
         } catch (Exception e) {
             throw new RuntimeException(getString(
                     "RuntimeError.6", type), e); //$NON-NLS-1$
@@ -168,7 +175,11 @@ public class ObjectFactory {
      */
     public static Class<?> internalClassForName(String type)
             throws ClassNotFoundException {
-        Class<?> clazz = null;
+        GenerationSession session = GenerationSession.getCurrent();
+        Class<?> clazz = session.getInternalClass(type);
+        if (clazz != null) {
+            return clazz;
+        }
 
         try {
             ClassLoader cl = Thread.currentThread().getContextClassLoader();
@@ -181,6 +192,7 @@ public class ObjectFactory {
             clazz = Class.forName(type, true, ObjectFactory.class.getClassLoader());
         }
 
+        session.putInternalClass(type, clazz);
         return clazz;
     }
 
@@ -194,7 +206,8 @@ public class ObjectFactory {
     public static URL getResource(String resource) {
         URL url;
 
-        for (ClassLoader classLoader : resourceClassLoaders) {
+        for (ClassLoader classLoader : GenerationSession.getCurrent()
+                .getResourceClassLoaders()) {
             url = classLoader.getResource(resource);
             if (url != null) {
               return url;
@@ -224,7 +237,7 @@ public class ObjectFactory {
         try {
             Class<?> clazz = internalClassForName(type);
 
-            answer = clazz.newInstance();
+            answer = newInstance(clazz);
         } catch (Exception e) {
             throw new RuntimeException(getString(
                     "RuntimeError.6", type), e); //$NON-NLS-1$
@@ -234,6 +247,23 @@ public class ObjectFactory {
         return answer;
     }
 
+    /**
+     * Creates an instance of a class with its public no argument constructor.
+     * The constructor is looked up once per generation session, so objects
+     * that are created very often (like introspected columns) are not
+     * resolved again for every instance.
+     *
+     * @param clazz
+     *            the class
+     * @return the new instance
+     * @throws Exception
+     *             if the instance cannot be created
+     */
+    private static Object newInstance(Class<?> clazz) throws Exception {
+        return GenerationSession.getCurrent().getConstructor(clazz)
+                .newInstance();
+    }
+
     /**
      * Creates a new Object object.
      *
@@ -281,13 +311,28 @@ public class ObjectFactory {
      */
     public static Plugin createPlugin(Context context,
             PluginConfiguration pluginConfiguration) {
-        Plugin plugin = (Plugin) createInternalObject(pluginConfiguration
-                .getConfigurationType());
+        Plugin plugin = context.getPluginFactory(pluginConfiguration)
+                .newInstance();
         plugin.setContext(context);
         plugin.setProperties(pluginConfiguration.getProperties());
         return plugin;
     }
 
+    /**
+     * Resolves the factory for the plugin of a plugin configuration. Clients
+     * should call Context.getPluginFactory(), which resolves the factory only
+     * once.
+     *
+     * @param pluginConfiguration
+     *            the plugin configuration
+     * @return the plugin factory
+     */
+    public static InstanceFactory<Plugin> createPluginFactory(
+            PluginConfiguration pluginConfiguration) {
+        return createInternalFactory(
+                pluginConfiguration.getConfigurationType(), Plugin.class);
+    }
+
     /**
      * Creates a new Object object.
      *
@@ -379,6 +424,49 @@ public class ObjectFactory {
         return answer;
     }
     
+    /**
+     * Creates the data dictionary introspector configured for the context, if
+     * any. The value "DEFAULT" selects a built in introspector based on the
+     * database product name.
+     *
+     * @param context
+     *            the context
+     * @param databaseMetaData
+     *            the database meta data
+     * @return the data dictionary introspector, or null if the context does
+     *         not use one or the database is not supported
+     * @throws SQLException
+     *             the SQL exception
+     */
+    public static DataDictionaryIntrospector createDataDictionaryIntrospector(
+            Context context, DatabaseMetaData databaseMetaData)
+            throws SQLException {
+        String type = context
+                .getProperty(PropertyRegistry.CONTEXT_DATA_DICTIONARY_INTROSPECTOR);
+        if (!stringHasValue(type)) {
+            return null;
+        }
+
+        List<String> types = new ArrayList<String>();
+        if ("DEFAULT".equalsIgnoreCase(type)) { //$NON-NLS-1$
+            types.add(HsqldbDataDictionaryIntrospector.class.getName());
+            types.add(MySqlDataDictionaryIntrospector.class.getName());
+            types.add(OracleDataDictionaryIntrospector.class.getName());
+        } else {
+            types.add(type);
+        }
+
+        for (String t : types) {
+            DataDictionaryIntrospector answer = (DataDictionaryIntrospector) createInternalObject(t);
+            if (answer.supports(databaseMetaData)) {
+                answer.setContext(context);
+                return answer;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Creates a new Object object.
      *
@@ -411,27 +499,64 @@ public class ObjectFactory {
      * @return the introspected table
      */
     public static IntrospectedTable createIntrospectedTableForValidation(Context context) {
-        String type = context.getTargetRuntime();
-        if (!stringHasValue(type)) {
-            type = IntrospectedTableMyBatis3Impl.class.getName();
-        } else if ("Ibatis2Java2".equalsIgnoreCase(type)) { //$NON-NLS-1$
-            type = IntrospectedTableIbatis2Java2Impl.class.getName();
-        } else if ("Ibatis2Java5".equalsIgnoreCase(type)) { //$NON-NLS-1$
-            type = IntrospectedTableIbatis2Java5Impl.class.getName();
-        } else if ("Ibatis3".equalsIgnoreCase(type)) { //$NON-NLS-1$
-            type = IntrospectedTableMyBatis3Impl.class.getName();
-        } else if ("MyBatis3".equalsIgnoreCase(type)) { //$NON-NLS-1$
-            type = IntrospectedTableMyBatis3Impl.class.getName();
-        } else if ("MyBatis3Simple".equalsIgnoreCase(type)) { //$NON-NLS-1$
-            type = IntrospectedTableMyBatis3SimpleImpl.class.getName();
-        }
-
-        IntrospectedTable answer = (IntrospectedTable) createInternalObject(type);
+        IntrospectedTable answer = context.getIntrospectedTableFactory()
+                .newInstance();
         answer.setContext(context);
 
         return answer;
     }
-    
+
+    /**
+     * Resolves the introspected table factory of a context. Clients should
+     * call Context.getIntrospectedTableFactory(), which resolves the factory
+     * only once.
+     *
+     * @param context
+     *            the context
+     * @return the introspected table factory
+     */
+    public static InstanceFactory<IntrospectedTable> createIntrospectedTableFactory(
+            Context context) {
+        String type = context.getTargetRuntime();
+        if (!stringHasValue(type)
+                || "Ibatis3".equalsIgnoreCase(type) //$NON-NLS-1$
+                || "MyBatis3".equalsIgnoreCase(type) //$NON-NLS-1$
+                || IntrospectedTableMyBatis3Impl.class.getName().equals(type)) {
+            return new InstanceFactory<IntrospectedTable>() {
+                @Override
+                public IntrospectedTable newInstance() {
+                    return new IntrospectedTableMyBatis3Impl();
+                }
+            };
+        } else if ("MyBatis3Simple".equalsIgnoreCase(type) //$NON-NLS-1$
+                || IntrospectedTableMyBatis3SimpleImpl.class.getName().equals(type)) {
+            return new InstanceFactory<IntrospectedTable>() {
+                @Override
+                public IntrospectedTable newInstance() {
+                    return new IntrospectedTableMyBatis3SimpleImpl();
+                }
+            };
+        } else if ("Ibatis2Java2".equalsIgnoreCase(type) //$NON-NLS-1$
+                || IntrospectedTableIbatis2Java2Impl.class.getName().equals(type)) {
+            return new InstanceFactory<IntrospectedTable>() {
+                @Override
+                public IntrospectedTable newInstance() {
+                    return new IntrospectedTableIbatis2Java2Impl();
+                }
+            };
+        } else if ("Ibatis2Java5".equalsIgnoreCase(type) //$NON-NLS-1$
+                || IntrospectedTableIbatis2Java5Impl.class.getName().equals(type)) {
+            return new InstanceFactory<IntrospectedTable>() {
+                @Override
+                public IntrospectedTable newInstance() {
+                    return new IntrospectedTableIbatis2Java5Impl();
+                }
+            };
+        }
+
+        return createInternalFactory(type, IntrospectedTable.class);
+    }
+
     /**
      * Creates a new Object object.
      *
@@ -440,14 +565,50 @@ public class ObjectFactory {
      * @return the introspected column
      */
     public static IntrospectedColumn createIntrospectedColumn(Context context) {
+        // this is called for every column, so the factory is only resolved
+        // once per context
+        IntrospectedColumn answer = context.getIntrospectedColumnFactory()
+                .newInstance();
+        answer.setContext(context);
+
+        return answer;
+    }
+
+    /**
+     * Resolves the introspected column factory of a context. Clients should
+     * call Context.getIntrospectedColumnFactory(), which resolves the factory
+     * only once.
+     *
+     * @param context
+     *            the context
+     * @return the introspected column factory
+     */
+    public static InstanceFactory<IntrospectedColumn> createIntrospectedColumnFactory(
+            Context context) {
         String type = context.getIntrospectedColumnImpl();
-        if (!stringHasValue(type)) {
-            type = IntrospectedColumn.class.getName();
+        if (stringHasValue(type)
+                && !IntrospectedColumn.class.getName().equals(type)) {
+            return createInternalFactory(type, IntrospectedColumn.class);
         }
 
-        IntrospectedColumn answer = (IntrospectedColumn) createInternalObject(type);
-        answer.setContext(context);
+        return new InstanceFactory<IntrospectedColumn>() {
+            @Override
+            public IntrospectedColumn newInstance() {
+                return new IntrospectedColumn();
+            }
+        };
+    }
 
-        return answer;
+    private static <T> InstanceFactory<T> createInternalFactory(String type,
+            Class<T> baseType) {
+        Class<? extends T> clazz;
+        try {
+            clazz = internalClassForName(type).asSubclass(baseType);
+        } catch (Exception e) {
+            throw new RuntimeException(getString(
+                    "RuntimeError.6", type), e); //$NON-NLS-1$
+        }
+
+        return InstanceFactory.forClass(clazz);
     }
 }
@@ -22,6 +22,8 @@ import java.util.Properties;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.GeneratedXmlFile;
 import org.mybatis.generator.api.Plugin;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.dom.java.Field;
@@ -38,21 +40,449 @@ import org.mybatis.generator.config.Context;
  * implements the rule that if any plugin returns "false" from a method, then no
  * other plugin is called.
  * <p>
+ * Each hook only calls the plugins that implement it. Most plugins extend
+ * {@link PluginAdapter} and override a few hooks, so most hooks have no
+ * plugins to call.
+ * <p>
  * This class does not follow the normal plugin lifecycle and should not be
  * subclassed by clients.
+ * <p>
+ * This class does not synchronize calls to the plugins. Tables are only
+ * generated in parallel if every plugin is annotated {@link ThreadSafe} - see
+ * {@link #isThreadSafe()}.
  * 
  * @author Jeff Butler
  * 
  */
 public final class PluginAggregator implements Plugin {
-    private List<Plugin> plugins;
+
+    /** The plugin methods that are called through the aggregator. */
+    private static final List<java.lang.reflect.Method> HOOKS = new ArrayList<java.lang.reflect.Method>();
+
+    private static final int MODEL_BASE_RECORD_CLASS_GENERATED = hook(
+            "modelBaseRecordClassGenerated", //$NON-NLS-1$
+            TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int MODEL_RECORD_WITH_BLOBS_CLASS_GENERATED = hook(
+            "modelRecordWithBLOBsClassGenerated", //$NON-NLS-1$
+            TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_COUNT_BY_EXAMPLE_ELEMENT_GENERATED = hook(
+            "sqlMapCountByExampleElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_DELETE_BY_EXAMPLE_ELEMENT_GENERATED = hook(
+            "sqlMapDeleteByExampleElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_DELETE_BY_PRIMARY_KEY_ELEMENT_GENERATED = hook(
+            "sqlMapDeleteByPrimaryKeyElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int MODEL_EXAMPLE_CLASS_GENERATED = hook(
+            "modelExampleClassGenerated", //$NON-NLS-1$
+            TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CONTEXT_GENERATE_ADDITIONAL_JAVA_FILES_FOR_TABLE = hook(
+            "contextGenerateAdditionalJavaFiles", //$NON-NLS-1$
+            IntrospectedTable.class);
+
+    private static final int CONTEXT_GENERATE_ADDITIONAL_XML_FILES_FOR_TABLE = hook(
+            "contextGenerateAdditionalXmlFiles", //$NON-NLS-1$
+            IntrospectedTable.class);
+
+    private static final int MODEL_PRIMARY_KEY_CLASS_GENERATED = hook(
+            "modelPrimaryKeyClassGenerated", //$NON-NLS-1$
+            TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_RESULT_MAP_WITHOUT_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapResultMapWithoutBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_EXAMPLE_WHERE_CLAUSE_ELEMENT_GENERATED = hook(
+            "sqlMapExampleWhereClauseElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_INSERT_ELEMENT_GENERATED = hook(
+            "sqlMapInsertElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_RESULT_MAP_WITH_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapResultMapWithBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapSelectByExampleWithoutBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_SELECT_BY_EXAMPLE_WITH_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapSelectByExampleWithBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_SELECT_BY_PRIMARY_KEY_ELEMENT_GENERATED = hook(
+            "sqlMapSelectByPrimaryKeyElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_GENERATED = hook(
+            "sqlMapGenerated", //$NON-NLS-1$
+            GeneratedXmlFile.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BY_EXAMPLE_SELECTIVE_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateByExampleSelectiveElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BY_EXAMPLE_WITH_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateByExampleWithBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateByExampleWithoutBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BY_PRIMARY_KEY_SELECTIVE_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateByPrimaryKeySelectiveElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateByPrimaryKeyWithBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BY_PRIMARY_KEY_WITHOUT_BLOBS_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateByPrimaryKeyWithoutBLOBsElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int CLIENT_COUNT_BY_EXAMPLE_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientCountByExampleMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_COUNT_BY_EXAMPLE_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientCountByExampleMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_DELETE_BY_EXAMPLE_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientDeleteByExampleMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_DELETE_BY_EXAMPLE_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientDeleteByExampleMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_DELETE_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientDeleteByPrimaryKeyMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_DELETE_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientDeleteByPrimaryKeyMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_INSERT_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientInsertMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_INSERT_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientInsertMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_GENERATED = hook(
+            "clientGenerated", //$NON-NLS-1$
+            Interface.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_ALL_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientSelectAllMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_ALL_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientSelectAllMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientSelectByExampleWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientSelectByExampleWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientSelectByExampleWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientSelectByExampleWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientSelectByPrimaryKeyMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientSelectByPrimaryKeyMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_EXAMPLE_SELECTIVE_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientUpdateByExampleSelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_EXAMPLE_SELECTIVE_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientUpdateByExampleSelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientUpdateByExampleWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientUpdateByExampleWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientUpdateByExampleWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientUpdateByExampleWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_PRIMARY_KEY_SELECTIVE_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientUpdateByPrimaryKeySelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_PRIMARY_KEY_SELECTIVE_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientUpdateByPrimaryKeySelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientUpdateByPrimaryKeyWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientUpdateByPrimaryKeyWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_PRIMARY_KEY_WITHOUT_BLOBS_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BY_PRIMARY_KEY_WITHOUT_BLOBS_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CONTEXT_GENERATE_ADDITIONAL_JAVA_FILES = hook(
+            "contextGenerateAdditionalJavaFiles"); //$NON-NLS-1$
+
+    private static final int CONTEXT_GENERATE_ADDITIONAL_XML_FILES = hook(
+            "contextGenerateAdditionalXmlFiles"); //$NON-NLS-1$
+
+    private static final int SQL_MAP_DOCUMENT_GENERATED = hook(
+            "sqlMapDocumentGenerated", //$NON-NLS-1$
+            Document.class, IntrospectedTable.class);
+
+    private static final int MODEL_FIELD_GENERATED = hook(
+            "modelFieldGenerated", //$NON-NLS-1$
+            Field.class, TopLevelClass.class, IntrospectedColumn.class,
+            IntrospectedTable.class, Plugin.ModelClassType.class);
+
+    private static final int MODEL_GETTER_METHOD_GENERATED = hook(
+            "modelGetterMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedColumn.class,
+            IntrospectedTable.class, Plugin.ModelClassType.class);
+
+    private static final int MODEL_SETTER_METHOD_GENERATED = hook(
+            "modelSetterMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedColumn.class,
+            IntrospectedTable.class, Plugin.ModelClassType.class);
+
+    private static final int SQL_MAP_INSERT_SELECTIVE_ELEMENT_GENERATED = hook(
+            "sqlMapInsertSelectiveElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int CLIENT_INSERT_SELECTIVE_METHOD_GENERATED_FOR_INTERFACE = hook(
+            "clientInsertSelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_INSERT_SELECTIVE_METHOD_GENERATED_FOR_CLASS = hook(
+            "clientInsertSelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int INITIALIZED = hook(
+            "initialized", //$NON-NLS-1$
+            IntrospectedTable.class);
+
+    private static final int SQL_MAP_BASE_COLUMN_LIST_ELEMENT_GENERATED = hook(
+            "sqlMapBaseColumnListElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_BLOB_COLUMN_LIST_ELEMENT_GENERATED = hook(
+            "sqlMapBlobColumnListElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_GENERATED = hook(
+            "providerGenerated", //$NON-NLS-1$
+            TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_APPLY_WHERE_METHOD_GENERATED = hook(
+            "providerApplyWhereMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_COUNT_BY_EXAMPLE_METHOD_GENERATED = hook(
+            "providerCountByExampleMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_DELETE_BY_EXAMPLE_METHOD_GENERATED = hook(
+            "providerDeleteByExampleMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_INSERT_SELECTIVE_METHOD_GENERATED = hook(
+            "providerInsertSelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_SELECT_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED = hook(
+            "providerSelectByExampleWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED = hook(
+            "providerSelectByExampleWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_UPDATE_BY_EXAMPLE_SELECTIVE_METHOD_GENERATED = hook(
+            "providerUpdateByExampleSelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_UPDATE_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED = hook(
+            "providerUpdateByExampleWithBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED = hook(
+            "providerUpdateByExampleWithoutBLOBsMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_UPDATE_BY_PRIMARY_KEY_SELECTIVE_METHOD_GENERATED = hook(
+            "providerUpdateByPrimaryKeySelectiveMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_SELECT_ALL_ELEMENT_GENERATED = hook(
+            "sqlMapSelectAllElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int CLIENT_INSERT_BATCH_METHOD_GENERATED = hook(
+            "clientInsertBatchMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_INSERT_IN_BATCHES_METHOD_GENERATED = hook(
+            "clientInsertInBatchesMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_INSERT_BATCH_ELEMENT_GENERATED = hook(
+            "sqlMapInsertBatchElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_INSERT_BATCH_METHOD_GENERATED = hook(
+            "providerInsertBatchMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_UPDATE_BATCH_BY_PRIMARY_KEY_METHOD_GENERATED = hook(
+            "clientUpdateBatchByPrimaryKeyMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_UPDATE_BATCH_BY_PRIMARY_KEY_ELEMENT_GENERATED = hook(
+            "sqlMapUpdateBatchByPrimaryKeyElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int PROVIDER_UPDATE_BATCH_BY_PRIMARY_KEY_METHOD_GENERATED = hook(
+            "providerUpdateBatchByPrimaryKeyMethodGenerated", //$NON-NLS-1$
+            Method.class, TopLevelClass.class, IntrospectedTable.class);
+
+    private static final int CLIENT_SELECT_BY_PRIMARY_KEYS_METHOD_GENERATED = hook(
+            "clientSelectByPrimaryKeysMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int CLIENT_DELETE_BY_PRIMARY_KEYS_METHOD_GENERATED = hook(
+            "clientDeleteByPrimaryKeysMethodGenerated", //$NON-NLS-1$
+            Method.class, Interface.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_SELECT_BY_PRIMARY_KEYS_ELEMENT_GENERATED = hook(
+            "sqlMapSelectByPrimaryKeysElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    private static final int SQL_MAP_DELETE_BY_PRIMARY_KEYS_ELEMENT_GENERATED = hook(
+            "sqlMapDeleteByPrimaryKeysElementGenerated", //$NON-NLS-1$
+            XmlElement.class, IntrospectedTable.class);
+
+    /**
+     * The plugins that implement each hook, in the order they were added,
+     * indexed like {@link #HOOKS}.
+     */
+    private Plugin[][] hooks;
+
+    /** True while every plugin added so far is annotated ThreadSafe. */
+    private boolean threadSafe;
 
     public PluginAggregator() {
-        plugins = new ArrayList<Plugin>();
+        hooks = new Plugin[HOOKS.size()][];
+        for (int i = 0; i < hooks.length; i++) {
+            hooks[i] = new Plugin[0];
+        }
+        threadSafe = true;
+    }
+
+    /**
+     * Adds a plugin. The plugin is only called for the hooks that it
+     * implements: a plugin that extends {@link PluginAdapter} and does not
+     * override a hook would only run the default method, which does nothing
+     * and returns true (or null), so it is left out of that hook.
+     *
+     * @param plugin
+     *            the plugin
+     */
+    public void addPlugin(Plugin plugin) {
+        if (!plugin.getClass().isAnnotationPresent(ThreadSafe.class)) {
+            threadSafe = false;
+        }
+
+        for (int i = 0; i < hooks.length; i++) {
+            if (implementsHook(plugin, HOOKS.get(i))) {
+                Plugin[] plugins = new Plugin[hooks[i].length + 1];
+                System.arraycopy(hooks[i], 0, plugins, 0, hooks[i].length);
+                plugins[hooks[i].length] = plugin;
+                hooks[i] = plugins;
+            }
+        }
     }
 
-    public void addPlugin(Plugin plugin) {
-        plugins.add(plugin);
+    /**
+     * Returns true if every plugin is annotated {@link ThreadSafe}, so that the
+     * plugins may be called for several tables at once.
+     *
+     * @return true if the plugins are thread safe
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    private static boolean implementsHook(Plugin plugin,
+            java.lang.reflect.Method hook) {
+        if (!(plugin instanceof PluginAdapter)) {
+            return true;
+        }
+
+        try {
+            return plugin.getClass()
+                    .getMethod(hook.getName(), hook.getParameterTypes())
+                    .getDeclaringClass() != PluginAdapter.class;
+        } catch (NoSuchMethodException e) {
+            // not possible - the plugin implements the interface
+            return true;
+        }
+    }
+
+    private static int hook(String name, Class<?>... parameterTypes) {
+        try {
+            HOOKS.add(Plugin.class.getMethod(name, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return HOOKS.size() - 1;
     }
 
     public void setContext(Context context) {
@@ -71,7 +501,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_BASE_RECORD_CLASS_GENERATED]) {
             if (!plugin.modelBaseRecordClassGenerated(tlc, introspectedTable)) {
                 rc = false;
                 break;
@@ -85,7 +515,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_RECORD_WITH_BLOBS_CLASS_GENERATED]) {
             if (!plugin.modelRecordWithBLOBsClassGenerated(tlc,
                     introspectedTable)) {
                 rc = false;
@@ -100,7 +530,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable table) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_COUNT_BY_EXAMPLE_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapCountByExampleElementGenerated(element, table)) {
                 rc = false;
                 break;
@@ -114,7 +544,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable table) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_DELETE_BY_EXAMPLE_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapDeleteByExampleElementGenerated(element, table)) {
                 rc = false;
                 break;
@@ -128,7 +558,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable table) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_DELETE_BY_PRIMARY_KEY_ELEMENT_GENERATED]) {
             if (!plugin
                     .sqlMapDeleteByPrimaryKeyElementGenerated(element, table)) {
                 rc = false;
@@ -143,7 +573,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_EXAMPLE_CLASS_GENERATED]) {
             if (!plugin.modelExampleClassGenerated(tlc, introspectedTable)) {
                 rc = false;
                 break;
@@ -156,7 +586,7 @@ public final class PluginAggregator implements Plugin {
     public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles(
             IntrospectedTable introspectedTable) {
         List<GeneratedJavaFile> answer = new ArrayList<GeneratedJavaFile>();
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CONTEXT_GENERATE_ADDITIONAL_JAVA_FILES_FOR_TABLE]) {
             List<GeneratedJavaFile> temp = plugin
                     .contextGenerateAdditionalJavaFiles(introspectedTable);
             if (temp != null) {
@@ -169,7 +599,7 @@ public final class PluginAggregator implements Plugin {
     public List<GeneratedXmlFile> contextGenerateAdditionalXmlFiles(
             IntrospectedTable introspectedTable) {
         List<GeneratedXmlFile> answer = new ArrayList<GeneratedXmlFile>();
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CONTEXT_GENERATE_ADDITIONAL_XML_FILES_FOR_TABLE]) {
             List<GeneratedXmlFile> temp = plugin
                     .contextGenerateAdditionalXmlFiles(introspectedTable);
             if (temp != null) {
@@ -183,7 +613,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_PRIMARY_KEY_CLASS_GENERATED]) {
             if (!plugin.modelPrimaryKeyClassGenerated(tlc, introspectedTable)) {
                 rc = false;
                 break;
@@ -197,7 +627,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_RESULT_MAP_WITHOUT_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapResultMapWithoutBLOBsElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -212,7 +642,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_EXAMPLE_WHERE_CLAUSE_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapExampleWhereClauseElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -227,7 +657,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_INSERT_ELEMENT_GENERATED]) {
             if (!plugin
                     .sqlMapInsertElementGenerated(element, introspectedTable)) {
                 rc = false;
@@ -242,7 +672,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_RESULT_MAP_WITH_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapResultMapWithBLOBsElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -257,7 +687,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapSelectByExampleWithoutBLOBsElementGenerated(
                     element, introspectedTable)) {
                 rc = false;
@@ -272,7 +702,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_SELECT_BY_EXAMPLE_WITH_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapSelectByExampleWithBLOBsElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -287,7 +717,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_SELECT_BY_PRIMARY_KEY_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapSelectByPrimaryKeyElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -302,7 +732,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_GENERATED]) {
             if (!plugin.sqlMapGenerated(sqlMap, introspectedTable)) {
                 rc = false;
                 break;
@@ -316,7 +746,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BY_EXAMPLE_SELECTIVE_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapUpdateByExampleSelectiveElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -331,7 +761,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BY_EXAMPLE_WITH_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapUpdateByExampleWithBLOBsElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -346,7 +776,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapUpdateByExampleWithoutBLOBsElementGenerated(
                     element, introspectedTable)) {
                 rc = false;
@@ -361,7 +791,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BY_PRIMARY_KEY_SELECTIVE_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapUpdateByPrimaryKeySelectiveElementGenerated(
                     element, introspectedTable)) {
                 rc = false;
@@ -376,7 +806,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapUpdateByPrimaryKeyWithBLOBsElementGenerated(
                     element, introspectedTable)) {
                 rc = false;
@@ -391,7 +821,7 @@ public final class PluginAggregator implements Plugin {
             XmlElement element, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BY_PRIMARY_KEY_WITHOUT_BLOBS_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapUpdateByPrimaryKeyWithoutBLOBsElementGenerated(
                     element, introspectedTable)) {
                 rc = false;
@@ -406,7 +836,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_COUNT_BY_EXAMPLE_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientCountByExampleMethodGenerated(method, interfaze,
                     introspectedTable)) {
                 rc = false;
@@ -421,7 +851,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_COUNT_BY_EXAMPLE_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientCountByExampleMethodGenerated(method, topLevelClass,
                     introspectedTable)) {
                 rc = false;
@@ -436,7 +866,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_DELETE_BY_EXAMPLE_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientDeleteByExampleMethodGenerated(method, interfaze,
                     introspectedTable)) {
                 rc = false;
@@ -451,7 +881,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_DELETE_BY_EXAMPLE_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientDeleteByExampleMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -466,7 +896,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_DELETE_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientDeleteByPrimaryKeyMethodGenerated(method, interfaze,
                     introspectedTable)) {
                 rc = false;
@@ -481,7 +911,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_DELETE_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientDeleteByPrimaryKeyMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -496,7 +926,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_INSERT_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientInsertMethodGenerated(method, interfaze,
                     introspectedTable)) {
                 rc = false;
@@ -511,7 +941,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_INSERT_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientInsertMethodGenerated(method, topLevelClass,
                     introspectedTable)) {
                 rc = false;
@@ -527,7 +957,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_GENERATED]) {
             if (!plugin.clientGenerated(interfaze, topLevelClass, introspectedTable)) {
                 rc = false;
                 break;
@@ -541,7 +971,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_ALL_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientSelectAllMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -556,7 +986,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_ALL_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientSelectAllMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -571,7 +1001,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientSelectByExampleWithBLOBsMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -586,7 +1016,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientSelectByExampleWithBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -601,7 +1031,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -616,7 +1046,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientSelectByExampleWithoutBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -631,7 +1061,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientSelectByPrimaryKeyMethodGenerated(method, interfaze,
                     introspectedTable)) {
                 rc = false;
@@ -646,7 +1076,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_PRIMARY_KEY_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientSelectByPrimaryKeyMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -661,7 +1091,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_EXAMPLE_SELECTIVE_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientUpdateByExampleSelectiveMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -676,7 +1106,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_EXAMPLE_SELECTIVE_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientUpdateByExampleSelectiveMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -691,7 +1121,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientUpdateByExampleWithBLOBsMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -706,7 +1136,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientUpdateByExampleWithBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -721,7 +1151,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientUpdateByExampleWithoutBLOBsMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -736,7 +1166,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientUpdateByExampleWithoutBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -751,7 +1181,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_PRIMARY_KEY_SELECTIVE_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientUpdateByPrimaryKeySelectiveMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -766,7 +1196,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_PRIMARY_KEY_SELECTIVE_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientUpdateByPrimaryKeySelectiveMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -781,7 +1211,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientUpdateByPrimaryKeyWithBLOBsMethodGenerated(method,
                     interfaze, introspectedTable)) {
                 rc = false;
@@ -796,7 +1226,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientUpdateByPrimaryKeyWithBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -812,7 +1242,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_PRIMARY_KEY_WITHOUT_BLOBS_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated(
                     method, interfaze, introspectedTable)) {
                 rc = false;
@@ -828,7 +1258,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BY_PRIMARY_KEY_WITHOUT_BLOBS_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientUpdateByPrimaryKeyWithoutBLOBsMethodGenerated(
                     method, topLevelClass, introspectedTable)) {
                 rc = false;
@@ -841,7 +1271,7 @@ public final class PluginAggregator implements Plugin {
 
     public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles() {
         List<GeneratedJavaFile> answer = new ArrayList<GeneratedJavaFile>();
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CONTEXT_GENERATE_ADDITIONAL_JAVA_FILES]) {
             List<GeneratedJavaFile> temp = plugin
                     .contextGenerateAdditionalJavaFiles();
             if (temp != null) {
@@ -853,7 +1283,7 @@ public final class PluginAggregator implements Plugin {
 
     public List<GeneratedXmlFile> contextGenerateAdditionalXmlFiles() {
         List<GeneratedXmlFile> answer = new ArrayList<GeneratedXmlFile>();
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CONTEXT_GENERATE_ADDITIONAL_XML_FILES]) {
             List<GeneratedXmlFile> temp = plugin
                     .contextGenerateAdditionalXmlFiles();
             if (temp != null) {
@@ -867,7 +1297,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_DOCUMENT_GENERATED]) {
             if (!plugin.sqlMapDocumentGenerated(document, introspectedTable)) {
                 rc = false;
                 break;
@@ -883,7 +1313,7 @@ public final class PluginAggregator implements Plugin {
             Plugin.ModelClassType modelClassType) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_FIELD_GENERATED]) {
             if (!plugin.modelFieldGenerated(field, topLevelClass,
                     introspectedColumn, introspectedTable, modelClassType)) {
                 rc = false;
@@ -900,7 +1330,7 @@ public final class PluginAggregator implements Plugin {
             Plugin.ModelClassType modelClassType) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_GETTER_METHOD_GENERATED]) {
             if (!plugin.modelGetterMethodGenerated(method, topLevelClass,
                     introspectedColumn, introspectedTable, modelClassType)) {
                 rc = false;
@@ -917,7 +1347,7 @@ public final class PluginAggregator implements Plugin {
             Plugin.ModelClassType modelClassType) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[MODEL_SETTER_METHOD_GENERATED]) {
             if (!plugin.modelSetterMethodGenerated(method, topLevelClass,
                     introspectedColumn, introspectedTable, modelClassType)) {
                 rc = false;
@@ -932,7 +1362,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_INSERT_SELECTIVE_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapInsertSelectiveElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -947,7 +1377,7 @@ public final class PluginAggregator implements Plugin {
             Interface interfaze, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_INSERT_SELECTIVE_METHOD_GENERATED_FOR_INTERFACE]) {
             if (!plugin.clientInsertSelectiveMethodGenerated(method, interfaze,
                     introspectedTable)) {
                 rc = false;
@@ -962,7 +1392,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[CLIENT_INSERT_SELECTIVE_METHOD_GENERATED_FOR_CLASS]) {
             if (!plugin.clientInsertSelectiveMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -974,7 +1404,7 @@ public final class PluginAggregator implements Plugin {
     }
 
     public void initialized(IntrospectedTable introspectedTable) {
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[INITIALIZED]) {
             plugin.initialized(introspectedTable);
         }
     }
@@ -983,7 +1413,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_BASE_COLUMN_LIST_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapBaseColumnListElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -998,7 +1428,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_BLOB_COLUMN_LIST_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapBlobColumnListElementGenerated(element,
                     introspectedTable)) {
                 rc = false;
@@ -1013,7 +1443,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_GENERATED]) {
             if (!plugin.providerGenerated(topLevelClass, introspectedTable)) {
                 rc = false;
                 break;
@@ -1027,7 +1457,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_APPLY_WHERE_METHOD_GENERATED]) {
             if (!plugin.providerApplyWhereMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1042,7 +1472,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_COUNT_BY_EXAMPLE_METHOD_GENERATED]) {
             if (!plugin.providerCountByExampleMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1057,7 +1487,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_DELETE_BY_EXAMPLE_METHOD_GENERATED]) {
             if (!plugin.providerDeleteByExampleMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1072,7 +1502,7 @@ public final class PluginAggregator implements Plugin {
             TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_INSERT_SELECTIVE_METHOD_GENERATED]) {
             if (!plugin.providerInsertSelectiveMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1088,7 +1518,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_SELECT_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED]) {
             if (!plugin.providerSelectByExampleWithBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1104,7 +1534,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_SELECT_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED]) {
             if (!plugin.providerSelectByExampleWithoutBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1120,7 +1550,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_UPDATE_BY_EXAMPLE_SELECTIVE_METHOD_GENERATED]) {
             if (!plugin.providerUpdateByExampleSelectiveMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1136,7 +1566,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_UPDATE_BY_EXAMPLE_WITH_BLOBS_METHOD_GENERATED]) {
             if (!plugin.providerUpdateByExampleWithBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1152,7 +1582,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_UPDATE_BY_EXAMPLE_WITHOUT_BLOBS_METHOD_GENERATED]) {
             if (!plugin.providerUpdateByExampleWithoutBLOBsMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1168,7 +1598,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[PROVIDER_UPDATE_BY_PRIMARY_KEY_SELECTIVE_METHOD_GENERATED]) {
             if (!plugin.providerUpdateByPrimaryKeySelectiveMethodGenerated(method,
                     topLevelClass, introspectedTable)) {
                 rc = false;
@@ -1183,7 +1613,7 @@ public final class PluginAggregator implements Plugin {
             IntrospectedTable introspectedTable) {
         boolean rc = true;
 
-        for (Plugin plugin : plugins) {
+        for (Plugin plugin : hooks[SQL_MAP_SELECT_ALL_ELEMENT_GENERATED]) {
             if (!plugin.sqlMapSelectAllElementGenerated(element, introspectedTable)) {
                 rc = false;
                 break;
@@ -1192,4 +1622,173 @@ public final class PluginAggregator implements Plugin {
 
         return rc;
     }
+
+    public boolean clientInsertBatchMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[CLIENT_INSERT_BATCH_METHOD_GENERATED]) {
+            if (!plugin.clientInsertBatchMethodGenerated(method, interfaze,
+                    introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean clientInsertInBatchesMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[CLIENT_INSERT_IN_BATCHES_METHOD_GENERATED]) {
+            if (!plugin.clientInsertInBatchesMethodGenerated(method, interfaze,
+                    introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean sqlMapInsertBatchElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[SQL_MAP_INSERT_BATCH_ELEMENT_GENERATED]) {
+            if (!plugin.sqlMapInsertBatchElementGenerated(element,
+                    introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean providerInsertBatchMethodGenerated(Method method,
+            TopLevelClass topLevelClass, IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[PROVIDER_INSERT_BATCH_METHOD_GENERATED]) {
+            if (!plugin.providerInsertBatchMethodGenerated(method,
+                    topLevelClass, introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean clientUpdateBatchByPrimaryKeyMethodGenerated(
+            Method method, Interface interfaze,
+            IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[CLIENT_UPDATE_BATCH_BY_PRIMARY_KEY_METHOD_GENERATED]) {
+            if (!plugin.clientUpdateBatchByPrimaryKeyMethodGenerated(method,
+                    interfaze, introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[SQL_MAP_UPDATE_BATCH_BY_PRIMARY_KEY_ELEMENT_GENERATED]) {
+            if (!plugin.sqlMapUpdateBatchByPrimaryKeyElementGenerated(element,
+                    introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean providerUpdateBatchByPrimaryKeyMethodGenerated(
+            Method method, TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[PROVIDER_UPDATE_BATCH_BY_PRIMARY_KEY_METHOD_GENERATED]) {
+            if (!plugin.providerUpdateBatchByPrimaryKeyMethodGenerated(method,
+                    topLevelClass, introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean clientSelectByPrimaryKeysMethodGenerated(
+            Method method, Interface interfaze,
+            IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[CLIENT_SELECT_BY_PRIMARY_KEYS_METHOD_GENERATED]) {
+            if (!plugin.clientSelectByPrimaryKeysMethodGenerated(method,
+                    interfaze, introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean clientDeleteByPrimaryKeysMethodGenerated(
+            Method method, Interface interfaze,
+            IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[CLIENT_DELETE_BY_PRIMARY_KEYS_METHOD_GENERATED]) {
+            if (!plugin.clientDeleteByPrimaryKeysMethodGenerated(method,
+                    interfaze, introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean sqlMapSelectByPrimaryKeysElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[SQL_MAP_SELECT_BY_PRIMARY_KEYS_ELEMENT_GENERATED]) {
+            if (!plugin.sqlMapSelectByPrimaryKeysElementGenerated(element,
+                    introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
+
+    public boolean sqlMapDeleteByPrimaryKeysElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        boolean rc = true;
+
+        for (Plugin plugin : hooks[SQL_MAP_DELETE_BY_PRIMARY_KEYS_ELEMENT_GENERATED]) {
+            if (!plugin.sqlMapDeleteByPrimaryKeysElementGenerated(element,
+                    introspectedTable)) {
+                rc = false;
+                break;
+            }
+        }
+
+        return rc;
+    }
 }
@@ -0,0 +1,730 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.config.MergeConstants;
+import org.mybatis.generator.exception.ShellException;
+
+/**
+ * This class handles the task of merging changes into an existing XML file.
+ * It produces the same result as {@link XmlFileMergerJaxp}, but streams both
+ * documents with StAX instead of building DOM trees. Nodes of the existing
+ * file are written as they are read, so the memory needed does not depend on
+ * the size of the existing file.
+ * 
+ * <p>CDATA sections can only be kept if the StAX implementation reports them.
+ * If it cannot, files are merged by {@link XmlFileMergerJaxp} instead.
+ */
+public class XmlFileMergerStax {
+
+    /** JDK specific - without it, CDATA sections are reported as text. */
+    private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event"; //$NON-NLS-1$
+
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * Input factories are not guaranteed to be thread safe, so each thread
+     * configures its own factory once.
+     */
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+            // don't read the DTD - we don't need it for the merge and
+            // it can cause problems on systems that aren't Internet connected
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+            factory.setProperty(
+                    XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                    Boolean.FALSE);
+            if (factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+                factory.setProperty(REPORT_CDATA_EVENT, Boolean.TRUE);
+            }
+            return factory;
+        }
+    };
+
+    /**
+     * Utility class - no instances allowed
+     */
+    private XmlFileMergerStax() {
+        super();
+    }
+
+    public static String getMergedSource(GeneratedXmlFile generatedXmlFile,
+            File existingFile) throws ShellException {
+        return getMergedSource(generatedXmlFile, existingFile,
+                isStreamingSupported());
+    }
+
+    /**
+     * Returns true if the StAX implementation of this thread reports CDATA
+     * sections, so that the streaming merge keeps them as they are.
+     *
+     * @return true if files can be merged by streaming
+     */
+    public static boolean isStreamingSupported() {
+        return INPUT_FACTORY.get().isPropertySupported(REPORT_CDATA_EVENT);
+    }
+
+    static String getMergedSource(GeneratedXmlFile generatedXmlFile,
+            File existingFile, boolean streaming) throws ShellException {
+        if (!streaming) {
+            return XmlFileMergerJaxp.getMergedSource(generatedXmlFile,
+                    existingFile);
+        }
+
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(existingFile);
+            CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder() //$NON-NLS-1$
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            Reader existingReader = new BufferedReader(Channels.newReader(
+                    fis.getChannel(), decoder, -1), BUFFER_SIZE);
+
+            return getMergedSource(new StringReader(generatedXmlFile.getFormattedContent()),
+                    existingReader, existingFile.getName());
+        } catch (IOException e) {
+            throw new ShellException(getString("Warning.13", //$NON-NLS-1$
+                    existingFile.getName()), e);
+        } catch (XMLStreamException e) {
+            throw new ShellException(getString("Warning.13", //$NON-NLS-1$
+                    existingFile.getName()), e);
+        } finally {
+            if (fis != null) {
+                try {
+                    fis.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    public static String getMergedSource(Reader newFile, Reader existingFile,
+            String existingFileName) throws IOException, XMLStreamException,
+            ShellException {
+        StringWriter sw = new StringWriter();
+        merge(newFile, existingFile, existingFileName, sw);
+        return sw.toString();
+    }
+
+    /**
+     * Merges the generated nodes of the new file into the existing file. The
+     * attributes of the root element, and every generated node, are taken from
+     * the new file. All other nodes of the existing file are kept, and follow
+     * the generated nodes.
+     *
+     * @param newFile
+     *            the newly generated file
+     * @param existingFile
+     *            the existing file
+     * @param existingFileName
+     *            the name of the existing file, used in messages
+     * @param out
+     *            the merged file is written here
+     * @throws XMLStreamException
+     *             if either file cannot be parsed
+     * @throws ShellException
+     *             if the files are not the same format
+     */
+    public static void merge(Reader newFile, Reader existingFile,
+            String existingFileName, Writer out) throws XMLStreamException,
+            ShellException {
+        XMLInputFactory factory = INPUT_FACTORY.get();
+        XMLStreamReader newReader = factory.createXMLStreamReader(newFile);
+        try {
+            XMLStreamReader existingReader = factory.createXMLStreamReader(existingFile);
+            try {
+                String version = existingReader.getVersion();
+                DocType newDocType = DocType.parse(moveToRootElement(newReader));
+                DocType existingDocType = DocType.parse(moveToRootElement(existingReader));
+
+                if (newDocType == null || existingDocType == null
+                        || !newDocType.name.equals(existingDocType.name)) {
+                    throw new ShellException(getString("Warning.12", //$NON-NLS-1$
+                            existingFileName));
+                }
+
+                MergedDocumentWriter writer = new MergedDocumentWriter(out,
+                        "1.1".equals(version)); //$NON-NLS-1$
+                writer.writeDeclaration();
+                writer.writeDocType(existingDocType);
+
+                // the existing root element, with the attributes of the new
+                // root element
+                writer.writeStartElement(getName(existingReader.getPrefix(),
+                        existingReader.getLocalName()), getAttributes(newReader));
+
+                copyNewChildren(newReader, writer);
+                copyExistingChildren(existingReader, writer);
+
+                writer.writeEndElement();
+                writer.flush();
+            } finally {
+                existingReader.close();
+            }
+        } finally {
+            newReader.close();
+        }
+    }
+
+    /**
+     * Skips the prolog of a document.
+     *
+     * @param reader
+     *            the reader, positioned at the start of the document
+     * @return the text of the DOCTYPE declaration, or null if there is none
+     * @throws XMLStreamException
+     *             the XML stream exception
+     */
+    private static String moveToRootElement(XMLStreamReader reader)
+            throws XMLStreamException {
+        String docType = null;
+        int event = reader.getEventType();
+        while (event != XMLStreamConstants.START_ELEMENT) {
+            if (event == XMLStreamConstants.DTD) {
+                docType = reader.getText();
+            }
+            event = reader.next();
+        }
+
+        return docType;
+    }
+
+    /**
+     * Copies the children of the new root element, except for a last node
+     * that is only white space.
+     */
+    private static void copyNewChildren(XMLStreamReader reader,
+            MergedDocumentWriter writer) throws XMLStreamException,
+            ShellException {
+        int event = reader.next();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            if (isText(event)) {
+                String text = readText(reader);
+                event = reader.getEventType();
+                if (event != XMLStreamConstants.END_ELEMENT
+                        || !isWhiteSpace(text)) {
+                    writer.writeText(text);
+                }
+            } else {
+                copyNode(reader, writer);
+                event = reader.next();
+            }
+        }
+    }
+
+    /**
+     * Copies the children of the existing root element, except for generated
+     * elements and any white space just before them.
+     */
+    private static void copyExistingChildren(XMLStreamReader reader,
+            MergedDocumentWriter writer) throws XMLStreamException,
+            ShellException {
+        String pendingWhiteSpace = null;
+        int event = reader.next();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            if (isText(event)) {
+                String text = readText(reader);
+                event = reader.getEventType();
+                if (isWhiteSpace(text)) {
+                    // keep it until we know whether the next node is generated
+                    pendingWhiteSpace = text;
+                } else {
+                    writer.writeText(text);
+                }
+                continue;
+            }
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = getName(reader.getPrefix(), reader.getLocalName());
+                Map<String, String> attributes = getAttributes(reader);
+                boolean generated = hasGeneratedId(reader);
+
+                // look at the leading white space and comments of the element
+                List<Object> leadingNodes = new ArrayList<Object>();
+                event = reader.next();
+                while (true) {
+                    if (isText(event)) {
+                        String text = readText(reader);
+                        event = reader.getEventType();
+                        if (!isWhiteSpace(text)) {
+                            leadingNodes.add(text);
+                            break;
+                        }
+                        leadingNodes.add(text);
+                    } else if (event == XMLStreamConstants.COMMENT) {
+                        Comment comment = new Comment(reader.getText());
+                        generated = generated || comment.isGenerated();
+                        leadingNodes.add(comment);
+                        event = reader.next();
+                    } else {
+                        break;
+                    }
+                }
+
+                if (generated) {
+                    pendingWhiteSpace = null;
+                    skipElement(reader);
+                } else {
+                    if (pendingWhiteSpace != null) {
+                        writer.writeText(pendingWhiteSpace);
+                        pendingWhiteSpace = null;
+                    }
+                    writer.writeStartElement(name, attributes);
+                    for (Object node : leadingNodes) {
+                        if (node instanceof Comment) {
+                            writer.writeComment(((Comment) node).text);
+                        } else {
+                            writer.writeText((String) node);
+                        }
+                    }
+                    copyRestOfElement(reader, writer);
+                }
+            } else {
+                if (pendingWhiteSpace != null) {
+                    writer.writeText(pendingWhiteSpace);
+                    pendingWhiteSpace = null;
+                }
+                copyNode(reader, writer);
+            }
+
+            event = reader.next();
+        }
+
+        if (pendingWhiteSpace != null) {
+            writer.writeText(pendingWhiteSpace);
+        }
+    }
+
+    /**
+     * Copies the node at the current position. If the node is an element,
+     * the whole element is copied and the reader is left on its end tag.
+     */
+    private static void copyNode(XMLStreamReader reader,
+            MergedDocumentWriter writer) throws XMLStreamException,
+            ShellException {
+        switch (reader.getEventType()) {
+        case XMLStreamConstants.START_ELEMENT:
+            writer.writeStartElement(getName(reader.getPrefix(),
+                    reader.getLocalName()), getAttributes(reader));
+            reader.next();
+            copyRestOfElement(reader, writer);
+            break;
+
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.SPACE:
+            writer.writeText(reader.getTextCharacters(),
+                    reader.getTextStart(), reader.getTextLength());
+            break;
+
+        case XMLStreamConstants.CDATA:
+            writer.writeCData(reader.getText());
+            break;
+
+        case XMLStreamConstants.COMMENT:
+            writer.writeComment(reader.getText());
+            break;
+
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+            writer.writeProcessingInstruction(reader.getPITarget(),
+                    reader.getPIData());
+            break;
+
+        case XMLStreamConstants.ENTITY_REFERENCE:
+            writer.writeEntityReference(reader.getLocalName());
+            break;
+
+        default:
+            throw new ShellException(getString(
+                    "RuntimeError.18", Integer.toString(reader.getEventType()))); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Copies the remaining content of an element whose start tag has already
+     * been written. The reader must be positioned on the first node that has
+     * not been copied, and is left on the end tag of the element.
+     */
+    private static void copyRestOfElement(XMLStreamReader reader,
+            MergedDocumentWriter writer) throws XMLStreamException,
+            ShellException {
+        int event = reader.getEventType();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            copyNode(reader, writer);
+            event = reader.next();
+        }
+
+        writer.writeEndElement();
+    }
+
+    /**
+     * Skips the remaining content of an element. The reader must be
+     * positioned inside the element, and is left on its end tag.
+     */
+    private static void skipElement(XMLStreamReader reader)
+            throws XMLStreamException {
+        int depth = 0;
+        int event = reader.getEventType();
+        while (event != XMLStreamConstants.END_ELEMENT || depth > 0) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+            event = reader.next();
+        }
+    }
+
+    /**
+     * Reads a run of character events - parsers may split text into
+     * several events. The reader is left on the first event after the text.
+     */
+    private static String readText(XMLStreamReader reader)
+            throws XMLStreamException {
+        StringBuilder sb = new StringBuilder();
+        while (isText(reader.getEventType())) {
+            sb.append(reader.getTextCharacters(), reader.getTextStart(),
+                    reader.getTextLength());
+            reader.next();
+        }
+
+        return sb.toString();
+    }
+
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS
+                || event == XMLStreamConstants.SPACE;
+    }
+
+    private static boolean isWhiteSpace(String text) {
+        return text.trim().length() == 0;
+    }
+
+    private static boolean hasGeneratedId(XMLStreamReader reader) {
+        int attributeCount = reader.getAttributeCount();
+        for (int i = 0; i < attributeCount; i++) {
+            String prefix = reader.getAttributePrefix(i);
+            if ((prefix == null || prefix.length() == 0)
+                    && "id".equals(reader.getAttributeLocalName(i))) { //$NON-NLS-1$
+                String id = reader.getAttributeValue(i);
+                for (String idPrefix : MergeConstants.OLD_XML_ELEMENT_PREFIXES) {
+                    if (id.startsWith(idPrefix)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the attributes, including namespace declarations, of the
+     * element at the current position, sorted by name.
+     */
+    private static Map<String, String> getAttributes(XMLStreamReader reader) {
+        Map<String, String> answer = new TreeMap<String, String>();
+        int namespaceCount = reader.getNamespaceCount();
+        for (int i = 0; i < namespaceCount; i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            answer.put(getName("xmlns", prefix), reader.getNamespaceURI(i)); //$NON-NLS-1$
+        }
+
+        int attributeCount = reader.getAttributeCount();
+        for (int i = 0; i < attributeCount; i++) {
+            answer.put(getName(reader.getAttributePrefix(i),
+                    reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+
+        return answer;
+    }
+
+    private static String getName(String prefix, String localName) {
+        if (prefix == null || prefix.length() == 0) {
+            return localName;
+        } else if (localName == null || localName.length() == 0) {
+            return prefix;
+        } else {
+            return prefix + ':' + localName;
+        }
+    }
+
+    private static class Comment {
+        private String text;
+
+        Comment(String text) {
+            this.text = text;
+        }
+
+        boolean isGenerated() {
+            for (String tag : MergeConstants.OLD_ELEMENT_TAGS) {
+                if (text.contains(tag)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * The parts of a DOCTYPE declaration.
+     */
+    private static class DocType {
+        private String name;
+        private String publicId;
+        private String systemId;
+        private String internalSubset;
+
+        static DocType parse(String declaration) {
+            if (declaration == null) {
+                return null;
+            }
+
+            DocType answer = new DocType();
+            int end = declaration.lastIndexOf('>');
+            int i = skipWhiteSpace(declaration, "<!DOCTYPE".length()); //$NON-NLS-1$
+            int start = i;
+            while (i < end && !Character.isWhitespace(declaration.charAt(i))
+                    && declaration.charAt(i) != '[') {
+                i++;
+            }
+            answer.name = declaration.substring(start, i);
+
+            i = skipWhiteSpace(declaration, i);
+            if (declaration.startsWith("PUBLIC", i)) { //$NON-NLS-1$
+                i = skipWhiteSpace(declaration, i + "PUBLIC".length()); //$NON-NLS-1$
+                int close = declaration.indexOf(declaration.charAt(i), i + 1);
+                answer.publicId = declaration.substring(i + 1, close);
+                i = skipWhiteSpace(declaration, close + 1);
+                close = declaration.indexOf(declaration.charAt(i), i + 1);
+                answer.systemId = declaration.substring(i + 1, close);
+                i = skipWhiteSpace(declaration, close + 1);
+            } else if (declaration.startsWith("SYSTEM", i)) { //$NON-NLS-1$
+                i = skipWhiteSpace(declaration, i + "SYSTEM".length()); //$NON-NLS-1$
+                int close = declaration.indexOf(declaration.charAt(i), i + 1);
+                answer.systemId = declaration.substring(i + 1, close);
+                i = skipWhiteSpace(declaration, close + 1);
+            }
+
+            if (i < end && declaration.charAt(i) == '[') {
+                answer.internalSubset = declaration.substring(i + 1,
+                        declaration.lastIndexOf(']', end));
+            }
+
+            return answer;
+        }
+
+        private static int skipWhiteSpace(String s, int index) {
+            int i = index;
+            while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Writes nodes in exactly the same format as DomWriter, so that
+     * merged files do not change when switching between the mergers.
+     */
+    private static class MergedDocumentWriter extends DomWriter {
+        private List<String> openElements = new ArrayList<String>();
+        private boolean startTagOpen;
+
+        MergedDocumentWriter(Writer out, boolean isXML11) {
+            super();
+            printWriter = new PrintWriter(out);
+            this.isXML11 = isXML11;
+        }
+
+        void writeDeclaration() {
+            if (isXML11) {
+                printWriter.println("<?xml version=\"1.1\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
+            } else {
+                printWriter.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
+            }
+        }
+
+        void writeDocType(DocType docType) {
+            printWriter.print("<!DOCTYPE "); //$NON-NLS-1$
+            printWriter.print(docType.name);
+            if (docType.publicId != null) {
+                printWriter.print(" PUBLIC \""); //$NON-NLS-1$
+                printWriter.print(docType.publicId);
+                printWriter.print("\" \""); //$NON-NLS-1$
+                printWriter.print(docType.systemId);
+                printWriter.print('\"');
+            } else if (docType.systemId != null) {
+                printWriter.print(" SYSTEM \""); //$NON-NLS-1$
+                printWriter.print(docType.systemId);
+                printWriter.print('"');
+            }
+
+            if (docType.internalSubset != null) {
+                printWriter.println(" ["); //$NON-NLS-1$
+                printWriter.print(docType.internalSubset);
+                printWriter.print(']');
+            }
+            printWriter.println('>');
+        }
+
+        void writeStartElement(String name, Map<String, String> attributes) {
+            closeStartTag();
+            printWriter.print('<');
+            printWriter.print(name);
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                printWriter.print(' ');
+                printWriter.print(attribute.getKey());
+                printWriter.print("=\""); //$NON-NLS-1$
+                String value = attribute.getValue();
+                writeNormalized(value.toCharArray(), 0, value.length(), true);
+                printWriter.print('"');
+            }
+            openElements.add(name);
+            startTagOpen = true;
+        }
+
+        void writeEndElement() {
+            String name = openElements.remove(openElements.size() - 1);
+            if (startTagOpen) {
+                // no child nodes
+                printWriter.print(" />"); //$NON-NLS-1$
+                startTagOpen = false;
+            } else {
+                printWriter.print("</"); //$NON-NLS-1$
+                printWriter.print(name);
+                printWriter.print('>');
+            }
+        }
+
+        void writeText(String text) {
+            closeStartTag();
+            writeNormalized(text.toCharArray(), 0, text.length(), false);
+        }
+
+        void writeText(char[] text, int start, int length) {
+            closeStartTag();
+            writeNormalized(text, start, length, false);
+        }
+
+        void writeCData(String data) {
+            closeStartTag();
+            printWriter.print("<![CDATA["); //$NON-NLS-1$
+            // XML parsers normalize line endings to '\n'. Write them out as
+            // they were in the original file.
+            String lineSeparator = System.getProperty("line.separator"); //$NON-NLS-1$
+            for (int i = 0; i < data.length(); i++) {
+                char c = data.charAt(i);
+                if (c == '\n') {
+                    printWriter.print(lineSeparator);
+                } else {
+                    printWriter.print(c);
+                }
+            }
+            printWriter.print("]]>"); //$NON-NLS-1$
+        }
+
+        void writeComment(String comment) {
+            closeStartTag();
+            printWriter.print("<!--"); //$NON-NLS-1$
+            if (comment != null && comment.length() > 0) {
+                normalizeAndPrint(comment, false);
+            }
+            printWriter.print("-->"); //$NON-NLS-1$
+        }
+
+        void writeProcessingInstruction(String target, String data) {
+            closeStartTag();
+            printWriter.print("<?"); //$NON-NLS-1$
+            printWriter.print(target);
+            if (data != null && data.length() > 0) {
+                printWriter.print(' ');
+                printWriter.print(data);
+            }
+            printWriter.print("?>"); //$NON-NLS-1$
+        }
+
+        void writeEntityReference(String name) {
+            closeStartTag();
+            printWriter.print('&');
+            printWriter.print(name);
+            printWriter.print(';');
+        }
+
+        void flush() {
+            printWriter.flush();
+        }
+
+        /**
+         * Writes runs of characters that need no normalization directly,
+         * and leaves every other character to normalizeAndPrint().
+         */
+        private void writeNormalized(char[] text, int start, int length,
+                boolean isAttValue) {
+            int runStart = start;
+            int end = start + length;
+            for (int i = start; i < end; i++) {
+                char c = text[i];
+                if (c < 0x20 || c == '<' || c == '>' || c == '&' || c == '"'
+                        || c >= 0x7F && c <= 0x9F || c == 0x2028) {
+                    printWriter.write(text, runStart, i - runStart);
+                    normalizeAndPrint(c, isAttValue);
+                    runStart = i + 1;
+                }
+            }
+            printWriter.write(text, runStart, end - runStart);
+        }
+
+        private void closeStartTag() {
+            if (startTagOpen) {
+                printWriter.print('>');
+                startTagOpen = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.internal.ObjectFactory;
+import org.mybatis.generator.logging.Log;
+import org.mybatis.generator.logging.LogFactory;
+
+/**
+ * Base class for data dictionary introspectors. Subclasses supply a single
+ * query that returns one row for every column in the catalog/schema, ordered
+ * by table and ordinal position. The query must return these columns:
+ *
+ * <ul>
+ * <li>TABLE_CAT, TABLE_SCHEM, TABLE_NAME - as in DatabaseMetaData.getColumns()</li>
+ * <li>TABLE_REMARKS, TABLE_TYPE - as REMARKS and TABLE_TYPE in
+ * DatabaseMetaData.getTables()</li>
+ * <li>COLUMN_NAME</li>
+ * <li>KEY_SEQ - the position of the column in the primary key, or null</li>
+ * </ul>
+ *
+ * <p>By default the remaining column attributes are read from DATA_TYPE,
+ * COLUMN_SIZE, DECIMAL_DIGITS, NULLABLE, REMARKS, COLUMN_DEF, and the
+ * optional IS_AUTOINCREMENT and IS_GENERATEDCOLUMN columns, exactly as in
+ * DatabaseMetaData.getColumns(). Subclasses whose data dictionary uses
+ * different values override
+ * {@link #populateColumn(IntrospectedColumn, ResultSet, Set)}.
+ */
+public abstract class AbstractDataDictionaryIntrospector implements
+        DataDictionaryIntrospector {
+
+    /** The number of rows fetched in each round trip. */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    protected Context context;
+
+    protected Log logger;
+
+    public AbstractDataDictionaryIntrospector() {
+        super();
+        logger = LogFactory.getLog(getClass());
+    }
+
+    @Override
+    public void setContext(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public SchemaMetaData introspectSchema(DatabaseMetaData databaseMetaData,
+            String catalog, String schemaPattern) throws SQLException {
+        List<String> parameters = new ArrayList<String>();
+        String sql = getQuery(catalog, schemaPattern,
+                databaseMetaData.getSearchStringEscape(), parameters);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(getString("Tracing.5", sql)); //$NON-NLS-1$
+        }
+
+        SchemaMetaData answer = new SchemaMetaData();
+        Map<ActualTableName, Map<Short, String>> keyColumns = new HashMap<ActualTableName, Map<Short, String>>();
+
+        PreparedStatement ps = databaseMetaData.getConnection().prepareStatement(sql);
+        try {
+            ps.setFetchSize(getFetchSize());
+            for (int i = 0; i < parameters.size(); i++) {
+                ps.setString(i + 1, parameters.get(i));
+            }
+
+            ResultSet rs = ps.executeQuery();
+            try {
+                Set<String> resultColumns = getResultColumns(rs.getMetaData());
+                ActualTableName atn = null;
+                List<IntrospectedColumn> columns = null;
+
+                while (rs.next()) {
+                    ActualTableName rowAtn = new ActualTableName(
+                            rs.getString("TABLE_CAT"), //$NON-NLS-1$
+                            rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+                            rs.getString("TABLE_NAME")); //$NON-NLS-1$
+
+                    if (!rowAtn.equals(atn)) {
+                        atn = rowAtn;
+                        columns = answer.getColumns().get(atn);
+                        if (columns == null) {
+                            columns = new ArrayList<IntrospectedColumn>();
+                            answer.getColumns().put(atn, columns);
+                            answer.getTables().put(atn,
+                                    new SchemaMetaDataCache.TableDescription(
+                                            rs.getString("TABLE_REMARKS"), //$NON-NLS-1$
+                                            getTableType(rs)));
+                        }
+                    }
+
+                    IntrospectedColumn introspectedColumn = ObjectFactory
+                            .createIntrospectedColumn(context);
+                    introspectedColumn.setActualColumnName(rs.getString("COLUMN_NAME")); //$NON-NLS-1$
+                    populateColumn(introspectedColumn, rs, resultColumns);
+                    columns.add(introspectedColumn);
+
+                    short keySeq = rs.getShort("KEY_SEQ"); //$NON-NLS-1$
+                    if (!rs.wasNull()) {
+                        Map<Short, String> tableKeyColumns = keyColumns.get(atn);
+                        if (tableKeyColumns == null) {
+                            // keep primary columns in key sequence order
+                            tableKeyColumns = new TreeMap<Short, String>();
+                            keyColumns.put(atn, tableKeyColumns);
+                        }
+                        tableKeyColumns.put(keySeq,
+                                introspectedColumn.getActualColumnName());
+                    }
+
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(getString(
+                                "Tracing.2", //$NON-NLS-1$
+                                introspectedColumn.getActualColumnName(), Integer
+                                        .toString(introspectedColumn.getJdbcType()),
+                                atn.toString()));
+                    }
+                }
+            } finally {
+                rs.close();
+            }
+        } finally {
+            ps.close();
+        }
+
+        for (Map.Entry<ActualTableName, Map<Short, String>> entry : keyColumns
+                .entrySet()) {
+            answer.getPrimaryKeys().put(entry.getKey(),
+                    new ArrayList<String>(entry.getValue().values()));
+        }
+
+        return answer;
+    }
+
+    /**
+     * Calculates the query for a catalog/schema.
+     *
+     * @param catalog
+     *            the catalog, or null if the search should not be narrowed by
+     *            catalog
+     * @param schemaPattern
+     *            the schema pattern, or null if the search should not be
+     *            narrowed by schema
+     * @param escapeString
+     *            the search string escape of the database
+     * @param parameters
+     *            String parameters for the query should be added to this list
+     *            in order
+     * @return the query
+     */
+    protected abstract String getQuery(String catalog, String schemaPattern,
+            String escapeString, List<String> parameters);
+
+    /**
+     * Returns the JDBC fetch size for the query. The default is large, as the
+     * query returns a row for every column in the schema.
+     *
+     * @return the fetch size
+     */
+    protected int getFetchSize() {
+        return DEFAULT_FETCH_SIZE;
+    }
+
+    /**
+     * Populates the column attributes from the current row. The actual column
+     * name has already been set.
+     *
+     * @param introspectedColumn
+     *            the introspected column
+     * @param rs
+     *            the result set, positioned on the row for the column
+     * @param resultColumns
+     *            the (upper case) names of the columns in the result set
+     * @throws SQLException
+     *             the SQL exception
+     */
+    protected void populateColumn(IntrospectedColumn introspectedColumn,
+            ResultSet rs, Set<String> resultColumns) throws SQLException {
+        introspectedColumn.setJdbcType(rs.getInt("DATA_TYPE")); //$NON-NLS-1$
+        introspectedColumn.setLength(rs.getInt("COLUMN_SIZE")); //$NON-NLS-1$
+        introspectedColumn
+                .setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable); //$NON-NLS-1$
+        introspectedColumn.setScale(rs.getInt("DECIMAL_DIGITS")); //$NON-NLS-1$
+        introspectedColumn.setRemarks(rs.getString("REMARKS")); //$NON-NLS-1$
+        introspectedColumn.setDefaultValue(rs.getString("COLUMN_DEF")); //$NON-NLS-1$
+
+        if (resultColumns.contains("IS_AUTOINCREMENT")) { //$NON-NLS-1$
+            introspectedColumn.setAutoIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT"))); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        if (resultColumns.contains("IS_GENERATEDCOLUMN")) { //$NON-NLS-1$
+            introspectedColumn.setGeneratedColumn("YES".equals(rs.getString("IS_GENERATEDCOLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * Returns the table type from the current row. Subclasses may override
+     * this method to translate data dictionary values into the values
+     * returned by DatabaseMetaData.getTables().
+     *
+     * @param rs
+     *            the result set
+     * @return the table type
+     * @throws SQLException
+     *             the SQL exception
+     */
+    protected String getTableType(ResultSet rs) throws SQLException {
+        return rs.getString("TABLE_TYPE"); //$NON-NLS-1$
+    }
+
+    /**
+     * Adds a condition for an optional catalog or schema search pattern,
+     * following the rules of DatabaseMetaData - a null pattern does not narrow
+     * the search.
+     *
+     * @param conditions
+     *            the conditions of the where clause
+     * @param columnName
+     *            the column to compare
+     * @param pattern
+     *            the search pattern, or null
+     * @param escapeString
+     *            the search string escape of the database
+     * @param parameters
+     *            the query parameters
+     */
+    protected void addPatternCondition(List<String> conditions,
+            String columnName, String pattern, String escapeString,
+            List<String> parameters) {
+        if (pattern == null) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(columnName);
+        sb.append(" LIKE ?"); //$NON-NLS-1$
+        if (escapeString != null && escapeString.length() > 0) {
+            sb.append(" ESCAPE '"); //$NON-NLS-1$
+            sb.append(escapeString.replace("'", "''")); //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append('\'');
+        }
+        conditions.add(sb.toString());
+        parameters.add(pattern);
+    }
+
+    /**
+     * Appends a where clause, if there are any conditions.
+     *
+     * @param sb
+     *            the query
+     * @param conditions
+     *            the conditions
+     */
+    protected void appendWhereClause(StringBuilder sb, List<String> conditions) {
+        boolean first = true;
+        for (String condition : conditions) {
+            sb.append(first ? " WHERE " : " AND "); //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append(condition);
+            first = false;
+        }
+    }
+
+    /**
+     * Returns the names of the columns in a result set, in upper case.
+     *
+     * @param rsmd
+     *            the result set meta data
+     * @return the column names
+     * @throws SQLException
+     *             the SQL exception
+     */
+    protected Set<String> getResultColumns(ResultSetMetaData rsmd)
+            throws SQLException {
+        Set<String> answer = new HashSet<String>();
+        int colCount = rsmd.getColumnCount();
+        for (int i = 1; i <= colCount; i++) {
+            answer.add(rsmd.getColumnLabel(i).toUpperCase());
+        }
+
+        return answer;
+    }
+
+    /**
+     * Returns true if the database product name starts with the specified
+     * name, ignoring case.
+     *
+     * @param databaseMetaData
+     *            the database meta data
+     * @param productName
+     *            the product name
+     * @return true if the product name matches
+     * @throws SQLException
+     *             the SQL exception
+     */
+    protected boolean isDatabaseProduct(DatabaseMetaData databaseMetaData,
+            String productName) throws SQLException {
+        String databaseProductName = databaseMetaData.getDatabaseProductName();
+        return databaseProductName != null
+                && databaseProductName.toUpperCase().startsWith(
+                        productName.toUpperCase());
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import org.mybatis.generator.config.Context;
+
+/**
+ * Implementations of this interface read the metadata of a whole
+ * catalog/schema directly from the data dictionary of a specific database
+ * (information_schema views, Oracle's ALL_* views, etc.) rather than through
+ * the JDBC DatabaseMetaData methods, which can be very slow on some drivers.
+ *
+ * <p>The DatabaseIntrospector uses the results exactly as if they had been
+ * returned by DatabaseMetaData.getColumns(), getPrimaryKeys(), and getTables(),
+ * so the generated code does not change.
+ *
+ * <p>Implementations must have a public default constructor. A new instance
+ * is created for each connection, so implementations need not be thread safe.
+ */
+public interface DataDictionaryIntrospector {
+
+    /**
+     * Sets the context. This method is called once, before any other method.
+     *
+     * @param context
+     *            the context
+     */
+    void setContext(Context context);
+
+    /**
+     * Returns true if this introspector can read the data dictionary of the
+     * database behind the connection.
+     *
+     * @param databaseMetaData
+     *            the database meta data
+     * @return true if the database is supported
+     * @throws SQLException
+     *             the SQL exception
+     */
+    boolean supports(DatabaseMetaData databaseMetaData) throws SQLException;
+
+    /**
+     * Reads the columns, primary keys, and table remarks of every table in a
+     * catalog/schema. The catalog and schema follow the rules of
+     * DatabaseMetaData.getColumns() - null means "do not narrow the search",
+     * and the schema may be a search pattern.
+     *
+     * @param databaseMetaData
+     *            the database meta data
+     * @param catalog
+     *            the catalog, may be null
+     * @param schemaPattern
+     *            the schema pattern, may be null
+     * @return the schema metadata
+     * @throws SQLException
+     *             the SQL exception
+     */
+    SchemaMetaData introspectSchema(DatabaseMetaData databaseMetaData,
+            String catalog, String schemaPattern) throws SQLException;
+}
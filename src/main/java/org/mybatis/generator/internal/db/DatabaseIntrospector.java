@@ -75,6 +75,15 @@ public class DatabaseIntrospector {
     /** The logger. */
     private Log logger;
 
+    /** Schema wide metadata, or null if tables are introspected one at a time. */
+    private SchemaMetaDataCache schemaMetaDataCache;
+
+    /** Reads schema wide metadata from the data dictionary, may be null. */
+    private DataDictionaryIntrospector dataDictionaryIntrospector;
+
+    /** Metadata of previous runs, may be null. */
+    private IntrospectionSnapshot introspectionSnapshot;
+
     /**
      * Instantiates a new database introspector.
      *
@@ -99,15 +108,64 @@ public class DatabaseIntrospector {
     }
 
     /**
-     * Calculate primary key.
+     * Sets a cache of schema wide metadata. If set, columns are retrieved with
+     * a single DatabaseMetaData call for each distinct catalog/schema, and
+     * every table configuration in that schema is served from the cache.
+     * The cache may be shared between introspectors on different threads.
+     *
+     * @param schemaMetaDataCache
+     *            the schema metadata cache
+     */
+    public void setSchemaMetaDataCache(SchemaMetaDataCache schemaMetaDataCache) {
+        this.schemaMetaDataCache = schemaMetaDataCache;
+    }
+
+    /**
+     * Sets a data dictionary introspector. If set (along with a schema
+     * metadata cache), the columns, primary keys, and table remarks of a
+     * catalog/schema are retrieved with a single data dictionary query
+     * rather than with DatabaseMetaData calls.
+     *
+     * @param dataDictionaryIntrospector
+     *            the data dictionary introspector
+     */
+    public void setDataDictionaryIntrospector(
+            DataDictionaryIntrospector dataDictionaryIntrospector) {
+        this.dataDictionaryIntrospector = dataDictionaryIntrospector;
+    }
+
+    /**
+     * Sets an introspection snapshot. Table configurations found in the
+     * snapshot are introspected from the snapshot without accessing the
+     * database (the database meta data may be null if every table
+     * configuration is in the snapshot). Table configurations introspected
+     * from the database are added to the snapshot.
+     *
+     * @param introspectionSnapshot
+     *            the introspection snapshot
+     */
+    public void setIntrospectionSnapshot(
+            IntrospectionSnapshot introspectionSnapshot) {
+        this.introspectionSnapshot = introspectionSnapshot;
+    }
+
+    /**
+     * Returns the primary key columns of a table.
      *
      * @param table
      *            the table
-     * @param introspectedTable
-     *            the introspected table
+     * @return the primary key columns in key sequence order
      */
-    private void calculatePrimaryKey(FullyQualifiedTable table,
-            IntrospectedTable introspectedTable) {
+    private List<String> getPrimaryKeyColumns(FullyQualifiedTable table) {
+        if (schemaMetaDataCache != null) {
+            List<String> keyColumns = getPrimaryKeyColumnsFromSchemaMetaDataCache(table);
+            if (keyColumns != null) {
+                return keyColumns;
+            }
+        }
+
+        // keep primary columns in key sequence order
+        Map<Short, String> keyColumns = new TreeMap<Short, String>();
         ResultSet rs = null;
 
         try {
@@ -118,26 +176,140 @@ public class DatabaseIntrospector {
         } catch (SQLException e) {
             closeResultSet(rs);
             warnings.add(getString("Warning.15")); //$NON-NLS-1$
-            return;
+            return new ArrayList<String>();
         }
 
         try {
-            // keep primary columns in key sequence order
-            Map<Short, String> keyColumns = new TreeMap<Short, String>();
             while (rs.next()) {
                 String columnName = rs.getString("COLUMN_NAME"); //$NON-NLS-1$
                 short keySeq = rs.getShort("KEY_SEQ"); //$NON-NLS-1$
                 keyColumns.put(keySeq, columnName);
             }
-            
-            for (String columnName : keyColumns.values()) {
-                introspectedTable.addPrimaryKeyColumn(columnName);
-            }
         } catch (SQLException e) {
             // ignore the primary key if there's any error
+            keyColumns.clear();
         } finally {
             closeResultSet(rs);
         }
+
+        return new ArrayList<String>(keyColumns.values());
+    }
+
+    /**
+     * Returns the primary key columns of a table from the schema metadata
+     * cache, retrieving the primary keys of the whole catalog/schema first if
+     * they have not already been retrieved. Drivers that do not allow a null
+     * table name in DatabaseMetaData.getPrimaryKeys() throw an exception, or
+     * return nothing. In either case the table is introspected individually.
+     *
+     * @param table
+     *            the table
+     * @return the primary key columns, or null if the table must be queried
+     *         individually
+     */
+    private List<String> getPrimaryKeyColumnsFromSchemaMetaDataCache(
+            FullyQualifiedTable table) {
+        if (!schemaMetaDataCache.isBulkPrimaryKeysSupported()) {
+            return null;
+        }
+
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(
+                table.getIntrospectedCatalog(), table.getIntrospectedSchema());
+
+        synchronized (schemaMetaDataCache.getSchemaLock(schemaKey)) {
+            if (!schemaMetaDataCache.hasPrimaryKeys(schemaKey)) {
+                ResultSet rs = null;
+                try {
+                    rs = databaseMetaData.getPrimaryKeys(
+                            table.getIntrospectedCatalog(),
+                            table.getIntrospectedSchema(), null);
+
+                    Map<ActualTableName, Map<Short, String>> keyColumns = new HashMap<ActualTableName, Map<Short, String>>();
+                    while (rs.next()) {
+                        ActualTableName atn = new ActualTableName(
+                                rs.getString("TABLE_CAT"), //$NON-NLS-1$
+                                rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+                                rs.getString("TABLE_NAME")); //$NON-NLS-1$
+
+                        // keep primary columns in key sequence order
+                        Map<Short, String> tableKeyColumns = keyColumns.get(atn);
+                        if (tableKeyColumns == null) {
+                            tableKeyColumns = new TreeMap<Short, String>();
+                            keyColumns.put(atn, tableKeyColumns);
+                        }
+
+                        tableKeyColumns.put(rs.getShort("KEY_SEQ"), //$NON-NLS-1$
+                                rs.getString("COLUMN_NAME")); //$NON-NLS-1$
+                    }
+
+                    if (keyColumns.isEmpty()) {
+                        schemaMetaDataCache.putPrimaryKeys(schemaKey, null);
+                    } else {
+                        Map<ActualTableName, List<String>> primaryKeys = new HashMap<ActualTableName, List<String>>();
+                        for (Map.Entry<ActualTableName, Map<Short, String>> entry : keyColumns
+                                .entrySet()) {
+                            primaryKeys.put(entry.getKey(), new ArrayList<String>(
+                                    entry.getValue().values()));
+                        }
+                        schemaMetaDataCache.putPrimaryKeys(schemaKey, primaryKeys);
+                    }
+                } catch (SQLException e) {
+                    schemaMetaDataCache.setBulkPrimaryKeysSupported(false);
+                    return null;
+                } finally {
+                    closeResultSet(rs);
+                }
+            }
+        }
+
+        return schemaMetaDataCache.getPrimaryKeyColumns(schemaKey,
+                table.getIntrospectedTableName());
+    }
+
+    /**
+     * Returns the remarks and type of a table from the schema metadata cache,
+     * retrieving the tables of the whole catalog/schema first if they have
+     * not already been retrieved.
+     *
+     * @param table
+     *            the table
+     * @return the table description, or null if the table must be queried
+     *         individually
+     */
+    private SchemaMetaDataCache.TableDescription getTableDescriptionFromSchemaMetaDataCache(
+            FullyQualifiedTable table) {
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(
+                table.getIntrospectedCatalog(), table.getIntrospectedSchema());
+
+        synchronized (schemaMetaDataCache.getSchemaLock(schemaKey)) {
+            if (!schemaMetaDataCache.hasTables(schemaKey)) {
+                ResultSet rs = null;
+                try {
+                    rs = databaseMetaData.getTables(table.getIntrospectedCatalog(),
+                            table.getIntrospectedSchema(), "%", null); //$NON-NLS-1$
+
+                    Map<ActualTableName, SchemaMetaDataCache.TableDescription> tables = new HashMap<ActualTableName, SchemaMetaDataCache.TableDescription>();
+                    while (rs.next()) {
+                        ActualTableName atn = new ActualTableName(
+                                rs.getString("TABLE_CAT"), //$NON-NLS-1$
+                                rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+                                rs.getString("TABLE_NAME")); //$NON-NLS-1$
+                        tables.put(atn, new SchemaMetaDataCache.TableDescription(
+                                rs.getString("REMARKS"), //$NON-NLS-1$
+                                rs.getString("TABLE_TYPE"))); //$NON-NLS-1$
+                    }
+
+                    schemaMetaDataCache.putTables(schemaKey, tables);
+                } catch (SQLException e) {
+                    schemaMetaDataCache.putTables(schemaKey, null);
+                } finally {
+                    closeResultSet(rs);
+                }
+            }
+        }
+
+        return schemaMetaDataCache.getTableDescription(schemaKey,
+                table.getIntrospectedTableName());
     }
 
     /**
@@ -218,8 +390,44 @@ public class DatabaseIntrospector {
     public List<IntrospectedTable> introspectTables(TableConfiguration tc)
             throws SQLException {
 
-        // get the raw columns from the DB
-        Map<ActualTableName, List<IntrospectedColumn>> columns = getColumns(tc);
+        Map<ActualTableName, List<IntrospectedColumn>> columns;
+        Map<ActualTableName, IntrospectionSnapshot.Table> snapshotTables = null;
+        boolean fromSnapshot = false;
+
+        List<IntrospectionSnapshot.Table> tables = introspectionSnapshot == null ? null
+                : introspectionSnapshot.getTables(tc.getCatalog(),
+                        tc.getSchema(), tc.getTableName());
+        if (tables != null) {
+            // get the raw columns from the snapshot
+            columns = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+            snapshotTables = new HashMap<ActualTableName, IntrospectionSnapshot.Table>();
+            for (IntrospectionSnapshot.Table table : tables) {
+                List<IntrospectedColumn> tableColumns = table.createColumns(context);
+                for (IntrospectedColumn introspectedColumn : tableColumns) {
+                    introspectedColumn.setTableAlias(tc.getAlias());
+                }
+                columns.put(table.getActualTableName(), tableColumns);
+                snapshotTables.put(table.getActualTableName(), table);
+            }
+            fromSnapshot = true;
+        } else {
+            // get the raw columns from the DB
+            columns = getColumns(tc);
+
+            if (introspectionSnapshot != null) {
+                // record the columns before any configuration is applied
+                snapshotTables = new HashMap<ActualTableName, IntrospectionSnapshot.Table>();
+                for (Map.Entry<ActualTableName, List<IntrospectedColumn>> entry : columns
+                        .entrySet()) {
+                    IntrospectionSnapshot.Table table = new IntrospectionSnapshot.Table(
+                            entry.getKey());
+                    for (IntrospectedColumn introspectedColumn : entry.getValue()) {
+                        table.addColumn(introspectedColumn);
+                    }
+                    snapshotTables.put(entry.getKey(), table);
+                }
+            }
+        }
 
         if (columns.isEmpty()) {
             warnings.add(getString("Warning.19", tc.getCatalog(), //$NON-NLS-1$
@@ -233,7 +441,14 @@ public class DatabaseIntrospector {
         calculateIdentityColumns(tc, columns);
 
         List<IntrospectedTable> introspectedTables = calculateIntrospectedTables(
-                tc, columns);
+                tc, columns, snapshotTables, fromSnapshot);
+
+        if (snapshotTables != null && !fromSnapshot) {
+            introspectionSnapshot.putTables(tc.getCatalog(), tc.getSchema(),
+                    tc.getTableName(),
+                    new ArrayList<IntrospectionSnapshot.Table>(snapshotTables
+                            .values()));
+        }
 
         // now introspectedTables has all the columns from all the
         // tables in the configuration. Do some validation...
@@ -560,8 +775,9 @@ public class DatabaseIntrospector {
             localTableName = tc.getTableName();
         }
 
+        String escapeString = null;
         if (tc.isWildcardEscapingEnabled()) {
-            String escapeString = databaseMetaData.getSearchStringEscape();
+            escapeString = databaseMetaData.getSearchStringEscape();
 
             StringBuilder sb = new StringBuilder();
             StringTokenizer st;
@@ -591,76 +807,31 @@ public class DatabaseIntrospector {
             localTableName = sb.toString();
         }
 
-        Map<ActualTableName, List<IntrospectedColumn>> answer = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+        Map<ActualTableName, List<IntrospectedColumn>> answer = null;
 
-        if (logger.isDebugEnabled()) {
-            String fullTableName = composeFullyQualifiedTableName(localCatalog, localSchema,
-                            localTableName, '.');
-            logger.debug(getString("Tracing.1", fullTableName)); //$NON-NLS-1$
+        if (schemaMetaDataCache != null) {
+            answer = getColumnsFromSchemaMetaDataCache(localCatalog,
+                    localSchema, localTableName, escapeString);
         }
 
-        ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema,
-                localTableName, "%"); //$NON-NLS-1$
-        
-        boolean supportsIsAutoIncrement = false;
-        boolean supportsIsGeneratedColumn = false;
-        ResultSetMetaData rsmd = rs.getMetaData();
-        int colCount = rsmd.getColumnCount();
-        for (int i = 1; i <= colCount; i++) {
-            if ("IS_AUTOINCREMENT".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
-                supportsIsAutoIncrement = true;
-            }
-            if ("IS_GENERATEDCOLUMN".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
-                supportsIsGeneratedColumn = true;
-            }
-        }
-
-        while (rs.next()) {
-            IntrospectedColumn introspectedColumn = ObjectFactory
-                    .createIntrospectedColumn(context);
-
-            introspectedColumn.setTableAlias(tc.getAlias());
-            introspectedColumn.setJdbcType(rs.getInt("DATA_TYPE")); //$NON-NLS-1$
-            introspectedColumn.setLength(rs.getInt("COLUMN_SIZE")); //$NON-NLS-1$
-            introspectedColumn.setActualColumnName(rs.getString("COLUMN_NAME")); //$NON-NLS-1$
-            introspectedColumn
-                    .setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable); //$NON-NLS-1$
-            introspectedColumn.setScale(rs.getInt("DECIMAL_DIGITS")); //$NON-NLS-1$
-            introspectedColumn.setRemarks(rs.getString("REMARKS")); //$NON-NLS-1$
-            introspectedColumn.setDefaultValue(rs.getString("COLUMN_DEF")); //$NON-NLS-1$
-            
-            if (supportsIsAutoIncrement) {
-                introspectedColumn.setAutoIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT"))); //$NON-NLS-1$ //$NON-NLS-2$
-            }
-            
-            if (supportsIsGeneratedColumn) {
-                introspectedColumn.setGeneratedColumn("YES".equals(rs.getString("IS_GENERATEDCOLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
-            }
-
-            ActualTableName atn = new ActualTableName(
-                    rs.getString("TABLE_CAT"), //$NON-NLS-1$
-                    rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
-                    rs.getString("TABLE_NAME")); //$NON-NLS-1$
-
-            List<IntrospectedColumn> columns = answer.get(atn);
-            if (columns == null) {
-                columns = new ArrayList<IntrospectedColumn>();
-                answer.put(atn, columns);
+        if (answer == null) {
+            if (logger.isDebugEnabled()) {
+                String fullTableName = composeFullyQualifiedTableName(localCatalog, localSchema,
+                                localTableName, '.');
+                logger.debug(getString("Tracing.1", fullTableName)); //$NON-NLS-1$
             }
 
-            columns.add(introspectedColumn);
+            ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema,
+                    localTableName, "%"); //$NON-NLS-1$
+            answer = readColumns(rs);
+        }
 
-            if (logger.isDebugEnabled()) {
-                logger.debug(getString(
-                        "Tracing.2", //$NON-NLS-1$
-                        introspectedColumn.getActualColumnName(), Integer
-                                .toString(introspectedColumn.getJdbcType()),
-                        atn.toString()));
+        for (List<IntrospectedColumn> columns : answer.values()) {
+            for (IntrospectedColumn introspectedColumn : columns) {
+                introspectedColumn.setTableAlias(tc.getAlias());
             }
         }
 
-        closeResultSet(rs);
-
         if (answer.size() > 1
                 && !stringContainsSQLWildcard(localSchema)
                 && !stringContainsSQLWildcard(localTableName)) {
@@ -687,6 +858,197 @@ public class DatabaseIntrospector {
         return answer;
     }
 
+    /**
+     * Returns the columns of the matching tables from the schema metadata
+     * cache, retrieving the columns of the whole catalog/schema first if they
+     * have not already been retrieved.
+     *
+     * @param localCatalog
+     *            the catalog, as it will be passed to DatabaseMetaData
+     * @param localSchema
+     *            the schema pattern, as it will be passed to DatabaseMetaData
+     * @param localTableName
+     *            the table name pattern, as it will be passed to
+     *            DatabaseMetaData
+     * @param escapeString
+     *            the search string escape if wildcards are escaped, else null
+     * @return introspected columns, or null if the tables must be queried
+     *         individually
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private Map<ActualTableName, List<IntrospectedColumn>> getColumnsFromSchemaMetaDataCache(
+            String localCatalog, String localSchema, String localTableName,
+            String escapeString) throws SQLException {
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(localCatalog, localSchema);
+
+        synchronized (schemaMetaDataCache.getSchemaLock(schemaKey)) {
+            if (!schemaMetaDataCache.hasColumns(schemaKey)
+                    && dataDictionaryIntrospector != null) {
+                loadSchemaFromDataDictionary(schemaKey, localCatalog,
+                        localSchema);
+            }
+
+            if (!schemaMetaDataCache.hasColumns(schemaKey)) {
+                if (logger.isDebugEnabled()) {
+                    String fullTableName = composeFullyQualifiedTableName(localCatalog, localSchema,
+                                    "%", '.'); //$NON-NLS-1$
+                    logger.debug(getString("Tracing.1", fullTableName)); //$NON-NLS-1$
+                }
+
+                ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema,
+                        "%", "%"); //$NON-NLS-1$ //$NON-NLS-2$
+                schemaMetaDataCache.putColumns(schemaKey, readColumns(rs));
+            }
+        }
+
+        return schemaMetaDataCache.takeColumns(schemaKey, localTableName,
+                escapeString);
+    }
+
+    /**
+     * Fills the schema metadata cache from the data dictionary. Primary keys
+     * and table descriptions are stored under the actual catalog/schema of
+     * each table, because that is how they are looked up later. If the query
+     * fails, a warning is issued and the cache is left untouched so that
+     * DatabaseMetaData is used instead.
+     *
+     * @param schemaKey
+     *            the schema key of the columns
+     * @param localCatalog
+     *            the catalog, as it would be passed to DatabaseMetaData
+     * @param localSchema
+     *            the schema pattern, as it would be passed to DatabaseMetaData
+     */
+    private void loadSchemaFromDataDictionary(String schemaKey,
+            String localCatalog, String localSchema) {
+        SchemaMetaData schemaMetaData;
+        try {
+            schemaMetaData = dataDictionaryIntrospector.introspectSchema(
+                    databaseMetaData, localCatalog, localSchema);
+        } catch (SQLException e) {
+            warnings.add(getString("Warning.29", e.getMessage())); //$NON-NLS-1$
+            return;
+        }
+
+        schemaMetaDataCache.putColumns(schemaKey, schemaMetaData.getColumns());
+
+        Map<String, Map<ActualTableName, List<String>>> primaryKeys = new HashMap<String, Map<ActualTableName, List<String>>>();
+        Map<String, Map<ActualTableName, SchemaMetaDataCache.TableDescription>> tables = new HashMap<String, Map<ActualTableName, SchemaMetaDataCache.TableDescription>>();
+        for (Map.Entry<ActualTableName, SchemaMetaDataCache.TableDescription> entry : schemaMetaData
+                .getTables().entrySet()) {
+            ActualTableName atn = entry.getKey();
+            String tableSchemaKey = SchemaMetaDataCache.getSchemaKey(
+                    atn.getCatalog(), atn.getSchema());
+
+            Map<ActualTableName, SchemaMetaDataCache.TableDescription> schemaTables = tables
+                    .get(tableSchemaKey);
+            if (schemaTables == null) {
+                schemaTables = new HashMap<ActualTableName, SchemaMetaDataCache.TableDescription>();
+                tables.put(tableSchemaKey, schemaTables);
+                primaryKeys.put(tableSchemaKey,
+                        new HashMap<ActualTableName, List<String>>());
+            }
+            schemaTables.put(atn, entry.getValue());
+
+            List<String> keyColumns = schemaMetaData.getPrimaryKeys().get(atn);
+            if (keyColumns != null) {
+                primaryKeys.get(tableSchemaKey).put(atn, keyColumns);
+            }
+        }
+
+        for (Map.Entry<String, Map<ActualTableName, SchemaMetaDataCache.TableDescription>> entry : tables
+                .entrySet()) {
+            String tableSchemaKey = entry.getKey();
+            synchronized (schemaMetaDataCache.getSchemaLock(tableSchemaKey)) {
+                if (!schemaMetaDataCache.hasTables(tableSchemaKey)) {
+                    schemaMetaDataCache.putTables(tableSchemaKey, entry.getValue());
+                }
+                if (!schemaMetaDataCache.hasPrimaryKeys(tableSchemaKey)) {
+                    schemaMetaDataCache.putPrimaryKeys(tableSchemaKey,
+                            primaryKeys.get(tableSchemaKey));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads every row of a DatabaseMetaData.getColumns() result set, grouping
+     * the columns by table. The result set is closed.
+     *
+     * @param rs
+     *            the result set
+     * @return introspected columns
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private Map<ActualTableName, List<IntrospectedColumn>> readColumns(
+            ResultSet rs) throws SQLException {
+        Map<ActualTableName, List<IntrospectedColumn>> answer = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+
+        try {
+            boolean supportsIsAutoIncrement = false;
+            boolean supportsIsGeneratedColumn = false;
+            ResultSetMetaData rsmd = rs.getMetaData();
+            int colCount = rsmd.getColumnCount();
+            for (int i = 1; i <= colCount; i++) {
+                if ("IS_AUTOINCREMENT".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
+                    supportsIsAutoIncrement = true;
+                }
+                if ("IS_GENERATEDCOLUMN".equals(rsmd.getColumnName(i))) { //$NON-NLS-1$
+                    supportsIsGeneratedColumn = true;
+                }
+            }
+
+            while (rs.next()) {
+                IntrospectedColumn introspectedColumn = ObjectFactory
+                        .createIntrospectedColumn(context);
+
+                introspectedColumn.setJdbcType(rs.getInt("DATA_TYPE")); //$NON-NLS-1$
+                introspectedColumn.setLength(rs.getInt("COLUMN_SIZE")); //$NON-NLS-1$
+                introspectedColumn.setActualColumnName(rs.getString("COLUMN_NAME")); //$NON-NLS-1$
+                introspectedColumn
+                        .setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable); //$NON-NLS-1$
+                introspectedColumn.setScale(rs.getInt("DECIMAL_DIGITS")); //$NON-NLS-1$
+                introspectedColumn.setRemarks(rs.getString("REMARKS")); //$NON-NLS-1$
+                introspectedColumn.setDefaultValue(rs.getString("COLUMN_DEF")); //$NON-NLS-1$
+
+                if (supportsIsAutoIncrement) {
+                    introspectedColumn.setAutoIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT"))); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+
+                if (supportsIsGeneratedColumn) {
+                    introspectedColumn.setGeneratedColumn("YES".equals(rs.getString("IS_GENERATEDCOLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+
+                ActualTableName atn = new ActualTableName(
+                        rs.getString("TABLE_CAT"), //$NON-NLS-1$
+                        rs.getString("TABLE_SCHEM"), //$NON-NLS-1$
+                        rs.getString("TABLE_NAME")); //$NON-NLS-1$
+
+                List<IntrospectedColumn> columns = answer.get(atn);
+                if (columns == null) {
+                    columns = new ArrayList<IntrospectedColumn>();
+                    answer.put(atn, columns);
+                }
+
+                columns.add(introspectedColumn);
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug(getString(
+                            "Tracing.2", //$NON-NLS-1$
+                            introspectedColumn.getActualColumnName(), Integer
+                                    .toString(introspectedColumn.getJdbcType()),
+                            atn.toString()));
+                }
+            }
+        } finally {
+            closeResultSet(rs);
+        }
+
+        return answer;
+    }
+
     /**
      * Calculate introspected tables.
      *
@@ -694,11 +1056,20 @@ public class DatabaseIntrospector {
      *            the tc
      * @param columns
      *            the columns
+     * @param snapshotTables
+     *            the snapshot tables matching the columns, or null if there
+     *            is no introspection snapshot
+     * @param fromSnapshot
+     *            true if the primary keys and table remarks should be read
+     *            from the snapshot tables. If false, they are retrieved from
+     *            the database and recorded in the snapshot tables.
      * @return the list
      */
     private List<IntrospectedTable> calculateIntrospectedTables(
             TableConfiguration tc,
-            Map<ActualTableName, List<IntrospectedColumn>> columns) {
+            Map<ActualTableName, List<IntrospectedColumn>> columns,
+            Map<ActualTableName, IntrospectionSnapshot.Table> snapshotTables,
+            boolean fromSnapshot) {
         boolean delimitIdentifiers = tc.isDelimitIdentifiers()
                 || stringContainsSpace(tc.getCatalog())
                 || stringContainsSpace(tc.getSchema())
@@ -738,9 +1109,34 @@ public class DatabaseIntrospector {
                 introspectedTable.addColumn(introspectedColumn);
             }
 
-            calculatePrimaryKey(table, introspectedTable);
-            
-            enhanceIntrospectedTable(introspectedTable);
+            List<String> primaryKeyColumns;
+            SchemaMetaDataCache.TableDescription tableDescription;
+            IntrospectionSnapshot.Table snapshotTable = snapshotTables == null ? null
+                    : snapshotTables.get(atn);
+            if (fromSnapshot) {
+                primaryKeyColumns = snapshotTable.getPrimaryKeyColumns();
+                tableDescription = new SchemaMetaDataCache.TableDescription(
+                        snapshotTable.getRemarks(), snapshotTable.getTableType());
+            } else {
+                primaryKeyColumns = getPrimaryKeyColumns(table);
+                tableDescription = getTableDescription(table);
+                if (snapshotTable != null) {
+                    snapshotTable.getPrimaryKeyColumns().addAll(primaryKeyColumns);
+                    if (tableDescription != null) {
+                        snapshotTable.setRemarks(tableDescription.getRemarks());
+                        snapshotTable.setTableType(tableDescription.getTableType());
+                    }
+                }
+            }
+
+            for (String columnName : primaryKeyColumns) {
+                introspectedTable.addPrimaryKeyColumn(columnName);
+            }
+
+            if (tableDescription != null) {
+                introspectedTable.setRemarks(tableDescription.getRemarks());
+                introspectedTable.setTableType(tableDescription.getTableType());
+            }
 
             answer.add(introspectedTable);
         }
@@ -754,23 +1150,34 @@ public class DatabaseIntrospector {
      * 
      * If there is any error, we just add a warning and continue.
      * 
-     * @param introspectedTable
+     * @param fqt
+     *            the table
+     * @return the table description, or null if the table was not found
      */
-    private void enhanceIntrospectedTable(IntrospectedTable introspectedTable) {
-        try {
-            FullyQualifiedTable fqt = introspectedTable.getFullyQualifiedTable();
+    private SchemaMetaDataCache.TableDescription getTableDescription(
+            FullyQualifiedTable fqt) {
+        if (schemaMetaDataCache != null) {
+            SchemaMetaDataCache.TableDescription tableDescription = getTableDescriptionFromSchemaMetaDataCache(fqt);
+            if (tableDescription != null) {
+                return tableDescription;
+            }
+        }
 
+        SchemaMetaDataCache.TableDescription answer = null;
+        try {
             ResultSet rs = databaseMetaData.getTables(fqt.getIntrospectedCatalog(), fqt.getIntrospectedSchema(),
                     fqt.getIntrospectedTableName(), null);
             if (rs.next()) {
                 String remarks = rs.getString("REMARKS"); //$NON-NLS-1$
                 String tableType = rs.getString("TABLE_TYPE"); //$NON-NLS-1$
-                introspectedTable.setRemarks(remarks);
-                introspectedTable.setTableType(tableType);
+                answer = new SchemaMetaDataCache.TableDescription(remarks,
+                        tableType);
             }
             closeResultSet(rs);
         } catch (SQLException e) {
             warnings.add(getString("Warning.27", e.getMessage())); //$NON-NLS-1$
         }
+
+        return answer;
     }
 }
@@ -0,0 +1,71 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data dictionary introspector for HSQLDB 2.x. The query joins the
+ * INFORMATION_SCHEMA.SYSTEM_COLUMNS, SYSTEM_TABLES, and SYSTEM_PRIMARYKEYS
+ * views - the same views that back the HSQLDB DatabaseMetaData methods - so
+ * the results are identical to the standard introspection.
+ */
+public class HsqldbDataDictionaryIntrospector extends
+        AbstractDataDictionaryIntrospector {
+
+    public HsqldbDataDictionaryIntrospector() {
+        super();
+    }
+
+    @Override
+    public boolean supports(DatabaseMetaData databaseMetaData)
+            throws SQLException {
+        return isDatabaseProduct(databaseMetaData, "HSQL Database Engine"); //$NON-NLS-1$
+    }
+
+    @Override
+    protected String getQuery(String catalog, String schemaPattern,
+            String escapeString, List<String> parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT C.*, T.REMARKS AS TABLE_REMARKS, T.TABLE_TYPE, K.KEY_SEQ"); //$NON-NLS-1$
+        sb.append(" FROM INFORMATION_SCHEMA.SYSTEM_COLUMNS C"); //$NON-NLS-1$
+        sb.append(" JOIN INFORMATION_SCHEMA.SYSTEM_TABLES T"); //$NON-NLS-1$
+        sb.append(" ON T.TABLE_CAT = C.TABLE_CAT"); //$NON-NLS-1$
+        sb.append(" AND T.TABLE_SCHEM = C.TABLE_SCHEM"); //$NON-NLS-1$
+        sb.append(" AND T.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" LEFT JOIN INFORMATION_SCHEMA.SYSTEM_PRIMARYKEYS K"); //$NON-NLS-1$
+        sb.append(" ON K.TABLE_CAT = C.TABLE_CAT"); //$NON-NLS-1$
+        sb.append(" AND K.TABLE_SCHEM = C.TABLE_SCHEM"); //$NON-NLS-1$
+        sb.append(" AND K.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" AND K.COLUMN_NAME = C.COLUMN_NAME"); //$NON-NLS-1$
+
+        List<String> conditions = new ArrayList<String>();
+        if (catalog != null) {
+            conditions.add("C.TABLE_CAT = ?"); //$NON-NLS-1$
+            parameters.add(catalog);
+        }
+        addPatternCondition(conditions, "C.TABLE_SCHEM", schemaPattern, //$NON-NLS-1$
+                escapeString, parameters);
+        appendWhereClause(sb, conditions);
+
+        sb.append(" ORDER BY C.TABLE_CAT, C.TABLE_SCHEM, C.TABLE_NAME, C.ORDINAL_POSITION"); //$NON-NLS-1$
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,522 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.internal.ObjectFactory;
+
+/**
+ * This class holds the raw database metadata (columns, primary keys, and table
+ * remarks) of previously introspected table configurations, so that later
+ * runs can generate code without querying the database again.
+ *
+ * <p>Entries are keyed by JDBC connection URL and by the catalog, schema, and
+ * table name of the table configuration. A snapshot file may hold entries for
+ * several connection URLs - lookups only see the entries of the URL the
+ * snapshot was read for, but all entries are written back.
+ *
+ * <p>The metadata is stored exactly as it was returned by the database, before
+ * any configuration (ignored columns, column overrides, renaming rules, etc.)
+ * is applied, so configuration changes take effect without a refresh.
+ *
+ * <p>A single instance may be shared by several introspectors running on
+ * different threads.
+ */
+public class IntrospectionSnapshot {
+
+    /** Identifies snapshot files ("MBGS"). */
+    private static final int MAGIC = 0x4D424753;
+
+    /** Incremented whenever the file format changes. */
+    private static final int FORMAT_VERSION = 1;
+
+    private String connectionURL;
+
+    private Map<String, Entry> entries;
+
+    private Map<String, String> changeTokens;
+
+    private boolean modified;
+
+    /**
+     * Constructs an empty snapshot.
+     *
+     * @param connectionURL
+     *            the JDBC connection URL used for lookups
+     */
+    public IntrospectionSnapshot(String connectionURL) {
+        super();
+        this.connectionURL = connectionURL;
+        entries = new HashMap<String, Entry>();
+        changeTokens = new HashMap<String, String>();
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file
+     *            the snapshot file
+     * @param connectionURL
+     *            the JDBC connection URL used for lookups
+     * @return the snapshot. If the file does not exist, the snapshot is empty.
+     * @throws IOException
+     *             if the file cannot be read, or is not a snapshot file
+     */
+    public static IntrospectionSnapshot read(File file, String connectionURL)
+            throws IOException {
+        IntrospectionSnapshot answer = new IntrospectionSnapshot(connectionURL);
+        if (!file.exists()) {
+            return answer;
+        }
+
+        DataInputStream in = new DataInputStream(new GZIPInputStream(
+                new BufferedInputStream(new FileInputStream(file))));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format"); //$NON-NLS-1$
+            }
+
+            int tokenCount = in.readInt();
+            for (int i = 0; i < tokenCount; i++) {
+                answer.changeTokens.put(readString(in), readString(in));
+            }
+
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                Entry entry = new Entry(readString(in), readString(in),
+                        readString(in), readString(in), in.readLong());
+                int tableCount = in.readInt();
+                for (int j = 0; j < tableCount; j++) {
+                    entry.tables.add(Table.read(in));
+                }
+                answer.entries.put(entry.getKey(), entry);
+            }
+        } finally {
+            in.close();
+        }
+
+        return answer;
+    }
+
+    /**
+     * Writes the snapshot. The file is written to a temporary file first, so
+     * an existing snapshot is not corrupted if writing fails.
+     *
+     * @param file
+     *            the snapshot file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+        DataOutputStream out = new DataOutputStream(new GZIPOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tempFile))));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(changeTokens.size());
+            for (Map.Entry<String, String> token : changeTokens.entrySet()) {
+                writeString(out, token.getKey());
+                writeString(out, token.getValue());
+            }
+
+            out.writeInt(entries.size());
+            for (Entry entry : entries.values()) {
+                writeString(out, entry.connectionURL);
+                writeString(out, entry.catalog);
+                writeString(out, entry.schema);
+                writeString(out, entry.tableName);
+                out.writeLong(entry.timestamp);
+                out.writeInt(entry.tables.size());
+                for (Table table : entry.tables) {
+                    table.write(out);
+                }
+            }
+        } finally {
+            out.close();
+        }
+
+        if (!tempFile.renameTo(file)) {
+            // renameTo does not replace existing files on some platforms
+            file.delete();
+            if (!tempFile.renameTo(file)) {
+                throw new IOException("Unable to rename " + tempFile); //$NON-NLS-1$
+            }
+        }
+
+        modified = false;
+    }
+
+    /**
+     * Returns true if the snapshot has changed since it was read or written.
+     *
+     * @return true if the snapshot should be written
+     */
+    public synchronized boolean isModified() {
+        return modified;
+    }
+
+    public String getConnectionURL() {
+        return connectionURL;
+    }
+
+    /**
+     * Returns true if the snapshot holds the metadata of a table
+     * configuration.
+     *
+     * @param catalog
+     *            the catalog of the table configuration
+     * @param schema
+     *            the schema of the table configuration
+     * @param tableName
+     *            the table name of the table configuration
+     * @return true if the table configuration can be served from the snapshot
+     */
+    public synchronized boolean containsTables(String catalog, String schema,
+            String tableName) {
+        return entries.containsKey(getKey(connectionURL, catalog, schema,
+                tableName));
+    }
+
+    /**
+     * Returns the tables matched by a table configuration.
+     *
+     * @param catalog
+     *            the catalog of the table configuration
+     * @param schema
+     *            the schema of the table configuration
+     * @param tableName
+     *            the table name of the table configuration
+     * @return the tables, or null if the table configuration is not in the
+     *         snapshot
+     */
+    public synchronized List<Table> getTables(String catalog, String schema,
+            String tableName) {
+        Entry entry = entries.get(getKey(connectionURL, catalog, schema,
+                tableName));
+        return entry == null ? null : entry.tables;
+    }
+
+    /**
+     * Stores the tables matched by a table configuration.
+     *
+     * @param catalog
+     *            the catalog of the table configuration
+     * @param schema
+     *            the schema of the table configuration
+     * @param tableName
+     *            the table name of the table configuration
+     * @param tables
+     *            the tables
+     */
+    public synchronized void putTables(String catalog, String schema,
+            String tableName, List<Table> tables) {
+        Entry entry = new Entry(connectionURL, catalog, schema, tableName,
+                System.currentTimeMillis());
+        entry.tables.addAll(tables);
+        entries.put(entry.getKey(), entry);
+        modified = true;
+    }
+
+    /**
+     * Removes the entries of the connection URL that were introspected before
+     * a point in time.
+     *
+     * @param timestamp
+     *            the oldest acceptable introspection time
+     */
+    public synchronized void removeEntriesOlderThan(long timestamp) {
+        Iterator<Entry> iter = entries.values().iterator();
+        while (iter.hasNext()) {
+            Entry entry = iter.next();
+            if (equals(entry.connectionURL, connectionURL)
+                    && entry.timestamp < timestamp) {
+                iter.remove();
+                modified = true;
+            }
+        }
+    }
+
+    /**
+     * Removes every entry of the connection URL.
+     */
+    public synchronized void removeEntries() {
+        removeEntriesOlderThan(Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the result of the change detection query when the entries of
+     * the connection URL were last validated.
+     *
+     * @return the change token, or null if there is none
+     */
+    public synchronized String getChangeToken() {
+        return changeTokens.get(connectionURL);
+    }
+
+    public synchronized void setChangeToken(String changeToken) {
+        if (!equals(changeToken, changeTokens.get(connectionURL))) {
+            changeTokens.put(connectionURL, changeToken);
+            modified = true;
+        }
+    }
+
+    private static String getKey(String connectionURL, String catalog,
+            String schema, String tableName) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(connectionURL);
+        sb.append('\u0000');
+        sb.append(catalog);
+        sb.append('\u0000');
+        sb.append(schema);
+        sb.append('\u0000');
+        sb.append(tableName);
+        return sb.toString();
+    }
+
+    private static boolean equals(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8"); //$NON-NLS-1$
+    }
+
+    private static void writeString(DataOutputStream out, String s)
+            throws IOException {
+        // not writeUTF - remarks may be longer than 64K
+        if (s == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = s.getBytes("UTF-8"); //$NON-NLS-1$
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * The tables matched by one table configuration.
+     */
+    private static class Entry {
+        private String connectionURL;
+        private String catalog;
+        private String schema;
+        private String tableName;
+        private long timestamp;
+        private List<Table> tables = new ArrayList<Table>();
+
+        Entry(String connectionURL, String catalog, String schema,
+                String tableName, long timestamp) {
+            this.connectionURL = connectionURL;
+            this.catalog = catalog;
+            this.schema = schema;
+            this.tableName = tableName;
+            this.timestamp = timestamp;
+        }
+
+        String getKey() {
+            return IntrospectionSnapshot.getKey(connectionURL, catalog,
+                    schema, tableName);
+        }
+    }
+
+    /**
+     * The raw metadata of a single table.
+     */
+    public static class Table {
+        private ActualTableName actualTableName;
+        private String remarks;
+        private String tableType;
+        private List<String> primaryKeyColumns = new ArrayList<String>();
+        private List<Column> columns = new ArrayList<Column>();
+
+        public Table(ActualTableName actualTableName) {
+            this.actualTableName = actualTableName;
+        }
+
+        public ActualTableName getActualTableName() {
+            return actualTableName;
+        }
+
+        public String getRemarks() {
+            return remarks;
+        }
+
+        public void setRemarks(String remarks) {
+            this.remarks = remarks;
+        }
+
+        public String getTableType() {
+            return tableType;
+        }
+
+        public void setTableType(String tableType) {
+            this.tableType = tableType;
+        }
+
+        public List<String> getPrimaryKeyColumns() {
+            return primaryKeyColumns;
+        }
+
+        /**
+         * Records the raw attributes of an introspected column. This must be
+         * called before any configuration is applied to the column.
+         *
+         * @param introspectedColumn
+         *            the introspected column
+         */
+        public void addColumn(IntrospectedColumn introspectedColumn) {
+            Column column = new Column();
+            column.actualColumnName = introspectedColumn.getActualColumnName();
+            column.jdbcType = introspectedColumn.getJdbcType();
+            column.length = introspectedColumn.getLength();
+            column.scale = introspectedColumn.getScale();
+            column.nullable = introspectedColumn.isNullable();
+            column.remarks = introspectedColumn.getRemarks();
+            column.defaultValue = introspectedColumn.getDefaultValue();
+            column.autoIncrement = introspectedColumn.isAutoIncrement();
+            column.generatedColumn = introspectedColumn.isGeneratedColumn();
+            columns.add(column);
+        }
+
+        /**
+         * Creates new introspected columns from the recorded attributes.
+         *
+         * @param context
+         *            the context
+         * @return the introspected columns
+         */
+        public List<IntrospectedColumn> createColumns(Context context) {
+            List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
+            for (Column column : columns) {
+                IntrospectedColumn introspectedColumn = ObjectFactory
+                        .createIntrospectedColumn(context);
+                introspectedColumn.setActualColumnName(column.actualColumnName);
+                introspectedColumn.setJdbcType(column.jdbcType);
+                introspectedColumn.setLength(column.length);
+                introspectedColumn.setScale(column.scale);
+                introspectedColumn.setNullable(column.nullable);
+                introspectedColumn.setRemarks(column.remarks);
+                introspectedColumn.setDefaultValue(column.defaultValue);
+                introspectedColumn.setAutoIncrement(column.autoIncrement);
+                introspectedColumn.setGeneratedColumn(column.generatedColumn);
+                answer.add(introspectedColumn);
+            }
+
+            return answer;
+        }
+
+        static Table read(DataInputStream in) throws IOException {
+            Table table = new Table(new ActualTableName(readString(in),
+                    readString(in), readString(in)));
+            table.remarks = readString(in);
+            table.tableType = readString(in);
+
+            int keyCount = in.readInt();
+            for (int i = 0; i < keyCount; i++) {
+                table.primaryKeyColumns.add(readString(in));
+            }
+
+            int columnCount = in.readInt();
+            for (int i = 0; i < columnCount; i++) {
+                Column column = new Column();
+                column.actualColumnName = readString(in);
+                column.jdbcType = in.readInt();
+                column.length = in.readInt();
+                column.scale = in.readInt();
+                column.nullable = in.readBoolean();
+                column.remarks = readString(in);
+                column.defaultValue = readString(in);
+                column.autoIncrement = in.readBoolean();
+                column.generatedColumn = in.readBoolean();
+                table.columns.add(column);
+            }
+
+            return table;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            writeString(out, actualTableName.getCatalog());
+            writeString(out, actualTableName.getSchema());
+            writeString(out, actualTableName.getTableName());
+            writeString(out, remarks);
+            writeString(out, tableType);
+
+            out.writeInt(primaryKeyColumns.size());
+            for (String columnName : primaryKeyColumns) {
+                writeString(out, columnName);
+            }
+
+            out.writeInt(columns.size());
+            for (Column column : columns) {
+                writeString(out, column.actualColumnName);
+                out.writeInt(column.jdbcType);
+                out.writeInt(column.length);
+                out.writeInt(column.scale);
+                out.writeBoolean(column.nullable);
+                writeString(out, column.remarks);
+                writeString(out, column.defaultValue);
+                out.writeBoolean(column.autoIncrement);
+                out.writeBoolean(column.generatedColumn);
+            }
+        }
+    }
+
+    /**
+     * The raw attributes of a single column.
+     */
+    private static class Column {
+        private String actualColumnName;
+        private int jdbcType;
+        private int length;
+        private int scale;
+        private boolean nullable;
+        private String remarks;
+        private String defaultValue;
+        private boolean autoIncrement;
+        private boolean generatedColumn;
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+
+/**
+ * Data dictionary introspector for MySQL 5.x and later, based on the
+ * information_schema COLUMNS, TABLES, and KEY_COLUMN_USAGE views.
+ *
+ * <p>As with the MySQL Connector/J driver, a MySQL database is reported as a
+ * catalog. If no catalog is specified, the current database is used. Data
+ * types are mapped to JDBC types in the same way as Connector/J with its
+ * default settings (for example, TINYINT(1) is reported as BIT, TEXT as
+ * LONGVARCHAR, and YEAR as DATE).
+ */
+public class MySqlDataDictionaryIntrospector extends
+        AbstractDataDictionaryIntrospector {
+
+    private static final Map<String, Integer> typeMap;
+
+    static {
+        typeMap = new HashMap<String, Integer>();
+        typeMap.put("BIT", Types.BIT); //$NON-NLS-1$
+        typeMap.put("TINYINT", Types.TINYINT); //$NON-NLS-1$
+        typeMap.put("SMALLINT", Types.SMALLINT); //$NON-NLS-1$
+        typeMap.put("MEDIUMINT", Types.INTEGER); //$NON-NLS-1$
+        typeMap.put("INT", Types.INTEGER); //$NON-NLS-1$
+        typeMap.put("INTEGER", Types.INTEGER); //$NON-NLS-1$
+        typeMap.put("BIGINT", Types.BIGINT); //$NON-NLS-1$
+        typeMap.put("FLOAT", Types.REAL); //$NON-NLS-1$
+        typeMap.put("DOUBLE", Types.DOUBLE); //$NON-NLS-1$
+        typeMap.put("DECIMAL", Types.DECIMAL); //$NON-NLS-1$
+        typeMap.put("DATE", Types.DATE); //$NON-NLS-1$
+        typeMap.put("YEAR", Types.DATE); //$NON-NLS-1$
+        typeMap.put("TIME", Types.TIME); //$NON-NLS-1$
+        typeMap.put("DATETIME", Types.TIMESTAMP); //$NON-NLS-1$
+        typeMap.put("TIMESTAMP", Types.TIMESTAMP); //$NON-NLS-1$
+        typeMap.put("CHAR", Types.CHAR); //$NON-NLS-1$
+        typeMap.put("VARCHAR", Types.VARCHAR); //$NON-NLS-1$
+        typeMap.put("TINYTEXT", Types.VARCHAR); //$NON-NLS-1$
+        typeMap.put("TEXT", Types.LONGVARCHAR); //$NON-NLS-1$
+        typeMap.put("MEDIUMTEXT", Types.LONGVARCHAR); //$NON-NLS-1$
+        typeMap.put("LONGTEXT", Types.LONGVARCHAR); //$NON-NLS-1$
+        typeMap.put("JSON", Types.LONGVARCHAR); //$NON-NLS-1$
+        typeMap.put("ENUM", Types.CHAR); //$NON-NLS-1$
+        typeMap.put("SET", Types.CHAR); //$NON-NLS-1$
+        typeMap.put("BINARY", Types.BINARY); //$NON-NLS-1$
+        typeMap.put("VARBINARY", Types.VARBINARY); //$NON-NLS-1$
+        typeMap.put("TINYBLOB", Types.VARBINARY); //$NON-NLS-1$
+        typeMap.put("BLOB", Types.LONGVARBINARY); //$NON-NLS-1$
+        typeMap.put("MEDIUMBLOB", Types.LONGVARBINARY); //$NON-NLS-1$
+        typeMap.put("LONGBLOB", Types.LONGVARBINARY); //$NON-NLS-1$
+        typeMap.put("GEOMETRY", Types.BINARY); //$NON-NLS-1$
+    }
+
+    public MySqlDataDictionaryIntrospector() {
+        super();
+    }
+
+    @Override
+    public boolean supports(DatabaseMetaData databaseMetaData)
+            throws SQLException {
+        return isDatabaseProduct(databaseMetaData, "MySQL"); //$NON-NLS-1$
+    }
+
+    @Override
+    protected String getQuery(String catalog, String schemaPattern,
+            String escapeString, List<String> parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT C.TABLE_SCHEMA AS TABLE_CAT, NULL AS TABLE_SCHEM, C.TABLE_NAME,"); //$NON-NLS-1$
+        sb.append(" T.TABLE_COMMENT AS TABLE_REMARKS, T.TABLE_TYPE,"); //$NON-NLS-1$
+        sb.append(" C.COLUMN_NAME, C.DATA_TYPE, C.COLUMN_TYPE,"); //$NON-NLS-1$
+        sb.append(" C.CHARACTER_MAXIMUM_LENGTH, C.NUMERIC_PRECISION, C.NUMERIC_SCALE,"); //$NON-NLS-1$
+        sb.append(" C.IS_NULLABLE, C.COLUMN_COMMENT AS REMARKS, C.COLUMN_DEFAULT AS COLUMN_DEF,"); //$NON-NLS-1$
+        sb.append(" C.EXTRA, K.ORDINAL_POSITION AS KEY_SEQ"); //$NON-NLS-1$
+        sb.append(" FROM information_schema.COLUMNS C"); //$NON-NLS-1$
+        sb.append(" JOIN information_schema.TABLES T"); //$NON-NLS-1$
+        sb.append(" ON T.TABLE_SCHEMA = C.TABLE_SCHEMA"); //$NON-NLS-1$
+        sb.append(" AND T.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" LEFT JOIN information_schema.KEY_COLUMN_USAGE K"); //$NON-NLS-1$
+        sb.append(" ON K.TABLE_SCHEMA = C.TABLE_SCHEMA"); //$NON-NLS-1$
+        sb.append(" AND K.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" AND K.COLUMN_NAME = C.COLUMN_NAME"); //$NON-NLS-1$
+        sb.append(" AND K.CONSTRAINT_NAME = 'PRIMARY'"); //$NON-NLS-1$
+
+        // MySQL databases are catalogs - the schema is ignored, as it is by
+        // Connector/J
+        if (catalog == null) {
+            sb.append(" WHERE C.TABLE_SCHEMA = DATABASE()"); //$NON-NLS-1$
+        } else {
+            sb.append(" WHERE C.TABLE_SCHEMA = ?"); //$NON-NLS-1$
+            parameters.add(catalog);
+        }
+
+        sb.append(" ORDER BY C.TABLE_NAME, C.ORDINAL_POSITION"); //$NON-NLS-1$
+
+        return sb.toString();
+    }
+
+    @Override
+    protected void populateColumn(IntrospectedColumn introspectedColumn,
+            ResultSet rs, Set<String> resultColumns) throws SQLException {
+        String dataType = rs.getString("DATA_TYPE").toUpperCase(); //$NON-NLS-1$
+        String columnType = rs.getString("COLUMN_TYPE").toUpperCase(); //$NON-NLS-1$
+
+        Integer jdbcType;
+        if (columnType.startsWith("TINYINT(1)")) { //$NON-NLS-1$
+            jdbcType = Types.BIT;
+        } else {
+            jdbcType = typeMap.get(dataType);
+        }
+        introspectedColumn.setJdbcType(jdbcType == null ? Types.OTHER : jdbcType);
+
+        long length = rs.getLong("CHARACTER_MAXIMUM_LENGTH"); //$NON-NLS-1$
+        if (rs.wasNull()) {
+            length = rs.getLong("NUMERIC_PRECISION"); //$NON-NLS-1$
+        }
+        // LONGTEXT and LONGBLOB lengths do not fit in an int
+        introspectedColumn.setLength((int) Math.min(length, Integer.MAX_VALUE));
+        introspectedColumn.setScale(rs.getInt("NUMERIC_SCALE")); //$NON-NLS-1$
+        introspectedColumn.setNullable("YES".equals(rs.getString("IS_NULLABLE"))); //$NON-NLS-1$ //$NON-NLS-2$
+        introspectedColumn.setRemarks(rs.getString("REMARKS")); //$NON-NLS-1$
+        introspectedColumn.setDefaultValue(rs.getString("COLUMN_DEF")); //$NON-NLS-1$
+
+        String extra = rs.getString("EXTRA"); //$NON-NLS-1$
+        extra = extra == null ? "" : extra.toUpperCase(); //$NON-NLS-1$
+        introspectedColumn.setAutoIncrement(extra.contains("AUTO_INCREMENT")); //$NON-NLS-1$
+        introspectedColumn.setGeneratedColumn(extra.contains("GENERATED")); //$NON-NLS-1$
+    }
+
+    @Override
+    protected String getTableType(ResultSet rs) throws SQLException {
+        String tableType = super.getTableType(rs);
+        // Connector/J reports base tables as "TABLE"
+        return "BASE TABLE".equals(tableType) ? "TABLE" : tableType; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+
+/**
+ * Data dictionary introspector for Oracle 12c and later, based on the
+ * ALL_TAB_COLS, ALL_TAB_COMMENTS, ALL_COL_COMMENTS, ALL_CONSTRAINTS, and
+ * ALL_CONS_COLUMNS views. Remarks are always returned, which the Oracle driver
+ * only does (very slowly) when the "remarksReporting" property is set.
+ *
+ * <p>Data types are mapped to JDBC types in the same way as the Oracle driver
+ * (for example, NUMBER is reported as DECIMAL and DATE as TIMESTAMP).
+ *
+ * <p>Column default values are not returned. DATA_DEFAULT is a LONG column,
+ * and selecting a LONG column disables row prefetching, which would defeat
+ * the purpose of this introspector. MyBatis Generator does not use default
+ * values when generating code.
+ */
+public class OracleDataDictionaryIntrospector extends
+        AbstractDataDictionaryIntrospector {
+
+    /** Oracle specific JDBC type for BINARY_FLOAT. */
+    private static final int ORACLE_BINARY_FLOAT = 100;
+
+    /** Oracle specific JDBC type for BINARY_DOUBLE. */
+    private static final int ORACLE_BINARY_DOUBLE = 101;
+
+    /** Oracle specific JDBC type for TIMESTAMP WITH TIME ZONE. */
+    private static final int ORACLE_TIMESTAMPTZ = -101;
+
+    /** Oracle specific JDBC type for TIMESTAMP WITH LOCAL TIME ZONE. */
+    private static final int ORACLE_TIMESTAMPLTZ = -102;
+
+    public OracleDataDictionaryIntrospector() {
+        super();
+    }
+
+    @Override
+    public boolean supports(DatabaseMetaData databaseMetaData)
+            throws SQLException {
+        // IDENTITY_COLUMN and HIDDEN_COLUMN were added to ALL_TAB_COLS in 12c
+        return isDatabaseProduct(databaseMetaData, "Oracle") //$NON-NLS-1$
+                && databaseMetaData.getDatabaseMajorVersion() >= 12;
+    }
+
+    @Override
+    protected String getQuery(String catalog, String schemaPattern,
+            String escapeString, List<String> parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT NULL AS TABLE_CAT, C.OWNER AS TABLE_SCHEM, C.TABLE_NAME,"); //$NON-NLS-1$
+        sb.append(" TC.COMMENTS AS TABLE_REMARKS, TC.TABLE_TYPE,"); //$NON-NLS-1$
+        sb.append(" C.COLUMN_NAME, C.DATA_TYPE, C.DATA_LENGTH, C.DATA_PRECISION,"); //$NON-NLS-1$
+        sb.append(" C.DATA_SCALE, C.CHAR_LENGTH, C.NULLABLE, CC.COMMENTS AS REMARKS,"); //$NON-NLS-1$
+        sb.append(" C.IDENTITY_COLUMN, C.VIRTUAL_COLUMN, PK.POSITION AS KEY_SEQ"); //$NON-NLS-1$
+        sb.append(" FROM ALL_TAB_COLS C"); //$NON-NLS-1$
+        sb.append(" JOIN ALL_TAB_COMMENTS TC"); //$NON-NLS-1$
+        sb.append(" ON TC.OWNER = C.OWNER"); //$NON-NLS-1$
+        sb.append(" AND TC.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" LEFT JOIN ALL_COL_COMMENTS CC"); //$NON-NLS-1$
+        sb.append(" ON CC.OWNER = C.OWNER"); //$NON-NLS-1$
+        sb.append(" AND CC.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" AND CC.COLUMN_NAME = C.COLUMN_NAME"); //$NON-NLS-1$
+        sb.append(" LEFT JOIN (SELECT AC.OWNER, AC.TABLE_NAME, ACC.COLUMN_NAME, ACC.POSITION"); //$NON-NLS-1$
+        sb.append(" FROM ALL_CONSTRAINTS AC JOIN ALL_CONS_COLUMNS ACC"); //$NON-NLS-1$
+        sb.append(" ON ACC.OWNER = AC.OWNER"); //$NON-NLS-1$
+        sb.append(" AND ACC.CONSTRAINT_NAME = AC.CONSTRAINT_NAME"); //$NON-NLS-1$
+        sb.append(" WHERE AC.CONSTRAINT_TYPE = 'P') PK"); //$NON-NLS-1$
+        sb.append(" ON PK.OWNER = C.OWNER"); //$NON-NLS-1$
+        sb.append(" AND PK.TABLE_NAME = C.TABLE_NAME"); //$NON-NLS-1$
+        sb.append(" AND PK.COLUMN_NAME = C.COLUMN_NAME"); //$NON-NLS-1$
+
+        // Oracle has no catalogs - the catalog is ignored, as it is by the
+        // Oracle driver
+        List<String> conditions = new ArrayList<String>();
+        conditions.add("C.HIDDEN_COLUMN = 'NO'"); //$NON-NLS-1$
+        addPatternCondition(conditions, "C.OWNER", schemaPattern, //$NON-NLS-1$
+                escapeString, parameters);
+        appendWhereClause(sb, conditions);
+
+        sb.append(" ORDER BY C.OWNER, C.TABLE_NAME, C.COLUMN_ID"); //$NON-NLS-1$
+
+        return sb.toString();
+    }
+
+    @Override
+    protected void populateColumn(IntrospectedColumn introspectedColumn,
+            ResultSet rs, Set<String> resultColumns) throws SQLException {
+        String dataType = rs.getString("DATA_TYPE"); //$NON-NLS-1$
+        introspectedColumn.setJdbcType(calculateJdbcType(dataType));
+
+        int precision = rs.getInt("DATA_PRECISION"); //$NON-NLS-1$
+        boolean hasPrecision = !rs.wasNull();
+        int scale = rs.getInt("DATA_SCALE"); //$NON-NLS-1$
+        boolean hasScale = !rs.wasNull();
+
+        // this mirrors the COLUMN_SIZE calculation of the Oracle driver
+        int length;
+        if (hasPrecision) {
+            length = precision;
+        } else if ("NUMBER".equals(dataType)) { //$NON-NLS-1$
+            length = hasScale ? 38 : 0;
+        } else if (isCharacterType(dataType)) {
+            length = rs.getInt("CHAR_LENGTH"); //$NON-NLS-1$
+        } else {
+            length = rs.getInt("DATA_LENGTH"); //$NON-NLS-1$
+        }
+
+        introspectedColumn.setLength(length);
+        introspectedColumn.setScale(scale);
+        introspectedColumn.setNullable("Y".equals(rs.getString("NULLABLE"))); //$NON-NLS-1$ //$NON-NLS-2$
+        introspectedColumn.setRemarks(rs.getString("REMARKS")); //$NON-NLS-1$
+        introspectedColumn.setAutoIncrement("YES".equals(rs.getString("IDENTITY_COLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
+        introspectedColumn.setGeneratedColumn("YES".equals(rs.getString("VIRTUAL_COLUMN"))); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private boolean isCharacterType(String dataType) {
+        return "CHAR".equals(dataType) //$NON-NLS-1$
+                || "NCHAR".equals(dataType) //$NON-NLS-1$
+                || "VARCHAR".equals(dataType) //$NON-NLS-1$
+                || "VARCHAR2".equals(dataType) //$NON-NLS-1$
+                || "NVARCHAR2".equals(dataType); //$NON-NLS-1$
+    }
+
+    private int calculateJdbcType(String dataType) {
+        int answer;
+
+        if ("VARCHAR2".equals(dataType) || "VARCHAR".equals(dataType)) { //$NON-NLS-1$ //$NON-NLS-2$
+            answer = Types.VARCHAR;
+        } else if ("NVARCHAR2".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.NVARCHAR;
+        } else if ("CHAR".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.CHAR;
+        } else if ("NCHAR".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.NCHAR;
+        } else if ("NUMBER".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.DECIMAL;
+        } else if ("FLOAT".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.FLOAT;
+        } else if ("BINARY_FLOAT".equals(dataType)) { //$NON-NLS-1$
+            answer = ORACLE_BINARY_FLOAT;
+        } else if ("BINARY_DOUBLE".equals(dataType)) { //$NON-NLS-1$
+            answer = ORACLE_BINARY_DOUBLE;
+        } else if ("DATE".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.TIMESTAMP;
+        } else if (dataType.startsWith("TIMESTAMP")) { //$NON-NLS-1$
+            if (dataType.endsWith("WITH LOCAL TIME ZONE")) { //$NON-NLS-1$
+                answer = ORACLE_TIMESTAMPLTZ;
+            } else if (dataType.endsWith("WITH TIME ZONE")) { //$NON-NLS-1$
+                answer = ORACLE_TIMESTAMPTZ;
+            } else {
+                answer = Types.TIMESTAMP;
+            }
+        } else if ("CLOB".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.CLOB;
+        } else if ("NCLOB".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.NCLOB;
+        } else if ("BLOB".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.BLOB;
+        } else if ("RAW".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.VARBINARY;
+        } else if ("LONG RAW".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.LONGVARBINARY;
+        } else if ("LONG".equals(dataType)) { //$NON-NLS-1$
+            answer = Types.LONGVARCHAR;
+        } else if ("ROWID".equals(dataType) || "UROWID".equals(dataType)) { //$NON-NLS-1$ //$NON-NLS-2$
+            answer = Types.ROWID;
+        } else {
+            answer = Types.OTHER;
+        }
+
+        return answer;
+    }
+}
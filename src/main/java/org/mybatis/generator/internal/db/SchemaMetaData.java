@@ -0,0 +1,70 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+
+/**
+ * The columns, primary keys, and table descriptions of every table in a
+ * catalog/schema, as returned by a DataDictionaryIntrospector.
+ */
+public class SchemaMetaData {
+
+    private Map<ActualTableName, List<IntrospectedColumn>> columns;
+
+    private Map<ActualTableName, List<String>> primaryKeys;
+
+    private Map<ActualTableName, SchemaMetaDataCache.TableDescription> tables;
+
+    public SchemaMetaData() {
+        super();
+        columns = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+        primaryKeys = new HashMap<ActualTableName, List<String>>();
+        tables = new HashMap<ActualTableName, SchemaMetaDataCache.TableDescription>();
+    }
+
+    /**
+     * Returns the columns of every table, in ordinal position order.
+     *
+     * @return the columns
+     */
+    public Map<ActualTableName, List<IntrospectedColumn>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the primary key columns of every table that has a primary key,
+     * in key sequence order.
+     *
+     * @return the primary keys
+     */
+    public Map<ActualTableName, List<String>> getPrimaryKeys() {
+        return primaryKeys;
+    }
+
+    /**
+     * Returns the remarks and type of every table.
+     *
+     * @return the table descriptions
+     */
+    public Map<ActualTableName, SchemaMetaDataCache.TableDescription> getTables() {
+        return tables;
+    }
+}
@@ -0,0 +1,337 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+
+/**
+ * This class holds database metadata (columns, primary keys, and table
+ * remarks) that was retrieved for a whole catalog/schema at once, rather than
+ * one table at a time. The DatabaseIntrospector fills the cache the first time
+ * a schema is needed, and then serves every table configuration in that schema
+ * from memory.
+ *
+ * <p>A single instance may be shared by several introspectors running on
+ * different threads.
+ */
+public class SchemaMetaDataCache {
+
+    private ConcurrentMap<String, Object> schemaLocks;
+
+    private Map<String, Map<ActualTableName, List<IntrospectedColumn>>> schemaColumns;
+
+    private Map<String, Set<ActualTableName>> servedTables;
+
+    private Map<String, TableIndex<List<String>>> schemaPrimaryKeys;
+
+    private Map<String, TableIndex<TableDescription>> schemaTables;
+
+    private volatile boolean bulkPrimaryKeysSupported;
+
+    public SchemaMetaDataCache() {
+        super();
+        schemaLocks = new ConcurrentHashMap<String, Object>();
+        schemaColumns = new HashMap<String, Map<ActualTableName, List<IntrospectedColumn>>>();
+        servedTables = new HashMap<String, Set<ActualTableName>>();
+        schemaPrimaryKeys = new HashMap<String, TableIndex<List<String>>>();
+        schemaTables = new HashMap<String, TableIndex<TableDescription>>();
+        bulkPrimaryKeysSupported = true;
+    }
+
+    /**
+     * Calculates the key used for a catalog/schema pair. The values should be
+     * the same search patterns that are passed to DatabaseMetaData.
+     *
+     * @param catalog
+     *            the catalog, may be null
+     * @param schema
+     *            the schema pattern, may be null
+     * @return the key
+     */
+    public static String getSchemaKey(String catalog, String schema) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(catalog);
+        sb.append('\u0000');
+        sb.append(schema);
+        return sb.toString();
+    }
+
+    /**
+     * Returns an object that callers should synchronize on while loading
+     * metadata for a schema, so that a schema is only loaded once even if
+     * several threads need it at the same time.
+     *
+     * @param schemaKey
+     *            the schema key
+     * @return the lock object for the schema
+     */
+    public Object getSchemaLock(String schemaKey) {
+        Object lock = new Object();
+        Object existingLock = schemaLocks.putIfAbsent(schemaKey, lock);
+        return existingLock == null ? lock : existingLock;
+    }
+
+    public synchronized boolean hasColumns(String schemaKey) {
+        return schemaColumns.containsKey(schemaKey);
+    }
+
+    public synchronized void putColumns(String schemaKey,
+            Map<ActualTableName, List<IntrospectedColumn>> columns) {
+        schemaColumns.put(schemaKey, columns);
+        servedTables.put(schemaKey, new HashSet<ActualTableName>());
+    }
+
+    /**
+     * Removes, and returns, the columns of every table in the schema whose
+     * name matches the table name pattern. Columns are handed out only once
+     * because the introspector modifies them.
+     *
+     * @param schemaKey
+     *            the schema key
+     * @param tableNamePattern
+     *            a table name pattern using the DatabaseMetaData wildcard
+     *            rules
+     * @param escapeString
+     *            the search string escape, or null if wildcards are not
+     *            escaped
+     * @return the matched columns, or null if one of the matched tables has
+     *         already been served or if no table matched. In that case the
+     *         caller should query the database directly - the pattern is
+     *         matched case sensitively here, but the driver may apply
+     *         different case rules.
+     */
+    public synchronized Map<ActualTableName, List<IntrospectedColumn>> takeColumns(
+            String schemaKey, String tableNamePattern, String escapeString) {
+        Pattern pattern = getTableNameRegex(tableNamePattern, escapeString);
+
+        Set<ActualTableName> served = servedTables.get(schemaKey);
+        for (ActualTableName atn : served) {
+            if (pattern.matcher(atn.getTableName()).matches()) {
+                return null;
+            }
+        }
+
+        Map<ActualTableName, List<IntrospectedColumn>> answer = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+        Iterator<Map.Entry<ActualTableName, List<IntrospectedColumn>>> iter = schemaColumns
+                .get(schemaKey).entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<ActualTableName, List<IntrospectedColumn>> entry = iter.next();
+            if (pattern.matcher(entry.getKey().getTableName()).matches()) {
+                answer.put(entry.getKey(), entry.getValue());
+                served.add(entry.getKey());
+                iter.remove();
+            }
+        }
+
+        return answer.isEmpty() ? null : answer;
+    }
+
+    /**
+     * Returns false if the driver has rejected a schema wide primary key
+     * request (a null table name in DatabaseMetaData.getPrimaryKeys()). All
+     * introspectors sharing this cache use the same driver, so once a request
+     * has failed there is no point in trying again.
+     *
+     * @return true if schema wide primary key requests may be attempted
+     */
+    public boolean isBulkPrimaryKeysSupported() {
+        return bulkPrimaryKeysSupported;
+    }
+
+    public void setBulkPrimaryKeysSupported(boolean bulkPrimaryKeysSupported) {
+        this.bulkPrimaryKeysSupported = bulkPrimaryKeysSupported;
+    }
+
+    public synchronized boolean hasPrimaryKeys(String schemaKey) {
+        return schemaPrimaryKeys.containsKey(schemaKey);
+    }
+
+    /**
+     * Stores the primary keys of every table in a schema.
+     *
+     * @param schemaKey
+     *            the schema key
+     * @param primaryKeys
+     *            the primary key columns of every table, in key sequence
+     *            order. Use null if the primary keys are not available in
+     *            bulk, in which case every table must be queried individually.
+     */
+    public synchronized void putPrimaryKeys(String schemaKey,
+            Map<ActualTableName, List<String>> primaryKeys) {
+        schemaPrimaryKeys.put(schemaKey, primaryKeys == null ? null
+                : new TableIndex<List<String>>(primaryKeys));
+    }
+
+    /**
+     * Returns the primary key columns of a table.
+     *
+     * @param schemaKey
+     *            the schema key
+     * @param tableName
+     *            the exact table name
+     * @return the primary key columns in key sequence order (empty if the
+     *         table has no primary key), or null if the table must be queried
+     *         individually
+     */
+    public synchronized List<String> getPrimaryKeyColumns(String schemaKey,
+            String tableName) {
+        TableIndex<List<String>> index = schemaPrimaryKeys.get(schemaKey);
+        if (index == null || index.isAmbiguous(tableName)) {
+            return null;
+        }
+
+        List<String> answer = index.get(tableName);
+        return answer == null ? Collections.<String> emptyList() : answer;
+    }
+
+    public synchronized boolean hasTables(String schemaKey) {
+        return schemaTables.containsKey(schemaKey);
+    }
+
+    /**
+     * Stores the descriptions of every table in a schema.
+     *
+     * @param schemaKey
+     *            the schema key
+     * @param tables
+     *            the table descriptions, or null if the tables are not
+     *            available in bulk
+     */
+    public synchronized void putTables(String schemaKey,
+            Map<ActualTableName, TableDescription> tables) {
+        schemaTables.put(schemaKey, tables == null ? null
+                : new TableIndex<TableDescription>(tables));
+    }
+
+    /**
+     * Returns the description (remarks and type) of a table.
+     *
+     * @param schemaKey
+     *            the schema key
+     * @param tableName
+     *            the exact table name
+     * @return the table description (with null values if the table was not
+     *         found), or null if the table must be queried individually
+     */
+    public synchronized TableDescription getTableDescription(String schemaKey,
+            String tableName) {
+        TableIndex<TableDescription> index = schemaTables.get(schemaKey);
+        if (index == null || index.isAmbiguous(tableName)) {
+            return null;
+        }
+
+        TableDescription answer = index.get(tableName);
+        return answer == null ? new TableDescription(null, null) : answer;
+    }
+
+    /**
+     * Translates a DatabaseMetaData search pattern into a regular expression.
+     * "%" matches any sequence of characters, "_" matches any single character,
+     * and a character preceded by the escape string is matched literally.
+     *
+     * @param searchPattern
+     *            the search pattern
+     * @param escapeString
+     *            the escape string, or null
+     * @return the regular expression
+     */
+    static Pattern getTableNameRegex(String searchPattern, String escapeString) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < searchPattern.length()) {
+            if (escapeString != null && escapeString.length() > 0
+                    && searchPattern.startsWith(escapeString, i)
+                    && i + escapeString.length() < searchPattern.length()) {
+                i += escapeString.length();
+                sb.append(Pattern.quote(searchPattern.substring(i, i + 1)));
+            } else {
+                char c = searchPattern.charAt(i);
+                if (c == '%') {
+                    sb.append(".*"); //$NON-NLS-1$
+                } else if (c == '_') {
+                    sb.append('.');
+                } else {
+                    sb.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            i++;
+        }
+
+        return Pattern.compile(sb.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * The remarks and type of a table, as returned by
+     * DatabaseMetaData.getTables().
+     */
+    public static class TableDescription {
+        private String remarks;
+        private String tableType;
+
+        public TableDescription(String remarks, String tableType) {
+            this.remarks = remarks;
+            this.tableType = tableType;
+        }
+
+        public String getRemarks() {
+            return remarks;
+        }
+
+        public String getTableType() {
+            return tableType;
+        }
+    }
+
+    /**
+     * Indexes table metadata by table name. If the catalog or schema was not
+     * specified in the request, tables with the same name in different
+     * schemas may be returned - lookups for such a name are ambiguous.
+     */
+    private static class TableIndex<T> {
+        private Map<String, T> values = new HashMap<String, T>();
+        private Set<String> ambiguousNames = new HashSet<String>();
+
+        TableIndex(Map<ActualTableName, T> tables) {
+            for (Map.Entry<ActualTableName, T> entry : tables.entrySet()) {
+                String tableName = entry.getKey().getTableName();
+                if (values.containsKey(tableName)) {
+                    ambiguousNames.add(tableName);
+                } else {
+                    values.put(tableName, entry.getValue());
+                }
+            }
+        }
+
+        T get(String tableName) {
+            return values.get(tableName);
+        }
+
+        boolean isAmbiguous(String tableName) {
+            return ambiguousNames.contains(tableName);
+        }
+    }
+}
@@ -18,7 +18,6 @@ package org.mybatis.generator.internal.rules;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
-import org.mybatis.generator.codegen.mybatis3.ListUtilities;
 import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.TableConfiguration;
 import org.mybatis.generator.internal.util.StringUtility;
@@ -85,6 +84,28 @@ public abstract class BaseRules implements Rules {
         return tableConfiguration.isInsertStatementEnabled();
     }
 
+    /**
+     * Implements the rule for generating the insert batch SQL Map element and
+     * mapper method. If the insert statement is allowed, and the insert batch
+     * statement is enabled with a table property, then generate the element
+     * and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateInsertBatch() {
+        if (isModelOnly) {
+            return false;
+        }
+
+        if (introspectedTable.getNonIdentityNonGeneratedAlwaysColumns().isEmpty()) {
+            return false;
+        }
+
+        return tableConfiguration.isInsertStatementEnabled()
+                && StringUtility.isTrue(tableConfiguration
+                        .getProperty(PropertyRegistry.TABLE_ENABLE_INSERT_BATCH));
+    }
+
     /**
      * Calculates the class that contains all fields. This class is used as the
      * insert statement parameter, as well as the returned value from the select
@@ -121,7 +142,7 @@ public abstract class BaseRules implements Rules {
             return false;
         }
         
-        if (ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getBaseColumns()).isEmpty()) {
+        if (introspectedTable.getNonGeneratedAlwaysBaseColumns().isEmpty()) {
             return false;
         }
         
@@ -145,7 +166,7 @@ public abstract class BaseRules implements Rules {
             return false;
         }
         
-        if (ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getNonPrimaryKeyColumns()).isEmpty()) {
+        if (introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns().isEmpty()) {
             return false;
         }
         boolean rc = tableConfiguration.isUpdateByPrimaryKeyStatementEnabled()
@@ -168,7 +189,7 @@ public abstract class BaseRules implements Rules {
             return false;
         }
         
-        if (ListUtilities.removeGeneratedAlwaysColumns(introspectedTable.getNonPrimaryKeyColumns()).isEmpty()) {
+        if (introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns().isEmpty()) {
             return false;
         }
         
@@ -180,6 +201,30 @@ public abstract class BaseRules implements Rules {
         return rc;
     }
 
+    /**
+     * Implements the rule for generating the update batch by primary key SQL
+     * Map element and mapper method. If the table has a primary key as well as
+     * other fields, the updateByPrimaryKey statement is allowed, and the update
+     * batch statement is enabled with a table property, then generate the
+     * element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateUpdateBatchByPrimaryKey() {
+        if (isModelOnly) {
+            return false;
+        }
+
+        if (introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns().isEmpty()) {
+            return false;
+        }
+
+        return tableConfiguration.isUpdateByPrimaryKeyStatementEnabled()
+                && introspectedTable.hasPrimaryKeyColumns()
+                && StringUtility.isTrue(tableConfiguration
+                        .getProperty(PropertyRegistry.TABLE_ENABLE_UPDATE_BATCH_BY_PRIMARY_KEY));
+    }
+
     /**
      * Implements the rule for generating the delete by primary key SQL Map
      * element and DAO method. If the table has a primary key, and the
@@ -199,6 +244,20 @@ public abstract class BaseRules implements Rules {
         return rc;
     }
 
+    /**
+     * Implements the rule for generating the delete by primary keys SQL Map
+     * element and mapper method. If the deleteByPrimaryKey statement is
+     * generated, and the delete by primary keys statement is enabled with a
+     * table property, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateDeleteByPrimaryKeys() {
+        return generateDeleteByPrimaryKey()
+                && StringUtility.isTrue(tableConfiguration
+                        .getProperty(PropertyRegistry.TABLE_ENABLE_DELETE_BY_PRIMARY_KEYS));
+    }
+
     /**
      * Implements the rule for generating the delete by example SQL Map element
      * and DAO method. If the deleteByExample statement is allowed, then
@@ -325,6 +384,20 @@ public abstract class BaseRules implements Rules {
         return rc;
     }
 
+    /**
+     * Implements the rule for generating the select by primary keys SQL Map
+     * element and mapper method. If the selectByPrimaryKey statement is
+     * generated, and the select by primary keys statement is enabled with a
+     * table property, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateSelectByPrimaryKeys() {
+        return generateSelectByPrimaryKey()
+                && StringUtility.isTrue(tableConfiguration
+                        .getProperty(PropertyRegistry.TABLE_ENABLE_SELECT_BY_PRIMARY_KEYS));
+    }
+
     /**
      * Implements the rule for generating the select by example without BLOBs
      * SQL Map element and DAO method. If the selectByExample statement is
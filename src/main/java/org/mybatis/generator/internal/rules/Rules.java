@@ -45,6 +45,16 @@ public interface Rules {
      */
     boolean generateInsertSelective();
 
+    /**
+     * Implements the rule for generating the insert batch SQL Map element and
+     * mapper method. If the insert statement is allowed, and the insert batch
+     * statement is enabled with a table property, then generate the element
+     * and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateInsertBatch();
+
     /**
      * Calculates the class that contains all fields. This class is used as the
      * insert statement parameter, as well as the returned value from the select
@@ -85,6 +95,17 @@ public interface Rules {
      */
     boolean generateUpdateByPrimaryKeySelective();
 
+    /**
+     * Implements the rule for generating the update batch by primary key SQL
+     * Map element and mapper method. If the table has a primary key as well as
+     * other fields, the updateByPrimaryKey statement is allowed, and the update
+     * batch statement is enabled with a table property, then generate the
+     * element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateUpdateBatchByPrimaryKey();
+
     /**
      * Implements the rule for generating the delete by primary key SQL Map
      * element and DAO method. If the table has a primary key, and the
@@ -95,6 +116,16 @@ public interface Rules {
      */
     boolean generateDeleteByPrimaryKey();
 
+    /**
+     * Implements the rule for generating the delete by primary keys SQL Map
+     * element and mapper method. If the deleteByPrimaryKey statement is
+     * generated, and the delete by primary keys statement is enabled with a
+     * table property, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateDeleteByPrimaryKeys();
+
     /**
      * Implements the rule for generating the delete by example SQL Map element
      * and DAO method. If the deleteByExample statement is allowed, then
@@ -174,6 +205,16 @@ public interface Rules {
      */
     boolean generateSelectByPrimaryKey();
 
+    /**
+     * Implements the rule for generating the select by primary keys SQL Map
+     * element and mapper method. If the selectByPrimaryKey statement is
+     * generated, and the select by primary keys statement is enabled with a
+     * table property, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateSelectByPrimaryKeys();
+
     /**
      * Implements the rule for generating the select by example without BLOBs
      * SQL Map element and DAO method. If the selectByExample statement is
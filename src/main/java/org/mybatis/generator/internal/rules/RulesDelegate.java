@@ -88,6 +88,10 @@ public class RulesDelegate implements Rules {
         return rules.generateDeleteByPrimaryKey();
     }
 
+    public boolean generateDeleteByPrimaryKeys() {
+        return rules.generateDeleteByPrimaryKeys();
+    }
+
     public boolean generateExampleClass() {
         return rules.generateExampleClass();
     }
@@ -100,6 +104,10 @@ public class RulesDelegate implements Rules {
         return rules.generateInsertSelective();
     }
 
+    public boolean generateInsertBatch() {
+        return rules.generateInsertBatch();
+    }
+
     public boolean generatePrimaryKeyClass() {
         return rules.generatePrimaryKeyClass();
     }
@@ -124,6 +132,10 @@ public class RulesDelegate implements Rules {
         return rules.generateSelectByPrimaryKey();
     }
 
+    public boolean generateSelectByPrimaryKeys() {
+        return rules.generateSelectByPrimaryKeys();
+    }
+
     public boolean generateSQLExampleWhereClause() {
         return rules.generateSQLExampleWhereClause();
     }
@@ -148,6 +160,10 @@ public class RulesDelegate implements Rules {
         return rules.generateUpdateByPrimaryKeySelective();
     }
 
+    public boolean generateUpdateBatchByPrimaryKey() {
+        return rules.generateUpdateBatchByPrimaryKey();
+    }
+
     public boolean generateUpdateByPrimaryKeyWithBLOBs() {
         return rules.generateUpdateByPrimaryKeyWithBLOBs();
     }
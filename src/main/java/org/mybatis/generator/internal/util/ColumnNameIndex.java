@@ -0,0 +1,142 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes values by column name with the matching rules used throughout the
+ * generator: a delimited name matches only the exact same name, and any other
+ * name matches ignoring case (as String.equalsIgnoreCase()). If several values
+ * match a name, the value that was added first is returned - the same value
+ * that a linear search in order of addition would find.
+ */
+public class ColumnNameIndex<T> {
+
+    private Map<String, IndexedValue<T>> delimitedNames;
+
+    private Map<String, IndexedValue<T>> foldedNames;
+
+    private int size;
+
+    public ColumnNameIndex() {
+        super();
+        delimitedNames = new HashMap<String, IndexedValue<T>>();
+        foldedNames = new HashMap<String, IndexedValue<T>>();
+    }
+
+    /**
+     * Adds a value to the index.
+     *
+     * @param columnName
+     *            the column name of the value
+     * @param delimited
+     *            true if the name should only match exactly
+     * @param value
+     *            the value
+     */
+    public void add(String columnName, boolean delimited, T value) {
+        IndexedValue<T> indexedValue = new IndexedValue<T>(value, size++);
+        if (columnName == null) {
+            return;
+        }
+
+        Map<String, IndexedValue<T>> names;
+        String key;
+        if (delimited) {
+            names = delimitedNames;
+            key = columnName;
+        } else {
+            names = foldedNames;
+            key = foldCase(columnName);
+        }
+
+        if (!names.containsKey(key)) {
+            names.put(key, indexedValue);
+        }
+    }
+
+    /**
+     * Returns the first value that matches the column name.
+     *
+     * @param columnName
+     *            the column name
+     * @return the matching value, or null if no value matches
+     */
+    public T get(String columnName) {
+        if (columnName == null) {
+            return null;
+        }
+
+        IndexedValue<T> delimitedValue = delimitedNames.get(columnName);
+        IndexedValue<T> foldedValue = foldedNames.get(foldCase(columnName));
+
+        if (delimitedValue == null) {
+            return foldedValue == null ? null : foldedValue.value;
+        } else if (foldedValue == null
+                || delimitedValue.position < foldedValue.position) {
+            return delimitedValue.value;
+        } else {
+            return foldedValue.value;
+        }
+    }
+
+    /**
+     * Returns the number of values added to the index.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calculates a key such that two names have the same key exactly when
+     * String.equalsIgnoreCase() considers them equal.
+     *
+     * @param name
+     *            the name
+     * @return the case folded key
+     */
+    static String foldCase(String name) {
+        StringBuilder sb = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char folded = Character.toLowerCase(Character.toUpperCase(c));
+            if (sb == null && folded != c) {
+                sb = new StringBuilder(name.length());
+                sb.append(name, 0, i);
+            }
+
+            if (sb != null) {
+                sb.append(folded);
+            }
+        }
+
+        return sb == null ? name : sb.toString();
+    }
+
+    private static class IndexedValue<T> {
+        private T value;
+        private int position;
+
+        IndexedValue(T value, int position) {
+            this.value = value;
+            this.position = position;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.Document;
 import org.mybatis.generator.api.dom.xml.XmlElement;
@@ -44,6 +45,7 @@ import org.mybatis.generator.internal.util.StringUtility;
  * @author Jason Bennett
  * @author Jeff Butler
  */
+@ThreadSafe
 public class CachePlugin extends PluginAdapter {
     public enum CacheProperty {
         EVICTION("cache_eviction", "eviction"), //$NON-NLS-1$ //$NON-NLS-2$
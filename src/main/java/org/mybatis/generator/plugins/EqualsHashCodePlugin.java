@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Properties;
 
 import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.dom.OutputUtilities;
@@ -48,6 +49,7 @@ import org.mybatis.generator.api.dom.java.TopLevelClass;
  * @author Jeff Butler
  * 
  */
+@ThreadSafe
 public class EqualsHashCodePlugin extends PluginAdapter {
 
     private boolean useEqualsHashCodeFromRoot;
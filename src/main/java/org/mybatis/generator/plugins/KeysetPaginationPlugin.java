@@ -0,0 +1,429 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.plugins;
+
+import static org.mybatis.generator.api.dom.OutputUtilities.javaIndent;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getAliasedEscapedColumnName;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getParameterClause;
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getSelectListPhrase;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+
+/**
+ * This plugin adds a selectPageAfter method to the generated mapper
+ * interface. The method returns the rows that follow a key in key order - a
+ * page of at most <code>limit</code> rows:
+ * 
+ * <pre>
+ * select ... from T where ID &gt; #{lastKey} order by ID limit #{limit}
+ * </pre>
+ * 
+ * Unlike offset pagination, the database seeks the start of every page in the
+ * index of the key columns, so the cost of a page does not grow with its
+ * position. Pass null as lastKey to read the first page, then the key of the
+ * last row of each page to read the next page.
+ * 
+ * <p>Compound keys are compared column by column -
+ * <code>A &gt; ? or (A = ? and B &gt; ?)</code> - because row value
+ * comparisons are not supported by every database.
+ * 
+ * <p>The statement uses the columns and the result mapping of the
+ * selectByExample statement (without BLOBs), so it is only generated for
+ * tables that have a selectByExample statement. This plugin is only valid
+ * for MyBatis3.
+ * 
+ * <p>This plugin requires one property:
+ * <ul>
+ * <li><tt>dialect</tt> (required) the database - see the
+ * {@link PaginationPlugin} for the supported values.</li>
+ * </ul>
+ * 
+ * <p>The key columns can be specified with a table property:
+ * <ul>
+ * <li><tt>keysetColumns</tt> (optional) comma delimited list of the key
+ * columns. The columns must be unique and not nullable - for example the
+ * columns of a unique index. If not specified, the primary key columns are
+ * used. If a column is not found, the method is not generated.</li>
+ * </ul>
+ */
+@ThreadSafe
+public class KeysetPaginationPlugin extends PluginAdapter {
+
+    private PaginationStyle style;
+    private Map<FullyQualifiedTable, List<XmlElement>> elementsToAdd;
+
+    public KeysetPaginationPlugin() {
+        // written and read for different tables by parallel generation threads
+        elementsToAdd = new ConcurrentHashMap<FullyQualifiedTable, List<XmlElement>>();
+    }
+
+    public boolean validate(List<String> warnings) {
+        String dialect = properties.getProperty("dialect"); //$NON-NLS-1$
+        if (!stringHasValue(dialect)) {
+            warnings.add(getString("ValidationError.18", //$NON-NLS-1$
+                    "KeysetPaginationPlugin", //$NON-NLS-1$
+                    "dialect")); //$NON-NLS-1$
+            return false;
+        }
+
+        style = PaginationStyle.getStyle(dialect);
+        if (style == null) {
+            warnings.add(getString("ValidationError.30", //$NON-NLS-1$
+                    "KeysetPaginationPlugin", //$NON-NLS-1$
+                    dialect));
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean clientSelectByExampleWithoutBLOBsMethodGenerated(
+            Method method, Interface interfaze,
+            IntrospectedTable introspectedTable) {
+        List<IntrospectedColumn> keyColumns = getKeyColumns(introspectedTable);
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3
+                && keyColumns != null) {
+            copyAndAddMethod(method, interfaze, introspectedTable, keyColumns);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        List<IntrospectedColumn> keyColumns = getKeyColumns(introspectedTable);
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3
+                && keyColumns != null) {
+            saveElement(element, introspectedTable, keyColumns);
+        }
+        return true;
+    }
+
+    /**
+     * We'll override this method and add any new elements generated by
+     * previous calls
+     */
+    @Override
+    public boolean sqlMapDocumentGenerated(Document document,
+            IntrospectedTable introspectedTable) {
+        List<XmlElement> elements = elementsToAdd.get(introspectedTable.getFullyQualifiedTable());
+        if (elements != null) {
+            for (XmlElement element : elements) {
+                document.getRootElement().addElement(element);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the key columns of a table - the columns of the keysetColumns
+     * table property, or the primary key columns.
+     * 
+     * @return the key columns, or null if the table has no key columns
+     */
+    private List<IntrospectedColumn> getKeyColumns(
+            IntrospectedTable introspectedTable) {
+        String keysetColumns = introspectedTable
+                .getTableConfigurationProperty("keysetColumns"); //$NON-NLS-1$
+        if (!stringHasValue(keysetColumns)) {
+            List<IntrospectedColumn> answer = introspectedTable
+                    .getPrimaryKeyColumns();
+            return answer.isEmpty() ? null : answer;
+        }
+
+        List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
+        StringTokenizer st = new StringTokenizer(keysetColumns, ","); //$NON-NLS-1$
+        while (st.hasMoreTokens()) {
+            IntrospectedColumn introspectedColumn = introspectedTable
+                    .getColumn(st.nextToken().trim());
+            if (introspectedColumn == null) {
+                return null;
+            }
+            answer.add(introspectedColumn);
+        }
+
+        return answer.isEmpty() ? null : answer;
+    }
+
+    /**
+     * Returns the type of the lastKey parameter: the type of the column for a
+     * single key column, the primary key class for the primary key columns,
+     * and else the record class - which has all the key fields.
+     */
+    private FullyQualifiedJavaType getKeyType(
+            IntrospectedTable introspectedTable,
+            List<IntrospectedColumn> keyColumns) {
+        if (isSingleValue(keyColumns)) {
+            return keyColumns.get(0).getFullyQualifiedJavaType();
+        } else if (!stringHasValue(introspectedTable
+                .getTableConfigurationProperty("keysetColumns")) //$NON-NLS-1$
+                && introspectedTable.getRules().generatePrimaryKeyClass()) {
+            return new FullyQualifiedJavaType(
+                    introspectedTable.getPrimaryKeyType());
+        } else {
+            return introspectedTable.getRules().calculateAllFieldsClass();
+        }
+    }
+
+    private static boolean isSingleValue(List<IntrospectedColumn> keyColumns) {
+        return keyColumns.size() == 1;
+    }
+
+    /**
+     * Use the method copy constructor to create a new method with the
+     * lastKey and limit parameters. Annotated mappers get the statement in a
+     * script that replaces the select provider.
+     */
+    private void copyAndAddMethod(Method method, Interface interfaze,
+            IntrospectedTable introspectedTable,
+            List<IntrospectedColumn> keyColumns) {
+        FullyQualifiedJavaType keyType = getKeyType(introspectedTable,
+                keyColumns);
+        FullyQualifiedJavaType param = new FullyQualifiedJavaType(
+                "org.apache.ibatis.annotations.Param"); //$NON-NLS-1$
+
+        Method newMethod = new Method(method);
+        newMethod.setName("selectPageAfter"); //$NON-NLS-1$
+        newMethod.getParameters().clear();
+        newMethod.addParameter(new Parameter(keyType, "lastKey", //$NON-NLS-1$
+                "@Param(\"lastKey\")")); //$NON-NLS-1$
+        newMethod.addParameter(new Parameter(FullyQualifiedJavaType
+                .getIntInstance(), "limit", "@Param(\"limit\")")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        List<String> annotations = newMethod.getAnnotations();
+        for (int i = 0; i < annotations.size(); i++) {
+            if (annotations.get(i).startsWith("@SelectProvider")) { //$NON-NLS-1$
+                annotations.remove(i);
+                annotations.addAll(i, getSelectAnnotation(introspectedTable,
+                        keyColumns));
+                interfaze.addImportedType(new FullyQualifiedJavaType(
+                        "org.apache.ibatis.annotations.Select")); //$NON-NLS-1$
+                break;
+            }
+        }
+
+        interfaze.addMethod(newMethod);
+        interfaze.addImportedType(keyType);
+        interfaze.addImportedType(param);
+    }
+
+    private List<String> getSelectAnnotation(
+            IntrospectedTable introspectedTable,
+            List<IntrospectedColumn> keyColumns) {
+        List<String> answer = new ArrayList<String>();
+        answer.add("@Select({"); //$NON-NLS-1$
+        answer.add(getAnnotationLine("<script>")); //$NON-NLS-1$
+        if (style == PaginationStyle.ROWNUM) {
+            answer.add(getAnnotationLine("select * from (")); //$NON-NLS-1$
+        }
+        answer.add(getAnnotationLine("select")); //$NON-NLS-1$
+
+        Iterator<IntrospectedColumn> iter = introspectedTable
+                .getNonBLOBColumns().iterator();
+        StringBuilder sb = new StringBuilder();
+        while (iter.hasNext()) {
+            sb.append(getSelectListPhrase(iter.next()));
+
+            if (iter.hasNext()) {
+                sb.append(", "); //$NON-NLS-1$
+            }
+
+            if (sb.length() > 80) {
+                answer.add(getAnnotationLine(sb.toString()));
+                sb.setLength(0);
+            }
+        }
+
+        if (sb.length() > 0) {
+            answer.add(getAnnotationLine(sb.toString()));
+        }
+
+        answer.add(getAnnotationLine("from " //$NON-NLS-1$
+                + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()));
+
+        for (Element element : getSeekElements(keyColumns)) {
+            for (String line : element.getFormattedContent(0).split("\\r?\\n")) { //$NON-NLS-1$
+                answer.add(getAnnotationLine(line.trim()));
+            }
+        }
+
+        sb.setLength(0);
+        javaIndent(sb, 1);
+        sb.append("\"</script>\""); //$NON-NLS-1$
+        answer.add(sb.toString());
+        answer.add("})"); //$NON-NLS-1$
+
+        return answer;
+    }
+
+    private static String getAnnotationLine(String line) {
+        StringBuilder sb = new StringBuilder();
+        javaIndent(sb, 1);
+        sb.append('"');
+        sb.append(escapeStringForJava(line));
+        sb.append("\","); //$NON-NLS-1$
+        return sb.toString();
+    }
+
+    /**
+     * Creates the selectPageAfter element with the result map of the
+     * selectByExample element, and saves it locally. We'll add it to the
+     * document later.
+     */
+    private void saveElement(XmlElement element,
+            IntrospectedTable introspectedTable,
+            List<IntrospectedColumn> keyColumns) {
+        XmlElement newElement = new XmlElement("select"); //$NON-NLS-1$
+        newElement.addAttribute(new Attribute("id", "selectPageAfter")); //$NON-NLS-1$ //$NON-NLS-2$
+        for (Attribute attribute : element.getAttributes()) {
+            if ("resultMap".equals(attribute.getName())) { //$NON-NLS-1$
+                newElement.addAttribute(attribute);
+            }
+        }
+        newElement.addAttribute(new Attribute("parameterType", "map")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        context.getCommentGenerator().addComment(newElement);
+
+        if (style == PaginationStyle.ROWNUM) {
+            newElement.addElement(new TextElement("select * from (")); //$NON-NLS-1$
+        }
+        newElement.addElement(new TextElement("select")); //$NON-NLS-1$
+        XmlElement include = new XmlElement("include"); //$NON-NLS-1$
+        include.addAttribute(new Attribute("refid", //$NON-NLS-1$
+                introspectedTable.getBaseColumnListId()));
+        newElement.addElement(include);
+        newElement.addElement(new TextElement("from " //$NON-NLS-1$
+                + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime()));
+
+        for (Element seekElement : getSeekElements(keyColumns)) {
+            newElement.addElement(seekElement);
+        }
+
+        FullyQualifiedTable fqt = introspectedTable.getFullyQualifiedTable();
+        List<XmlElement> elements = elementsToAdd.get(fqt);
+        if (elements == null) {
+            elements = new ArrayList<XmlElement>();
+            elementsToAdd.put(fqt, elements);
+        }
+        elements.add(newElement);
+    }
+
+    /**
+     * Returns the where, order by and limit clauses of the statement.
+     */
+    private List<Element> getSeekElements(List<IntrospectedColumn> keyColumns) {
+        List<Element> answer = new ArrayList<Element>();
+
+        XmlElement ifElement = new XmlElement("if"); //$NON-NLS-1$
+        ifElement.addAttribute(new Attribute("test", "lastKey != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        StringBuilder sb = new StringBuilder();
+        sb.append("where "); //$NON-NLS-1$
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                sb.append(" or ("); //$NON-NLS-1$
+            }
+            for (int j = 0; j < i; j++) {
+                sb.append(getAliasedEscapedColumnName(keyColumns.get(j)));
+                sb.append(" = "); //$NON-NLS-1$
+                sb.append(getKeyParameterClause(keyColumns, j));
+                sb.append(" and "); //$NON-NLS-1$
+            }
+            sb.append(getAliasedEscapedColumnName(keyColumns.get(i)));
+            sb.append(" &gt; "); //$NON-NLS-1$
+            sb.append(getKeyParameterClause(keyColumns, i));
+            if (i > 0) {
+                sb.append(')');
+            }
+        }
+        ifElement.addElement(new TextElement(sb.toString()));
+        answer.add(ifElement);
+
+        sb.setLength(0);
+        sb.append("order by "); //$NON-NLS-1$
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) {
+                sb.append(", "); //$NON-NLS-1$
+            }
+            sb.append(getAliasedEscapedColumnName(keyColumns.get(i)));
+        }
+        answer.add(new TextElement(sb.toString()));
+
+        switch (style) {
+        case LIMIT_OFFSET:
+            answer.add(new TextElement("limit #{limit}")); //$NON-NLS-1$
+            break;
+        case OFFSET_FETCH:
+            answer.add(new TextElement("fetch first #{limit} rows only")); //$NON-NLS-1$
+            break;
+        case SQLSERVER:
+            answer.add(new TextElement("offset 0 rows fetch next #{limit} rows only")); //$NON-NLS-1$
+            break;
+        case ROWNUM:
+            answer.add(new TextElement(") where rownum &lt;= #{limit}")); //$NON-NLS-1$
+            break;
+        }
+
+        return answer;
+    }
+
+    private static String getKeyParameterClause(
+            List<IntrospectedColumn> keyColumns, int index) {
+        IntrospectedColumn introspectedColumn = keyColumns.get(index);
+        if (!isSingleValue(keyColumns)) {
+            return getParameterClause(introspectedColumn, "lastKey."); //$NON-NLS-1$
+        }
+
+        // the parameter is the key value itself
+        StringBuilder sb = new StringBuilder();
+        sb.append("#{lastKey,jdbcType="); //$NON-NLS-1$
+        sb.append(introspectedColumn.getJdbcTypeName());
+
+        if (stringHasValue(introspectedColumn.getTypeHandler())) {
+            sb.append(",typeHandler="); //$NON-NLS-1$
+            sb.append(introspectedColumn.getTypeHandler());
+        }
+
+        sb.append('}');
+
+        return sb.toString();
+    }
+}
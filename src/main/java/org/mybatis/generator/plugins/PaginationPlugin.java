@@ -0,0 +1,338 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.plugins;
+
+import static org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities.getAliasedEscapedColumnName;
+import static org.mybatis.generator.internal.util.StringUtility.escapeStringForJava;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.IntrospectedTable.TargetRuntime;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
+import org.mybatis.generator.api.dom.java.Field;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.db.DatabaseDialects;
+
+/**
+ * This plugin adds <code>limit</code> and <code>offset</code> properties to the
+ * generated example classes, and adds the matching pagination clause to the
+ * selectByExample statements. Unlike the {@link RowBoundsPlugin}, the database
+ * skips the rows - so the rows before the page are never sent to the client.
+ * This plugin is only valid for MyBatis3.
+ * 
+ * <p>The <code>offset</code> is only used together with the <code>limit</code>.
+ * SQL Server requires an order by clause for pagination - if the example has
+ * no <code>orderByClause</code>, the rows are ordered by the primary key (or
+ * by <code>(select null)</code> if the table has no primary key).
+ * 
+ * <p>This plugin requires one property:
+ * <ul>
+ * <li><tt>dialect</tt> (required) the database. This can be the name of any
+ * {@link DatabaseDialects} that supports pagination (DB2, DB2_MF, MySQL,
+ * SqlServer, Cloudscape, Derby, HSQLDB), or one of Oracle, PostgreSQL, H2 or
+ * SQLite.</li>
+ * </ul>
+ */
+@ThreadSafe
+public class PaginationPlugin extends PluginAdapter {
+
+    private PaginationStyle style;
+
+    public PaginationPlugin() {
+        super();
+    }
+
+    public boolean validate(List<String> warnings) {
+        String dialect = properties.getProperty("dialect"); //$NON-NLS-1$
+        if (!stringHasValue(dialect)) {
+            warnings.add(getString("ValidationError.18", //$NON-NLS-1$
+                    "PaginationPlugin", //$NON-NLS-1$
+                    "dialect")); //$NON-NLS-1$
+            return false;
+        }
+
+        style = PaginationStyle.getStyle(dialect);
+        if (style == null) {
+            warnings.add(getString("ValidationError.30", //$NON-NLS-1$
+                    "PaginationPlugin", //$NON-NLS-1$
+                    dialect));
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean modelExampleClassGenerated(TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable) {
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+            addProperty(topLevelClass, introspectedTable, "limit"); //$NON-NLS-1$
+            addProperty(topLevelClass, introspectedTable, "offset"); //$NON-NLS-1$
+
+            for (Method method : topLevelClass.getMethods()) {
+                if ("clear".equals(method.getName()) //$NON-NLS-1$
+                        && method.getParameters().isEmpty()) {
+                    method.addBodyLine("limit = null;"); //$NON-NLS-1$
+                    method.addBodyLine("offset = null;"); //$NON-NLS-1$
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+            addPagination(element, introspectedTable);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean sqlMapSelectByExampleWithBLOBsElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+            addPagination(element, introspectedTable);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean providerSelectByExampleWithoutBLOBsMethodGenerated(
+            Method method, TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable) {
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+            addPagination(method, introspectedTable);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean providerSelectByExampleWithBLOBsMethodGenerated(
+            Method method, TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable) {
+        if (introspectedTable.getTargetRuntime() == TargetRuntime.MYBATIS3) {
+            addPagination(method, introspectedTable);
+        }
+        return true;
+    }
+
+    private void addProperty(TopLevelClass topLevelClass,
+            IntrospectedTable introspectedTable, String name) {
+        FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+                "java.lang.Integer"); //$NON-NLS-1$
+        String suffix = Character.toUpperCase(name.charAt(0))
+                + name.substring(1);
+
+        Field field = new Field();
+        field.setVisibility(JavaVisibility.PROTECTED);
+        field.setType(type);
+        field.setName(name);
+        context.getCommentGenerator().addFieldComment(field, introspectedTable);
+        topLevelClass.addField(field);
+
+        Method method = new Method();
+        method.setVisibility(JavaVisibility.PUBLIC);
+        method.setName("set" + suffix); //$NON-NLS-1$
+        method.addParameter(new Parameter(type, name));
+        method.addBodyLine("this." + name + " = " + name + ';'); //$NON-NLS-1$ //$NON-NLS-2$
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+        topLevelClass.addMethod(method);
+
+        method = new Method();
+        method.setVisibility(JavaVisibility.PUBLIC);
+        method.setReturnType(type);
+        method.setName("get" + suffix); //$NON-NLS-1$
+        method.addBodyLine("return " + name + ';'); //$NON-NLS-1$
+        context.getCommentGenerator().addGeneralMethodComment(method,
+                introspectedTable);
+        topLevelClass.addMethod(method);
+    }
+
+    /**
+     * Adds the pagination clause to a selectByExample element. The limit and
+     * offset are read from the example parameter, so the clause is only
+     * added to the SQL when a limit is set.
+     * 
+     * @param element
+     *            the generated &lt;select&gt; element
+     * @param introspectedTable
+     *            the table
+     */
+    private void addPagination(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        XmlElement ifLimit = new XmlElement("if"); //$NON-NLS-1$
+        ifLimit.addAttribute(new Attribute("test", "limit != null")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        switch (style) {
+        case LIMIT_OFFSET:
+            ifLimit.addElement(new TextElement("limit #{limit}")); //$NON-NLS-1$
+            ifLimit.addElement(getIfElement("offset != null", //$NON-NLS-1$
+                    "offset #{offset}")); //$NON-NLS-1$
+            break;
+        case OFFSET_FETCH:
+            ifLimit.addElement(getIfElement("offset != null", //$NON-NLS-1$
+                    "offset #{offset} rows")); //$NON-NLS-1$
+            ifLimit.addElement(new TextElement(
+                    "fetch first #{limit} rows only")); //$NON-NLS-1$
+            break;
+        case SQLSERVER:
+            ifLimit.addElement(getIfElement("orderByClause == null", //$NON-NLS-1$
+                    "order by " + getDefaultOrderBy(introspectedTable))); //$NON-NLS-1$
+            ifLimit.addElement(getIfElement("offset == null", //$NON-NLS-1$
+                    "offset 0 rows")); //$NON-NLS-1$
+            ifLimit.addElement(getIfElement("offset != null", //$NON-NLS-1$
+                    "offset #{offset} rows")); //$NON-NLS-1$
+            ifLimit.addElement(new TextElement(
+                    "fetch next #{limit} rows only")); //$NON-NLS-1$
+            break;
+        case ROWNUM:
+            XmlElement ifPrefix = getIfElement("limit != null", //$NON-NLS-1$
+                    "select * from (select row_.*, rownum rownum_ from ("); //$NON-NLS-1$
+            element.addElement(getSelectIndex(element), ifPrefix);
+
+            ifLimit.addElement(getIfElement("offset == null", //$NON-NLS-1$
+                    ") row_ where rownum &lt;= #{limit})")); //$NON-NLS-1$
+            ifLimit.addElement(getIfElement("offset != null", //$NON-NLS-1$
+                    ") row_ where rownum &lt;= #{offset} + #{limit}) where rownum_ &gt; #{offset}")); //$NON-NLS-1$
+            break;
+        }
+
+        element.addElement(ifLimit);
+    }
+
+    private static XmlElement getIfElement(String test, String content) {
+        XmlElement answer = new XmlElement("if"); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("test", test)); //$NON-NLS-1$
+        answer.addElement(new TextElement(content));
+        return answer;
+    }
+
+    /**
+     * Returns the order by list used when the example has no order by clause.
+     * The primary key makes the pages stable; without one, SQL Server accepts
+     * <code>(select null)</code> for an unspecified order.
+     */
+    private static String getDefaultOrderBy(IntrospectedTable introspectedTable) {
+        List<IntrospectedColumn> columns = introspectedTable.getPrimaryKeyColumns();
+        if (columns.isEmpty()) {
+            return "(select null)"; //$NON-NLS-1$
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (IntrospectedColumn column : columns) {
+            if (sb.length() > 0) {
+                sb.append(", "); //$NON-NLS-1$
+            }
+            sb.append(getAliasedEscapedColumnName(column));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the start of the select statement - the elements before it are
+     * the generated comment.
+     */
+    private static int getSelectIndex(XmlElement element) {
+        List<Element> elements = element.getElements();
+        for (int i = 0; i < elements.size(); i++) {
+            Element child = elements.get(i);
+            if (child instanceof TextElement
+                    && ((TextElement) child).getContent().startsWith("select")) { //$NON-NLS-1$
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Adds the pagination clause to a selectByExample method of the SQL
+     * provider. The generated method ends with a return statement that
+     * builds the SQL - the statement is saved in a local variable instead, so
+     * the clause can be added.
+     * 
+     * @param method
+     *            the generated provider method
+     * @param introspectedTable
+     *            the table
+     */
+    private void addPagination(Method method,
+            IntrospectedTable introspectedTable) {
+        List<String> bodyLines = method.getBodyLines();
+        String returnLine = bodyLines.remove(bodyLines.size() - 1);
+        String expression = returnLine.substring("return ".length(), //$NON-NLS-1$
+                returnLine.length() - 1);
+
+        method.addBodyLine("String statement = " + expression + ';'); //$NON-NLS-1$
+        method.addBodyLine("if (example != null && example.getLimit() != null) {"); //$NON-NLS-1$
+
+        switch (style) {
+        case LIMIT_OFFSET:
+            method.addBodyLine("statement += \" limit #{limit}\";"); //$NON-NLS-1$
+            method.addBodyLine("if (example.getOffset() != null) {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" offset #{offset}\";"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            break;
+        case OFFSET_FETCH:
+            method.addBodyLine("if (example.getOffset() != null) {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" offset #{offset} rows\";"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" fetch first #{limit} rows only\";"); //$NON-NLS-1$
+            break;
+        case SQLSERVER:
+            method.addBodyLine("if (example.getOrderByClause() == null) {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" order by " //$NON-NLS-1$
+                    + escapeStringForJava(getDefaultOrderBy(introspectedTable))
+                    + "\";"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine("if (example.getOffset() != null) {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" offset #{offset} rows\";"); //$NON-NLS-1$
+            method.addBodyLine("} else {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" offset 0 rows\";"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            method.addBodyLine("statement += \" fetch next #{limit} rows only\";"); //$NON-NLS-1$
+            break;
+        case ROWNUM:
+            method.addBodyLine("statement = \"select * from (select row_.*, rownum rownum_ from (\" + statement;"); //$NON-NLS-1$
+            method.addBodyLine("if (example.getOffset() != null) {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \") row_ where rownum <= #{offset} + #{limit}) where rownum_ > #{offset}\";"); //$NON-NLS-1$
+            method.addBodyLine("} else {"); //$NON-NLS-1$
+            method.addBodyLine("statement += \") row_ where rownum <= #{limit})\";"); //$NON-NLS-1$
+            method.addBodyLine("}"); //$NON-NLS-1$
+            break;
+        }
+
+        method.addBodyLine("}"); //$NON-NLS-1$
+        method.addBodyLine("return statement;"); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.plugins;
+
+import org.mybatis.generator.internal.db.DatabaseDialects;
+
+/**
+ * The pagination clauses known by the pagination plugins.
+ */
+enum PaginationStyle {
+    /** limit ... offset ... */
+    LIMIT_OFFSET,
+    /** offset ... rows fetch first ... rows only (SQL:2008) */
+    OFFSET_FETCH,
+    /** offset ... rows fetch next ... rows only, the offset is required */
+    SQLSERVER,
+    /** nested queries that filter on rownum */
+    ROWNUM;
+
+    /**
+     * Returns the pagination style of a database.
+     * 
+     * @param dialect
+     *            the name of a {@link DatabaseDialects}, or one of Oracle,
+     *            PostgreSQL, H2 or SQLite
+     * @return the pagination style, or null if the database is unknown or
+     *         does not support pagination
+     */
+    static PaginationStyle getStyle(String dialect) {
+        DatabaseDialects databaseDialect = DatabaseDialects
+                .getDatabaseDialect(dialect);
+        if (databaseDialect != null) {
+            switch (databaseDialect) {
+            case MYSQL:
+            case HSQLDB:
+                return LIMIT_OFFSET;
+            case DB2:
+            case DB2_MF:
+            case CLOUDSCAPE:
+            case DERBY:
+                return OFFSET_FETCH;
+            case SQLSERVER:
+                return SQLSERVER;
+            default:
+                return null;
+            }
+        }
+
+        if ("PostgreSQL".equalsIgnoreCase(dialect) //$NON-NLS-1$
+                || "H2".equalsIgnoreCase(dialect) //$NON-NLS-1$
+                || "SQLite".equalsIgnoreCase(dialect)) { //$NON-NLS-1$
+            return LIMIT_OFFSET;
+        } else if ("Oracle".equalsIgnoreCase(dialect)) { //$NON-NLS-1$
+            return ROWNUM;
+        }
+
+        return null;
+    }
+}
@@ -23,6 +23,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
 import org.mybatis.generator.api.IntrospectedTable;
 
 /**
@@ -51,6 +52,7 @@ import org.mybatis.generator.api.IntrospectedTable;
  * @author Jeff Butler
  * 
  */
+@ThreadSafe
 public class RenameExampleClassPlugin extends PluginAdapter {
     private String searchString;
     private String replaceString;
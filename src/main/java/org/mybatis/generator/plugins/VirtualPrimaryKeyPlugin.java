@@ -20,6 +20,7 @@ import java.util.StringTokenizer;
 
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
 
 /**
  * This plugin can be used to specify columns that act as a primary key, even if
@@ -34,6 +35,7 @@ import org.mybatis.generator.api.PluginAdapter;
  * @author Jeff Butler
  * 
  */
+@ThreadSafe
 public class VirtualPrimaryKeyPlugin extends PluginAdapter {
 
     /* (non-Javadoc)
@@ -0,0 +1,222 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+/**
+ * Renders a statement of a generated XML mapper to the SQL that MyBatis would
+ * run for a parameter, so that tests can check the SQL rather than the XML.
+ *
+ * <p>Only the dynamic SQL that generated statements use is supported. The
+ * parameter is a map of property names to values. A test expression is one
+ * or more of these terms joined with "and": <code>name</code> (a Boolean),
+ * <code>name != null</code>, <code>name == null</code>,
+ * <code>!name.isEmpty()</code> (a Collection), and inside a foreach
+ * <code>index != 0</code>, <code>index % n == 0</code> and
+ * <code>index % n != 0</code>. Parameter references are rendered without
+ * their options, and foreach items are replaced by the collection element -
+ * so <code>#{item.id,jdbcType=INTEGER}</code> becomes
+ * <code>#{list[0].id}</code>. White space is collapsed to single spaces, and
+ * removed before commas and closing parentheses and after opening
+ * parentheses.
+ */
+public class DynamicSqlRenderer {
+
+    private static final Pattern PARAMETER = Pattern.compile("#\\{([^,}]*)[^}]*\\}");
+
+    private static final Pattern SUBSTITUTION = Pattern.compile("\\$\\{([^}]*)\\}");
+
+    private static final Pattern MODULO = Pattern.compile("index % (\\d+) (==|!=) 0");
+
+    private Document document;
+
+    private Map<String, ?> parameter;
+
+    private DynamicSqlRenderer(Document document, Map<String, ?> parameter) {
+        this.document = document;
+        this.parameter = parameter;
+    }
+
+    /**
+     * Renders a statement of a mapper.
+     *
+     * @param mapper
+     *            the formatted content of the mapper file
+     * @param id
+     *            the id of the statement
+     * @param parameter
+     *            the properties of the parameter
+     * @return the SQL
+     * @throws Exception
+     *             if the mapper cannot be parsed
+     */
+    public static String render(String mapper, String id,
+            Map<String, ?> parameter) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setValidating(false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document document = builder.parse(new InputSource(new StringReader(mapper)));
+
+        DynamicSqlRenderer renderer = new DynamicSqlRenderer(document, parameter);
+        StringBuilder sb = new StringBuilder();
+        renderer.renderChildren(renderer.getChild(id), null, -1, sb);
+        return sb.toString().replaceAll("\\s+", " ").replaceAll(" ([,)])", "$1")
+                .replace("( ", "(").trim();
+    }
+
+    private Element getChild(String id) {
+        NodeList nodes = document.getDocumentElement().getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node instanceof Element && id.equals(((Element) node).getAttribute("id"))) {
+                return (Element) node;
+            }
+        }
+
+        throw new IllegalArgumentException("No statement " + id);
+    }
+
+    private void renderChildren(Element element, Element foreach, int index,
+            StringBuilder sb) {
+        NodeList nodes = element.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node.getNodeType() == Node.TEXT_NODE
+                    || node.getNodeType() == Node.CDATA_SECTION_NODE) {
+                sb.append(' ');
+                sb.append(renderText(node.getNodeValue(), foreach, index));
+                sb.append(' ');
+            } else if (node instanceof Element) {
+                renderElement((Element) node, foreach, index, sb);
+            }
+        }
+    }
+
+    private void renderElement(Element element, Element foreach, int index,
+            StringBuilder sb) {
+        String name = element.getTagName();
+        if ("include".equals(name)) {
+            renderChildren(getChild(element.getAttribute("refid")), foreach, index, sb);
+        } else if ("if".equals(name)) {
+            if (evaluate(element.getAttribute("test"), index)) {
+                renderChildren(element, foreach, index, sb);
+            }
+        } else if ("choose".equals(name)) {
+            NodeList nodes = element.getElementsByTagName("*");
+            for (int i = 0; i < nodes.getLength(); i++) {
+                Element child = (Element) nodes.item(i);
+                if (child.getParentNode() != element) {
+                    continue;
+                }
+
+                if ("otherwise".equals(child.getTagName())
+                        || evaluate(child.getAttribute("test"), index)) {
+                    renderChildren(child, foreach, index, sb);
+                    break;
+                }
+            }
+        } else if ("foreach".equals(name)) {
+            Collection<?> collection = (Collection<?>) parameter.get(element.getAttribute("collection"));
+            sb.append(' ');
+            sb.append(element.getAttribute("open"));
+            for (int i = 0; i < collection.size(); i++) {
+                if (i > 0) {
+                    sb.append(element.getAttribute("separator"));
+                }
+                renderChildren(element, element, i, sb);
+            }
+            sb.append(element.getAttribute("close"));
+            sb.append(' ');
+        } else {
+            throw new IllegalArgumentException("Unsupported element " + name);
+        }
+    }
+
+    private String renderText(String text, Element foreach, int index) {
+        StringBuffer sb = new StringBuffer();
+        Matcher matcher = PARAMETER.matcher(text);
+        while (matcher.find()) {
+            String expression = matcher.group(1);
+            if (foreach != null) {
+                String item = foreach.getAttribute("item");
+                String element = foreach.getAttribute("collection") + '[' + index + ']';
+                if (expression.equals(item)) {
+                    expression = element;
+                } else if (expression.startsWith(item + '.')) {
+                    expression = element + expression.substring(item.length());
+                }
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement("#{" + expression + '}'));
+        }
+        matcher.appendTail(sb);
+
+        String answer = sb.toString();
+        sb.setLength(0);
+        matcher = SUBSTITUTION.matcher(answer);
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(
+                    String.valueOf(parameter.get(matcher.group(1)))));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private boolean evaluate(String test, int index) {
+        for (String term : test.split(" and ")) {
+            if (!evaluateTerm(term.trim(), index)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean evaluateTerm(String term, int index) {
+        Matcher matcher = MODULO.matcher(term);
+        if (matcher.matches()) {
+            boolean zero = index % Integer.parseInt(matcher.group(1)) == 0;
+            return "==".equals(matcher.group(2)) ? zero : !zero;
+        } else if ("index != 0".equals(term)) {
+            return index != 0;
+        } else if (term.endsWith(" != null")) {
+            return parameter.get(term.substring(0, term.length() - 8)) != null;
+        } else if (term.endsWith(" == null")) {
+            return parameter.get(term.substring(0, term.length() - 8)) == null;
+        } else if (term.startsWith("!") && term.endsWith(".isEmpty()")) {
+            return !((Collection<?>) parameter.get(term.substring(1,
+                    term.length() - 10))).isEmpty();
+        } else if (term.matches("\\w+")) {
+            return Boolean.TRUE.equals(parameter.get(term));
+        }
+
+        throw new IllegalArgumentException("Unsupported test " + term);
+    }
+}
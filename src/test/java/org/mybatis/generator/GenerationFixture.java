@@ -0,0 +1,237 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.FullyQualifiedTable;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JavaClientGeneratorConfiguration;
+import org.mybatis.generator.config.JavaModelGeneratorConfiguration;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.SqlMapGeneratorConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.NullProgressCallback;
+import org.mybatis.generator.internal.ObjectFactory;
+
+/**
+ * Generates code for tables that are built in memory, so that generated
+ * statements can be checked without a database.
+ *
+ * <p>Every table has the columns ID (INTEGER), NAME (VARCHAR), AMOUNT
+ * (DECIMAL) and NOTES (CLOB). Tables with a composite key also have an ID2
+ * (VARCHAR) column, and the key is (ID, ID2) rather than (ID).
+ */
+public class GenerationFixture {
+
+    private GenerationFixture() {
+    }
+
+    /**
+     * Creates a MyBatis3 context.
+     *
+     * @param clientType
+     *            the Java client type (XMLMAPPER, ANNOTATEDMAPPER...), or
+     *            null for no Java client
+     * @return the context
+     */
+    public static Context createContext(String clientType) {
+        Context context = new Context(ModelType.CONDITIONAL);
+        context.setId("fixture");
+        context.setTargetRuntime("MyBatis3");
+
+        JavaModelGeneratorConfiguration javaModelGeneratorConfiguration = new JavaModelGeneratorConfiguration();
+        javaModelGeneratorConfiguration.setTargetPackage("test.model");
+        javaModelGeneratorConfiguration.setTargetProject("src");
+        context.setJavaModelGeneratorConfiguration(javaModelGeneratorConfiguration);
+
+        SqlMapGeneratorConfiguration sqlMapGeneratorConfiguration = new SqlMapGeneratorConfiguration();
+        sqlMapGeneratorConfiguration.setTargetPackage("test.mapper");
+        sqlMapGeneratorConfiguration.setTargetProject("src");
+        context.setSqlMapGeneratorConfiguration(sqlMapGeneratorConfiguration);
+
+        if (clientType != null) {
+            JavaClientGeneratorConfiguration javaClientGeneratorConfiguration = new JavaClientGeneratorConfiguration();
+            javaClientGeneratorConfiguration.setConfigurationType(clientType);
+            javaClientGeneratorConfiguration.setTargetPackage("test.mapper");
+            javaClientGeneratorConfiguration.setTargetProject("src");
+            context.setJavaClientGeneratorConfiguration(javaClientGeneratorConfiguration);
+        }
+
+        return context;
+    }
+
+    /**
+     * Adds a table configuration to a context.
+     *
+     * @param context
+     *            the context
+     * @param tableName
+     *            the table name
+     * @return the table configuration, so that properties can be added
+     */
+    public static TableConfiguration addTableConfiguration(Context context,
+            String tableName) {
+        TableConfiguration tableConfiguration = new TableConfiguration(context);
+        tableConfiguration.setTableName(tableName);
+        context.addTableConfiguration(tableConfiguration);
+        return tableConfiguration;
+    }
+
+    /**
+     * Creates an introspected table as the database introspector would.
+     *
+     * @param context
+     *            the context
+     * @param tableConfiguration
+     *            the table configuration
+     * @param compositeKey
+     *            true for the key (ID, ID2), false for the key (ID)
+     * @return the introspected table
+     */
+    public static IntrospectedTable createIntrospectedTable(Context context,
+            TableConfiguration tableConfiguration, boolean compositeKey) {
+        FullyQualifiedTable table = new FullyQualifiedTable(null, null,
+                tableConfiguration.getTableName(), null, null, false, null,
+                null, null, false, context);
+        IntrospectedTable introspectedTable = ObjectFactory
+                .createIntrospectedTable(tableConfiguration, table, context);
+
+        introspectedTable.addColumn(createColumn(context, "ID", Types.INTEGER,
+                "INTEGER", "java.lang.Integer", "id"));
+        if (compositeKey) {
+            introspectedTable.addColumn(createColumn(context, "ID2",
+                    Types.VARCHAR, "VARCHAR", "java.lang.String", "id2"));
+        }
+        introspectedTable.addColumn(createColumn(context, "NAME",
+                Types.VARCHAR, "VARCHAR", "java.lang.String", "name"));
+        introspectedTable.addColumn(createColumn(context, "AMOUNT",
+                Types.DECIMAL, "DECIMAL", "java.math.BigDecimal", "amount"));
+        introspectedTable.addColumn(createColumn(context, "NOTES",
+                Types.CLOB, "CLOB", "java.lang.String", "notes"));
+
+        introspectedTable.addPrimaryKeyColumn("ID");
+        if (compositeKey) {
+            introspectedTable.addPrimaryKeyColumn("ID2");
+        }
+
+        return introspectedTable;
+    }
+
+    private static IntrospectedColumn createColumn(Context context,
+            String columnName, int jdbcType, String jdbcTypeName,
+            String javaType, String javaProperty) {
+        IntrospectedColumn introspectedColumn = ObjectFactory
+                .createIntrospectedColumn(context);
+        introspectedColumn.setActualColumnName(columnName);
+        introspectedColumn.setJdbcType(jdbcType);
+        introspectedColumn.setJdbcTypeName(jdbcTypeName);
+        introspectedColumn.setFullyQualifiedJavaType(new FullyQualifiedJavaType(
+                javaType));
+        introspectedColumn.setJavaProperty(javaProperty);
+        introspectedColumn.setNullable(true);
+        return introspectedColumn;
+    }
+
+    /**
+     * Generates the files of some tables, as a single run of the context
+     * would.
+     *
+     * @param context
+     *            the context
+     * @param tables
+     *            the introspected tables
+     * @param warnings
+     *            the warnings
+     * @return the generated Java files, followed by the generated XML files
+     * @throws InterruptedException
+     *             not thrown - the run cannot be canceled
+     */
+    public static List<GeneratedFile> generate(Context context,
+            List<IntrospectedTable> tables, List<String> warnings)
+            throws InterruptedException {
+        List<GeneratedJavaFile> generatedJavaFiles = new ArrayList<GeneratedJavaFile>();
+        List<GeneratedXmlFile> generatedXmlFiles = new ArrayList<GeneratedXmlFile>();
+
+        context.createPlugins(warnings);
+        context.generateFiles(new NullProgressCallback(), tables,
+                generatedJavaFiles, generatedXmlFiles, warnings);
+        context.generateAdditionalFiles(generatedJavaFiles, generatedXmlFiles);
+
+        List<GeneratedFile> answer = new ArrayList<GeneratedFile>();
+        answer.addAll(generatedJavaFiles);
+        answer.addAll(generatedXmlFiles);
+        return answer;
+    }
+
+    /**
+     * Returns the formatted content of a generated file.
+     *
+     * @param files
+     *            the generated files
+     * @param fileName
+     *            the file name, for example "FooMapper.xml"
+     * @return the formatted content
+     */
+    public static String getFormattedContent(List<GeneratedFile> files,
+            String fileName) {
+        for (GeneratedFile file : files) {
+            if (file.getFileName().equals(fileName)) {
+                return file.getFormattedContent();
+            }
+        }
+
+        throw new IllegalArgumentException(fileName);
+    }
+
+    /**
+     * Returns the &lt;script&gt; of an annotation of a mapper method as a
+     * mapper document, with the script as the statement "script" - so that
+     * it can be rendered by the {@link DynamicSqlRenderer}.
+     *
+     * @param client
+     *            the formatted content of the mapper interface
+     * @param annotation
+     *            the start of the annotation, for example "@Select({"
+     * @param method
+     *            the start of the method declaration
+     * @return the mapper document
+     */
+    public static String getAnnotationScript(String client, String annotation, String method) {
+        String lineSeparator = System.getProperty("line.separator");
+        int start = client.lastIndexOf(annotation, client.indexOf(method));
+        StringBuilder sb = new StringBuilder("<mapper>");
+        for (String line : client.substring(start + annotation.length()).split(lineSeparator)) {
+            line = line.trim();
+            if ("})".equals(line)) {
+                break;
+            } else if (line.length() > 0) {
+                sb.append(line.substring(1, line.lastIndexOf('"')).replace("\\\"", "\""));
+                sb.append('\n');
+            }
+        }
+        sb.append("</mapper>");
+        return sb.toString().replace("<script>", "<script id=\"script\">");
+    }
+}
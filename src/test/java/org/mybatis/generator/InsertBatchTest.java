@@ -0,0 +1,139 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.GeneratedKey;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * Tests for the SQL of the insertBatch statement.
+ */
+public class InsertBatchTest {
+
+    @Test
+    public void testThatOneRowIsInsertedPerRecord() throws Exception {
+        List<GeneratedFile> files = generate("XMLMAPPER", null, null);
+        String mapper = GenerationFixture.getFormattedContent(files, "FooMapper.xml");
+
+        assertEquals("insert into FOO (ID, NAME, AMOUNT, NOTES) values"
+                + " (#{list[0].id}, #{list[0].name}, #{list[0].amount}, #{list[0].notes})",
+                DynamicSqlRenderer.render(mapper, "insertBatch", records(1)));
+        assertEquals("insert into FOO (ID, NAME, AMOUNT, NOTES) values"
+                + " (#{list[0].id}, #{list[0].name}, #{list[0].amount}, #{list[0].notes}),"
+                + " (#{list[1].id}, #{list[1].name}, #{list[1].amount}, #{list[1].notes}),"
+                + " (#{list[2].id}, #{list[2].name}, #{list[2].amount}, #{list[2].notes})",
+                DynamicSqlRenderer.render(mapper, "insertBatch", records(3)));
+        assertTrue(mapper.contains("<insert id=\"insertBatch\" parameterType=\"java.util.List\">"));
+
+        String client = getContent(files, "FooMapper.java");
+        assertTrue(client.contains("int insertBatch(List<Foo> records);"));
+        assertFalse(client.contains("insertInBatches"));
+    }
+
+    @Test
+    public void testThatIdentityKeysAreReturnedByJdbc() throws Exception {
+        List<GeneratedFile> files = generate("XMLMAPPER",
+                new GeneratedKey("ID", "JDBC", true, null), null);
+        String mapper = GenerationFixture.getFormattedContent(files, "FooMapper.xml");
+
+        assertEquals("insert into FOO (NAME, AMOUNT, NOTES) values"
+                + " (#{list[0].name}, #{list[0].amount}, #{list[0].notes}),"
+                + " (#{list[1].name}, #{list[1].amount}, #{list[1].notes})",
+                DynamicSqlRenderer.render(mapper, "insertBatch", records(2)));
+        assertTrue(mapper.contains("<insert id=\"insertBatch\" keyColumn=\"ID\" keyProperty=\"id\""
+                + " parameterType=\"java.util.List\" useGeneratedKeys=\"true\">"));
+    }
+
+    @Test
+    public void testThatMaxRowsAddsAChunkingMethod() throws Exception {
+        List<GeneratedFile> files = generate("XMLMAPPER", null, "100");
+        String client = getContent(files, "FooMapper.java");
+
+        assertTrue(client.contains("    default int insertInBatches(List<Foo> records) {\n"
+                + "        int rows = 0;\n"
+                + "        for (int i = 0; i < records.size(); i += 100) {\n"
+                + "            rows += insertBatch(records.subList(i, Math.min(i + 100, records.size())));\n"
+                + "        }\n"
+                + "        return rows;\n"
+                + "    }"));
+    }
+
+    @Test
+    public void testThatTheProviderAppendsOneRowPerRecord() throws Exception {
+        List<GeneratedFile> files = generate("ANNOTATEDMAPPER", null, null);
+        String provider = getContent(files, "FooSqlProvider.java");
+
+        assertTrue(provider.contains("        List<?> records = (List<?>) parameter.get(\"list\");\n"
+                + "        StringBuilder sb = new StringBuilder();\n"
+                + "        sb.append(\"insert into FOO (ID, NAME, AMOUNT, NOTES) values \");\n"
+                + "        for (int i = 0; i < records.size(); i++) {\n"
+                + "            sb.append(i == 0 ? \"(\" : \", (\");\n"
+                + "            sb.append(\"#{list[\").append(i).append(\"].id,jdbcType=INTEGER}, \");\n"
+                + "            sb.append(\"#{list[\").append(i).append(\"].name,jdbcType=VARCHAR}, \");\n"
+                + "            sb.append(\"#{list[\").append(i).append(\"].amount,jdbcType=DECIMAL}, \");\n"
+                + "            sb.append(\"#{list[\").append(i).append(\"].notes,jdbcType=CLOB})\");\n"
+                + "        }\n"));
+
+        String client = getContent(files, "FooMapper.java");
+        assertTrue(client.contains("@InsertProvider(type=FooSqlProvider.class, method=\"insertBatch\")"));
+    }
+
+    private static List<GeneratedFile> generate(String clientType,
+            GeneratedKey generatedKey, String maxRows) throws Exception {
+        Context context = GenerationFixture.createContext(clientType);
+        TableConfiguration tableConfiguration = GenerationFixture
+                .addTableConfiguration(context, "FOO");
+        tableConfiguration.addProperty(PropertyRegistry.TABLE_ENABLE_INSERT_BATCH, "true");
+        if (maxRows != null) {
+            tableConfiguration.addProperty(PropertyRegistry.TABLE_INSERT_BATCH_MAX_ROWS, maxRows);
+        }
+        tableConfiguration.setGeneratedKey(generatedKey);
+
+        IntrospectedTable introspectedTable = GenerationFixture.createIntrospectedTable(
+                context, tableConfiguration, false);
+        if (generatedKey != null) {
+            // as the database introspector does
+            introspectedTable.getColumn(generatedKey.getColumn()).setIdentity(true);
+        }
+
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        tables.add(introspectedTable);
+        return GenerationFixture.generate(context, tables, new ArrayList<String>());
+    }
+
+    private static String getContent(List<GeneratedFile> files, String fileName) {
+        return GenerationFixture.getFormattedContent(files, fileName).replace(
+                System.getProperty("line.separator"), "\n");
+    }
+
+    private static Map<String, ?> records(int count) {
+        return Collections.singletonMap("list", Collections.nCopies(count, new Object()));
+    }
+}
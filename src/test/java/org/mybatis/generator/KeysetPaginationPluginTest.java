@@ -0,0 +1,152 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * Tests for the SQL of the selectPageAfter statement of the
+ * KeysetPaginationPlugin.
+ */
+public class KeysetPaginationPluginTest {
+
+    private static final String SELECT = "select ID, NAME, AMOUNT from FOO";
+
+    private static final String COMPOSITE_KEY_SELECT = "select ID, ID2, NAME, AMOUNT from FOO";
+
+    @Test
+    public void testThatTheFirstPageHasNoSeekPredicate() throws Exception {
+        String mapper = getMapper("MySQL", false, null);
+
+        assertEquals(SELECT + " order by ID limit #{limit}", render(mapper, false));
+    }
+
+    @Test
+    public void testThatEachStyleLimitsThePage() throws Exception {
+        assertEquals(SELECT + " where ID > #{lastKey} order by ID limit #{limit}",
+                render(getMapper("MySQL", false, null), true));
+        assertEquals(SELECT + " where ID > #{lastKey} order by ID fetch first #{limit} rows only",
+                render(getMapper("DB2", false, null), true));
+        assertEquals(SELECT + " where ID > #{lastKey} order by ID"
+                + " offset 0 rows fetch next #{limit} rows only",
+                render(getMapper("SqlServer", false, null), true));
+        assertEquals("select * from (" + SELECT + " where ID > #{lastKey} order by ID)"
+                + " where rownum <= #{limit}",
+                render(getMapper("Oracle", false, null), true));
+        assertEquals("select * from (" + SELECT + " order by ID) where rownum <= #{limit}",
+                render(getMapper("Oracle", false, null), false));
+    }
+
+    @Test
+    public void testThatCompositeKeysAreComparedColumnByColumn() throws Exception {
+        String mapper = getMapper("MySQL", true, null);
+
+        assertEquals(COMPOSITE_KEY_SELECT
+                + " where ID > #{lastKey.id}"
+                + " or (ID = #{lastKey.id} and ID2 > #{lastKey.id2})"
+                + " order by ID, ID2 limit #{limit}",
+                render(mapper, true));
+
+        mapper = getMapper("MySQL", true, "ID, ID2, NAME");
+        assertEquals(COMPOSITE_KEY_SELECT
+                + " where ID > #{lastKey.id}"
+                + " or (ID = #{lastKey.id} and ID2 > #{lastKey.id2})"
+                + " or (ID = #{lastKey.id} and ID2 = #{lastKey.id2} and NAME > #{lastKey.name})"
+                + " order by ID, ID2, NAME limit #{limit}",
+                render(mapper, true));
+    }
+
+    @Test
+    public void testThatAnnotatedMappersRunTheSameSql() throws Exception {
+        for (String dialect : new String[] { "MySQL", "DB2", "SqlServer", "Oracle" }) {
+            for (boolean compositeKey : new boolean[] { false, true }) {
+                String mapper = getMapper(dialect, compositeKey, null);
+                String client = getClient(dialect, compositeKey);
+                String script = GenerationFixture.getAnnotationScript(client,
+                        "@Select({", "List<Foo> selectPageAfter(");
+
+                for (boolean lastKey : new boolean[] { false, true }) {
+                    assertEquals(render(mapper, lastKey),
+                            DynamicSqlRenderer.render(script, "script", getParameter(lastKey)));
+                }
+            }
+        }
+
+        assertTrue(getClient("MySQL", false).contains(
+                "List<Foo> selectPageAfter(@Param(\"lastKey\") Integer lastKey, @Param(\"limit\") int limit);"));
+        assertTrue(getClient("MySQL", true).contains(
+                "List<Foo> selectPageAfter(@Param(\"lastKey\") FooKey lastKey, @Param(\"limit\") int limit);"));
+    }
+
+    private static String render(String mapper, boolean lastKey) throws Exception {
+        return DynamicSqlRenderer.render(mapper, "selectPageAfter", getParameter(lastKey));
+    }
+
+    private static Map<String, ?> getParameter(boolean lastKey) {
+        Map<String, Object> parameter = new HashMap<String, Object>();
+        parameter.put("lastKey", lastKey ? new Object() : null);
+        parameter.put("limit", 10);
+        return parameter;
+    }
+
+    private static String getMapper(String dialect, boolean compositeKey,
+            String keysetColumns) throws Exception {
+        return GenerationFixture.getFormattedContent(
+                generate("XMLMAPPER", dialect, compositeKey, keysetColumns), "FooMapper.xml");
+    }
+
+    private static String getClient(String dialect, boolean compositeKey)
+            throws Exception {
+        return GenerationFixture.getFormattedContent(
+                generate("ANNOTATEDMAPPER", dialect, compositeKey, null), "FooMapper.java");
+    }
+
+    private static List<GeneratedFile> generate(String clientType, String dialect,
+            boolean compositeKey, String keysetColumns) throws Exception {
+        Context context = GenerationFixture.createContext(clientType);
+        PluginConfiguration pluginConfiguration = new PluginConfiguration();
+        pluginConfiguration.setConfigurationType(
+                "org.mybatis.generator.plugins.KeysetPaginationPlugin");
+        pluginConfiguration.addProperty("dialect", dialect);
+        context.addPluginConfiguration(pluginConfiguration);
+        TableConfiguration tableConfiguration = GenerationFixture
+                .addTableConfiguration(context, "FOO");
+        if (keysetColumns != null) {
+            tableConfiguration.addProperty("keysetColumns", keysetColumns);
+        }
+
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        tables.add(GenerationFixture.createIntrospectedTable(context,
+                tableConfiguration, compositeKey));
+        List<String> warnings = new ArrayList<String>();
+        List<GeneratedFile> files = GenerationFixture.generate(context, tables, warnings);
+        assertTrue(warnings.toString(), warnings.isEmpty());
+        return files;
+    }
+}
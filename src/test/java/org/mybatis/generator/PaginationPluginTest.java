@@ -0,0 +1,181 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * Tests for the SQL of the selectByExample statements with each pagination
+ * style of the PaginationPlugin.
+ */
+public class PaginationPluginTest {
+
+    private static final String SELECT = "select ID, NAME, AMOUNT from FOO";
+
+    @Test
+    public void testLimitOffset() throws Exception {
+        String mapper = getMapper("MySQL", false);
+
+        assertEquals(SELECT, render(mapper, null, null, null));
+        assertEquals(SELECT + " limit #{limit}", render(mapper, 10, null, null));
+        assertEquals(SELECT + " order by NAME limit #{limit} offset #{offset}",
+                render(mapper, 10, 20, "NAME"));
+        // the offset is only used with the limit
+        assertEquals(SELECT, render(mapper, null, 20, null));
+
+        String provider = getProvider("MySQL");
+        assertTrue(provider.contains("        if (example != null && example.getLimit() != null) {\n"
+                + "            statement += \" limit #{limit}\";\n"
+                + "            if (example.getOffset() != null) {\n"
+                + "                statement += \" offset #{offset}\";\n"
+                + "            }\n"
+                + "        }\n"
+                + "        return statement;\n"));
+    }
+
+    @Test
+    public void testOffsetFetch() throws Exception {
+        String mapper = getMapper("DB2", false);
+
+        assertEquals(SELECT, render(mapper, null, null, null));
+        assertEquals(SELECT + " fetch first #{limit} rows only", render(mapper, 10, null, null));
+        assertEquals(SELECT + " order by NAME offset #{offset} rows fetch first #{limit} rows only",
+                render(mapper, 10, 20, "NAME"));
+
+        String provider = getProvider("DB2");
+        assertTrue(provider.contains("        if (example != null && example.getLimit() != null) {\n"
+                + "            if (example.getOffset() != null) {\n"
+                + "                statement += \" offset #{offset} rows\";\n"
+                + "            }\n"
+                + "            statement += \" fetch first #{limit} rows only\";\n"
+                + "        }\n"
+                + "        return statement;\n"));
+    }
+
+    @Test
+    public void testSqlServer() throws Exception {
+        String mapper = getMapper("SqlServer", false);
+
+        assertEquals(SELECT, render(mapper, null, null, null));
+        // SQL Server requires an order by clause before the offset
+        assertEquals(SELECT + " order by ID offset 0 rows fetch next #{limit} rows only",
+                render(mapper, 10, null, null));
+        assertEquals(SELECT + " order by ID offset #{offset} rows fetch next #{limit} rows only",
+                render(mapper, 10, 20, null));
+        assertEquals(SELECT + " order by NAME offset #{offset} rows fetch next #{limit} rows only",
+                render(mapper, 10, 20, "NAME"));
+        assertEquals(SELECT + " order by NAME", render(mapper, null, null, "NAME"));
+
+        mapper = getMapper("SqlServer", true);
+        assertEquals("select ID, ID2, NAME, AMOUNT from FOO order by ID, ID2"
+                + " offset 0 rows fetch next #{limit} rows only",
+                render(mapper, 10, null, null));
+
+        String provider = getProvider("SqlServer");
+        assertTrue(provider.contains("        if (example != null && example.getLimit() != null) {\n"
+                + "            if (example.getOrderByClause() == null) {\n"
+                + "                statement += \" order by ID\";\n"
+                + "            }\n"
+                + "            if (example.getOffset() != null) {\n"
+                + "                statement += \" offset #{offset} rows\";\n"
+                + "            } else {\n"
+                + "                statement += \" offset 0 rows\";\n"
+                + "            }\n"
+                + "            statement += \" fetch next #{limit} rows only\";\n"
+                + "        }\n"
+                + "        return statement;\n"));
+    }
+
+    @Test
+    public void testRownum() throws Exception {
+        String mapper = getMapper("Oracle", false);
+
+        assertEquals(SELECT, render(mapper, null, null, null));
+        assertEquals("select * from (select row_.*, rownum rownum_ from ("
+                + SELECT + ") row_ where rownum <= #{limit})",
+                render(mapper, 10, null, null));
+        assertEquals("select * from (select row_.*, rownum rownum_ from ("
+                + SELECT + " order by NAME) row_ where rownum <= #{offset} + #{limit})"
+                + " where rownum_ > #{offset}",
+                render(mapper, 10, 20, "NAME"));
+
+        String provider = getProvider("Oracle");
+        assertTrue(provider.contains("        String statement = sql.toString();\n"
+                + "        if (example != null && example.getLimit() != null) {\n"
+                + "            statement = \"select * from (select row_.*, rownum rownum_ from (\" + statement;\n"
+                + "            if (example.getOffset() != null) {\n"
+                + "                statement += \") row_ where rownum <= #{offset} + #{limit}) where rownum_ > #{offset}\";\n"
+                + "            } else {\n"
+                + "                statement += \") row_ where rownum <= #{limit})\";\n"
+                + "            }\n"
+                + "        }\n"
+                + "        return statement;\n"));
+    }
+
+    private static String render(String mapper, Integer limit, Integer offset,
+            String orderByClause) throws Exception {
+        Map<String, Object> parameter = new HashMap<String, Object>();
+        parameter.put("limit", limit);
+        parameter.put("offset", offset);
+        parameter.put("orderByClause", orderByClause);
+        return DynamicSqlRenderer.render(mapper, "selectByExample", parameter);
+    }
+
+    private static String getMapper(String dialect, boolean compositeKey)
+            throws Exception {
+        return GenerationFixture.getFormattedContent(
+                generate("XMLMAPPER", dialect, compositeKey), "FooMapper.xml");
+    }
+
+    private static String getProvider(String dialect) throws Exception {
+        return GenerationFixture.getFormattedContent(
+                generate("ANNOTATEDMAPPER", dialect, false), "FooSqlProvider.java")
+                .replace(System.getProperty("line.separator"), "\n");
+    }
+
+    private static List<GeneratedFile> generate(String clientType,
+            String dialect, boolean compositeKey) throws Exception {
+        Context context = GenerationFixture.createContext(clientType);
+        PluginConfiguration pluginConfiguration = new PluginConfiguration();
+        pluginConfiguration.setConfigurationType(
+                "org.mybatis.generator.plugins.PaginationPlugin");
+        pluginConfiguration.addProperty("dialect", dialect);
+        context.addPluginConfiguration(pluginConfiguration);
+        TableConfiguration tableConfiguration = GenerationFixture
+                .addTableConfiguration(context, "FOO");
+
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        tables.add(GenerationFixture.createIntrospectedTable(context,
+                tableConfiguration, compositeKey));
+        List<String> warnings = new ArrayList<String>();
+        List<GeneratedFile> files = GenerationFixture.generate(context, tables, warnings);
+        assertTrue(warnings.toString(), warnings.isEmpty());
+        return files;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+public class ParallelGenerationTest {
+
+    @BeforeClass
+    public static void createDatabase() throws Exception {
+        SqlScriptRunner scriptRunner = new SqlScriptRunner(ParallelGenerationTest.class.getResourceAsStream("/scripts/CreateDB.sql"), "org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:aname", "sa", "");
+        scriptRunner.executeScript();
+    }
+
+    @Test
+    public void testMyBatis3ParallelGenerationIsDeterministic() throws Exception {
+        assertSameOutput("/scripts/generatorConfig.xml");
+    }
+
+    @Test
+    public void testIbatis2ParallelGenerationIsDeterministic() throws Exception {
+        assertSameOutput("/scripts/ibatorConfig.xml");
+    }
+
+    private static void assertSameOutput(String configFile) throws Exception {
+        List<String> expectedWarnings = new ArrayList<String>();
+        MyBatisGenerator expected = generate(configFile, null, expectedWarnings);
+
+        List<String> actualWarnings = new ArrayList<String>();
+        MyBatisGenerator actual = generate(configFile, "4", actualWarnings);
+
+        assertEquals(expectedWarnings, actualWarnings);
+
+        List<GeneratedJavaFile> expectedJavaFiles = expected.getGeneratedJavaFiles();
+        List<GeneratedJavaFile> actualJavaFiles = actual.getGeneratedJavaFiles();
+        assertEquals(expectedJavaFiles.size(), actualJavaFiles.size());
+        for (int i = 0; i < expectedJavaFiles.size(); i++) {
+            GeneratedJavaFile expectedFile = expectedJavaFiles.get(i);
+            GeneratedJavaFile actualFile = actualJavaFiles.get(i);
+            String name = expectedFile.getTargetPackage() + '.' + expectedFile.getFileName();
+            assertEquals(name, actualFile.getTargetPackage() + '.' + actualFile.getFileName());
+            assertEquals(name, expectedFile.getFormattedContent(), actualFile.getFormattedContent());
+        }
+
+        List<GeneratedXmlFile> expectedXmlFiles = expected.getGeneratedXmlFiles();
+        List<GeneratedXmlFile> actualXmlFiles = actual.getGeneratedXmlFiles();
+        assertEquals(expectedXmlFiles.size(), actualXmlFiles.size());
+        for (int i = 0; i < expectedXmlFiles.size(); i++) {
+            GeneratedXmlFile expectedFile = expectedXmlFiles.get(i);
+            GeneratedXmlFile actualFile = actualXmlFiles.get(i);
+            String name = expectedFile.getTargetPackage() + '.' + expectedFile.getFileName();
+            assertEquals(name, actualFile.getTargetPackage() + '.' + actualFile.getFileName());
+            assertEquals(name, expectedFile.getFormattedContent(), actualFile.getFormattedContent());
+        }
+    }
+
+    private static MyBatisGenerator generate(String configFile,
+            String generationThreads, List<String> warnings) throws Exception {
+        ConfigurationParser cp = new ConfigurationParser(warnings);
+        Configuration config = cp.parseConfiguration(ParallelGenerationTest.class.getResourceAsStream(configFile));
+
+        if (generationThreads != null) {
+            for (Context context : config.getContexts()) {
+                context.addProperty(PropertyRegistry.CONTEXT_GENERATION_THREADS,
+                        generationThreads);
+            }
+        }
+
+        MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config,
+                new DefaultShellCallback(true), warnings);
+        myBatisGenerator.generate(null, null, null, false);
+        return myBatisGenerator;
+    }
+}
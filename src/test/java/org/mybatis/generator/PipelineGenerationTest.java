@@ -0,0 +1,137 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.api.OutputSink;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+import org.mybatis.generator.internal.NullProgressCallback;
+
+public class PipelineGenerationTest {
+
+    @BeforeClass
+    public static void createDatabase() throws Exception {
+        SqlScriptRunner scriptRunner = new SqlScriptRunner(PipelineGenerationTest.class.getResourceAsStream("/scripts/CreateDB.sql"), "org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:aname", "sa", "");
+        scriptRunner.executeScript();
+    }
+
+    @Test
+    public void testMyBatis3PipelinedGenerationWritesSameFiles() throws Exception {
+        assertSameFiles("/scripts/generatorConfig.xml");
+    }
+
+    @Test
+    public void testIbatis2PipelinedGenerationWritesSameFiles() throws Exception {
+        assertSameFiles("/scripts/ibatorConfig.xml");
+    }
+
+    private static void assertSameFiles(String configFile) throws Exception {
+        List<String> expectedWarnings = new ArrayList<String>();
+        RecordingSink expectedSink = new RecordingSink();
+        MyBatisGenerator expected = generate(configFile, null, expectedSink, expectedWarnings);
+
+        List<String> actualWarnings = new ArrayList<String>();
+        RecordingSink actualSink = new RecordingSink();
+        MyBatisGenerator actual = generate(configFile, "2", actualSink, actualWarnings);
+
+        assertEquals(expectedWarnings, actualWarnings);
+        assertEquals(expectedSink.files.size(), expected.getWrittenFileCount());
+        assertEquals(expected.getWrittenFileCount(), actual.getWrittenFileCount());
+        assertTrue(actual.getGeneratedJavaFiles().isEmpty());
+        assertTrue(actual.getGeneratedXmlFiles().isEmpty());
+
+        // the save phase is reported once for all files, or once for each
+        // window - never for an empty list
+        assertEquals(1, expectedSink.saveStarts.size());
+        assertTrue(actualSink.saveStarts.size() > 1);
+        assertFalse(actualSink.saveStarts.contains(0));
+
+        // windows write the files of a few tables at a time, so only the
+        // order differs
+        Collections.sort(expectedSink.files);
+        Collections.sort(actualSink.files);
+        assertEquals(expectedSink.files, actualSink.files);
+    }
+
+    private static MyBatisGenerator generate(String configFile,
+            String pipelineWindowSize, RecordingSink sink,
+            List<String> warnings) throws Exception {
+        ConfigurationParser cp = new ConfigurationParser(warnings);
+        Configuration config = cp.parseConfiguration(PipelineGenerationTest.class.getResourceAsStream(configFile));
+
+        if (pipelineWindowSize != null) {
+            for (Context context : config.getContexts()) {
+                context.addProperty(PropertyRegistry.CONTEXT_PIPELINE_WINDOW_SIZE,
+                        pipelineWindowSize);
+            }
+        }
+
+        MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config,
+                new DefaultShellCallback(true), warnings);
+        myBatisGenerator.setOutputSink(sink);
+        myBatisGenerator.generate(sink, null, null, true);
+        return myBatisGenerator;
+    }
+
+    /**
+     * Records the written files, and checks that every file is announced by
+     * the save phase before it is written.
+     */
+    private static class RecordingSink extends NullProgressCallback implements OutputSink {
+        private List<String> files = new ArrayList<String>();
+        private int remainingSaveTasks;
+        private List<Integer> saveStarts = new ArrayList<Integer>();
+
+        @Override
+        public void saveStarted(int totalTasks) {
+            assertEquals("save phase started before the files were written", 0, remainingSaveTasks);
+            saveStarts.add(totalTasks);
+            remainingSaveTasks = totalTasks;
+        }
+
+        public boolean isThreadSafe() {
+            return false;
+        }
+
+        public boolean writeFile(GeneratedFile generatedFile, String fileEncoding) {
+            assertTrue("file written before the save phase started", remainingSaveTasks > 0);
+            remainingSaveTasks--;
+            files.add(generatedFile.getTargetProject() + '/' + generatedFile.getTargetPackage()
+                    + '/' + generatedFile.getFileName() + '\n' + generatedFile.getFormattedContent());
+            return true;
+        }
+
+        public void close(boolean complete) {
+            assertTrue(complete);
+            assertEquals(0, remainingSaveTasks);
+        }
+    }
+}
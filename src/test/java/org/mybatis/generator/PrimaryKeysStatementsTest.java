@@ -0,0 +1,150 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * Tests for the SQL of the selectByPrimaryKeys and deleteByPrimaryKeys
+ * statements.
+ */
+public class PrimaryKeysStatementsTest {
+
+    private static final String SELECT = "select ID, NAME, AMOUNT, NOTES from FOO";
+
+    private static final String COMPOSITE_KEY_SELECT = "select ID, ID2, NAME, AMOUNT, NOTES from FOO";
+
+    @Test
+    public void testThatAnEmptyCollectionMatchesNoRows() throws Exception {
+        String mapper = getMapper(false, "2");
+
+        assertEquals(SELECT + " where 1 = 0",
+                DynamicSqlRenderer.render(mapper, "selectByPrimaryKeys", keys(0)));
+        assertEquals("delete from FOO where 1 = 0",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(0)));
+
+        mapper = getMapper(true, null);
+        assertEquals(COMPOSITE_KEY_SELECT + " where 1 = 0",
+                DynamicSqlRenderer.render(mapper, "selectByPrimaryKeys", keys(0)));
+        assertEquals("delete from FOO where 1 = 0",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(0)));
+    }
+
+    @Test
+    public void testThatInListsAreSplitAcrossMaxInListSize() throws Exception {
+        String mapper = getMapper(false, "2");
+
+        assertEquals("delete from FOO where ID in (#{collection[0]})",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(1)));
+        // at the boundary
+        assertEquals("delete from FOO where ID in (#{collection[0]}, #{collection[1]})",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(2)));
+        // across the boundary
+        assertEquals("delete from FOO where ID in (#{collection[0]}, #{collection[1]})"
+                + " or ID in (#{collection[2]})",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(3)));
+        assertEquals("delete from FOO where ID in (#{collection[0]}, #{collection[1]})"
+                + " or ID in (#{collection[2]}, #{collection[3]})",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(4)));
+        assertEquals(SELECT + " where ID in (#{collection[0]}, #{collection[1]})"
+                + " or ID in (#{collection[2]}, #{collection[3]})"
+                + " or ID in (#{collection[4]})",
+                DynamicSqlRenderer.render(mapper, "selectByPrimaryKeys", keys(5)));
+    }
+
+    @Test
+    public void testThatInListsHoldAThousandKeysByDefault() throws Exception {
+        String mapper = getMapper(false, null);
+
+        String sql = DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(1000));
+        assertTrue(sql.endsWith(", #{collection[999]})"));
+        assertTrue(!sql.contains(" or "));
+
+        sql = DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(1001));
+        assertTrue(sql.endsWith(", #{collection[999]}) or ID in (#{collection[1000]})"));
+    }
+
+    @Test
+    public void testThatCompositeKeysAreMatchedWithOrConditions() throws Exception {
+        String mapper = getMapper(true, "2");
+
+        assertEquals("delete from FOO where (ID = #{collection[0].id} and ID2 = #{collection[0].id2})",
+                DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(1)));
+        // maxInListSize does not apply
+        assertEquals(COMPOSITE_KEY_SELECT + " where (ID = #{collection[0].id} and ID2 = #{collection[0].id2})"
+                + " or (ID = #{collection[1].id} and ID2 = #{collection[1].id2})"
+                + " or (ID = #{collection[2].id} and ID2 = #{collection[2].id2})",
+                DynamicSqlRenderer.render(mapper, "selectByPrimaryKeys", keys(3)));
+    }
+
+    @Test
+    public void testThatAnnotatedMappersRunTheSameSql() throws Exception {
+        String mapper = getMapper(false, "2");
+        String client = GenerationFixture.getFormattedContent(
+                generate("ANNOTATEDMAPPER", false, "2"), "FooMapper.java");
+        String script = GenerationFixture.getAnnotationScript(client, "@Delete({",
+                "int deleteByPrimaryKeys(");
+
+        for (int count = 0; count < 6; count++) {
+            assertEquals(DynamicSqlRenderer.render(mapper, "deleteByPrimaryKeys", keys(count)),
+                    DynamicSqlRenderer.render(script, "script", keys(count)));
+        }
+        assertTrue(client.contains("int deleteByPrimaryKeys(Collection<Integer> keys);"));
+    }
+
+    private static String getMapper(boolean compositeKey, String maxInListSize)
+            throws Exception {
+        return GenerationFixture.getFormattedContent(
+                generate("XMLMAPPER", compositeKey, maxInListSize), "FooMapper.xml");
+    }
+
+    private static List<GeneratedFile> generate(String clientType,
+            boolean compositeKey, String maxInListSize) throws Exception {
+        Context context = GenerationFixture.createContext(clientType);
+        TableConfiguration tableConfiguration = GenerationFixture
+                .addTableConfiguration(context, "FOO");
+        tableConfiguration.addProperty(
+                PropertyRegistry.TABLE_ENABLE_SELECT_BY_PRIMARY_KEYS, "true");
+        tableConfiguration.addProperty(
+                PropertyRegistry.TABLE_ENABLE_DELETE_BY_PRIMARY_KEYS, "true");
+        if (maxInListSize != null) {
+            tableConfiguration.addProperty(
+                    PropertyRegistry.TABLE_MAX_IN_LIST_SIZE, maxInListSize);
+        }
+
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        tables.add(GenerationFixture.createIntrospectedTable(context,
+                tableConfiguration, compositeKey));
+        return GenerationFixture.generate(context, tables, new ArrayList<String>());
+    }
+
+    private static Map<String, ?> keys(int count) {
+        return Collections.singletonMap("collection", Collections.nCopies(count, new Object()));
+    }
+}
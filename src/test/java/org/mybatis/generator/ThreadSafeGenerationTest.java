@@ -0,0 +1,201 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.CommentGeneratorConfiguration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PluginConfiguration;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.internal.DefaultCommentGenerator;
+
+public class ThreadSafeGenerationTest {
+
+    private static final int TABLE_COUNT = 8;
+
+    @Test
+    public void testStatefulCommentGeneratorIsCalledByOneThread()
+            throws Exception {
+        Context sequential = createContext(StatefulCommentGenerator.class, null);
+        List<GeneratedFile> expected = generate(sequential);
+
+        Context parallel = createContext(StatefulCommentGenerator.class, "4");
+        List<GeneratedFile> actual = generate(parallel);
+
+        // the generator numbers its comments, so any interleaving of tables
+        // would change the output
+        assertSameFiles(expected, actual);
+
+        StatefulCommentGenerator commentGenerator = (StatefulCommentGenerator) parallel
+                .getCommentGenerator();
+        assertFalse(parallel.isParallelGenerationSupported());
+        assertFalse(commentGenerator.overlapped);
+        assertEquals(Collections.singleton(Thread.currentThread()),
+                commentGenerator.threads);
+        assertEquals(((StatefulCommentGenerator) sequential
+                .getCommentGenerator()).calls, commentGenerator.calls);
+    }
+
+    @Test
+    public void testThreadSafeCommentGeneratorIsCalledByWorkerThreads()
+            throws Exception {
+        List<GeneratedFile> expected = generate(createContext(
+                ThreadRecordingCommentGenerator.class, null));
+
+        Context parallel = createContext(ThreadRecordingCommentGenerator.class, "4");
+        List<GeneratedFile> actual = generate(parallel);
+
+        assertSameFiles(expected, actual);
+
+        ThreadRecordingCommentGenerator commentGenerator = (ThreadRecordingCommentGenerator) parallel
+                .getCommentGenerator();
+        assertTrue(parallel.isParallelGenerationSupported());
+        assertFalse(commentGenerator.threads.isEmpty());
+        assertFalse(commentGenerator.threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void testPluginWithoutAnnotationPreventsParallelGeneration()
+            throws Exception {
+        Context context = createContext(ThreadRecordingCommentGenerator.class, "4");
+        PluginConfiguration pluginConfiguration = new PluginConfiguration();
+        pluginConfiguration.setConfigurationType("org.mybatis.generator.plugins.PaginationPlugin");
+        pluginConfiguration.addProperty("dialect", "mysql");
+        context.addPluginConfiguration(pluginConfiguration);
+
+        context.createPlugins(new ArrayList<String>());
+        assertTrue(context.isParallelGenerationSupported());
+
+        pluginConfiguration = new PluginConfiguration();
+        pluginConfiguration.setConfigurationType(UnannotatedPlugin.class.getName());
+        context.addPluginConfiguration(pluginConfiguration);
+
+        generate(context);
+        assertFalse(context.isParallelGenerationSupported());
+
+        ThreadRecordingCommentGenerator commentGenerator = (ThreadRecordingCommentGenerator) context
+                .getCommentGenerator();
+        assertEquals(Collections.singleton(Thread.currentThread()),
+                commentGenerator.threads);
+    }
+
+    private static Context createContext(Class<?> commentGeneratorClass,
+            String generationThreads) {
+        Context context = GenerationFixture.createContext("XMLMAPPER");
+        if (generationThreads != null) {
+            context.addProperty(PropertyRegistry.CONTEXT_GENERATION_THREADS,
+                    generationThreads);
+        }
+
+        CommentGeneratorConfiguration commentGeneratorConfiguration = new CommentGeneratorConfiguration();
+        commentGeneratorConfiguration.setConfigurationType(commentGeneratorClass.getName());
+        commentGeneratorConfiguration.addProperty(PropertyRegistry.COMMENT_GENERATOR_SUPPRESS_DATE, "true");
+        context.setCommentGeneratorConfiguration(commentGeneratorConfiguration);
+
+        for (int i = 0; i < TABLE_COUNT; i++) {
+            GenerationFixture.addTableConfiguration(context, "TABLE" + i);
+        }
+
+        return context;
+    }
+
+    private static List<GeneratedFile> generate(Context context)
+            throws InterruptedException {
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        for (int i = 0; i < TABLE_COUNT; i++) {
+            tables.add(GenerationFixture.createIntrospectedTable(context,
+                    context.getTableConfigurations().get(i), i % 2 == 0));
+        }
+
+        List<String> warnings = new ArrayList<String>();
+        List<GeneratedFile> answer = GenerationFixture.generate(context, tables, warnings);
+        assertEquals(0, warnings.size());
+        return answer;
+    }
+
+    private static void assertSameFiles(List<GeneratedFile> expected,
+            List<GeneratedFile> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getFileName(), actual.get(i).getFileName());
+            assertEquals(expected.get(i).getFileName(),
+                    expected.get(i).getFormattedContent(),
+                    actual.get(i).getFormattedContent());
+        }
+    }
+
+    /**
+     * Numbers its XML comments. This class is not thread safe - the annotation
+     * of DefaultCommentGenerator is not inherited.
+     */
+    public static class StatefulCommentGenerator extends
+            DefaultCommentGenerator {
+        private int calls;
+        private boolean inCall;
+        private boolean overlapped;
+        private Set<Thread> threads = new HashSet<Thread>();
+
+        @Override
+        public void addComment(XmlElement xmlElement) {
+            if (inCall) {
+                overlapped = true;
+            }
+            inCall = true;
+            try {
+                threads.add(Thread.currentThread());
+                calls++;
+                xmlElement.addElement(new TextElement("<!-- comment " + calls + " -->"));
+                Thread.yield();
+            } finally {
+                inCall = false;
+            }
+        }
+    }
+
+    @ThreadSafe
+    public static class ThreadRecordingCommentGenerator extends
+            DefaultCommentGenerator {
+        private Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+
+        @Override
+        public void addComment(XmlElement xmlElement) {
+            threads.add(Thread.currentThread());
+            super.addComment(xmlElement);
+        }
+    }
+
+    public static class UnannotatedPlugin extends PluginAdapter {
+        public boolean validate(List<String> warnings) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * Tests for the SQL of the updateBatchByPrimaryKey statement.
+ */
+public class UpdateBatchByPrimaryKeyTest {
+
+    @Test
+    public void testThatASingleKeyIsMatchedInCaseExpressions() throws Exception {
+        String mapper = GenerationFixture.getFormattedContent(
+                generate("XMLMAPPER", false), "FooMapper.xml");
+
+        assertEquals("update FOO set"
+                + " NAME = case when ID = #{list[0].id} then #{list[0].name}"
+                + " when ID = #{list[1].id} then #{list[1].name} end,"
+                + " AMOUNT = case when ID = #{list[0].id} then #{list[0].amount}"
+                + " when ID = #{list[1].id} then #{list[1].amount} end,"
+                + " NOTES = case when ID = #{list[0].id} then #{list[0].notes}"
+                + " when ID = #{list[1].id} then #{list[1].notes} end"
+                + " where ID in (#{list[0].id}, #{list[1].id})",
+                DynamicSqlRenderer.render(mapper, "updateBatchByPrimaryKey", records(2)));
+    }
+
+    @Test
+    public void testThatCompositeKeysAreMatchedInCaseExpressions() throws Exception {
+        String mapper = GenerationFixture.getFormattedContent(
+                generate("XMLMAPPER", true), "FooMapper.xml");
+
+        assertEquals("update FOO set"
+                + " NAME = case"
+                + " when (ID = #{list[0].id} and ID2 = #{list[0].id2}) then #{list[0].name}"
+                + " when (ID = #{list[1].id} and ID2 = #{list[1].id2}) then #{list[1].name} end,"
+                + " AMOUNT = case"
+                + " when (ID = #{list[0].id} and ID2 = #{list[0].id2}) then #{list[0].amount}"
+                + " when (ID = #{list[1].id} and ID2 = #{list[1].id2}) then #{list[1].amount} end,"
+                + " NOTES = case"
+                + " when (ID = #{list[0].id} and ID2 = #{list[0].id2}) then #{list[0].notes}"
+                + " when (ID = #{list[1].id} and ID2 = #{list[1].id2}) then #{list[1].notes} end"
+                + " where ((ID = #{list[0].id} and ID2 = #{list[0].id2})"
+                + " or (ID = #{list[1].id} and ID2 = #{list[1].id2}))",
+                DynamicSqlRenderer.render(mapper, "updateBatchByPrimaryKey", records(2)));
+
+        // the key columns are not updated
+        assertEquals("update FOO set"
+                + " NAME = case"
+                + " when (ID = #{list[0].id} and ID2 = #{list[0].id2}) then #{list[0].name} end,"
+                + " AMOUNT = case"
+                + " when (ID = #{list[0].id} and ID2 = #{list[0].id2}) then #{list[0].amount} end,"
+                + " NOTES = case"
+                + " when (ID = #{list[0].id} and ID2 = #{list[0].id2}) then #{list[0].notes} end"
+                + " where ((ID = #{list[0].id} and ID2 = #{list[0].id2}))",
+                DynamicSqlRenderer.render(mapper, "updateBatchByPrimaryKey", records(1)));
+    }
+
+    @Test
+    public void testThatTheProviderMatchesCompositeKeysInCaseExpressions() throws Exception {
+        List<GeneratedFile> files = generate("ANNOTATEDMAPPER", true);
+        String provider = getContent(files, "FooSqlProvider.java");
+
+        assertTrue(provider.contains("        sb.append(\"update FOO set \");\n"
+                + "        sb.append(\"NAME = case\");\n"
+                + "        for (int i = 0; i < records.size(); i++) {\n"
+                + "            sb.append(\" when ID = #{list[\").append(i).append(\"].id,jdbcType=INTEGER}"
+                + " and ID2 = #{list[\").append(i).append(\"].id2,jdbcType=VARCHAR}"
+                + " then #{list[\").append(i).append(\"].name,jdbcType=VARCHAR}\");\n"
+                + "        }\n"
+                + "        sb.append(\" end, \");\n"));
+        assertTrue(provider.contains("        sb.append(\" end\");\n"
+                + "        sb.append(\" where \");\n"
+                + "        for (int i = 0; i < records.size(); i++) {\n"
+                + "            if (i > 0) {\n"
+                + "                sb.append(\" or \");\n"
+                + "            }\n"
+                + "            sb.append(\"(ID = #{list[\").append(i).append(\"].id,jdbcType=INTEGER}"
+                + " and ID2 = #{list[\").append(i).append(\"].id2,jdbcType=VARCHAR})\");\n"
+                + "        }\n"));
+
+        String client = getContent(files, "FooMapper.java");
+        assertTrue(client.contains("    @UpdateProvider(type=FooSqlProvider.class, method=\"updateBatchByPrimaryKey\")\n"
+                + "    int updateBatchByPrimaryKey(List<Foo> records);"));
+    }
+
+    private static List<GeneratedFile> generate(String clientType,
+            boolean compositeKey) throws Exception {
+        Context context = GenerationFixture.createContext(clientType);
+        TableConfiguration tableConfiguration = GenerationFixture
+                .addTableConfiguration(context, "FOO");
+        tableConfiguration.addProperty(
+                PropertyRegistry.TABLE_ENABLE_UPDATE_BATCH_BY_PRIMARY_KEY, "true");
+
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        tables.add(GenerationFixture.createIntrospectedTable(context,
+                tableConfiguration, compositeKey));
+        return GenerationFixture.generate(context, tables, new ArrayList<String>());
+    }
+
+    private static String getContent(List<GeneratedFile> files, String fileName) {
+        return GenerationFixture.getFormattedContent(files, fileName).replace(
+                System.getProperty("line.separator"), "\n");
+    }
+
+    private static Map<String, ?> records(int count) {
+        return Collections.singletonMap("list", Collections.nCopies(count, new Object()));
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+public class WriteFilesTest {
+
+    /** This context only generates model classes, which are not merged. */
+    private static final String CONTEXT_ID = "miscellaneousTests_ModelOnly1";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void createDatabase() throws Exception {
+        SqlScriptRunner scriptRunner = new SqlScriptRunner(WriteFilesTest.class.getResourceAsStream("/scripts/CreateDB.sql"), "org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:aname", "sa", "");
+        scriptRunner.executeScript();
+    }
+
+    @Test
+    public void testUnchangedFilesAreNotWritten() throws Exception {
+        File targetProject = temporaryFolder.getRoot();
+
+        List<String> expectedWarnings = new ArrayList<String>();
+        MyBatisGenerator myBatisGenerator = generate(targetProject, false, expectedWarnings);
+        int fileCount = myBatisGenerator.getWrittenFileCount();
+        assertTrue(fileCount > 0);
+        assertEquals(0, myBatisGenerator.getUnchangedFileCount());
+        assertEquals(0, myBatisGenerator.getSkippedFileCount());
+
+        // unchanged files are neither overwritten nor copied
+        List<String> warnings = new ArrayList<String>();
+        myBatisGenerator = generate(targetProject, true, warnings);
+        assertEquals(0, myBatisGenerator.getWrittenFileCount());
+        assertEquals(fileCount, myBatisGenerator.getUnchangedFileCount());
+        assertEquals(0, myBatisGenerator.getSkippedFileCount());
+        assertEquals(expectedWarnings, warnings);
+
+        warnings = new ArrayList<String>();
+        myBatisGenerator = generate(targetProject, false, warnings);
+        assertEquals(0, myBatisGenerator.getWrittenFileCount());
+        assertEquals(fileCount, myBatisGenerator.getUnchangedFileCount());
+        assertEquals(0, myBatisGenerator.getSkippedFileCount());
+        assertEquals(expectedWarnings, warnings);
+        assertEquals(fileCount, listFiles(targetProject).size());
+    }
+
+    @Test
+    public void testChangedFileIsCopiedWithoutOverwrite() throws Exception {
+        File targetProject = temporaryFolder.getRoot();
+
+        List<String> expectedWarnings = new ArrayList<String>();
+        MyBatisGenerator myBatisGenerator = generate(targetProject, false, expectedWarnings);
+        int fileCount = myBatisGenerator.getWrittenFileCount();
+
+        List<File> files = listFiles(targetProject);
+        FileWriter writer = new FileWriter(files.get(0), true);
+        try {
+            writer.write("// changed\n");
+        } finally {
+            writer.close();
+        }
+
+        List<String> warnings = new ArrayList<String>();
+        myBatisGenerator = generate(targetProject, false, warnings);
+        assertEquals(1, myBatisGenerator.getWrittenFileCount());
+        assertEquals(fileCount - 1, myBatisGenerator.getUnchangedFileCount());
+        assertEquals(0, myBatisGenerator.getSkippedFileCount());
+        assertEquals(expectedWarnings.size() + 1, warnings.size());
+        assertEquals(fileCount + 1, listFiles(targetProject).size());
+        assertTrue(new File(files.get(0).getPath() + ".1").isFile());
+    }
+
+    @Test
+    public void testFilesAreSkippedWithoutTargetProject() throws Exception {
+        File targetProject = new File(temporaryFolder.getRoot(), "missing");
+
+        List<String> warnings = new ArrayList<String>();
+        MyBatisGenerator myBatisGenerator = generate(targetProject, true, warnings);
+        assertEquals(0, myBatisGenerator.getWrittenFileCount());
+        assertEquals(0, myBatisGenerator.getUnchangedFileCount());
+        assertTrue(myBatisGenerator.getSkippedFileCount() > 0);
+        assertTrue(!targetProject.exists());
+    }
+
+    private static MyBatisGenerator generate(File targetProject,
+            boolean overwrite, List<String> warnings) throws Exception {
+        ConfigurationParser cp = new ConfigurationParser(warnings);
+        Configuration config = cp.parseConfiguration(WriteFilesTest.class.getResourceAsStream("/scripts/generatorConfig.xml"));
+
+        Context context = config.getContext(CONTEXT_ID);
+        context.getJavaModelGeneratorConfiguration().setTargetProject(targetProject.getPath());
+
+        MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config,
+                new DefaultShellCallback(overwrite), warnings);
+        myBatisGenerator.generate(null, Collections.singleton(CONTEXT_ID), null, true);
+        return myBatisGenerator;
+    }
+
+    private static List<File> listFiles(File directory) {
+        List<File> files = new ArrayList<File>();
+        for (File file : directory.listFiles()) {
+            if (file.isDirectory()) {
+                files.addAll(listFiles(file));
+            } else {
+                files.add(file);
+            }
+        }
+
+        Collections.sort(files);
+        return files;
+    }
+}
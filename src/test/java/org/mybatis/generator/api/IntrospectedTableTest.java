@@ -0,0 +1,91 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3Impl;
+
+public class IntrospectedTableTest {
+
+    private IntrospectedTable introspectedTable;
+    private IntrospectedColumn id;
+    private IntrospectedColumn name;
+    private IntrospectedColumn notes;
+
+    @Before
+    public void setUp() {
+        introspectedTable = new IntrospectedTableMyBatis3Impl();
+        id = createColumn("ID", "INTEGER");
+        name = createColumn("NAME", "VARCHAR");
+        notes = createColumn("NOTES", "CLOB");
+        introspectedTable.addColumn(id);
+        introspectedTable.addColumn(name);
+        introspectedTable.addColumn(notes);
+        introspectedTable.addPrimaryKeyColumn("ID");
+    }
+
+    @Test
+    public void testViewsAreCalculatedOnce() {
+        assertSame(introspectedTable.getAllColumns(), introspectedTable.getAllColumns());
+        assertSame(introspectedTable.getNonBLOBColumns(), introspectedTable.getNonBLOBColumns());
+    }
+
+    @Test
+    public void testColumnMovedBetweenLists() {
+        assertEquals(Arrays.asList(id, name), introspectedTable.getNonBLOBColumns());
+
+        introspectedTable.getBLOBColumns().remove(notes);
+        introspectedTable.getBaseColumns().add(notes);
+
+        assertEquals(Arrays.asList(id, name, notes), introspectedTable.getNonBLOBColumns());
+    }
+
+    @Test
+    public void testColumnReplaced() {
+        assertEquals(Arrays.asList(id, name, notes), introspectedTable.getAllColumns());
+
+        IntrospectedColumn fullName = createColumn("FULL_NAME", "VARCHAR");
+        introspectedTable.getBaseColumns().set(0, fullName);
+
+        assertEquals(Arrays.asList(id, fullName, notes), introspectedTable.getAllColumns());
+        assertSame(fullName, introspectedTable.getColumn("FULL_NAME"));
+    }
+
+    @Test
+    public void testColumnPropertiesChanged() {
+        assertEquals(Arrays.asList(id, name, notes), introspectedTable.getNonIdentityNonGeneratedAlwaysColumns());
+        assertEquals(Arrays.asList(name, notes), introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns());
+
+        id.setIdentity(true);
+        name.setGeneratedAlways(true);
+
+        assertEquals(Arrays.asList(notes), introspectedTable.getNonIdentityNonGeneratedAlwaysColumns());
+        assertEquals(Arrays.asList(notes), introspectedTable.getNonGeneratedAlwaysNonPrimaryKeyColumns());
+    }
+
+    private static IntrospectedColumn createColumn(String columnName, String jdbcTypeName) {
+        IntrospectedColumn introspectedColumn = new IntrospectedColumn();
+        introspectedColumn.setActualColumnName(columnName);
+        introspectedColumn.setJdbcTypeName(jdbcTypeName);
+        return introspectedColumn;
+    }
+}
@@ -0,0 +1,430 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mybatis.generator.GenerationFixture;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JDBCConnectionConfiguration;
+import org.mybatis.generator.exception.ShellException;
+import org.mybatis.generator.internal.DefaultShellCallback;
+import org.mybatis.generator.internal.NullProgressCallback;
+
+/**
+ * Tests for writing generated files, with and without writer threads.
+ */
+public class WriteGeneratedFilesTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testThatParallelWritesMatchSequentialWrites() throws Exception {
+        List<GeneratedJavaFile> javaFiles = new ArrayList<GeneratedJavaFile>();
+        List<GeneratedXmlFile> xmlFiles = new ArrayList<GeneratedXmlFile>();
+        generateFiles(javaFiles, xmlFiles);
+
+        File sequentialRoot = temporaryFolder.newFolder("sequential");
+        List<String> sequentialWarnings = new ArrayList<String>();
+        RecordingCallback sequentialCallback = new RecordingCallback();
+        MyBatisGenerator generator = createGenerator(
+                new TargetShellCallback(sequentialRoot, false), sequentialWarnings);
+        generator.writeGeneratedFiles(javaFiles, xmlFiles, 1, sequentialCallback);
+
+        File parallelRoot = temporaryFolder.newFolder("parallel");
+        List<String> parallelWarnings = new ArrayList<String>();
+        RecordingCallback parallelCallback = new RecordingCallback();
+        generator = createGenerator(
+                new TargetShellCallback(parallelRoot, false), parallelWarnings);
+        generator.writeGeneratedFiles(javaFiles, xmlFiles, 4, parallelCallback);
+
+        assertEquals(javaFiles.size() + xmlFiles.size(), generator.getWrittenFileCount());
+        assertEquals(sequentialCallback.tasks, parallelCallback.tasks);
+        assertEquals(sequentialWarnings, parallelWarnings);
+
+        List<String> sequentialFiles = listFiles(sequentialRoot, "");
+        assertEquals(sequentialFiles, listFiles(parallelRoot, ""));
+        assertEquals(javaFiles.size() + xmlFiles.size(), sequentialFiles.size());
+        for (String name : sequentialFiles) {
+            assertEquals(name, readFile(new File(sequentialRoot, name)),
+                    readFile(new File(parallelRoot, name)));
+        }
+
+        // a second parallel run finds every file unchanged
+        parallelCallback = new RecordingCallback();
+        generator = createGenerator(
+                new TargetShellCallback(parallelRoot, false), parallelWarnings);
+        generator.writeGeneratedFiles(javaFiles, xmlFiles, 4, parallelCallback);
+        assertEquals(0, generator.getWrittenFileCount());
+        assertEquals(javaFiles.size() + xmlFiles.size(), generator.getUnchangedFileCount());
+        assertEquals(sequentialCallback.tasks, parallelCallback.tasks);
+    }
+
+    @Test
+    public void testThatFilesWithTheSameNameAreWrittenInOrder() throws Exception {
+        File root = temporaryFolder.newFolder("root");
+        List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        List<GeneratedXmlFile> xmlFiles = new ArrayList<GeneratedXmlFile>();
+        // without the predecessor latch, the slow first file would be
+        // written last
+        xmlFiles.add(new TestFile("Same.txt", "first", 500, events));
+        xmlFiles.add(new TestFile("Other.txt", "other", 0, events));
+        xmlFiles.add(new TestFile("Same.txt", "second", 0, events));
+
+        List<String> warnings = new ArrayList<String>();
+        MyBatisGenerator generator = createGenerator(
+                new TargetShellCallback(root, true), warnings);
+        generator.writeGeneratedFiles(new ArrayList<GeneratedJavaFile>(),
+                xmlFiles, 4, new NullProgressCallback());
+
+        assertEquals("second", readFile(new File(root, "test/Same.txt")));
+        assertTrue(events.indexOf("first") < events.indexOf("second"));
+        assertEquals(3, generator.getWrittenFileCount());
+        // the second file overwrites the first
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void testThatMergesUseWriterThreadsOnlyForTheDefaultShellCallback() throws Exception {
+        List<GeneratedJavaFile> javaFiles = new ArrayList<GeneratedJavaFile>();
+        generateFiles(javaFiles, new ArrayList<GeneratedXmlFile>());
+        File root = temporaryFolder.newFolder("root");
+        writeFiles(new TargetShellCallback(root, false), javaFiles, 1);
+
+        MergingShellCallback defaultCallback = new MergingShellCallback(root);
+        writeFiles(defaultCallback, javaFiles, 4);
+        assertEquals(javaFiles.size(), defaultCallback.mergeThreads.size());
+        for (Thread thread : defaultCallback.mergeThreads) {
+            assertNotSame(Thread.currentThread(), thread);
+        }
+
+        // other shell callbacks may not expect concurrent merges
+        DelegatingShellCallback otherCallback = new DelegatingShellCallback(
+                new MergingShellCallback(root));
+        writeFiles(otherCallback, javaFiles, 4);
+        assertEquals(javaFiles.size(), otherCallback.delegate.mergeThreads.size());
+        for (Thread thread : otherCallback.delegate.mergeThreads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void testThatDefaultMergesUseWorkerThreadsWithoutWriterThreads() throws Exception {
+        // without writer threads, merges use one thread per processor
+        assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+
+        List<GeneratedJavaFile> javaFiles = new ArrayList<GeneratedJavaFile>();
+        generateFiles(javaFiles, new ArrayList<GeneratedXmlFile>());
+        File root = temporaryFolder.newFolder("root");
+        writeFiles(new TargetShellCallback(root, false), javaFiles, 1);
+
+        MergingShellCallback defaultCallback = new MergingShellCallback(root);
+        writeFiles(defaultCallback, javaFiles, 1);
+        assertEquals(javaFiles.size(), defaultCallback.mergeThreads.size());
+        for (Thread thread : defaultCallback.mergeThreads) {
+            assertNotSame(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void testThatOtherFilesUseWriterThreadsOnlyIfSpecified() throws Exception {
+        File root = temporaryFolder.newFolder("root");
+        List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        List<GeneratedXmlFile> xmlFiles = new ArrayList<GeneratedXmlFile>();
+        TestFile file = new TestFile("File.txt", "content", 0, events);
+        xmlFiles.add(file);
+
+        createGenerator(new TargetShellCallback(root, true), null).writeGeneratedFiles(
+                new ArrayList<GeneratedJavaFile>(), xmlFiles, 1, new NullProgressCallback());
+        assertSame(Thread.currentThread(), file.writeThread);
+
+        file.writeThread = null;
+        new File(root, "test/File.txt").delete();
+        createGenerator(new TargetShellCallback(root, true), null).writeGeneratedFiles(
+                new ArrayList<GeneratedJavaFile>(), xmlFiles, 4, new NullProgressCallback());
+        assertNotSame(Thread.currentThread(), file.writeThread);
+        assertTrue(file.writeThread != null);
+    }
+
+    @Test(timeout = 10000)
+    public void testThatAFailingWriteDoesNotBlockLaterWrites() throws Exception {
+        File root = temporaryFolder.newFolder("root");
+        List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        List<GeneratedXmlFile> xmlFiles = new ArrayList<GeneratedXmlFile>();
+        TestFile failingFile = new TestFile("Same.txt", "first", 200, events);
+        failingFile.failure = new IllegalStateException("write failed");
+        xmlFiles.add(failingFile);
+        for (int i = 0; i < 20; i++) {
+            xmlFiles.add(new TestFile("Same.txt", "next" + i, 0, events));
+        }
+
+        try {
+            createGenerator(new TargetShellCallback(root, true), null).writeGeneratedFiles(
+                    new ArrayList<GeneratedJavaFile>(), xmlFiles, 4, new NullProgressCallback());
+            fail("the failure is not reported");
+        } catch (IllegalStateException e) {
+            assertSame(failingFile.failure, e);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testThatACanceledRunStopsWaitingWrites() throws Exception {
+        File root = temporaryFolder.newFolder("root");
+        List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        List<GeneratedXmlFile> xmlFiles = new ArrayList<GeneratedXmlFile>();
+        for (int i = 0; i < 20; i++) {
+            xmlFiles.add(new TestFile("Same.txt", "file" + i, 50, events));
+        }
+
+        NullProgressCallback callback = new NullProgressCallback() {
+            private int checks;
+
+            @Override
+            public void checkCancel() throws InterruptedException {
+                if (++checks > 25) {
+                    throw new InterruptedException();
+                }
+            }
+        };
+
+        try {
+            createGenerator(new TargetShellCallback(root, true), null).writeGeneratedFiles(
+                    new ArrayList<GeneratedJavaFile>(), xmlFiles, 4, callback);
+            fail("the run is not canceled");
+        } catch (InterruptedException e) {
+            // expected
+        }
+
+        // the files that were written were written in order
+        assertFalse(events.isEmpty());
+        assertTrue(events.size() < xmlFiles.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals("file" + i, events.get(i));
+        }
+    }
+
+    private static void generateFiles(List<GeneratedJavaFile> javaFiles,
+            List<GeneratedXmlFile> xmlFiles) throws Exception {
+        Context context = GenerationFixture.createContext("XMLMAPPER");
+        List<IntrospectedTable> tables = new ArrayList<IntrospectedTable>();
+        for (int i = 0; i < 3; i++) {
+            tables.add(GenerationFixture.createIntrospectedTable(context,
+                    GenerationFixture.addTableConfiguration(context, "TABLE" + i),
+                    i == 1));
+        }
+
+        for (GeneratedFile file : GenerationFixture.generate(context, tables,
+                new ArrayList<String>())) {
+            if (file instanceof GeneratedJavaFile) {
+                javaFiles.add((GeneratedJavaFile) file);
+            } else {
+                xmlFiles.add((GeneratedXmlFile) file);
+            }
+        }
+    }
+
+    private static void writeFiles(ShellCallback shellCallback,
+            List<GeneratedJavaFile> javaFiles, int writerThreads) throws Exception {
+        createGenerator(shellCallback, null).writeGeneratedFiles(javaFiles,
+                new ArrayList<GeneratedXmlFile>(), writerThreads,
+                new NullProgressCallback());
+    }
+
+    private static MyBatisGenerator createGenerator(ShellCallback shellCallback,
+            List<String> warnings) throws Exception {
+        Context context = GenerationFixture.createContext("XMLMAPPER");
+        context.setJdbcConnectionConfiguration(new JDBCConnectionConfiguration());
+        context.getJdbcConnectionConfiguration().setDriverClass("driver");
+        context.getJdbcConnectionConfiguration().setConnectionURL("url");
+        GenerationFixture.addTableConfiguration(context, "TABLE0");
+        Configuration configuration = new Configuration();
+        configuration.addContext(context);
+        return new MyBatisGenerator(configuration, shellCallback, warnings);
+    }
+
+    private static List<String> listFiles(File directory, String prefix) {
+        List<String> files = new ArrayList<String>();
+        for (File file : directory.listFiles()) {
+            if (file.isDirectory()) {
+                files.addAll(listFiles(file, prefix + file.getName() + '/'));
+            } else {
+                files.add(prefix + file.getName());
+            }
+        }
+
+        Collections.sort(files);
+        return files;
+    }
+
+    private static String readFile(File file) throws IOException {
+        InputStream is = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = is.read(buffer)) != -1) {
+                baos.write(buffer, 0, count);
+            }
+            return baos.toString("UTF-8");
+        } finally {
+            is.close();
+        }
+    }
+
+    private static class RecordingCallback extends NullProgressCallback {
+        private List<String> tasks = new ArrayList<String>();
+
+        @Override
+        public void startTask(String taskName) {
+            tasks.add(taskName);
+        }
+    }
+
+    /**
+     * Writes every target project to the same root directory.
+     */
+    private static class TargetShellCallback extends DefaultShellCallback {
+        private File root;
+
+        TargetShellCallback(File root, boolean overwrite) {
+            super(overwrite);
+            this.root = root;
+        }
+
+        @Override
+        public File getDirectory(String targetProject, String targetPackage)
+                throws ShellException {
+            return super.getDirectory(root.getAbsolutePath(), targetPackage);
+        }
+    }
+
+    /**
+     * Records the threads that merge files. Files are "merged" by keeping
+     * the new content.
+     */
+    private static class MergingShellCallback extends TargetShellCallback {
+        private List<Thread> mergeThreads = Collections.synchronizedList(new ArrayList<Thread>());
+
+        MergingShellCallback(File root) {
+            super(root, false);
+        }
+
+        @Override
+        public boolean isMergeSupported() {
+            return true;
+        }
+
+        @Override
+        public String mergeJavaFile(String newFileSource,
+                String existingFileFullPath, String[] javadocTags,
+                String fileEncoding) throws ShellException {
+            mergeThreads.add(Thread.currentThread());
+            return newFileSource;
+        }
+    }
+
+    private static class DelegatingShellCallback implements ShellCallback {
+        private MergingShellCallback delegate;
+
+        DelegatingShellCallback(MergingShellCallback delegate) {
+            this.delegate = delegate;
+        }
+
+        public File getDirectory(String targetProject, String targetPackage)
+                throws ShellException {
+            return delegate.getDirectory(targetProject, targetPackage);
+        }
+
+        public String mergeJavaFile(String newFileSource,
+                String existingFileFullPath, String[] javadocTags,
+                String fileEncoding) throws ShellException {
+            return delegate.mergeJavaFile(newFileSource, existingFileFullPath,
+                    javadocTags, fileEncoding);
+        }
+
+        public void refreshProject(String project) {
+            delegate.refreshProject(project);
+        }
+
+        public boolean isMergeSupported() {
+            return delegate.isMergeSupported();
+        }
+
+        public boolean isOverwriteEnabled() {
+            return delegate.isOverwriteEnabled();
+        }
+    }
+
+    /**
+     * A file with fixed content that records when, and by which thread, it is
+     * written.
+     */
+    private static class TestFile extends GeneratedXmlFile {
+        private String content;
+        private long delay;
+        private List<String> events;
+        private RuntimeException failure;
+        private volatile Thread writeThread;
+
+        TestFile(String fileName, String content, long delay, List<String> events) {
+            super(null, fileName, "test", "project", false, null);
+            this.content = content;
+            this.delay = delay;
+            this.events = events;
+        }
+
+        @Override
+        public String getFormattedContent() {
+            writeThread = Thread.currentThread();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+            events.add(content);
+            return content;
+        }
+
+        @Override
+        public void appendFormattedContent(Appendable out) throws IOException {
+            out.append(getFormattedContent());
+        }
+    }
+}
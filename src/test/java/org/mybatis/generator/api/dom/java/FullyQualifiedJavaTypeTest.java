@@ -271,4 +271,30 @@ public class FullyQualifiedJavaTypeTest {
         assertFalse(fqjt.isPrimitive());
         assertTrue(fqjt.isArray());
     }
+
+    @Test
+    public void testParsedTypesAreNotShared() {
+        FullyQualifiedJavaType list1 = new FullyQualifiedJavaType("java.util.List<com.foo.Bar>"); //$NON-NLS-1$
+        FullyQualifiedJavaType list2 = new FullyQualifiedJavaType("java.util.List<com.foo.Bar>"); //$NON-NLS-1$
+        assertEquals(list1, list2);
+
+        list1.getTypeArguments().get(0).addTypeArgument(new FullyQualifiedJavaType("com.foo.Baz")); //$NON-NLS-1$
+        assertEquals("java.util.List<com.foo.Bar<com.foo.Baz>>", list1.getFullyQualifiedName()); //$NON-NLS-1$
+        assertEquals("List<Bar<Baz>>", list1.getShortName()); //$NON-NLS-1$
+        assertEquals("java.util.List<com.foo.Bar>", list2.getFullyQualifiedName()); //$NON-NLS-1$
+        assertEquals("java.util.List<com.foo.Bar>", //$NON-NLS-1$
+                new FullyQualifiedJavaType("java.util.List<com.foo.Bar>").getFullyQualifiedName()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testTypeArgumentAddedAfterConstruction() {
+        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType("java.util.Map"); //$NON-NLS-1$
+        fqjt.addTypeArgument(FullyQualifiedJavaType.getStringInstance());
+        fqjt.addTypeArgument(new FullyQualifiedJavaType("? extends com.foo.Bar")); //$NON-NLS-1$
+
+        assertEquals("java.util.Map<java.lang.String, ? extends com.foo.Bar>", fqjt.getFullyQualifiedName()); //$NON-NLS-1$
+        assertEquals("Map<String, ? extends Bar>", fqjt.getShortName()); //$NON-NLS-1$
+        assertEquals(2, fqjt.getImportList().size());
+        assertEquals("java.util.Map", new FullyQualifiedJavaType("java.util.Map").getFullyQualifiedName()); //$NON-NLS-1$ //$NON-NLS-2$
+    }
 }
@@ -117,4 +117,15 @@ public class JavaDomUtilsTest {
         assertEquals("Map<BigDecimal, List<?>>",
                 JavaDomUtils.calculateTypeName(interfaze, fqjt));
     }
+
+    @Test
+    public void testTypeImportedAfterFirstLookup() {
+        TopLevelClass topLevelClass = new TopLevelClass(new FullyQualifiedJavaType("com.foo.User"));
+
+        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType("java.util.List");
+        assertEquals("java.util.List", JavaDomUtils.calculateTypeName(topLevelClass, fqjt));
+
+        topLevelClass.addImportedType(fqjt);
+        assertEquals("List", JavaDomUtils.calculateTypeName(topLevelClass, fqjt));
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.api.dom.xml;
+
+import static org.junit.Assert.*;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class XmlElementTest {
+
+    private static final String LS = System.getProperty("line.separator");
+
+    @Test
+    public void testAttributesAreRenderedInNameOrder() {
+        XmlElement element = new XmlElement("select");
+        element.addAttribute(new Attribute("resultMap", "BaseResultMap"));
+        element.addAttribute(new Attribute("id", "selectByPrimaryKey"));
+        element.addAttribute(new Attribute("parameterType", "java.lang.Integer"));
+
+        assertEquals("<select id=\"selectByPrimaryKey\" parameterType=\"java.lang.Integer\" resultMap=\"BaseResultMap\" />",
+                element.getFormattedContent(0));
+    }
+
+    @Test
+    public void testAttributesAddedDirectlyAreSorted() {
+        XmlElement element = new XmlElement("result");
+        element.getAttributes().add(new Attribute("property", "id"));
+        element.getAttributes().add(new Attribute("column", "ID"));
+
+        assertEquals("<result column=\"ID\" property=\"id\" />",
+                element.getFormattedContent(0));
+    }
+
+    @Test
+    public void testDocumentIsStreamedInOnePass() throws Exception {
+        XmlElement root = new XmlElement("mapper");
+        root.addAttribute(new Attribute("namespace", "foo.BarMapper"));
+        XmlElement select = new XmlElement("select");
+        select.addAttribute(new Attribute("id", "selectAll"));
+        select.addElement(new TextElement("select * from bar"));
+        root.addElement(select);
+
+        Document document = new Document("-//mybatis.org//DTD Mapper 3.0//EN",
+                "http://mybatis.org/dtd/mybatis-3-mapper.dtd");
+        document.setRootElement(root);
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + LS
+                + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">" + LS
+                + "<mapper namespace=\"foo.BarMapper\">" + LS
+                + "  <select id=\"selectAll\">" + LS
+                + "    select * from bar" + LS
+                + "  </select>" + LS
+                + "</mapper>";
+
+        StringWriter writer = new StringWriter();
+        document.appendFormattedContent(writer);
+        assertEquals(expected, writer.toString());
+        assertEquals(expected, document.getFormattedContent());
+    }
+}
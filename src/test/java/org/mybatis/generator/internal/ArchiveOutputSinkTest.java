@@ -0,0 +1,153 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.dom.DefaultXmlFormatter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.XmlConstants;
+import org.mybatis.generator.exception.ShellException;
+
+public class ArchiveOutputSinkTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testThatArchivesAreReproducible() throws Exception {
+        File archive = new File(folder.getRoot(), "out/generated.srcjar");
+
+        write(archive, true, "TestMapper.xml", "OtherMapper.xml");
+        assertEquals(2, getEntryNames(archive).size());
+        assertEquals("org/mybatis/test/TestMapper.xml", getEntryNames(archive).get(0));
+        byte[] first = readBytes(archive);
+
+        // an unchanged archive is not replaced
+        assertTrue(archive.setLastModified(1000000000L));
+        write(archive, true, "TestMapper.xml", "OtherMapper.xml");
+        assertArrayEquals(first, readBytes(archive));
+        assertEquals(1000000000L, archive.lastModified());
+
+        write(archive, true, "TestMapper.xml");
+        assertEquals(1, getEntryNames(archive).size());
+        assertEquals(1, archive.getParentFile().list().length);
+    }
+
+    @Test
+    public void testThatIncompleteRunsDoNotChangeTheArchive() throws Exception {
+        File archive = new File(folder.getRoot(), "generated.zip");
+
+        write(archive, true, "TestMapper.xml");
+        byte[] first = readBytes(archive);
+
+        write(archive, false, "TestMapper.xml", "OtherMapper.xml");
+        assertArrayEquals(first, readBytes(archive));
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testDuplicateEntries() throws Exception {
+        File archive = new File(folder.getRoot(), "generated.zip");
+        ArchiveOutputSink sink = new ArchiveOutputSink(archive);
+        assertTrue(sink.writeFile(getFile("TestMapper.xml"), null));
+        try {
+            sink.writeFile(getFile("TestMapper.xml"), null);
+            fail("Expected ShellException");
+        } catch (ShellException e) {
+            // expected
+        }
+        sink.close(true);
+
+        assertEquals(1, getEntryNames(archive).size());
+    }
+
+    @Test
+    public void testThatEmptyRunsDoNotCreateAnArchive() throws Exception {
+        File archive = new File(folder.getRoot(), "generated.zip");
+        write(archive, true);
+        assertFalse(archive.exists());
+    }
+
+    private void write(File archive, boolean complete, String... fileNames)
+            throws Exception {
+        ArchiveOutputSink sink = new ArchiveOutputSink(archive);
+        for (String fileName : fileNames) {
+            sink.writeFile(getFile(fileName), "UTF-8");
+        }
+        sink.close(complete);
+    }
+
+    private GeneratedXmlFile getFile(String fileName) {
+        Document document = new Document(XmlConstants.MYBATIS3_MAPPER_PUBLIC_ID,
+                XmlConstants.MYBATIS3_MAPPER_SYSTEM_ID);
+        XmlElement root = new XmlElement("mapper");
+        root.addAttribute(new Attribute("namespace", "org.mybatis.test." + fileName));
+        document.setRootElement(root);
+
+        return new GeneratedXmlFile(document, fileName, "org.mybatis.test", "src",
+                true, new DefaultXmlFormatter());
+    }
+
+    private List<String> getEntryNames(File archive) throws IOException {
+        List<String> names = new ArrayList<String>();
+        ZipInputStream zis = new ZipInputStream(new FileInputStream(archive));
+        try {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        } finally {
+            zis.close();
+        }
+
+        return names;
+    }
+
+    private byte[] readBytes(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        InputStream is = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < bytes.length) {
+                offset += is.read(bytes, offset, bytes.length - offset);
+            }
+        } finally {
+            is.close();
+        }
+
+        return bytes;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mybatis.generator.api.ConnectionFactory;
+
+public class ConnectionPoolTest {
+
+    @Test
+    public void testThatConnectionsAreReused() throws Exception {
+        CountingConnectionFactory factory = new CountingConnectionFactory();
+        ConnectionPool pool = new ConnectionPool(factory, 2);
+
+        Connection first = pool.borrow();
+        pool.release(first);
+        assertSame(first, pool.borrow());
+        assertEquals(1, factory.opened.get());
+
+        pool.close();
+        pool.release(first);
+        assertEquals(1, factory.closed.get());
+    }
+
+    @Test
+    public void testThatWaitingBorrowFailsWhenThePoolIsClosed()
+            throws Exception {
+        CountingConnectionFactory factory = new CountingConnectionFactory();
+        final ConnectionPool pool = new ConnectionPool(factory, 1);
+        Connection connection = pool.borrow();
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<Connection> waiting = executorService
+                    .submit(new Callable<Connection>() {
+                        @Override
+                        public Connection call() throws Exception {
+                            return pool.borrow();
+                        }
+                    });
+
+            Thread.sleep(200);
+            pool.close();
+
+            try {
+                waiting.get(5, TimeUnit.SECONDS);
+                fail("Expected an SQLException");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SQLException);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        pool.release(connection);
+        assertEquals(1, factory.opened.get());
+        assertEquals(1, factory.closed.get());
+
+        try {
+            pool.borrow();
+            fail("Expected an SQLException");
+        } catch (SQLException e) {
+            // expected
+        }
+    }
+
+    private static class CountingConnectionFactory implements
+            ConnectionFactory {
+        private AtomicInteger opened = new AtomicInteger();
+        private AtomicInteger closed = new AtomicInteger();
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            opened.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(getClass()
+                    .getClassLoader(), new Class<?>[] { Connection.class },
+                    new InvocationHandler() {
+                        @Override
+                        public Object invoke(Object proxy, Method method,
+                                Object[] args) throws Throwable {
+                            if ("close".equals(method.getName())) {
+                                closed.incrementAndGet();
+                            }
+                            return null;
+                        }
+                    });
+        }
+
+        @Override
+        public void addConfigurationProperties(Properties properties) {
+        }
+    }
+}
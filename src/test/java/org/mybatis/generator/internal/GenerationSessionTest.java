@@ -0,0 +1,83 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+public class GenerationSessionTest {
+
+    @Test
+    public void testSessionsAreIsolated() {
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        GenerationSession session = new GenerationSession();
+
+        GenerationSession previousSession = GenerationSession.setCurrent(session);
+        try {
+            assertSame(session, GenerationSession.getCurrent());
+            ObjectFactory.addExternalClassLoader(classLoader);
+            assertEquals(1, session.getExternalClassLoaders().size());
+        } finally {
+            GenerationSession.setCurrent(previousSession);
+        }
+
+        assertNotSame(session, GenerationSession.getCurrent());
+        assertTrue(!GenerationSession.getCurrent().getExternalClassLoaders().contains(classLoader));
+    }
+
+    @Test
+    public void testSessionIsInheritedByNewThreads() throws Exception {
+        final GenerationSession session = new GenerationSession();
+        final GenerationSession[] threadSession = new GenerationSession[1];
+
+        GenerationSession previousSession = GenerationSession.setCurrent(session);
+        try {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    threadSession[0] = GenerationSession.getCurrent();
+                }
+            };
+            thread.start();
+            thread.join();
+        } finally {
+            GenerationSession.setCurrent(previousSession);
+        }
+
+        assertSame(session, threadSession[0]);
+    }
+
+    @Test
+    public void testClassesAreCachedPerSession() throws Exception {
+        GenerationSession session = new GenerationSession();
+
+        GenerationSession previousSession = GenerationSession.setCurrent(session);
+        try {
+            Class<?> clazz = ObjectFactory.externalClassForName("java.lang.String");
+            assertSame(String.class, clazz);
+            assertSame(String.class, session.getExternalClass("java.lang.String"));
+        } finally {
+            GenerationSession.setCurrent(previousSession);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mybatis.generator.config.MergeConstants;
+import org.mybatis.generator.exception.ShellException;
+
+/**
+ * Tests for the Java file merger.
+ */
+public class JavaFileMergerTest {
+
+    private static final String GENERATED = "package org.mybatis.test;\n"
+            + "\n"
+            + "import java.util.Date;\n"
+            + "\n"
+            + "public class Person implements java.io.Serializable {\n"
+            + "    /**\n"
+            + "     * @mbg.generated\n"
+            + "     */\n"
+            + "    private Integer id;\n"
+            + "\n"
+            + "    /**\n"
+            + "     * @mbg.generated\n"
+            + "     */\n"
+            + "    private Date birthDate;\n"
+            + "\n"
+            + "    /**\n"
+            + "     * @mbg.generated\n"
+            + "     */\n"
+            + "    public Integer getId() {\n"
+            + "        return id;\n"
+            + "    }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testThatFilesAreTheSameAfterMerge() throws Exception {
+        assertEquals(GENERATED, merge(GENERATED, GENERATED));
+    }
+
+    @Test
+    public void testThatCustomMembersAreKept() throws Exception {
+        String existing = "package org.mybatis.test;\n"
+                + "\n"
+                + "import java.util.List;\n"
+                + "\n"
+                + "public class Person {\n"
+                + "    /**\n"
+                + "     * @mbggenerated\n"
+                + "     */\n"
+                + "    private Long id;\n"
+                + "\n"
+                + "    // not generated\n"
+                + "    private List<String> nicknames;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * @mbg.generated\n"
+                + "     */\n"
+                + "    public Long getId() {\n"
+                + "        return id;\n"
+                + "    }\n"
+                + "\n"
+                + "    /**\n"
+                + "     * @mbg.generated do_not_delete_during_merge\n"
+                + "     */\n"
+                + "    public Integer getId(int offset) {\n"
+                + "        return id.intValue() + offset;\n"
+                + "    }\n"
+                + "}\n";
+
+        String expected = "package org.mybatis.test;\n"
+                + "\n"
+                + "import java.util.List;\n"
+                + "import java.util.Date;\n"
+                + "\n"
+                + "public class Person implements java.io.Serializable {\n"
+                + "    /**\n"
+                + "     * @mbg.generated\n"
+                + "     */\n"
+                + "    private Integer id;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * @mbg.generated\n"
+                + "     */\n"
+                + "    private Date birthDate;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * @mbg.generated\n"
+                + "     */\n"
+                + "    public Integer getId() {\n"
+                + "        return id;\n"
+                + "    }\n"
+                + "\n"
+                + "    // not generated\n"
+                + "    private List<String> nicknames;\n"
+                + "\n"
+                + "    /**\n"
+                + "     * @mbg.generated do_not_delete_during_merge\n"
+                + "     */\n"
+                + "    public Integer getId(int offset) {\n"
+                + "        return id.intValue() + offset;\n"
+                + "    }\n"
+                + "}\n";
+
+        String merged = merge(GENERATED, existing);
+        assertEquals(expected, merged);
+        assertEquals(expected, merge(GENERATED, merged));
+    }
+
+    @Test(expected = ShellException.class)
+    public void testThatDifferentKindsOfTypesAreNotMerged() throws Exception {
+        merge(GENERATED, "package org.mybatis.test;\n"
+                + "\n"
+                + "public interface Person {\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testThatEditsWithTheSameSizeAndTimeStampAreKept() throws Exception {
+        File file = temporaryFolder.newFile("Person.java");
+        writeFile(file, GENERATED.replace("    /**\n     * @mbg.generated\n     */\n    private Integer id;",
+                "    private int customA;"));
+        long lastModified = file.lastModified();
+        String merged = JavaFileMerger.getMergedSource(GENERATED, file,
+                MergeConstants.OLD_ELEMENT_TAGS, "UTF-8");
+        assertTrue(merged.contains("customA"));
+
+        writeFile(file, GENERATED.replace("    /**\n     * @mbg.generated\n     */\n    private Integer id;",
+                "    private int customB;"));
+        file.setLastModified(lastModified);
+        merged = JavaFileMerger.getMergedSource(GENERATED, file,
+                MergeConstants.OLD_ELEMENT_TAGS, "UTF-8");
+        assertTrue(merged.contains("customB"));
+    }
+
+    @Test
+    public void testThatLaterGenerationRunsReuseCachedMerges() throws Exception {
+        File file = temporaryFolder.newFile("Person.java");
+        writeFile(file, GENERATED.replace("    /**\n     * @mbg.generated\n     */\n    private Integer id;",
+                "    private int custom;"));
+
+        GenerationSession previousSession = GenerationSession.setCurrent(new GenerationSession());
+        try {
+            String merged = JavaFileMerger.getMergedSource(GENERATED, file,
+                    MergeConstants.OLD_ELEMENT_TAGS, "UTF-8");
+
+            // MyBatisGenerator runs every generation in a new session
+            GenerationSession.setCurrent(new GenerationSession());
+            assertSame(merged, JavaFileMerger.getMergedSource(GENERATED, file,
+                    MergeConstants.OLD_ELEMENT_TAGS, "UTF-8"));
+
+            // the merged file is written, and merged again by the next run
+            writeFile(file, merged);
+            GenerationSession.setCurrent(new GenerationSession());
+            String remerged = JavaFileMerger.getMergedSource(GENERATED, file,
+                    MergeConstants.OLD_ELEMENT_TAGS, "UTF-8");
+            assertEquals(merged, remerged);
+            assertSame(remerged, JavaFileMerger.getMergedSource(GENERATED, file,
+                    MergeConstants.OLD_ELEMENT_TAGS, "UTF-8"));
+        } finally {
+            GenerationSession.setCurrent(previousSession);
+        }
+    }
+
+    private void writeFile(File file, String content) throws IOException {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content.getBytes("UTF-8"));
+        } finally {
+            fos.close();
+        }
+    }
+
+    private String merge(String newSource, String existingSource)
+            throws ShellException {
+        return JavaFileMerger.merge(
+                JavaSourceParser.parse(newSource, "Person.java"),
+                JavaSourceParser.parse(existingSource, "Person.java"),
+                MergeConstants.OLD_ELEMENT_TAGS, "Person.java");
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.Plugin;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3Impl;
+import org.mybatis.generator.codegen.mybatis3.IntrospectedTableMyBatis3SimpleImpl;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.PluginConfiguration;
+
+public class ObjectFactoryTest {
+
+    private GenerationSession session;
+    private GenerationSession previousSession;
+
+    @Before
+    public void setUp() {
+        session = new GenerationSession();
+        previousSession = GenerationSession.setCurrent(session);
+    }
+
+    @After
+    public void tearDown() {
+        GenerationSession.setCurrent(previousSession);
+    }
+
+    @Test
+    public void testSuppliedClasses() {
+        Context context = new Context(ModelType.CONDITIONAL);
+
+        IntrospectedColumn column = ObjectFactory.createIntrospectedColumn(context);
+        assertSame(IntrospectedColumn.class, column.getClass());
+        assertSame(context, column.getContext());
+        assertNotSame(column, ObjectFactory.createIntrospectedColumn(context));
+
+        IntrospectedTable table = ObjectFactory.createIntrospectedTableForValidation(context);
+        assertSame(IntrospectedTableMyBatis3Impl.class, table.getClass());
+
+        context.setTargetRuntime("MyBatis3Simple");
+        table = ObjectFactory.createIntrospectedTableForValidation(context);
+        assertSame(IntrospectedTableMyBatis3SimpleImpl.class, table.getClass());
+
+        // supplied classes are created without looking up a class
+        assertNull(session.getInternalClass(IntrospectedColumn.class.getName()));
+        assertNull(session.getInternalClass(IntrospectedTableMyBatis3SimpleImpl.class.getName()));
+    }
+
+    @Test
+    public void testCustomClassesAreResolvedOncePerContext() {
+        Context context = new Context(ModelType.CONDITIONAL);
+        context.setIntrospectedColumnImpl(CustomIntrospectedColumn.class.getName());
+        context.setTargetRuntime(CustomIntrospectedTable.class.getName());
+
+        IntrospectedColumn column = ObjectFactory.createIntrospectedColumn(context);
+        assertTrue(column instanceof CustomIntrospectedColumn);
+        IntrospectedTable table = ObjectFactory.createIntrospectedTableForValidation(context);
+        assertTrue(table instanceof CustomIntrospectedTable);
+        assertSame(context, table.getContext());
+        assertNotNull(session.getInternalClass(CustomIntrospectedColumn.class.getName()));
+
+        InstanceFactory<IntrospectedColumn> columnFactory = context.getIntrospectedColumnFactory();
+        InstanceFactory<IntrospectedTable> tableFactory = context.getIntrospectedTableFactory();
+
+        // later instances neither look up the class nor the constructor again
+        session.reset();
+        int instances = CustomIntrospectedColumn.instances;
+        for (int i = 0; i < 100; i++) {
+            column = ObjectFactory.createIntrospectedColumn(context);
+            assertTrue(column instanceof CustomIntrospectedColumn);
+            assertSame(context, column.getContext());
+        }
+        assertTrue(ObjectFactory.createIntrospectedTableForValidation(context) instanceof CustomIntrospectedTable);
+
+        assertEquals(instances + 100, CustomIntrospectedColumn.instances);
+        assertNull(session.getInternalClass(CustomIntrospectedColumn.class.getName()));
+        assertNull(session.getInternalClass(CustomIntrospectedTable.class.getName()));
+        assertSame(columnFactory, context.getIntrospectedColumnFactory());
+        assertSame(tableFactory, context.getIntrospectedTableFactory());
+
+        // changing the configuration resolves the factory again
+        context.setIntrospectedColumnImpl(null);
+        assertSame(IntrospectedColumn.class, ObjectFactory.createIntrospectedColumn(context).getClass());
+    }
+
+    @Test
+    public void testPluginFactoryIsResolvedOnce() {
+        Context context = new Context(ModelType.CONDITIONAL);
+        PluginConfiguration pluginConfiguration = new PluginConfiguration();
+        pluginConfiguration.setConfigurationType(CustomPlugin.class.getName());
+        pluginConfiguration.addProperty("name", "value");
+        context.addPluginConfiguration(pluginConfiguration);
+
+        Plugin plugin = ObjectFactory.createPlugin(context, pluginConfiguration);
+        assertTrue(plugin instanceof CustomPlugin);
+        assertEquals("value", ((CustomPlugin) plugin).getProperties().getProperty("name"));
+
+        session.reset();
+        InstanceFactory<Plugin> pluginFactory = context.getPluginFactory(pluginConfiguration);
+        Plugin other = ObjectFactory.createPlugin(context, pluginConfiguration);
+        assertTrue(other instanceof CustomPlugin);
+        assertNotSame(plugin, other);
+        assertSame(pluginFactory, context.getPluginFactory(pluginConfiguration));
+        assertNull(session.getInternalClass(CustomPlugin.class.getName()));
+    }
+
+    public static class CustomIntrospectedColumn extends IntrospectedColumn {
+        private static int instances;
+
+        public CustomIntrospectedColumn() {
+            instances++;
+        }
+    }
+
+    public static class CustomIntrospectedTable extends IntrospectedTableMyBatis3Impl {
+    }
+
+    public static class CustomPlugin extends PluginAdapter {
+        public boolean validate(List<String> warnings) {
+            return true;
+        }
+    }
+}
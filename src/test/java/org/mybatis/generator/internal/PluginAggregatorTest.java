@@ -0,0 +1,141 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.Plugin;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.ThreadSafe;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+
+public class PluginAggregatorTest {
+
+    @Test
+    public void testThatEveryHookIsCalled() throws Exception {
+        final List<Method> calls = new ArrayList<Method>();
+        Plugin plugin = (Plugin) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { Plugin.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method,
+                            Object[] args) {
+                        calls.add(method);
+                        return method.getReturnType() == boolean.class ? Boolean.TRUE
+                                : null;
+                    }
+                });
+
+        PluginAggregator aggregator = new PluginAggregator();
+        aggregator.addPlugin(plugin);
+
+        Set<String> notHooks = new HashSet<String>();
+        notHooks.add("setContext");
+        notHooks.add("setProperties");
+        notHooks.add("validate");
+        for (Method method : Plugin.class.getMethods()) {
+            if (notHooks.contains(method.getName())) {
+                continue;
+            }
+
+            calls.clear();
+            PluginAggregator.class.getMethod(method.getName(),
+                    method.getParameterTypes()).invoke(aggregator,
+                    new Object[method.getParameterTypes().length]);
+            assertEquals(1, calls.size());
+            assertEquals(method, calls.get(0));
+        }
+    }
+
+    @Test
+    public void testThatOnlyOverriddenHooksAreCalled() {
+        CountingPlugin plugin1 = new CountingPlugin(false);
+        CountingPlugin plugin2 = new CountingPlugin(true);
+
+        PluginAggregator aggregator = new PluginAggregator();
+        aggregator.addPlugin(plugin1);
+        aggregator.addPlugin(plugin2);
+
+        // plugin1 vetoes the hook, so plugin2 is not called
+        assertFalse(aggregator.modelBaseRecordClassGenerated(null, null));
+        assertEquals(1, plugin1.count);
+        assertEquals(0, plugin2.count);
+
+        assertTrue(aggregator.modelPrimaryKeyClassGenerated(null, null));
+        assertTrue(aggregator.contextGenerateAdditionalJavaFiles().isEmpty());
+    }
+
+    @Test
+    public void testThatThreadSafetyRequiresEveryPlugin() {
+        PluginAggregator aggregator = new PluginAggregator();
+        assertTrue(aggregator.isThreadSafe());
+
+        aggregator.addPlugin(new ThreadSafePlugin());
+        assertTrue(aggregator.isThreadSafe());
+
+        aggregator.addPlugin(new CountingPlugin(true));
+        assertFalse(aggregator.isThreadSafe());
+
+        aggregator.addPlugin(new ThreadSafePlugin());
+        assertFalse(aggregator.isThreadSafe());
+
+        // the annotation is not inherited
+        aggregator = new PluginAggregator();
+        aggregator.addPlugin(new ThreadSafePlugin() {
+        });
+        assertFalse(aggregator.isThreadSafe());
+    }
+
+    @ThreadSafe
+    private static class ThreadSafePlugin extends PluginAdapter {
+        public boolean validate(List<String> warnings) {
+            return true;
+        }
+    }
+
+    private static class CountingPlugin extends PluginAdapter {
+        private boolean result;
+
+        private int count;
+
+        CountingPlugin(boolean result) {
+            this.result = result;
+        }
+
+        public boolean validate(List<String> warnings) {
+            return true;
+        }
+
+        @Override
+        public boolean modelBaseRecordClassGenerated(
+                TopLevelClass topLevelClass,
+                IntrospectedTable introspectedTable) {
+            count++;
+            return result;
+        }
+    }
+}
@@ -16,11 +16,19 @@
 package org.mybatis.generator.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
+import java.io.Writer;
 import java.util.Properties;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mybatis.generator.api.CommentGenerator;
 import org.mybatis.generator.api.GeneratedXmlFile;
 import org.mybatis.generator.api.dom.DefaultXmlFormatter;
@@ -31,6 +39,7 @@ import org.mybatis.generator.api.dom.xml.TextElement;
 import org.mybatis.generator.api.dom.xml.XmlElement;
 import org.mybatis.generator.codegen.XmlConstants;
 import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.exception.ShellException;
 import org.xml.sax.InputSource;
 
 /**
@@ -42,6 +51,9 @@ import org.xml.sax.InputSource;
  */
 public class XmlFileMergerTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testThatFilesAreTheSameAfterMerge() throws Exception {
         DefaultXmlFormatter xmlFormatter = new DefaultXmlFormatter();
@@ -67,6 +79,117 @@ public class XmlFileMergerTest {
         assertEquals(generatedFile1.getFormattedContent(), mergedSource);
     }
 
+    @Test
+    public void testThatFilesAreTheSameAfterStreamingMerge() throws Exception {
+        GeneratedXmlFile generatedFile = getGeneratedFile();
+
+        String mergedSource = XmlFileMergerStax.getMergedSource(
+                new StringReader(generatedFile.getFormattedContent()),
+                new StringReader(generatedFile.getFormattedContent()), "TestMapper.xml");
+
+        assertEquals(generatedFile.getFormattedContent(), mergedSource);
+    }
+
+    @Test
+    public void testThatStreamingMergeMatchesDomMerge() throws Exception {
+        GeneratedXmlFile generatedFile = getGeneratedFile();
+        String lineSeparator = System.getProperty("line.separator");
+
+        String existing = getExistingMapper();
+
+        String domSource = XmlFileMergerJaxp.getMergedSource(
+                new InputSource(new StringReader(generatedFile.getFormattedContent())),
+                new InputSource(new StringReader(existing)), "TestMapper.xml");
+        String staxSource = XmlFileMergerStax.getMergedSource(
+                new StringReader(generatedFile.getFormattedContent()),
+                new StringReader(existing), "TestMapper.xml");
+
+        assertEquals(domSource, staxSource);
+        assertTrue(staxSource.contains("<sql id=\"empty\" />"));
+        assertTrue(staxSource.contains("<select id=\"countBig\" resultType=\"int\">"));
+        assertFalse(staxSource.contains("ibatorgenerated_selectAll"));
+        assertFalse(staxSource.contains("update bar"));
+        assertFalse(staxSource.contains("deleteOld"));
+        assertFalse(staxSource.contains("old.Namespace"));
+        assertTrue(staxSource.contains("<mapper namespace=\"org.mybatis.test.TestMapper\">" + lineSeparator));
+    }
+
+    @Test
+    public void testThatFallbackMergeOfFileMatchesStreamingMerge() throws Exception {
+        GeneratedXmlFile generatedFile = getGeneratedFile();
+        File existingFile = folder.newFile("TestMapper.xml");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(existingFile), "UTF-8");
+        try {
+            writer.write(getExistingMapper());
+        } finally {
+            writer.close();
+        }
+
+        String staxSource = XmlFileMergerStax.getMergedSource(generatedFile, existingFile, true);
+        String domSource = XmlFileMergerStax.getMergedSource(generatedFile, existingFile, false);
+
+        assertTrue(XmlFileMergerStax.isStreamingSupported());
+        assertEquals(domSource, staxSource);
+        assertEquals(staxSource, XmlFileMergerStax.getMergedSource(generatedFile, existingFile));
+        assertTrue(staxSource.contains("<![CDATA[ a < b"));
+    }
+
+    @Test(expected = ShellException.class)
+    public void testThatStreamingMergeRejectsDifferentFormat() throws Exception {
+        GeneratedXmlFile generatedFile = getGeneratedFile();
+        String existing = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE sqlMap PUBLIC \"-//ibatis.apache.org//DTD SQL Map 2.0//EN\" "
+                + "\"http://ibatis.apache.org/dtd/sql-map-2.dtd\">\n"
+                + "<sqlMap namespace=\"foo\" />\n";
+
+        XmlFileMergerStax.getMergedSource(
+                new StringReader(generatedFile.getFormattedContent()),
+                new StringReader(existing), "TestMapper.xml");
+    }
+
+    private String getExistingMapper() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        sb.append("<!-- dropped by both mergers -->\n");
+        sb.append("<!DOCTYPE mapper PUBLIC \"");
+        sb.append(XmlConstants.MYBATIS3_MAPPER_PUBLIC_ID);
+        sb.append("\" \"");
+        sb.append(XmlConstants.MYBATIS3_MAPPER_SYSTEM_ID);
+        sb.append("\">\n");
+        sb.append("<mapper namespace=\"old.Namespace\" xmlns:x=\"urn:x\">\r\n");
+        sb.append("  <select id=\"ibatorgenerated_selectAll\">select * from bar</select>\n");
+        sb.append("  <!-- hand written -->\n");
+        sb.append("  <select resultType=\"int\" id=\"countBig\">\n");
+        sb.append("    <!-- not generated -->\n");
+        sb.append("    select count(*) from bar where foo &gt; 22 and x = '\"'\n");
+        sb.append("    <!-- @mbg.generated -->\n");
+        sb.append("  </select>\n");
+        sb.append("  <update id=\"insert\">\n");
+        sb.append("    <!--\n      @mbggenerated\n    -->\n");
+        sb.append("    update bar set foo = 1\n");
+        sb.append("  </update>\n");
+        sb.append("  <delete id=\"deleteOld\"><!-- first --> <!-- @mbg.generated --></delete>\n");
+        sb.append("  <sql id=\"empty\"></sql>\n");
+        sb.append("  <sql id=\"cdata\"><![CDATA[ a < b\n and c ]]> &amp; <?pi data?></sql>\n");
+        sb.append("  <x:y a=\"1&#10;2\" />\n");
+        sb.append("</mapper>\n");
+        return sb.toString();
+    }
+
+    private GeneratedXmlFile getGeneratedFile() {
+        Properties p = new Properties();
+        p.setProperty(PropertyRegistry.COMMENT_GENERATOR_SUPPRESS_DATE, "true");
+        CommentGenerator commentGenerator = new DefaultCommentGenerator();
+        commentGenerator.addConfigurationProperties(p);
+
+        Document document = new Document(XmlConstants.MYBATIS3_MAPPER_PUBLIC_ID,
+                XmlConstants.MYBATIS3_MAPPER_SYSTEM_ID);
+        document.setRootElement(getSqlMapElement(commentGenerator));
+
+        return new GeneratedXmlFile(document, "TestMapper.xml", "org.mybatis.test", "src",
+                true, new DefaultXmlFormatter());
+    }
+
     private XmlElement getSqlMapElement(CommentGenerator commentGenerator) {
 
         XmlElement answer = new XmlElement("mapper");
@@ -0,0 +1,125 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mybatis.generator.SqlScriptRunner;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.MyBatisGenerator;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.DefaultShellCallback;
+
+public class DataDictionaryIntrospectorTest {
+
+    @BeforeClass
+    public static void createDatabase() throws Exception {
+        SqlScriptRunner scriptRunner = new SqlScriptRunner(DataDictionaryIntrospectorTest.class.getResourceAsStream("/scripts/CreateDB.sql"), "org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:aname", "sa", "");
+        scriptRunner.executeScript();
+    }
+
+    @Test
+    public void testHsqldbMatchesDatabaseMetaData() throws Exception {
+        List<String> expectedWarnings = new ArrayList<String>();
+        Configuration expected = introspect(null, expectedWarnings);
+
+        List<String> actualWarnings = new ArrayList<String>();
+        Configuration actual = introspect(
+                HsqldbDataDictionaryIntrospector.class.getName(), actualWarnings);
+
+        // a failed data dictionary query would add a warning
+        assertEquals(expectedWarnings, actualWarnings);
+
+        assertEquals(expected.getContexts().size(), actual.getContexts().size());
+        for (int i = 0; i < expected.getContexts().size(); i++) {
+            assertTablesEqual(expected.getContexts().get(i).getIntrospectedTables(),
+                    actual.getContexts().get(i).getIntrospectedTables());
+        }
+    }
+
+    private static Configuration introspect(String dataDictionaryIntrospector,
+            List<String> warnings) throws Exception {
+        ConfigurationParser cp = new ConfigurationParser(warnings);
+        Configuration config = cp.parseConfiguration(DataDictionaryIntrospectorTest.class
+                .getResourceAsStream("/scripts/generatorConfig.xml"));
+
+        if (dataDictionaryIntrospector != null) {
+            for (Context context : config.getContexts()) {
+                context.addProperty(PropertyRegistry.CONTEXT_DATA_DICTIONARY_INTROSPECTOR,
+                        dataDictionaryIntrospector);
+            }
+        }
+
+        MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config,
+                new DefaultShellCallback(true), warnings);
+        myBatisGenerator.generate(null, null, null, false);
+        return config;
+    }
+
+    private static void assertTablesEqual(List<IntrospectedTable> expected,
+            List<IntrospectedTable> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            IntrospectedTable expectedTable = expected.get(i);
+            IntrospectedTable actualTable = actual.get(i);
+            String table = expectedTable.getFullyQualifiedTable().toString();
+
+            assertEquals(table, actualTable.getFullyQualifiedTable().toString());
+            assertEquals(table, expectedTable.getRemarks(), actualTable.getRemarks());
+            assertEquals(table, expectedTable.getTableType(), actualTable.getTableType());
+            assertColumnsEqual(table, expectedTable.getPrimaryKeyColumns(),
+                    actualTable.getPrimaryKeyColumns());
+            assertColumnsEqual(table, expectedTable.getBaseColumns(),
+                    actualTable.getBaseColumns());
+            assertColumnsEqual(table, expectedTable.getBLOBColumns(),
+                    actualTable.getBLOBColumns());
+        }
+    }
+
+    private static void assertColumnsEqual(String table,
+            List<IntrospectedColumn> expected, List<IntrospectedColumn> actual) {
+        assertEquals(table, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            IntrospectedColumn expectedColumn = expected.get(i);
+            IntrospectedColumn actualColumn = actual.get(i);
+            String column = table + '.' + expectedColumn.getActualColumnName();
+
+            assertEquals(column, expectedColumn.getActualColumnName(), actualColumn.getActualColumnName());
+            assertEquals(column, expectedColumn.getJdbcType(), actualColumn.getJdbcType());
+            assertEquals(column, expectedColumn.getJdbcTypeName(), actualColumn.getJdbcTypeName());
+            assertEquals(column, expectedColumn.getLength(), actualColumn.getLength());
+            assertEquals(column, expectedColumn.getScale(), actualColumn.getScale());
+            assertEquals(column, expectedColumn.isNullable(), actualColumn.isNullable());
+            assertEquals(column, expectedColumn.getRemarks(), actualColumn.getRemarks());
+            assertEquals(column, expectedColumn.getDefaultValue(), actualColumn.getDefaultValue());
+            assertEquals(column, expectedColumn.isAutoIncrement(), actualColumn.isAutoIncrement());
+            assertEquals(column, expectedColumn.isGeneratedColumn(), actualColumn.isGeneratedColumn());
+            assertEquals(column, expectedColumn.isIdentity(), actualColumn.isIdentity());
+            assertEquals(column, expectedColumn.getJavaProperty(), actualColumn.getJavaProperty());
+            assertEquals(column, expectedColumn.getFullyQualifiedJavaType(),
+                    actualColumn.getFullyQualifiedJavaType());
+        }
+    }
+}
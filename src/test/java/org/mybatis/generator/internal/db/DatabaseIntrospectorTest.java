@@ -0,0 +1,298 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.ObjectFactory;
+
+/**
+ * Tests the schema wide introspection paths of DatabaseIntrospector against a
+ * stub DatabaseMetaData that records every call.
+ */
+public class DatabaseIntrospectorTest {
+
+    @Test
+    public void testBulkPrimaryKeysAndRemarks() throws Exception {
+        StubMetaData stub = new StubMetaData();
+        SchemaMetaDataCache cache = new SchemaMetaDataCache();
+
+        List<IntrospectedTable> foo = introspect(stub, cache, "FOO");
+        List<IntrospectedTable> bar = introspect(stub, cache, "BAR");
+
+        assertEquals(Arrays.asList("ID1", "ID2"), getPrimaryKeyNames(foo.get(0)));
+        assertEquals("the foo table", foo.get(0).getRemarks());
+        assertEquals("TABLE", foo.get(0).getTableType());
+        assertEquals(Arrays.asList("ID"), getPrimaryKeyNames(bar.get(0)));
+        assertEquals("the bar view", bar.get(0).getRemarks());
+        assertEquals("VIEW", bar.get(0).getTableType());
+
+        // one schema wide call of each kind serves both tables
+        assertEquals(Arrays.asList(
+                "getColumns(null,PUBLIC,%,%)",
+                "getPrimaryKeys(null,PUBLIC,null)",
+                "getTables(null,PUBLIC,%)"), stub.calls);
+        assertTrue(cache.isBulkPrimaryKeysSupported());
+    }
+
+    @Test
+    public void testFallbackWhenNullTableIsRejected() throws Exception {
+        StubMetaData stub = new StubMetaData();
+        stub.rejectNullTable = true;
+        SchemaMetaDataCache cache = new SchemaMetaDataCache();
+
+        List<IntrospectedTable> foo = introspect(stub, cache, "FOO");
+        List<IntrospectedTable> bar = introspect(stub, cache, "BAR");
+
+        assertEquals(Arrays.asList("ID1", "ID2"), getPrimaryKeyNames(foo.get(0)));
+        assertEquals(Arrays.asList("ID"), getPrimaryKeyNames(bar.get(0)));
+        assertEquals("the bar view", bar.get(0).getRemarks());
+
+        // the bulk request is attempted once, then every table is queried
+        // individually
+        assertFalse(cache.isBulkPrimaryKeysSupported());
+        assertEquals(Arrays.asList(
+                "getColumns(null,PUBLIC,%,%)",
+                "getPrimaryKeys(null,PUBLIC,null)",
+                "getPrimaryKeys(null,PUBLIC,FOO)",
+                "getTables(null,PUBLIC,%)",
+                "getPrimaryKeys(null,PUBLIC,BAR)"), stub.calls);
+    }
+
+    @Test
+    public void testPerTableQueriesWithoutCache() throws Exception {
+        StubMetaData stub = new StubMetaData();
+
+        List<IntrospectedTable> foo = introspect(stub, null, "FOO");
+
+        assertEquals(Arrays.asList("ID1", "ID2"), getPrimaryKeyNames(foo.get(0)));
+        assertEquals("the foo table", foo.get(0).getRemarks());
+        assertEquals(Arrays.asList(
+                "getColumns(null,PUBLIC,FOO,%)",
+                "getPrimaryKeys(null,PUBLIC,FOO)",
+                "getTables(null,PUBLIC,FOO)"), stub.calls);
+    }
+
+    private List<IntrospectedTable> introspect(StubMetaData stub,
+            SchemaMetaDataCache cache, String tableName) throws SQLException {
+        Context context = new Context(ModelType.CONDITIONAL);
+        List<String> warnings = new ArrayList<String>();
+
+        DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(
+                context, stub.getDatabaseMetaData(),
+                ObjectFactory.createJavaTypeResolver(context, warnings),
+                warnings);
+        databaseIntrospector.setSchemaMetaDataCache(cache);
+
+        TableConfiguration tc = new TableConfiguration(context);
+        tc.setSchema("PUBLIC");
+        tc.setTableName(tableName);
+
+        List<IntrospectedTable> answer = databaseIntrospector.introspectTables(tc);
+        assertEquals(1, answer.size());
+        assertEquals(0, warnings.size());
+        return answer;
+    }
+
+    private List<String> getPrimaryKeyNames(IntrospectedTable introspectedTable) {
+        List<String> answer = new ArrayList<String>();
+        for (IntrospectedColumn introspectedColumn : introspectedTable
+                .getPrimaryKeyColumns()) {
+            answer.add(introspectedColumn.getActualColumnName());
+        }
+        return answer;
+    }
+
+    /**
+     * A DatabaseMetaData for a PUBLIC schema holding the tables FOO (with a
+     * composite key) and BAR.
+     */
+    private static class StubMetaData implements InvocationHandler {
+        private List<String> calls = new ArrayList<String>();
+        private boolean rejectNullTable;
+        private List<Map<String, Object>> columns = new ArrayList<Map<String, Object>>();
+        private List<Map<String, Object>> primaryKeys = new ArrayList<Map<String, Object>>();
+        private List<Map<String, Object>> tables = new ArrayList<Map<String, Object>>();
+
+        StubMetaData() {
+            columns.add(column("FOO", "ID1", Types.INTEGER));
+            columns.add(column("FOO", "ID2", Types.INTEGER));
+            columns.add(column("FOO", "NAME", Types.VARCHAR));
+            columns.add(column("BAR", "ID", Types.INTEGER));
+            columns.add(column("BAR", "DESCRIPTION", Types.VARCHAR));
+
+            // returned out of key sequence order on purpose
+            primaryKeys.add(primaryKey("FOO", "ID2", 2));
+            primaryKeys.add(primaryKey("BAR", "ID", 1));
+            primaryKeys.add(primaryKey("FOO", "ID1", 1));
+
+            tables.add(table("FOO", "the foo table", "TABLE"));
+            tables.add(table("BAR", "the bar view", "VIEW"));
+        }
+
+        DatabaseMetaData getDatabaseMetaData() {
+            return (DatabaseMetaData) Proxy.newProxyInstance(getClass()
+                    .getClassLoader(),
+                    new Class<?>[] { DatabaseMetaData.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable {
+            String name = method.getName();
+            if ("getColumns".equals(name)) {
+                calls.add(name + "(" + args[0] + "," + args[1] + "," + args[2] + "," + args[3] + ")");
+                return resultSet(filter(columns, (String) args[2]));
+            } else if ("getPrimaryKeys".equals(name)) {
+                calls.add(name + "(" + args[0] + "," + args[1] + "," + args[2] + ")");
+                if (args[2] == null && rejectNullTable) {
+                    throw new SQLException("table name is required");
+                }
+                return resultSet(filter(primaryKeys, (String) args[2]));
+            } else if ("getTables".equals(name)) {
+                calls.add(name + "(" + args[0] + "," + args[1] + "," + args[2] + ")");
+                return resultSet(filter(tables, (String) args[2]));
+            } else if (name.startsWith("stores")) {
+                return Boolean.FALSE;
+            } else if ("getSearchStringEscape".equals(name)) {
+                return "\\";
+            }
+
+            throw new UnsupportedOperationException(name);
+        }
+
+        private List<Map<String, Object>> filter(List<Map<String, Object>> rows,
+                String tableName) {
+            List<Map<String, Object>> answer = new ArrayList<Map<String, Object>>();
+            for (Map<String, Object> row : rows) {
+                if (tableName == null || "%".equals(tableName)
+                        || tableName.equals(row.get("TABLE_NAME"))) {
+                    answer.add(row);
+                }
+            }
+            return answer;
+        }
+
+        private static Map<String, Object> row(String tableName) {
+            Map<String, Object> row = new HashMap<String, Object>();
+            row.put("TABLE_SCHEM", "PUBLIC");
+            row.put("TABLE_NAME", tableName);
+            return row;
+        }
+
+        private static Map<String, Object> column(String tableName,
+                String columnName, int dataType) {
+            Map<String, Object> row = row(tableName);
+            row.put("COLUMN_NAME", columnName);
+            row.put("DATA_TYPE", dataType);
+            row.put("COLUMN_SIZE", 10);
+            row.put("NULLABLE", DatabaseMetaData.columnNullable);
+            return row;
+        }
+
+        private static Map<String, Object> primaryKey(String tableName,
+                String columnName, int keySeq) {
+            Map<String, Object> row = row(tableName);
+            row.put("COLUMN_NAME", columnName);
+            row.put("KEY_SEQ", keySeq);
+            return row;
+        }
+
+        private static Map<String, Object> table(String tableName,
+                String remarks, String tableType) {
+            Map<String, Object> row = row(tableName);
+            row.put("REMARKS", remarks);
+            row.put("TABLE_TYPE", tableType);
+            return row;
+        }
+
+        private static ResultSet resultSet(final List<Map<String, Object>> rows) {
+            InvocationHandler handler = new InvocationHandler() {
+                private int index = -1;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args)
+                        throws Throwable {
+                    String name = method.getName();
+                    if ("next".equals(name)) {
+                        index++;
+                        return index < rows.size();
+                    } else if ("getString".equals(name)) {
+                        Object value = rows.get(index).get(args[0]);
+                        return value == null ? null : value.toString();
+                    } else if ("getInt".equals(name)) {
+                        Object value = rows.get(index).get(args[0]);
+                        return value == null ? 0 : ((Number) value).intValue();
+                    } else if ("getShort".equals(name)) {
+                        Object value = rows.get(index).get(args[0]);
+                        return value == null ? (short) 0 : ((Number) value).shortValue();
+                    } else if ("getMetaData".equals(name)) {
+                        return metaData();
+                    } else if ("close".equals(name)) {
+                        return null;
+                    }
+
+                    throw new UnsupportedOperationException(name);
+                }
+            };
+
+            return (ResultSet) Proxy.newProxyInstance(
+                    StubMetaData.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, handler);
+        }
+
+        private static ResultSetMetaData metaData() {
+            // no IS_AUTOINCREMENT or IS_GENERATEDCOLUMN columns
+            return (ResultSetMetaData) Proxy.newProxyInstance(
+                    StubMetaData.class.getClassLoader(),
+                    new Class<?>[] { ResultSetMetaData.class },
+                    new InvocationHandler() {
+                        @Override
+                        public Object invoke(Object proxy, Method method,
+                                Object[] args) throws Throwable {
+                            if ("getColumnCount".equals(method.getName())) {
+                                return 0;
+                            }
+
+                            throw new UnsupportedOperationException(method
+                                    .getName());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.ModelType;
+
+public class IntrospectionSnapshotTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Context context = new Context(ModelType.CONDITIONAL);
+
+        IntrospectedColumn column = new IntrospectedColumn();
+        column.setActualColumnName("ID");
+        column.setJdbcType(Types.INTEGER);
+        column.setLength(10);
+        column.setRemarks("the id");
+        column.setAutoIncrement(true);
+
+        IntrospectionSnapshot.Table table = new IntrospectionSnapshot.Table(
+                new ActualTableName(null, "PUBLIC", "FOO"));
+        table.addColumn(column);
+        table.getPrimaryKeyColumns().add("ID");
+        table.setRemarks("the table");
+        table.setTableType("TABLE");
+
+        List<IntrospectionSnapshot.Table> tables = new ArrayList<IntrospectionSnapshot.Table>();
+        tables.add(table);
+
+        IntrospectionSnapshot snapshot = new IntrospectionSnapshot("jdbc:test:a");
+        snapshot.putTables(null, "PUBLIC", "FOO", tables);
+        snapshot.setChangeToken("1");
+        assertTrue(snapshot.isModified());
+
+        File file = File.createTempFile("snapshot", ".bin");
+        try {
+            snapshot.write(file);
+            assertFalse(snapshot.isModified());
+
+            IntrospectionSnapshot other = IntrospectionSnapshot.read(file, "jdbc:test:b");
+            assertFalse(other.containsTables(null, "PUBLIC", "FOO"));
+            assertNull(other.getChangeToken());
+
+            IntrospectionSnapshot copy = IntrospectionSnapshot.read(file, "jdbc:test:a");
+            assertEquals("1", copy.getChangeToken());
+            assertTrue(copy.containsTables(null, "PUBLIC", "FOO"));
+            assertFalse(copy.containsTables(null, "PUBLIC", "BAR"));
+
+            IntrospectionSnapshot.Table copyTable = copy.getTables(null, "PUBLIC", "FOO").get(0);
+            assertEquals("PUBLIC.FOO", copyTable.getActualTableName().toString());
+            assertEquals("the table", copyTable.getRemarks());
+            assertEquals("TABLE", copyTable.getTableType());
+            assertEquals(1, copyTable.getPrimaryKeyColumns().size());
+
+            List<IntrospectedColumn> columns = copyTable.createColumns(context);
+            assertEquals(1, columns.size());
+            assertEquals("ID", columns.get(0).getActualColumnName());
+            assertEquals(Types.INTEGER, columns.get(0).getJdbcType());
+            assertEquals(10, columns.get(0).getLength());
+            assertEquals("the id", columns.get(0).getRemarks());
+            assertNull(columns.get(0).getDefaultValue());
+            assertTrue(columns.get(0).isAutoIncrement());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testRemoveEntries() {
+        IntrospectionSnapshot snapshot = new IntrospectionSnapshot("jdbc:test:a");
+        snapshot.putTables(null, null, "FOO", new ArrayList<IntrospectionSnapshot.Table>());
+
+        snapshot.removeEntriesOlderThan(0L);
+        assertTrue(snapshot.containsTables(null, null, "FOO"));
+
+        snapshot.removeEntries();
+        assertFalse(snapshot.containsTables(null, null, "FOO"));
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mybatis.generator.api.IntrospectedColumn;
+
+public class SchemaMetaDataCacheTest {
+
+    @Test
+    public void testTableNameRegex() {
+        assertTrue(SchemaMetaDataCache.getTableNameRegex("USER_ROLE", null).matcher("USER_ROLE").matches());
+        assertTrue(SchemaMetaDataCache.getTableNameRegex("USER_ROLE", null).matcher("USERXROLE").matches());
+        assertFalse(SchemaMetaDataCache.getTableNameRegex("USER_ROLE", null).matcher("user_role").matches());
+        assertTrue(SchemaMetaDataCache.getTableNameRegex("USER%", null).matcher("USER_ROLE").matches());
+        assertTrue(SchemaMetaDataCache.getTableNameRegex("a.b$c", null).matcher("a.b$c").matches());
+        assertFalse(SchemaMetaDataCache.getTableNameRegex("a.b", null).matcher("axb").matches());
+    }
+
+    @Test
+    public void testEscapedTableNameRegex() {
+        assertTrue(SchemaMetaDataCache.getTableNameRegex("USER\\_ROLE", "\\").matcher("USER_ROLE").matches());
+        assertFalse(SchemaMetaDataCache.getTableNameRegex("USER\\_ROLE", "\\").matcher("USERXROLE").matches());
+        assertFalse(SchemaMetaDataCache.getTableNameRegex("USER\\%", "\\").matcher("USER_ROLE").matches());
+    }
+
+    @Test
+    public void testTakeColumns() {
+        SchemaMetaDataCache cache = new SchemaMetaDataCache();
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(null, "PUBLIC");
+
+        Map<ActualTableName, List<IntrospectedColumn>> columns = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+        columns.put(new ActualTableName(null, "PUBLIC", "FOO"), new ArrayList<IntrospectedColumn>());
+        columns.put(new ActualTableName(null, "PUBLIC", "BAR"), new ArrayList<IntrospectedColumn>());
+        cache.putColumns(schemaKey, columns);
+
+        assertTrue(cache.hasColumns(schemaKey));
+        assertFalse(cache.hasColumns(SchemaMetaDataCache.getSchemaKey(null, "OTHER")));
+
+        Map<ActualTableName, List<IntrospectedColumn>> answer = cache.takeColumns(schemaKey, "FOO", null);
+        assertEquals(1, answer.size());
+        assertTrue(answer.containsKey(new ActualTableName(null, "PUBLIC", "FOO")));
+
+        // no match - the table is queried individually
+        assertNull(cache.takeColumns(schemaKey, "BAZ", null));
+
+        // a table is only served once
+        assertNull(cache.takeColumns(schemaKey, "FOO", null));
+        assertNull(cache.takeColumns(schemaKey, "%", null));
+    }
+
+    @Test
+    public void testTakeColumnsWithDifferentCase() {
+        SchemaMetaDataCache cache = new SchemaMetaDataCache();
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(null, "dbo");
+
+        Map<ActualTableName, List<IntrospectedColumn>> columns = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+        columns.put(new ActualTableName(null, "dbo", "OrderItem"), new ArrayList<IntrospectedColumn>());
+        cache.putColumns(schemaKey, columns);
+
+        // a case insensitive database may store the name in any case, so a
+        // miss falls back to the per table query rather than returning nothing
+        assertNull(cache.takeColumns(schemaKey, "ORDERITEM", null));
+        assertNull(cache.takeColumns(schemaKey, "orderitem", null));
+
+        // the table has not been served by the misses
+        Map<ActualTableName, List<IntrospectedColumn>> answer = cache.takeColumns(schemaKey, "OrderItem", null);
+        assertEquals(1, answer.size());
+        assertTrue(answer.containsKey(new ActualTableName(null, "dbo", "OrderItem")));
+    }
+
+    @Test
+    public void testPrimaryKeyColumns() {
+        SchemaMetaDataCache cache = new SchemaMetaDataCache();
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(null, null);
+
+        assertFalse(cache.hasPrimaryKeys(schemaKey));
+        assertNull(cache.getPrimaryKeyColumns(schemaKey, "FOO"));
+
+        Map<ActualTableName, List<String>> primaryKeys = new HashMap<ActualTableName, List<String>>();
+        primaryKeys.put(new ActualTableName(null, "S1", "FOO"), Arrays.asList("ID1", "ID2"));
+        primaryKeys.put(new ActualTableName(null, "S1", "BAR"), Arrays.asList("ID"));
+        primaryKeys.put(new ActualTableName(null, "S2", "BAR"), Arrays.asList("ID"));
+        cache.putPrimaryKeys(schemaKey, primaryKeys);
+
+        assertTrue(cache.hasPrimaryKeys(schemaKey));
+        assertEquals(Arrays.asList("ID1", "ID2"), cache.getPrimaryKeyColumns(schemaKey, "FOO"));
+        assertEquals(0, cache.getPrimaryKeyColumns(schemaKey, "BAZ").size());
+        // BAR exists in two schemas
+        assertNull(cache.getPrimaryKeyColumns(schemaKey, "BAR"));
+    }
+
+    @Test
+    public void testPrimaryKeysNotAvailable() {
+        SchemaMetaDataCache cache = new SchemaMetaDataCache();
+        String schemaKey = SchemaMetaDataCache.getSchemaKey(null, "PUBLIC");
+
+        cache.putPrimaryKeys(schemaKey, null);
+
+        assertTrue(cache.hasPrimaryKeys(schemaKey));
+        assertNull(cache.getPrimaryKeyColumns(schemaKey, "FOO"));
+    }
+}
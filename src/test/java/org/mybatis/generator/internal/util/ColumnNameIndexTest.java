@@ -0,0 +1,69 @@
+/**
+ *    Copyright 2006-2017 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.mybatis.generator.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ColumnNameIndexTest {
+
+    @Test
+    public void testDelimitedNamesMatchExactly() {
+        ColumnNameIndex<String> index = new ColumnNameIndex<String>();
+        index.add("Last Name", true, "a"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        assertEquals("a", index.get("Last Name")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertNull(index.get("LAST NAME")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOtherNamesIgnoreCase() {
+        ColumnNameIndex<String> index = new ColumnNameIndex<String>();
+        index.add("first_name", false, "a"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        assertEquals("a", index.get("FIRST_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("a", index.get("First_Name")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertNull(index.get("last_name")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testFirstMatchWins() {
+        ColumnNameIndex<String> index = new ColumnNameIndex<String>();
+        index.add("ID", false, "a"); //$NON-NLS-1$ //$NON-NLS-2$
+        index.add("id", true, "b"); //$NON-NLS-1$ //$NON-NLS-2$
+        index.add("Id", false, "c"); //$NON-NLS-1$ //$NON-NLS-2$
+        index.add("name", true, "d"); //$NON-NLS-1$ //$NON-NLS-2$
+        index.add("NAME", false, "e"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        assertEquals("a", index.get("id")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("d", index.get("name")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("e", index.get("Name")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    public void testFoldCaseMatchesEqualsIgnoreCase() {
+        String[] names = { "abc", "ABC", "stra\u00dfe", "\u0130", "i", "I", "\u0131", "\u03a3", "\u03c2", "\u03c3" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+        for (String a : names) {
+            for (String b : names) {
+                assertEquals(a + " " + b, a.equalsIgnoreCase(b), //$NON-NLS-1$
+                        ColumnNameIndex.foldCase(a).equals(ColumnNameIndex.foldCase(b)));
+            }
+        }
+    }
+}